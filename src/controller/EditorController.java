@@ -90,7 +90,7 @@ public class EditorController extends TopControl implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle rb) {
-        ruleTextField.setText(Rule.getRuleString());
+        ruleTextField.setText(rule.getRuleString());
     }
 
     /**
@@ -102,13 +102,14 @@ public class EditorController extends TopControl implements Initializable {
         
         initRuleComboBox();
         editBoard = new DynamicBoard(board);
+        rule = editBoard.getRule();
         
         //Creates graphicontext to the canvas'.
         gc = canvasEditor.getGraphicsContext2D();
         gcS = strip.getGraphicsContext2D();
         
         cInfo = new CanvasInfo(canvasEditor, 20);
-        cInfo.setCellSize(canvasEditor.getHeight() / editBoard.getBoardArray().size());
+        cInfo.setCellSize(canvasEditor.getHeight() / editBoard.getHeight());
 
         ruleTextField.setText("Custom rule");
 
@@ -149,14 +150,15 @@ public class EditorController extends TopControl implements Initializable {
             gcS.setTransform(xform);
 
             stripBoard = new DynamicBoard(stripBoard.getBoardArray(), stripBoard.getBoundingBox());
-            sCInfo.setCellSize(strip.getHeight() / stripBoard.getBoardArray().size());
+            stripBoard.setRule(rule);
+            sCInfo.setCellSize(strip.getHeight() / stripBoard.getHeight());
             stripBoard.drawStr(gcS, sCInfo);
             stripBoard.setNextGeneration();
 
-            gcS.strokeRect(5, 5, stripBoard.getBoardArray().get(0).size() * sCInfo.getCellSize(),
-                    stripBoard.getBoardArray().size() * sCInfo.getCellSize());
+            gcS.strokeRect(5, 5, stripBoard.getWidth() * sCInfo.getCellSize(),
+                    stripBoard.getHeight() * sCInfo.getCellSize());
 
-            tx += (stripBoard.getBoardArray().get(0).size() * sCInfo.getCellSize()) + 1;
+            tx += (stripBoard.getWidth() * sCInfo.getCellSize()) + 1;
         }
         xform.setTx(0.0);
         gcS.setTransform(xform);
@@ -285,7 +287,13 @@ public class EditorController extends TopControl implements Initializable {
         AnchorPane root = loader.load(getClass().getResource("/view/SaveGif.fxml").openStream());
 
         SaveGifController saveGifController = loader.getController();
-        saveGifController.setInit(editBoard);
+        try {
+            saveGifController.setInit(editBoard);
+        } catch (IllegalArgumentException exception) {
+            //The gif is drawn by a StaticBoard, which only has two states
+            errorMessage(exception.getMessage());
+            return;
+        }
 
         gifStage.initModality(Modality.WINDOW_MODAL);
         Scene scene = new Scene(root);
@@ -353,9 +361,28 @@ public class EditorController extends TopControl implements Initializable {
     @Override
     protected void setCustomRule() {
         String rule = ruleTextField.getText();
-        FileHandler.parseRuleString(rule);
+        setRule(FileHandler.parseRuleString(rule));
         ruleSet = rule;
         ruleLabel.setText(rule);
         draw();
     }
+
+    /**
+     * Sets the rule set of the <code>editBoard</code>. The rule set of the
+     * board in the main window is not changed. If the board can not set the
+     * rule set, an error message is shown and the rule set is not selected.
+     *
+     * @param rule the rule set to select
+     * @see model.BoardPack.Board#setRule(Rule)
+     */
+    @Override
+    protected void setRule(Rule rule) {
+        try {
+            editBoard.setRule(rule);
+        } catch (IllegalArgumentException exception) {
+            errorMessage(exception.getMessage());
+            return;
+        }
+        super.setRule(rule);
+    }
 }
@@ -7,7 +7,17 @@ package controller;
 
 import model.*;
 import model.BoardPack.DynamicBoard;
+import model.BoardPack.BitBoard;
+import model.BoardPack.BlockBoard;
 import model.BoardPack.Board;
+import model.BoardPack.ChunkBoard;
+import model.BoardPack.CycleDetector;
+import model.BoardPack.HashLifeBoard;
+import model.BoardPack.RangeBoard;
+import model.BoardPack.RangeRule;
+import model.BoardPack.Rule;
+import model.BoardPack.SpaceshipCollector;
+import model.BoardPack.SparseBoard;
 import model.FileHandler;
 import model.PatternFormatException;
 import java.io.BufferedReader;
@@ -19,6 +29,7 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import javafx.animation.Animation;
@@ -77,6 +88,46 @@ public class GoLFXController extends TopControl implements Initializable {
     private GraphicsContext gc;
     private Timeline timeline;
 
+    /**
+     * Finds the period, and the displacement of a spaceship, of the board
+     * when it starts to repeat itself.
+     *
+     * @see #updateI_label()
+     */
+    private final CycleDetector cycle = new CycleDetector();
+
+    /**
+     * Takes the escaping gliders and spaceships away from the board when
+     * <code>collectShips</code> is checked, and counts them.
+     *
+     * @see #updateI_label()
+     */
+    private final SpaceshipCollector collector = new SpaceshipCollector();
+
+    /**
+     * <code>true</code> if the <code>timeline</code> has been paused because
+     * the board stopped changing. The animation is played again when the
+     * board is edited.
+     *
+     * @see #wake()
+     */
+    private boolean idle;
+
+    /**
+     * The engines which can hold the cells and set the generations of the
+     * board, selected in <code>selectEngine</code>.
+     *
+     * @see #createBoard(Board, String)
+     */
+    private static final String[] ENGINES = {"DynamicBoard", "BitBoard",
+        "SparseBoard", "ChunkBoard", "BlockBoard", "HashLifeBoard", "RangeBoard"};
+
+    /**
+     * The engine of the board, <code>data</code>. Boards created by the
+     * controller are copied into this engine.
+     */
+    private String engine = "DynamicBoard";
+
     @FXML
     private Canvas canvas;
     @FXML
@@ -86,7 +137,7 @@ public class GoLFXController extends TopControl implements Initializable {
     @FXML
     private Button qButton;
     @FXML
-    private TextField insertRows, insertColumns;
+    private TextField insertRows, insertColumns, jumpField;
     @FXML
     private Label iterationsLabel, aliveCellsLabel, authorLabel, titleLabel,
             speedLabel;
@@ -95,12 +146,14 @@ public class GoLFXController extends TopControl implements Initializable {
     @FXML
     private RadioButton disableButton;
     @FXML
-    private CheckBox checkGrid, eraser, threadOn;
+    private CheckBox checkGrid, eraser, threadOn, collectShips;
     @FXML
     protected Tooltip instructionToolTip, speedTooltip, cellSizeTooltip, ruleSetTooltip, musicTooltip, customRuleTooltip, eraseTooltip,
             gridToolTip, threadToolTip, statisticsTooltip, infoToolTip;
     @FXML
     private ComboBox selectMusic;
+    @FXML
+    private ComboBox<String> selectEngine;
 
     private Sound sound;
     private DragHandler dragHandler;
@@ -150,7 +203,7 @@ public class GoLFXController extends TopControl implements Initializable {
 
         selectComboBox.setValue("B3/S23");
         soundPath = "src/Sound/Pim Poy Pocket.wav";
-        FileHandler.parseRuleString("B3/S23");
+        setRule(Rule.CONWAY);
         ruleLabel.setText("Conway's Life: B3/S23");
         fitZoom();
         initRuleComboBox();
@@ -248,6 +301,7 @@ public class GoLFXController extends TopControl implements Initializable {
                 erase = true;
             }
             data.setCellValue(row, col, erase, 2000);
+            wake();
             updateAC_label();
             draw();
         }
@@ -311,11 +365,125 @@ public class GoLFXController extends TopControl implements Initializable {
                     break;
                 case ENTER:
                     data.addArrayToBoard(data.getTopBoard());
+                    wake();
             }
         }
         draw();
     }
 
+    /**
+     * Sets the rule set of the main board, <code>data</code>. Boards created
+     * later by the controller get the same rule set. If the engine of the
+     * board can not set the rule set, an error message is shown and the rule
+     * set is not selected.
+     *
+     * @param rule the rule set to select
+     * @see Board#setRule(Rule)
+     */
+    @Override
+    protected void setRule(Rule rule) {
+        try {
+            data.setRule(rule);
+        } catch (IllegalArgumentException exception) {
+            errorMessage(exception.getMessage());
+            return;
+        }
+        super.setRule(rule);
+        wake();
+    }
+
+    /**
+     * Copies a board into the <code>engine</code> with the given name. The
+     * board itself is returned if it already is of that engine.
+     *
+     * @param board the board to copy
+     * @param engine the name of the engine, one of <code>ENGINES</code>
+     * @return the board of the engine
+     * @throws IllegalArgumentException if the engine can not set the rule set
+     * of the board
+     * @see #ENGINES
+     */
+    private static Board createBoard(Board board, String engine) {
+        if (board.getClass().getSimpleName().equals(engine)) {
+            return board;
+        }
+        switch (engine) {
+            case "BitBoard":
+                return new BitBoard(board);
+            case "SparseBoard":
+                return new SparseBoard(board);
+            case "ChunkBoard":
+                return new ChunkBoard(board);
+            case "BlockBoard":
+                return new BlockBoard(board);
+            case "HashLifeBoard":
+                return new HashLifeBoard(board);
+            case "RangeBoard":
+                return new RangeBoard(board);
+            default:
+                return new DynamicBoard(board);
+        }
+    }
+
+    /**
+     * Copies the board, <code>data</code>, into the engine selected in
+     * <code>selectEngine</code>. If the engine can not set the rule set of the
+     * board, an error message is shown and the previous engine is selected
+     * again.
+     *
+     * @param selected the name of the selected engine
+     * @see #createBoard(Board, String)
+     */
+    private void changeEngine(String selected) {
+        if (selected.equals(engine)) {
+            return;
+        }
+        try {
+            data = createBoard(data, selected);
+        } catch (IllegalArgumentException exception) {
+            errorMessage(exception.getMessage());
+            selectEngine.setValue(engine);
+            return;
+        }
+        engine = selected;
+        data.setGrid(checkGrid.isSelected());
+        cycle.reset();
+        collector.reset();
+        wake();
+        updateLabels();
+        draw();
+    }
+
+    /**
+     * Sets the Larger than Life rule set of a file on the main board,
+     * <code>data</code>. Only the <code>RangeBoard</code> has these rule sets,
+     * so the board is copied into it first and the engine is selected in
+     * <code>selectEngine</code>. If the board can not be copied, an error
+     * message is shown and the rule set is not set.
+     *
+     * @param rangeRule the rule set of the file
+     * @return true if the rule set was set, false if the file is rejected
+     * @see RangeBoard#setRangeRule(RangeRule)
+     */
+    private boolean setRangeRule(RangeRule rangeRule) {
+        if (!(data instanceof RangeBoard)) {
+            try {
+                data = createBoard(data, "RangeBoard");
+            } catch (IllegalArgumentException exception) {
+                errorMessage(exception.getMessage());
+                return false;
+            }
+            engine = "RangeBoard";
+            selectEngine.setValue(engine);
+            data.setGrid(checkGrid.isSelected());
+            collector.reset();
+        }
+        ((RangeBoard) data).setRangeRule(rangeRule);
+        cycle.reset();
+        wake();
+        return true;
+    }
+
     /**
      * Draws the grid on the board. Determines if the <code>checkGrid</code> is
      * checked and then update the canvas with the method <code>draw</code>.
@@ -395,7 +563,9 @@ public class GoLFXController extends TopControl implements Initializable {
             data.setNumColumns(Integer.parseInt(insertColumns.getText()));
             if (data != null) {
                 timeline.stop();
+                idle = false;
                 data = new DynamicBoard(data.getNumRows(), data.getNumColumns());
+                data.setRule(rule);
                 data.reset_aliveCells();
                 data.reset_iterations();
             } else {
@@ -536,6 +706,7 @@ public class GoLFXController extends TopControl implements Initializable {
         if (timeline.getStatus() == Animation.Status.RUNNING
                 || timeline.getStatus() == Animation.Status.PAUSED) {
             timeline.stop();
+            idle = false;
             startButton.setText("Start");
             pauseButton.setText("Pause");
 
@@ -544,6 +715,10 @@ public class GoLFXController extends TopControl implements Initializable {
             data.reset_iterations();
             resetBoardInfo();
             data = new DynamicBoard(2 * numProcessors);
+            data.setRule(rule);
+            data = createBoard(data, engine);
+            cycle.reset();
+            collector.reset();
             updateLabels();
             draw();
             fitZoom();
@@ -563,7 +738,11 @@ public class GoLFXController extends TopControl implements Initializable {
      */
     @FXML
     public void pause() {
-        if (timeline.getStatus() == Animation.Status.RUNNING) {
+        if (idle) {
+            //The timeline is already paused while the board is idle
+            idle = false;
+            pauseButton.setText("Play");
+        } else if (timeline.getStatus() == Animation.Status.RUNNING) {
             timeline.pause();
             pauseButton.setText("Play");
         } else if (timeline.getStatus() == Animation.Status.PAUSED) {
@@ -589,9 +768,19 @@ public class GoLFXController extends TopControl implements Initializable {
      * threads concurrently if <code>threadOn</code> is selected. If the next
      * generation is set with several threads, concurrently, the number of
      * available processors <code>numProcessors</code> is used as a parameter,
-     * indicating the number of processors that are available. The board is then
-     * drawn to the canvas with the <code>draw</code>-method.
+     * indicating the number of processors that are available. Small boards are
+     * still set on a single thread by the <code>WorkHive</code>. The board is then
+     * drawn to the canvas with the <code>draw</code>-method. If the board has
+     * settled into still lifes and period 2 oscillators, the
+     * <code>timeline</code> is paused and the board is <code>idle</code> until
+     * it is edited. If <code>collectShips</code> is checked, the gliders and
+     * spaceships which escape from the pattern are taken away, so that a gun
+     * does not make the board grow. The <code>cycle</code> and the stable
+     * period are only checked for boards which keep their hash up to date
+     * with the generations, since they hash the board after every
+     * generation.
      *
+     * @see Board#hasIncrementalHash()
      * @see #updateLabels()
      * @see #draw()
      */
@@ -601,10 +790,23 @@ public class GoLFXController extends TopControl implements Initializable {
 
         if (threadOn.isSelected()) {
             WorkHive.setBoard(data);
-            WorkHive.createSeparateThreads(numProcessors);
+            WorkHive.setNextGeneration(numProcessors);
         } else {
             data.setNextGeneration();
         }
+        if (collectShips.isSelected() && data instanceof DynamicBoard) {
+            collector.collect((DynamicBoard) data);
+        }
+        if (data.hasIncrementalHash()) {
+            cycle.update(data);
+        }
+        if (data.hasIncrementalHash() && data.getStablePeriod() > 0
+                && timeline.getStatus() == Animation.Status.RUNNING) {
+            //Nothing but still lifes and blinkers are left, so the animation
+            //waits for the board to be edited
+            idle = true;
+            timeline.pause();
+        }
 
         updateLabels();
         draw();
@@ -626,6 +828,58 @@ public class GoLFXController extends TopControl implements Initializable {
          */
     }
 
+    /**
+     * Moves the board the number of generations in the <code>jumpField</code>
+     * ahead. If the board repeats itself, the <code>cycle</code> skips the
+     * whole periods, otherwise every generation is set until a period is
+     * found. A <code>HashLifeBoard</code> jumps ahead by itself, and so do the
+     * boards which would have to count their hash from every cell.
+     *
+     * @see CycleDetector#advance(Board, long)
+     * @see HashLifeBoard#advance(long)
+     */
+    @FXML
+    public void jumpAhead() {
+        long generations;
+        try {
+            generations = Long.parseLong(jumpField.getText().trim());
+        } catch (NumberFormatException exception) {
+            jumpField.setText("Invalid");
+            return;
+        }
+        if (generations <= 0) {
+            jumpField.setText("Invalid");
+            return;
+        }
+        try {
+            if (data instanceof HashLifeBoard || !data.hasIncrementalHash()) {
+                data.advance(generations);
+                cycle.reset();
+            } else {
+                cycle.advance(data, generations);
+            }
+        } catch (IllegalArgumentException exception) {
+            errorMessage(exception.getMessage());
+        }
+        updateLabels();
+        draw();
+    }
+
+    /**
+     * Plays the <code>timeline</code> again if it was paused because the board
+     * was <code>idle</code>. Called when the board is edited, since the edited
+     * board may change again.
+     *
+     * @see #nextGeneration()
+     */
+    private void wake() {
+        if (idle) {
+            idle = false;
+            timeline.play();
+            updateI_label();
+        }
+    }
+
     //------------------------PERFORMANCE-------------------------------------//
     /**
      * Results with threads deltaTime in ms: 133 deltaTime in ms: 129 deltaTime
@@ -655,7 +909,7 @@ public class GoLFXController extends TopControl implements Initializable {
     public void nextGenerationConcurrentPrintPerformance() {
         long startTime = System.currentTimeMillis();
         WorkHive.setBoard(data);
-        WorkHive.createSeparateThreads(numProcessors);
+        WorkHive.setNextGeneration(numProcessors);
         long deltaTime = System.currentTimeMillis() - startTime;
     }
 
@@ -698,6 +952,10 @@ public class GoLFXController extends TopControl implements Initializable {
                 FileHandler fH = new FileHandler();
                 //converts the file c into a reader object.
                 fH.convertToReader(C);
+                //Larger than Life files are only run by the RangeBoard
+                if (fH.getRangeRule() != null && !setRangeRule(fH.getRangeRule())) {
+                    return;
+                }
 
                 data.setTopBoard(fH.getRleArray());
                 cInfo.centerPlacement(data.getWidth(), data.getHeight());
@@ -706,6 +964,9 @@ public class GoLFXController extends TopControl implements Initializable {
                 pause();
                 boardTitle = fH.getBoardTitle();
                 ruleSet = fH.getRuleSet();
+                if (fH.getRangeRule() == null) {
+                    setRule(fH.getRule());
+                }
                 author = fH.getAuthors();
                 headerList = fH.getHeaderList();
                 updateLabels();
@@ -749,9 +1010,15 @@ public class GoLFXController extends TopControl implements Initializable {
             if (result.get().endsWith(".rle")) {
                 FileHandler urlH = new FileHandler();
                 urlH.readGameBoardFromURL(result.get());
+                if (urlH.getRangeRule() != null && !setRangeRule(urlH.getRangeRule())) {
+                    return;
+                }
                 data.addArrayToBoard(urlH.getRleArray());
                 boardTitle = urlH.getBoardTitle();
                 ruleSet = urlH.getRuleSet();
+                if (urlH.getRangeRule() == null) {
+                    setRule(urlH.getRule());
+                }
                 author = urlH.getAuthors();
                 updateLabels();
                 headerList = urlH.getHeaderList();
@@ -795,12 +1062,22 @@ public class GoLFXController extends TopControl implements Initializable {
                 editorController.setInit(data);
                 editorStage.initModality(Modality.WINDOW_MODAL);
                 timeline.pause();
+                idle = false;
                 editorStage.setScene(scene);
                 editorStage.setTitle("Pattern Editor");
                 editorStage.sizeToScene();
                 editorStage.showAndWait();
 
                 data = editorController.getEditBoard();
+                try {
+                    data = createBoard(data, engine);
+                } catch (IllegalArgumentException exception) {
+                    //The edited rule set needs the DynamicBoard
+                    errorMessage(exception.getMessage());
+                    engine = "DynamicBoard";
+                    selectEngine.setValue(engine);
+                }
+                setRule(data.getRule());
                 data.reset_iterations();
                 data.reset_aliveCells();
 
@@ -851,6 +1128,13 @@ public class GoLFXController extends TopControl implements Initializable {
             disableButton.setSelected(true);
         });
 
+        //Selection of engine
+        selectEngine.getItems().addAll(Arrays.asList(ENGINES));
+        selectEngine.setValue(engine);
+        selectEngine.valueProperty().addListener((ObservableValue<? extends String> observable, String oldVal, String newVal) -> {
+            changeEngine(newVal);
+        });
+
         //Zoom function
         sizeSlider.valueProperty().addListener((observable, oldVal, newVal) -> {
             cInfo.setCellSize(newVal.doubleValue());
@@ -881,13 +1165,18 @@ public class GoLFXController extends TopControl implements Initializable {
     //LABELS
     /**
      * Updates the <code>iterationsLabel</code> with the current number of
-     * iterations.
+     * iterations, the period of the board if it repeats itself, the number of
+     * spaceships taken away and if the animation is <code>idle</code>.
      *
      * @see #iterationsLabel containing the number of iterations
+     * @see #cycle
      */
     @FXML
     public void updateI_label() {
-        iterationsLabel.setText("Iterations\n = " + data.getIterations());
+        String period = cycle.isCycle() ? "\n" + cycle : "";
+        String ships = collector.getCount() > 0 ? "\nShips = " + collector.getCount() : "";
+        String state = idle ? "\nIdle" : "";
+        iterationsLabel.setText("Iterations\n = " + data.getIterations() + period + ships + state);
     }
 
     /**
@@ -1072,6 +1361,7 @@ public class GoLFXController extends TopControl implements Initializable {
     public void statisticsAction() {
         try {
             timeline.pause();
+            idle = false;
             FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/view/Statistics.fxml"));
             Parent root1 = (Parent) fxmlLoader.load();
             StatisticsController stController = fxmlLoader.getController();
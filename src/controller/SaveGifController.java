@@ -92,6 +92,7 @@ public class SaveGifController extends TopControl implements Initializable {
     public void setInit(DynamicBoard board) {
         this.gif = new Gif();
         this.board = new StaticBoard(StaticBoard.listToArray(board.getBoardArray()));
+        this.board.setRule(board.getRule());
     }
 
     /**
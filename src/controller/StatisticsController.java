@@ -11,7 +11,6 @@ import javafx.scene.chart.LineChart;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.Button;
 import model.BoardPack.Board;
-import model.BoardPack.DynamicBoard;
 import model.Statistics;
 
 /**
@@ -28,7 +27,7 @@ public class StatisticsController {
     Button loadStatistics, resetStatistics;
 
     private final Statistics statisticsObj = new Statistics();
-    private DynamicBoard board;
+    private Board board;
     private XYChart.Series aliveCells, evolution, similarity;
     private int[][] storeData;
     private int[] similarityData;
@@ -104,7 +103,7 @@ public class StatisticsController {
      * @see #resetStatistics the reset button.
      */
     public void setBoard(Board board) throws IOException, ClassNotFoundException {
-        this.board = (DynamicBoard) statisticsObj.copy(board);
+        this.board = statisticsObj.copy(board);
         resetStatistics.setDisable(true);
     }
 
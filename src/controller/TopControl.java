@@ -16,6 +16,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
+import model.BoardPack.Rule;
 import model.FileHandler;
 
 /**
@@ -37,6 +38,13 @@ public class TopControl {
 
     protected String ruleSet = "B3/S23";
 
+    /**
+     * The rule set selected in this controller.
+     *
+     * @see #setRule(Rule)
+     */
+    protected Rule rule = Rule.CONWAY;
+
     /**
      * List of the different rule sets. These are used in order to quickly
      * select a different rule set in the GolFXController.
@@ -49,7 +57,8 @@ public class TopControl {
             "Live Free or Die: B2/S0", "Life without death: B3/S012345678", "Flock:B3/S12",
             "Mazecetric: B3/S1234", "Maze: B3/S12345", "Conway's Life: B3/S23",
             "2x2: B36/S125", "HighLife: B36/S23", "Move: B368/S245",
-            "Day & Night: B3678/S34678"
+            "Day & Night: B3678/S34678", "Brian's Brain: B2/S/C3",
+            "Star Wars: B2/S345/C4", "Inverse Life: B0123478/S01234678"
     );
     protected ObservableList<String> listOfSongs = FXCollections.observableArrayList(
             "DesiJourney",
@@ -71,7 +80,12 @@ public class TopControl {
             Matcher matcher = Pattern.compile("[:]\\s*(.*)").matcher(comboBoxselect);
             
             if (matcher.find()) {
-                FileHandler.parseRuleString(matcher.group(1));
+                Rule selected = FileHandler.parseRuleString(matcher.group(1));
+                setRule(selected);
+                if (rule != selected) {
+                    //The board refused the rule set
+                    return;
+                }
                 ruleLabel.setText(matcher.group(1));
                 ruleSet = matcher.group(1);
                 ruleTextField.setText(ruleSet);
@@ -88,10 +102,27 @@ public class TopControl {
     @FXML
     protected void setCustomRule() {
         String rule = ruleTextField.getText();
-        FileHandler.parseRuleString(rule);
+        Rule selected = FileHandler.parseRuleString(rule);
+        setRule(selected);
+        if (this.rule != selected) {
+            //The board refused the rule set
+            return;
+        }
         ruleSet = rule;
         ruleLabel.setText(rule);
     }
+
+    /**
+     * Sets the <code>rule</code> selected in this controller. Controllers
+     * override this method to set the rule set on their own boards, so that
+     * a rule set selected in one window does not change the boards of the
+     * other windows.
+     *
+     * @param rule the rule set to select
+     */
+    protected void setRule(Rule rule) {
+        this.rule = rule;
+    }
     
     
     /**
@@ -0,0 +1,879 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import javafx.scene.canvas.GraphicsContext;
+import model.CanvasInfo;
+
+/**
+ * BitBoard stores the board as packed bits in <code>long[]</code> rows, 64
+ * cells to each <code>long</code>. Cell (row, col) is bit <code>col % 64</code>
+ * of word <code>col / 64</code> in row <code>row</code>. Compared to the
+ * <code>byte[][]</code> of the <code>DynamicBoard</code>, which costs a byte
+ * per cell, this uses one bit per cell and reads and writes whole words.
+ *
+ * Like the <code>DynamicBoard</code> the board expands in the needed direction
+ * when a live cell reaches the edge, so the two can be swapped in the
+ * controller.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see model.BoardPack.Board
+ * @see model.BoardPack.DynamicBoard
+ */
+public class BitBoard extends Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of cells in each word of a row.
+     */
+    private static final int WORD_SIZE = 64;
+
+    /**
+     * The number of rows or columns added when a live cell reaches the edge of
+     * the board.
+     */
+    private static final int EXPANSION = 20;
+
+    /**
+     * The packed rows of the main board.
+     */
+    private long[][] boardArray;
+
+    /**
+     * The rows of the next generation. Swapped with the
+     * <code>boardArray</code> after each generation.
+     */
+    private long[][] nextArray;
+
+    /**
+     * Variables used to adjust placement of the board along the X-axis and
+     * the Y-axis after columns or rows have been added at the left side or the
+     * top.
+     */
+    private int placeColVar, placeRowVar;
+
+    /**
+     * The plane coordinates of row 0 and column 0 of the board, used for the
+     * <code>PlaneHash</code>. They stay the same for every cell when rows or
+     * columns are added at the top or the left side.
+     *
+     * @see PlaneHash
+     */
+    private long originRow, originCol;
+
+    //--------------------------CONSTRUCTORS--------------------------------//
+    /**
+     * Creates an empty board of 20 rows and 20 columns.
+     */
+    public BitBoard() {
+        this(20, 20);
+    }
+
+    /**
+     * Constructor that takes the number of rows <code>row</code> and the number
+     * of columns <code>columns</code> as parameters. Initializes an empty board.
+     *
+     * @param row the number of rows in the board
+     * @param columns the number of columns in the board
+     */
+    public BitBoard(int row, int columns) {
+        this.numRows = row;
+        this.numColumns = columns;
+        boardArray = new long[row][wordsFor(columns)];
+    }
+
+    /**
+     * Board constructor which copies a <code>byte[][]</code> of 0's and 1's,
+     * such as the array returned by <code>FileHandler.getRleArray()</code>.
+     *
+     * @param array the array to copy
+     */
+    public BitBoard(byte[][] array) {
+        this(array.length, array[0].length);
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (array[row][col] == 1) {
+                    setBit(row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Board constructor which copies any other <code>Board</code> cell by cell,
+     * and its <code>rule</code>.
+     *
+     * @param board the board to copy
+     */
+    public BitBoard(Board board) {
+        this(board.getHeight(), board.getWidth());
+        setRule(board.getRule());
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (board.getCellState(row, col) == 1) {
+                    setBit(row, col);
+                }
+            }
+        }
+    }
+
+    //--------------------------BIT LOGIC-----------------------------------//
+    /**
+     * Gets the number of words needed to hold <code>columns</code> cells.
+     *
+     * @param columns the number of columns
+     * @return the number of words
+     */
+    private static int wordsFor(int columns) {
+        return (columns + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    /**
+     * Sets a bit, and adds the cell to the <code>PlaneHash</code> if it was
+     * dead.
+     */
+    private void setBit(int row, int col) {
+        long[] words = boardArray[row];
+        long bit = 1L << col;
+        if ((words[col >>> 6] & bit) == 0) {
+            words[col >>> 6] |= bit;
+            if (planeHash != null) {
+                planeHash.add(originRow + row, originCol + col, 1);
+            }
+        }
+    }
+
+    /**
+     * Clears a bit, and takes the cell from the <code>PlaneHash</code> if it
+     * was alive.
+     */
+    private void clearBit(int row, int col) {
+        long[] words = boardArray[row];
+        long bit = 1L << col;
+        if ((words[col >>> 6] & bit) != 0) {
+            words[col >>> 6] &= ~bit;
+            if (planeHash != null) {
+                planeHash.add(originRow + row, originCol + col, -1);
+            }
+        }
+    }
+
+    /**
+     * Clears every bit of a row, and takes its live cells from the
+     * <code>PlaneHash</code>.
+     */
+    private void clearRow(int row) {
+        long[] words = boardArray[row];
+        if (planeHash != null) {
+            addCells(row, words, -1);
+        }
+        Arrays.fill(words, 0);
+    }
+
+    /**
+     * Adds the set bits of the words of a row to the <code>PlaneHash</code>
+     * with the cell state <code>state</code>, -1 to take them away.
+     */
+    private void addCells(int row, long[] words, int state) {
+        long planeRow = originRow + row;
+        long rowKey = PlaneHash.rowKey(planeRow);
+        for (int w = 0; w < words.length; w++) {
+            for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                long planeCol = originCol + (w << 6) + Long.numberOfTrailingZeros(bits);
+                planeHash.add(planeRow, planeCol, rowKey * PlaneHash.columnKey(planeCol), state);
+            }
+        }
+    }
+
+    @Override
+    public byte getCellState(int row, int col) {
+        return (byte) ((boardArray[row][col >>> 6] >>> col) & 1L);
+    }
+
+    //-------------------------EXPANDING LOGIC ----------------------------- //
+    /**
+     * Adds rows and columns to the board when a live cell is placed on one of
+     * the outer rows or columns, so that the next generation has room to grow.
+     */
+    public void addRowsandColumns() {
+        if (rowIsAlive(0)) {
+            addRows(EXPANSION, true);
+        }
+        if (rowIsAlive(numRows - 1)) {
+            addRows(EXPANSION, false);
+        }
+
+        int lastWord = (numColumns - 1) >>> 6;
+        long lastBit = 1L << (numColumns - 1);
+        boolean left = false;
+        boolean right = false;
+        for (int row = 0; row < numRows; row++) {
+            left |= (boardArray[row][0] & 1L) != 0;
+            right |= (boardArray[row][lastWord] & lastBit) != 0;
+        }
+        if (left) {
+            addColumns(EXPANSION, true);
+        }
+        if (right) {
+            addColumns(EXPANSION, false);
+        }
+    }
+
+    private boolean rowIsAlive(int row) {
+        for (long word : boardArray[row]) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds <code>addRows</code> empty rows at the top (if <code>top</code> is
+     * true) or at the bottom of the board.
+     *
+     * @param addRows the number of rows to add
+     * @param top the side to add the rows
+     */
+    public void addRows(int addRows, boolean top) {
+        long[][] newArray = new long[numRows + addRows][];
+        int offset = top ? addRows : 0;
+        System.arraycopy(boardArray, 0, newArray, offset, numRows);
+        int words = wordsFor(numColumns);
+        for (int row = 0; row < newArray.length; row++) {
+            if (newArray[row] == null) {
+                newArray[row] = new long[words];
+            }
+        }
+        if (top) {
+            placeRowVar += addRows;
+            originRow -= addRows;
+        }
+        boardArray = newArray;
+        numRows += addRows;
+    }
+
+    /**
+     * Adds <code>addColumns</code> empty columns at the left side (if
+     * <code>left</code> is true) or at the right side of the board. Columns
+     * added at the left side shift every row by <code>addColumns</code> bits.
+     *
+     * @param addColumns the number of columns to add
+     * @param left the side to add the columns
+     */
+    public void addColumns(int addColumns, boolean left) {
+        int words = wordsFor(numColumns + addColumns);
+        for (int row = 0; row < numRows; row++) {
+            long[] newRow = new long[words];
+            if (left) {
+                shiftInto(boardArray[row], newRow, addColumns);
+            } else {
+                System.arraycopy(boardArray[row], 0, newRow, 0, boardArray[row].length);
+            }
+            boardArray[row] = newRow;
+        }
+        if (left) {
+            placeColVar += addColumns;
+            originCol -= addColumns;
+        }
+        numColumns += addColumns;
+    }
+
+    /**
+     * Copies the bits of <code>src</code> into <code>dst</code>, moved
+     * <code>shift</code> columns to the right.
+     */
+    private static void shiftInto(long[] src, long[] dst, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int i = 0; i < src.length; i++) {
+            dst[i + wordShift] |= src[i] << bitShift;
+            if (bitShift != 0 && i + wordShift + 1 < dst.length) {
+                dst[i + wordShift + 1] |= src[i] >>> (WORD_SIZE - bitShift);
+            }
+        }
+    }
+
+    @Override
+    public void autoFit(byte[][] array) {
+        while (numRows < array.length) {
+            addRows(5, false);
+        }
+        while (numColumns < array[0].length) {
+            addColumns(5, false);
+        }
+    }
+
+    @Override
+    public void addArrayToBoard(byte[][] array) {
+        while (numRows <= array.length) {
+            addRows(1, false);
+            addRows(1, true);
+        }
+        while (numColumns <= array[0].length) {
+            addColumns(1, false);
+            addColumns(1, true);
+        }
+
+        int placementy = ymove + (numRows - array.length) / 2;
+        int placementx = xmove + (numColumns - array[0].length) / 2;
+
+        if (placementy + array.length > numRows) {
+            addRows(placementy + array.length - numRows + 1, false);
+        }
+        if (placementy < 0) {
+            addRows(Math.abs(placementy), true);
+            placementy = 1;
+        }
+
+        if (placementx + array[0].length > numColumns) {
+            addColumns(placementx + array[0].length - numColumns + 1, false);
+        }
+        if (placementx < 0) {
+            addColumns(Math.abs(placementx), true);
+            placementx = 1;
+        }
+
+        for (int y = placementy, z = 0; z < array.length; y++, z++) {
+            for (int x = placementx, w = 0; w < array[0].length; x++, w++) {
+                if (array[z][w] == 1) {
+                    setBit(y, x);
+                }
+            }
+        }
+
+        if (topExist()) {
+            topExist = false;
+            xmove = 0;
+            ymove = 0;
+        }
+    }
+
+    //------------------GENERATION LOGIC--------------------------------------//
+    /*
+    The generation is computed 64 cells at a time. For every word the eight
+    neighbour words are lined up with shifts, so that bit i of each of them is
+    one of the neighbours of cell i. The eight words are summed with bitwise
+    full adders into a 4-bit count (s3 s2 s1 s0) for all 64 cells at once, and
+    the rule is then applied to the count as a boolean circuit. No neighBoard
+    is needed.
+     */
+    /**
+     * Expands the board if needed, prepares the <code>nextArray</code> and
+     * increments the <code>iterations</code>.
+     *
+     * @see #addRowsandColumns()
+     * @see #createNeighBoard()
+     */
+    @Override
+    public void beforeSetGeneration() {
+        aliveCells = 0;
+        addRowsandColumns();
+        createNeighBoard();
+        iterations++;
+    }
+
+    /**
+     * Prepares the <code>nextArray</code> for the next generation. The
+     * <code>BitBoard</code> has no <code>neighBoard</code>, the
+     * <code>nextArray</code> is only allocated again when the board has
+     * changed size.
+     */
+    @Override
+    protected void createNeighBoard() {
+        int words = wordsFor(numColumns);
+        if (nextArray == null || nextArray.length != numRows
+                || nextArray[0].length != words) {
+            nextArray = new long[numRows][words];
+            emptyRow = new long[words];
+        }
+    }
+
+    /**
+     * A row of zeros used as the neighbour row above the first row and below
+     * the last row.
+     */
+    private long[] emptyRow;
+
+    /**
+     * Computes the next generation of every word into the
+     * <code>nextArray</code> with <code>nextWord</code>. The birth and survival
+     * rules are read once from the <code>rule</code> of the board before the
+     * board is iterated. Rule sets which are not totalistic can not be
+     * counted with adders, their words are set with the table of every
+     * neighbourhood instead.
+     *
+     * @see #nextWord(long, long, long, long, long, long, long, long, long, int, int)
+     * @see #nextWord(long, long, long, long, long, long, long, long, long, byte[])
+     */
+    @Override
+    public void updateNeighbourBoard() {
+        int birth = rule.getBirthMask();
+        int survive = rule.getSurviveMask();
+        byte[] table = rule.isTotalistic() ? null : rule.getTable();
+        long lastMask = lastWordMask();
+        int last = wordsFor(numColumns) - 1;
+
+        for (int row = 0; row < numRows; row++) {
+            long[] up = row > 0 ? boardArray[row - 1] : emptyRow;
+            long[] mid = boardArray[row];
+            long[] down = row < numRows - 1 ? boardArray[row + 1] : emptyRow;
+            long[] next = nextArray[row];
+
+            for (int w = 0; w <= last; w++) {
+                int west = w - 1;
+                int east = w + 1;
+                long upW = west < 0 ? 0 : up[west];
+                long upE = east > last ? 0 : up[east];
+                long midW = west < 0 ? 0 : mid[west];
+                long midE = east > last ? 0 : mid[east];
+                long downW = west < 0 ? 0 : down[west];
+                long downE = east > last ? 0 : down[east];
+                long word = table == null
+                        ? nextWord(upW, up[w], upE, midW, mid[w], midE, downW, down[w], downE, birth, survive)
+                        : nextWord(upW, up[w], upE, midW, mid[w], midE, downW, down[w], downE, table);
+                next[w] = w == last ? word & lastMask : word;
+            }
+        }
+    }
+
+    /**
+     * Swaps the <code>nextArray</code> with the <code>boardArray</code> and
+     * counts the alive cells with <code>Long.bitCount</code>. The bits which
+     * differ between the two generations are the cells that were born or
+     * died, they are added to the <code>PlaneHash</code>, and the board is
+     * <code>unchanged</code> if there are none.
+     */
+    @Override
+    public void setNewGenValues() {
+        long[][] swap = boardArray;
+        boardArray = nextArray;
+        nextArray = swap;
+
+        PlaneHash hash = planeHash;
+        boolean changed = false;
+        for (int row = 0; row < numRows; row++) {
+            long[] words = boardArray[row];
+            long[] before = nextArray[row];
+            long planeRow = originRow + row;
+            long rowKey = 0;
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                aliveCells += Long.bitCount(word);
+                long diff = word ^ before[w];
+                if (diff == 0) {
+                    continue;
+                }
+                changed = true;
+                if (hash == null) {
+                    continue;
+                }
+                if (rowKey == 0) {
+                    rowKey = PlaneHash.rowKey(planeRow);
+                }
+                for (; diff != 0; diff &= diff - 1) {
+                    int bit = Long.numberOfTrailingZeros(diff);
+                    long planeCol = originCol + (w << 6) + bit;
+                    hash.add(planeRow, planeCol, rowKey * PlaneHash.columnKey(planeCol),
+                            (word >>> bit & 1L) != 0 ? 1 : -1);
+                }
+            }
+        }
+        unchanged = !changed;
+    }
+
+    /**
+     * Computes the next generation of the 64 cells in the word
+     * <code>mid</code>. The other words are the words above, below and at
+     * each side of it, a word outside of the board is 0. Bit i of the result
+     * is the new state of cell i.
+     *
+     * @param upW the word above to the left
+     * @param up the word above
+     * @param upE the word above to the right
+     * @param midW the word to the left
+     * @param mid the word to compute
+     * @param midE the word to the right
+     * @param downW the word below to the left
+     * @param down the word below
+     * @param downE the word below to the right
+     * @param birth the mask of the neighbour counts giving birth to a dead cell
+     * @param survive the mask of the neighbour counts keeping a live cell alive
+     * @return the next generation of the word
+     */
+    static long nextWord(long upW, long up, long upE, long midW, long mid,
+            long midE, long downW, long down, long downE, int birth, int survive) {
+        //Bit i of the shifted words is the neighbour of cell i to the west or east.
+        long a = (up << 1) | (upW >>> 63);
+        long b = up;
+        long c = (up >>> 1) | (upE << 63);
+        long d = (mid << 1) | (midW >>> 63);
+        long e = (mid >>> 1) | (midE << 63);
+        long f = (down << 1) | (downW >>> 63);
+        long g = down;
+        long h = (down >>> 1) | (downE << 63);
+
+        //Row above and row below, 0..3 each: full adders.
+        long u0 = a ^ b ^ c;
+        long u1 = (a & b) | (c & (a ^ b));
+        long l0 = f ^ g ^ h;
+        long l1 = (f & g) | (h & (f ^ g));
+        //Middle row, 0..2: half adder.
+        long m0 = d ^ e;
+        long m1 = d & e;
+
+        //Bit of weight 1.
+        long s0 = u0 ^ l0 ^ m0;
+        long c0 = (u0 & l0) | (m0 & (u0 ^ l0));
+        //Bits of weight 2: u1, l1, m1 and the carry c0.
+        long t0 = u1 ^ l1 ^ m1;
+        long t1 = (u1 & l1) | (m1 & (u1 ^ l1));
+        long s1 = t0 ^ c0;
+        long c1 = t0 & c0;
+        //Bits of weight 4 and 8.
+        long s2 = t1 ^ c1;
+        long s3 = t1 & c1;
+
+        return (mid & countIn(survive, s0, s1, s2, s3))
+                | (~mid & countIn(birth, s0, s1, s2, s3));
+    }
+
+    /**
+     * Computes the next generation of the 64 cells in the word
+     * <code>mid</code> with the <code>Rule</code> table of every 3x3
+     * neighbourhood, for rule sets which are not totalistic. The words are
+     * lined up in the same way as for the counts, and the neighbourhood of
+     * each cell is read from bit i of the nine words. Only the cells with a
+     * live cell in their neighbourhood are looked up, the other cells are all
+     * set from the empty neighbourhood.
+     *
+     * @param upW the word above to the left
+     * @param up the word above
+     * @param upE the word above to the right
+     * @param midW the word to the left
+     * @param mid the word to compute
+     * @param midE the word to the right
+     * @param downW the word below to the left
+     * @param down the word below
+     * @param downE the word below to the right
+     * @param table the new cell state of every neighbourhood
+     * @return the next generation of the word
+     * @see Rule#NEIGHBOURHOODS
+     */
+    static long nextWord(long upW, long up, long upE, long midW, long mid,
+            long midE, long downW, long down, long downE, byte[] table) {
+        long a = (up << 1) | (upW >>> 63);
+        long c = (up >>> 1) | (upE << 63);
+        long d = (mid << 1) | (midW >>> 63);
+        long e = (mid >>> 1) | (midE << 63);
+        long f = (down << 1) | (downW >>> 63);
+        long h = (down >>> 1) | (downE << 63);
+
+        long any = a | up | c | d | mid | e | f | down | h;
+        long word = table[0] != 0 ? ~any : 0;
+        for (long bits = any; bits != 0; bits &= bits - 1) {
+            int i = Long.numberOfTrailingZeros(bits);
+            int neighbourhood = (int) ((a >>> i & 1) << 8 | (up >>> i & 1) << 7
+                    | (c >>> i & 1) << 6 | (d >>> i & 1) << 5 | (mid >>> i & 1) << 4
+                    | (e >>> i & 1) << 3 | (f >>> i & 1) << 2 | (down >>> i & 1) << 1
+                    | (h >>> i & 1));
+            word |= (long) table[neighbourhood] << i;
+        }
+        return word;
+    }
+
+    /**
+     * Gets the mask of the cells whose neighbour count (s3 s2 s1 s0) is one of
+     * the <code>counts</code>, bit n of <code>counts</code> is set for a count
+     * of n.
+     */
+    private static long countIn(int counts, long s0, long s1, long s2, long s3) {
+        long in = 0;
+        for (; counts != 0; counts &= counts - 1) {
+            int count = Integer.numberOfTrailingZeros(counts);
+            //All ones where the bit of the count is set, all zeros otherwise.
+            long x0 = -(count & 1);
+            long x1 = -((count >>> 1) & 1);
+            long x2 = -((count >>> 2) & 1);
+            long x3 = -((count >>> 3) & 1);
+            in |= ~((s0 ^ x0) | (s1 ^ x1) | (s2 ^ x2) | (s3 ^ x3));
+        }
+        return in;
+    }
+
+    /**
+     * Gets the mask of the valid cells in the last word of a row. Bits outside
+     * of the board must always stay 0.
+     *
+     * @return the mask of the last word
+     */
+    private long lastWordMask() {
+        int rest = numColumns % WORD_SIZE;
+        return rest == 0 ? -1L : (1L << rest) - 1;
+    }
+
+    /**
+     * A <code>BitBoard</code> counts the words outside of the board as dead,
+     * so it can not set rule sets with B0.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isB0Supported() {
+        return false;
+    }
+
+    /**
+     * A <code>BitBoard</code> stores every cell in a single bit, so it can not
+     * set rule sets of more than two states.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isStatesSupported() {
+        return false;
+    }
+
+    /**
+     * Checks if dimensions of the board exceeds 2000. If so the outer rows and
+     * columns are set to 0, the same way as in the <code>DynamicBoard</code>.
+     *
+     * @see DynamicBoard#sizeTest()
+     */
+    @Override
+    public void sizeTest() {
+        if (getWidth() >= 2000) {
+            for (int row = 0; row < numRows; row++) {
+                clearBit(row, 0);
+                clearBit(row, numColumns - 1);
+            }
+            if (getHeight() >= 2000) {
+                clearRow(0);
+                clearRow(numRows - 1);
+            }
+        }
+    }
+
+    //--------------------------DRAW LOGIC------------------------------------//
+    /**
+     * Draws the live cells of the board. Only the set bits of each word are
+     * visited. The placement is adjusted for rows and columns added at the top
+     * and the left side, the same way as in the <code>DynamicBoard</code>.
+     *
+     * @param gc the <code>GraphicsContext</code> used to draw
+     * @param cInfo the <code>CanvasInfo</code>-object containing information
+     * about the canvas
+     */
+    @Override
+    public void draw(GraphicsContext gc, CanvasInfo cInfo) {
+        gc.setFill(backGroundColor);
+        gc.fillRect(0, 0, cInfo.getCanvasWidth(), cInfo.getCanvasheight());
+
+        if (topExist) {
+            drawTopBoard(gc, cInfo);
+        }
+        double cellSize = cInfo.getCellSize();
+        cInfo.setPlacementX(placeColVar);
+        cInfo.setPlacementY(placeRowVar);
+        placeRowVar = 0;
+        placeColVar = 0;
+        double placementX = cInfo.getPlacementX();
+        double placementY = cInfo.getPlacementY();
+
+        gc.setStroke(gridColor);
+        if (grid) {
+            for (int x = 0; x < numRows; x++) {
+                for (int y = 0; y < numColumns; y++) {
+                    gc.strokeRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize, cellSize);
+                }
+            }
+        }
+
+        gc.setFill(cellColor);
+        for (int x = 0; x < numRows; x++) {
+            long[] words = boardArray[x];
+            for (int w = 0; w < words.length; w++) {
+                long bits = words[w];
+                while (bits != 0) {
+                    int y = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    gc.fillRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize - 0.1, cellSize - 0.1);
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Alters the cell state of the cell at (<code>row</code>, <code>col</code>).
+     * If the cell is outside of the board, rows or columns are added at that
+     * side as long as the board stays smaller than <code>maxSize</code>.
+     *
+     * @param row the row of the current cell
+     * @param col the column of the current cell
+     * @param erase erases (1 into 0) if <code>true</code> or draws (0 into 1)
+     * if <code>false</code>
+     * @param maxSize when the Board will no longer expand on mouseclick.
+     */
+    @Override
+    public void setCellValue(int row, int col, boolean erase, int maxSize) {
+        if (col < numColumns && col > -1 && row < numRows && row > -1) {
+            if (erase) {
+                clearBit(row, col);
+            } else if (getCellState(row, col) == 0) {
+                setBit(row, col);
+                aliveCells++;
+            }
+        } else if (!erase && (Math.abs(row) + numRows < maxSize
+                || Math.abs(col) + numColumns < maxSize)) {
+            if (row >= numRows) {
+                addRows(row - numRows + 1, false);
+                row = numRows - 1;
+            }
+            if (row < 0) {
+                addRows(Math.abs(row), true);
+                row = 0;
+            }
+            if (col >= numColumns) {
+                addColumns(col - numColumns + 1, false);
+                col = numColumns - 1;
+            }
+            if (col < 0) {
+                addColumns(Math.abs(col), true);
+                col = 0;
+            }
+            setBit(row, col);
+            aliveCells++;
+        }
+    }
+
+    //-----------------------BOUNDING LOGIC----------------------------------//
+    /**
+     * Collects the outer rows and columns where there are live cells.
+     * boundingBox[4] // minrow maxrow mincolumn maxcolumn
+     *
+     * @return an array witch describes where the active rows and columns start
+     * and end.
+     */
+    @Override
+    public int[] getBoundingBox() {
+        int[] boundingBox = {numRows, 0, numColumns, 0};
+        for (int row = 0; row < numRows; row++) {
+            long[] words = boardArray[row];
+            for (int w = 0; w < words.length; w++) {
+                if (words[w] == 0) {
+                    continue;
+                }
+                int first = (w << 6) + Long.numberOfTrailingZeros(words[w]);
+                int last = (w << 6) + 63 - Long.numberOfLeadingZeros(words[w]);
+                boundingBox[0] = Math.min(boundingBox[0], row);
+                boundingBox[1] = Math.max(boundingBox[1], row);
+                boundingBox[2] = Math.min(boundingBox[2], first);
+                boundingBox[3] = Math.max(boundingBox[3], last);
+            }
+        }
+        return boundingBox;
+    }
+
+    @Override
+    public String getBoundingBoxPattern() {
+        int[] boundingBox = getBoundingBox();
+        StringBuilder pattern = new StringBuilder();
+        for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
+            for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
+                pattern.append(getCellState(i, j));
+            }
+        }
+        return pattern.toString();
+    }
+
+    //--------------------------SETTERS AND GETTERS------------------------//
+    @Override
+    public int getSumOfAlive() {
+        int sum = 0;
+        for (int row = 0; row < numRows; row++) {
+            long[] words = boardArray[row];
+            for (int w = 0; w < words.length; w++) {
+                long bits = words[w];
+                while (bits != 0) {
+                    sum += row + (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the live cells, kept up to date with
+     * the cells that are born and die in <code>setNewGenValues</code> and the
+     * cells that are set and cleared. The hash is only counted from every
+     * cell the first time it is asked for.
+     *
+     * @return the hash of the cells
+     */
+    @Override
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+            for (int row = 0; row < numRows; row++) {
+                addCells(row, boardArray[row], 1);
+            }
+        }
+        return planeHash;
+    }
+
+    /**
+     * The <code>PlaneHash</code> is kept up to date in
+     * <code>setNewGenValues</code>.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean hasIncrementalHash() {
+        return true;
+    }
+
+    /**
+     * Gets the packed rows of the board.
+     *
+     * @return the <code>long[][]</code> of the board
+     */
+    public long[][] getBoardArray() {
+        return boardArray;
+    }
+
+    @Override
+    public int getHeight() {
+        return numRows;
+    }
+
+    @Override
+    public int getWidth() {
+        return numColumns;
+    }
+
+    /**
+     * Creates a <code>String</code>-representation of the board, without
+     * newlines, in the same format as the <code>DynamicBoard</code>.
+     *
+     * @return the <code>String</code>-representation of the board
+     */
+    @Override
+    public String toString() {
+        StringBuilder sr = new StringBuilder();
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                sr.append(getCellState(row, col));
+            }
+        }
+        return sr.toString();
+    }
+}
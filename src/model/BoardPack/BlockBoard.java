@@ -0,0 +1,797 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import javafx.scene.canvas.GraphicsContext;
+import model.CanvasInfo;
+
+/**
+ * BlockBoard stores the board as blocks of 2x2 cells, four bits in each
+ * <code>byte</code>, and sets the next generation of a whole block with a
+ * single lookup. Four blocks side by side make a square of 4x4 cells, and the
+ * next generation of the 2x2 cells in the middle of the square only depends
+ * on the square. The 16 bits of every square are the index of a table of 65536
+ * entries holding the next generation of the middle, which is built from the
+ * <code>rule</code> of the board, so any rule is set at the same speed.
+ *
+ * The middle of a square lies one cell below and to the right of the corner of
+ * its blocks, so the new blocks are one cell off from the old blocks. The
+ * cells are kept at an <code>offset</code> of 2 or 1 in the blocks: the
+ * generations set from an offset of 2 use the squares to the lower right of
+ * each new block, which moves the cells to an offset of 1, and the generations
+ * from an offset of 1 use the squares to the upper left, which moves them back
+ * again.
+ *
+ * Like the <code>BitBoard</code> the board expands in the needed direction
+ * when a live cell reaches the edge, and cells outside of the board are dead.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see model.BoardPack.Board
+ * @see model.BoardPack.BitBoard
+ */
+public class BlockBoard extends Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of rows or columns added when a live cell reaches the edge of
+     * the board.
+     */
+    private static final int EXPANSION = 20;
+
+    /**
+     * The blocks of the main board. Bit <code>2 * y + x</code> of a block is
+     * the cell in row y and column x of the block.
+     */
+    private byte[][] blockArray;
+
+    /**
+     * The blocks of the next generation. Swapped with the
+     * <code>blockArray</code> after each generation.
+     */
+    private byte[][] nextArray;
+
+    /**
+     * The row and column in the blocks of the cell in row 0 and column 0 of
+     * the board, 2 or 1.
+     */
+    private int offset = 2;
+
+    /**
+     * The next generation of the middle of every square of 4x4 cells, built
+     * for the rule in <code>tableRule</code>. Bits 0-3 of the
+     * index are the upper left block, bits 4-7 the upper right, bits 8-11 the
+     * lower left and bits 12-15 the lower right block.
+     */
+    private transient byte[] table;
+    private transient Rule tableRule;
+
+    /**
+     * Variables used to adjust placement of the board along the X-axis and
+     * the Y-axis after columns or rows have been added at the left side or the
+     * top.
+     */
+    private int placeColVar, placeRowVar;
+
+    /**
+     * The plane coordinates of row 0 and column 0 of the board, used for the
+     * <code>PlaneHash</code>. They stay the same for every cell when rows or
+     * columns are added at the top or the left side.
+     *
+     * @see PlaneHash
+     */
+    private long originRow, originCol;
+
+    /**
+     * Set in <code>updateNeighbourBoard</code> if a cell was born or died in
+     * the generation.
+     */
+    private transient boolean changed;
+
+    //--------------------------CONSTRUCTORS--------------------------------//
+    /**
+     * Creates an empty board of 20 rows and 20 columns.
+     */
+    public BlockBoard() {
+        this(20, 20);
+    }
+
+    /**
+     * Constructor that takes the number of rows <code>row</code> and the number
+     * of columns <code>columns</code> as parameters. Initializes an empty board.
+     *
+     * @param row the number of rows in the board
+     * @param columns the number of columns in the board
+     */
+    public BlockBoard(int row, int columns) {
+        this.numRows = row;
+        this.numColumns = columns;
+        blockArray = new byte[blocksFor(row)][blocksFor(columns)];
+    }
+
+    /**
+     * Board constructor which copies a <code>byte[][]</code> of 0's and 1's,
+     * such as the array returned by <code>FileHandler.getRleArray()</code>.
+     *
+     * @param array the array to copy
+     */
+    public BlockBoard(byte[][] array) {
+        this(array.length, array[0].length);
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (array[row][col] == 1) {
+                    setCell(row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Board constructor which copies any other <code>Board</code> cell by cell,
+     * and its <code>rule</code>.
+     *
+     * @param board the board to copy
+     */
+    public BlockBoard(Board board) {
+        this(board.getHeight(), board.getWidth());
+        setRule(board.getRule());
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (board.getCellState(row, col) == 1) {
+                    setCell(row, col);
+                }
+            }
+        }
+    }
+
+    //--------------------------BLOCK LOGIC---------------------------------//
+    /**
+     * Gets the number of blocks needed to hold <code>cells</code> rows or
+     * columns at an offset of up to 2, with room for the squares read at the
+     * edges.
+     *
+     * @param cells the number of rows or columns
+     * @return the number of blocks
+     */
+    private static int blocksFor(int cells) {
+        return cells / 2 + 2;
+    }
+
+    /**
+     * Sets a cell alive, and adds it to the <code>PlaneHash</code> if it was
+     * dead.
+     */
+    private void setCell(int row, int col) {
+        int y = row + offset;
+        int x = col + offset;
+        byte[] blocks = blockArray[y >>> 1];
+        int bit = 1 << (((y & 1) << 1) | (x & 1));
+        if ((blocks[x >>> 1] & bit) == 0) {
+            blocks[x >>> 1] |= bit;
+            if (planeHash != null) {
+                planeHash.add(originRow + row, originCol + col, 1);
+            }
+        }
+    }
+
+    /**
+     * Sets a cell dead, and takes it from the <code>PlaneHash</code> if it was
+     * alive.
+     */
+    private void clearCell(int row, int col) {
+        int y = row + offset;
+        int x = col + offset;
+        byte[] blocks = blockArray[y >>> 1];
+        int bit = 1 << (((y & 1) << 1) | (x & 1));
+        if ((blocks[x >>> 1] & bit) != 0) {
+            blocks[x >>> 1] &= ~bit;
+            if (planeHash != null) {
+                planeHash.add(originRow + row, originCol + col, -1);
+            }
+        }
+    }
+
+    /**
+     * Adds the cells of the set bits of <code>bits</code> in block
+     * (<code>i</code>, <code>j</code>) to the <code>PlaneHash</code>, alive if
+     * the bit is set in <code>block</code> and taken away otherwise.
+     *
+     * @param i the row of the block
+     * @param j the column of the block
+     * @param bits the cells to add
+     * @param block the states of the cells
+     * @param offset the offset of the cells in the blocks
+     */
+    private void addCells(int i, int j, int bits, int block, int offset) {
+        for (; bits != 0; bits &= bits - 1) {
+            int bit = Integer.numberOfTrailingZeros(bits);
+            planeHash.add(originRow + 2 * i + (bit >>> 1) - offset,
+                    originCol + 2 * j + (bit & 1) - offset, (block >>> bit & 1) != 0 ? 1 : -1);
+        }
+    }
+
+    @Override
+    public byte getCellState(int row, int col) {
+        int y = row + offset;
+        int x = col + offset;
+        return (byte) ((blockArray[y >>> 1][x >>> 1] >>> (((y & 1) << 1) | (x & 1))) & 1);
+    }
+
+    /**
+     * Builds the <code>table</code> for a rule. For every square the
+     * neighbourhood of each of the four cells in the middle is read from the
+     * square, and the next state is set in the bit of the cell in the new
+     * block.
+     *
+     * @param rule the rule of the table
+     * @return the table of the rule
+     */
+    private static byte[] createTable(Rule rule) {
+        byte[] table = new byte[1 << 16];
+        for (int square = 0; square < table.length; square++) {
+            int block = 0;
+            for (int y = 1; y <= 2; y++) {
+                for (int x = 1; x <= 2; x++) {
+                    int neighbourhood = 0;
+                    for (int dy = -1; dy <= 1; dy++) {
+                        for (int dx = -1; dx <= 1; dx++) {
+                            neighbourhood = neighbourhood << 1 | squareCell(square, y + dy, x + dx);
+                        }
+                    }
+                    int next = rule.nextState(neighbourhood);
+                    block |= next << (((y - 1) << 1) | (x - 1));
+                }
+            }
+            table[square] = (byte) block;
+        }
+        return table;
+    }
+
+    /**
+     * Gets the cell in row y and column x of a square of 4x4 cells.
+     */
+    private static int squareCell(int square, int y, int x) {
+        int block = ((y >>> 1) << 1) | (x >>> 1);
+        return (square >>> ((block << 2) | ((y & 1) << 1) | (x & 1))) & 1;
+    }
+
+    //-------------------------EXPANDING LOGIC ----------------------------- //
+    /**
+     * Adds rows and columns to the board when a live cell is placed on one of
+     * the outer rows or columns, so that the next generation has room to grow.
+     */
+    public void addRowsandColumns() {
+        boolean top = false;
+        boolean bottom = false;
+        for (int col = 0; col < numColumns; col++) {
+            top |= getCellState(0, col) == 1;
+            bottom |= getCellState(numRows - 1, col) == 1;
+        }
+        boolean left = false;
+        boolean right = false;
+        for (int row = 0; row < numRows; row++) {
+            left |= getCellState(row, 0) == 1;
+            right |= getCellState(row, numColumns - 1) == 1;
+        }
+        if (top || bottom || left || right) {
+            resize(top ? EXPANSION : 0, bottom ? EXPANSION : 0,
+                    left ? EXPANSION : 0, right ? EXPANSION : 0);
+        }
+    }
+
+    /**
+     * Adds <code>addRows</code> empty rows at the top (if <code>top</code> is
+     * true) or at the bottom of the board.
+     *
+     * @param addRows the number of rows to add
+     * @param top the side to add the rows
+     */
+    public void addRows(int addRows, boolean top) {
+        resize(top ? addRows : 0, top ? 0 : addRows, 0, 0);
+    }
+
+    /**
+     * Adds <code>addColumns</code> empty columns at the left side (if
+     * <code>left</code> is true) or at the right side of the board.
+     *
+     * @param addColumns the number of columns to add
+     * @param left the side to add the columns
+     */
+    public void addColumns(int addColumns, boolean left) {
+        resize(0, 0, left ? addColumns : 0, left ? 0 : addColumns);
+    }
+
+    /**
+     * Adds empty rows and columns at the sides of the board. The blocks are
+     * allocated again, and the live cells of the old blocks are set in the
+     * new blocks at their new place, which is the same place on the plane.
+     *
+     * @param top the number of rows to add at the top
+     * @param bottom the number of rows to add at the bottom
+     * @param left the number of columns to add at the left side
+     * @param right the number of columns to add at the right side
+     */
+    private void resize(int top, int bottom, int left, int right) {
+        byte[][] old = blockArray;
+        blockArray = new byte[blocksFor(numRows + top + bottom)][blocksFor(numColumns + left + right)];
+        for (int i = 0; i < old.length; i++) {
+            for (int j = 0; j < old[i].length; j++) {
+                for (int bits = old[i][j]; bits != 0; bits &= bits - 1) {
+                    int bit = Integer.numberOfTrailingZeros(bits);
+                    int y = 2 * i + (bit >>> 1) + top;
+                    int x = 2 * j + (bit & 1) + left;
+                    blockArray[y >>> 1][x >>> 1] |= 1 << (((y & 1) << 1) | (x & 1));
+                }
+            }
+        }
+        numRows += top + bottom;
+        numColumns += left + right;
+        placeRowVar += top;
+        placeColVar += left;
+        originRow -= top;
+        originCol -= left;
+    }
+
+    @Override
+    public void autoFit(byte[][] array) {
+        while (numRows < array.length) {
+            addRows(5, false);
+        }
+        while (numColumns < array[0].length) {
+            addColumns(5, false);
+        }
+    }
+
+    @Override
+    public void addArrayToBoard(byte[][] array) {
+        while (numRows <= array.length) {
+            addRows(1, false);
+            addRows(1, true);
+        }
+        while (numColumns <= array[0].length) {
+            addColumns(1, false);
+            addColumns(1, true);
+        }
+
+        int placementy = ymove + (numRows - array.length) / 2;
+        int placementx = xmove + (numColumns - array[0].length) / 2;
+
+        if (placementy + array.length > numRows) {
+            addRows(placementy + array.length - numRows + 1, false);
+        }
+        if (placementy < 0) {
+            addRows(Math.abs(placementy), true);
+            placementy = 1;
+        }
+
+        if (placementx + array[0].length > numColumns) {
+            addColumns(placementx + array[0].length - numColumns + 1, false);
+        }
+        if (placementx < 0) {
+            addColumns(Math.abs(placementx), true);
+            placementx = 1;
+        }
+
+        for (int y = placementy, z = 0; z < array.length; y++, z++) {
+            for (int x = placementx, w = 0; w < array[0].length; x++, w++) {
+                if (array[z][w] == 1) {
+                    setCell(y, x);
+                }
+            }
+        }
+
+        if (topExist()) {
+            topExist = false;
+            xmove = 0;
+            ymove = 0;
+        }
+    }
+
+    //------------------GENERATION LOGIC--------------------------------------//
+    /*
+    Every new block is one lookup in the table. From an offset of 2 the square
+    of new block (i, j) is made of the old blocks (i, j), (i, j + 1),
+    (i + 1, j) and (i + 1, j + 1), from an offset of 1 of the old blocks
+    (i - 1, j - 1), (i - 1, j), (i, j - 1) and (i, j). The new blocks which have
+    no square inside of the blocks are left empty, they hold no cells of the
+    board.
+     */
+    /**
+     * Expands the board if needed, prepares the <code>nextArray</code> and
+     * the <code>table</code> and increments the <code>iterations</code>.
+     *
+     * @see #addRowsandColumns()
+     * @see #createNeighBoard()
+     */
+    @Override
+    public void beforeSetGeneration() {
+        aliveCells = 0;
+        addRowsandColumns();
+        createNeighBoard();
+        iterations++;
+    }
+
+    /**
+     * Prepares the <code>nextArray</code> for the next generation. The
+     * <code>BlockBoard</code> has no <code>neighBoard</code>, the
+     * <code>nextArray</code> is only allocated again when the board has
+     * changed size, and the <code>table</code> is only built again when the
+     * <code>rule</code> has changed.
+     */
+    @Override
+    protected void createNeighBoard() {
+        if (nextArray == null || nextArray.length != blockArray.length
+                || nextArray[0].length != blockArray[0].length) {
+            nextArray = new byte[blockArray.length][blockArray[0].length];
+        }
+        if (table == null || !rule.equals(tableRule)) {
+            table = createTable(rule);
+            tableRule = rule;
+        }
+    }
+
+    /**
+     * Sets the next generation of every block into the <code>nextArray</code>
+     * with one lookup in the <code>table</code> per block. Along a row of new
+     * blocks the right half of a square is the left half of the next square,
+     * so each old block is only read twice. The middle of the square holds
+     * the same cells as the new block one generation earlier, so the bits
+     * which differ are the cells that were born or died, they are added to
+     * the <code>PlaneHash</code>.
+     */
+    @Override
+    public void updateNeighbourBoard() {
+        byte[] lookup = table;
+        int rows = blockArray.length;
+        int cols = blockArray[0].length;
+        //New block (i, j) is the middle of the square at old block (i - shift, j - shift).
+        int shift = offset == 2 ? 0 : 1;
+        int nextOffset = offset == 2 ? 1 : 2;
+        boolean hashed = planeHash != null;
+        changed = false;
+        for (int i = 0; i < rows; i++) {
+            byte[] nextRow = nextArray[i];
+            int top = i - shift;
+            if (top < 0 || top + 1 >= rows) {
+                Arrays.fill(nextRow, (byte) 0);
+                continue;
+            }
+            byte[] up = blockArray[top];
+            byte[] down = blockArray[top + 1];
+            nextRow[shift == 0 ? cols - 1 : 0] = 0;
+            int upLeft = up[0];
+            int downLeft = down[0];
+            for (int j = shift; j < cols - 1 + shift; j++) {
+                int upRight = up[j - shift + 1];
+                int downRight = down[j - shift + 1];
+                int square = upLeft | upRight << 4 | downLeft << 8 | downRight << 12;
+                int block = lookup[square];
+                nextRow[j] = (byte) block;
+                //The cells of the square which touch its centre
+                int middle = (square >>> 3 & 1) | (square >>> 5 & 2) | (square >>> 7 & 4) | (square >>> 9 & 8);
+                if (block != middle) {
+                    changed = true;
+                    if (hashed) {
+                        addCells(i, j, block ^ middle, block, nextOffset);
+                    }
+                }
+                upLeft = upRight;
+                downLeft = downRight;
+            }
+        }
+    }
+
+    /**
+     * Swaps the <code>nextArray</code> with the <code>blockArray</code>, moves
+     * the <code>offset</code>, clears the cells which were born outside of the
+     * board and counts the alive cells. The board is <code>unchanged</code> if
+     * no cell was born or died.
+     */
+    @Override
+    public void setNewGenValues() {
+        byte[][] swap = blockArray;
+        blockArray = nextArray;
+        nextArray = swap;
+        offset = offset == 2 ? 1 : 2;
+        clearOutside();
+        unchanged = !changed;
+
+        for (byte[] row : blockArray) {
+            for (byte block : row) {
+                aliveCells += Integer.bitCount(block);
+            }
+        }
+    }
+
+    /**
+     * Clears the cells of the blocks at the edges which lie outside of the
+     * board, and takes them from the <code>PlaneHash</code>. Only the rows of
+     * blocks at the top and the bottom and the columns of blocks at the sides
+     * can hold such cells.
+     */
+    private void clearOutside() {
+        int rows = blockArray.length;
+        int cols = blockArray[0].length;
+        int lastCol = (offset + numColumns) >>> 1;
+        for (int i = 0; i < rows; i++) {
+            int rowMask = (inside(2 * i, numRows) ? 0x3 : 0)
+                    | (inside(2 * i + 1, numRows) ? 0xC : 0);
+            byte[] row = blockArray[i];
+            for (int j = 0; j < cols; j++) {
+                if (rowMask == 0xF && j > 0 && j < lastCol) {
+                    j = lastCol - 1;
+                    continue;
+                }
+                int colMask = (inside(2 * j, numColumns) ? 0x5 : 0)
+                        | (inside(2 * j + 1, numColumns) ? 0xA : 0);
+                int outside = row[j] & ~(rowMask & colMask);
+                if (outside != 0) {
+                    row[j] ^= outside;
+                    if (planeHash != null) {
+                        addCells(i, j, outside, 0, offset);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a row or column in the blocks holds a row or column of the
+     * board.
+     *
+     * @param line the row or column in the blocks
+     * @param cells the number of rows or columns of the board
+     * @return <code>true</code> if the line is inside of the board
+     */
+    private boolean inside(int line, int cells) {
+        return line >= offset && line < offset + cells;
+    }
+
+    /**
+     * A <code>BlockBoard</code> counts the blocks outside of the board as
+     * dead, so it can not set rule sets with B0.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isB0Supported() {
+        return false;
+    }
+
+    /**
+     * A <code>BlockBoard</code> stores the cells as bits of the blocks, so it
+     * can not set rule sets of more than two states.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isStatesSupported() {
+        return false;
+    }
+
+    /**
+     * Checks if dimensions of the board exceeds 2000. If so the outer rows and
+     * columns are set to 0, the same way as in the <code>DynamicBoard</code>.
+     *
+     * @see DynamicBoard#sizeTest()
+     */
+    @Override
+    public void sizeTest() {
+        if (getWidth() >= 2000) {
+            for (int row = 0; row < numRows; row++) {
+                clearCell(row, 0);
+                clearCell(row, numColumns - 1);
+            }
+            if (getHeight() >= 2000) {
+                for (int col = 0; col < numColumns; col++) {
+                    clearCell(0, col);
+                    clearCell(numRows - 1, col);
+                }
+            }
+        }
+    }
+
+    //--------------------------DRAW LOGIC------------------------------------//
+    /**
+     * Draws the live cells of the board. Only the set bits of each block are
+     * visited. The placement is adjusted for rows and columns added at the top
+     * and the left side, the same way as in the <code>DynamicBoard</code>.
+     *
+     * @param gc the <code>GraphicsContext</code> used to draw
+     * @param cInfo the <code>CanvasInfo</code>-object containing information
+     * about the canvas
+     */
+    @Override
+    public void draw(GraphicsContext gc, CanvasInfo cInfo) {
+        gc.setFill(backGroundColor);
+        gc.fillRect(0, 0, cInfo.getCanvasWidth(), cInfo.getCanvasheight());
+
+        if (topExist) {
+            drawTopBoard(gc, cInfo);
+        }
+        double cellSize = cInfo.getCellSize();
+        cInfo.setPlacementX(placeColVar);
+        cInfo.setPlacementY(placeRowVar);
+        placeRowVar = 0;
+        placeColVar = 0;
+        double placementX = cInfo.getPlacementX();
+        double placementY = cInfo.getPlacementY();
+
+        gc.setStroke(gridColor);
+        if (grid) {
+            for (int x = 0; x < numRows; x++) {
+                for (int y = 0; y < numColumns; y++) {
+                    gc.strokeRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize, cellSize);
+                }
+            }
+        }
+
+        gc.setFill(cellColor);
+        for (int i = 0; i < blockArray.length; i++) {
+            byte[] blocks = blockArray[i];
+            for (int j = 0; j < blocks.length; j++) {
+                for (int bits = blocks[j]; bits != 0; bits &= bits - 1) {
+                    int bit = Integer.numberOfTrailingZeros(bits);
+                    int x = 2 * i + (bit >>> 1) - offset;
+                    int y = 2 * j + (bit & 1) - offset;
+                    gc.fillRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize - 0.1, cellSize - 0.1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Alters the cell state of the cell at (<code>row</code>, <code>col</code>).
+     * If the cell is outside of the board, rows or columns are added at that
+     * side as long as the board stays smaller than <code>maxSize</code>.
+     *
+     * @param row the row of the current cell
+     * @param col the column of the current cell
+     * @param erase erases (1 into 0) if <code>true</code> or draws (0 into 1)
+     * if <code>false</code>
+     * @param maxSize when the Board will no longer expand on mouseclick.
+     */
+    @Override
+    public void setCellValue(int row, int col, boolean erase, int maxSize) {
+        if (col < numColumns && col > -1 && row < numRows && row > -1) {
+            if (erase) {
+                clearCell(row, col);
+            } else if (getCellState(row, col) == 0) {
+                setCell(row, col);
+                aliveCells++;
+            }
+        } else if (!erase && (Math.abs(row) + numRows < maxSize
+                || Math.abs(col) + numColumns < maxSize)) {
+            int top = row < 0 ? -row : 0;
+            int bottom = row >= numRows ? row - numRows + 1 : 0;
+            int left = col < 0 ? -col : 0;
+            int right = col >= numColumns ? col - numColumns + 1 : 0;
+            resize(top, bottom, left, right);
+            setCell(row + top, col + left);
+            aliveCells++;
+        }
+    }
+
+    //-----------------------BOUNDING LOGIC----------------------------------//
+    /**
+     * Collects the outer rows and columns where there are live cells.
+     * boundingBox[4] // minrow maxrow mincolumn maxcolumn
+     *
+     * @return an array witch describes where the active rows and columns start
+     * and end.
+     */
+    @Override
+    public int[] getBoundingBox() {
+        int[] boundingBox = {numRows, 0, numColumns, 0};
+        for (int i = 0; i < blockArray.length; i++) {
+            byte[] blocks = blockArray[i];
+            for (int j = 0; j < blocks.length; j++) {
+                for (int bits = blocks[j]; bits != 0; bits &= bits - 1) {
+                    int bit = Integer.numberOfTrailingZeros(bits);
+                    int row = 2 * i + (bit >>> 1) - offset;
+                    int col = 2 * j + (bit & 1) - offset;
+                    boundingBox[0] = Math.min(boundingBox[0], row);
+                    boundingBox[1] = Math.max(boundingBox[1], row);
+                    boundingBox[2] = Math.min(boundingBox[2], col);
+                    boundingBox[3] = Math.max(boundingBox[3], col);
+                }
+            }
+        }
+        return boundingBox;
+    }
+
+    @Override
+    public String getBoundingBoxPattern() {
+        int[] boundingBox = getBoundingBox();
+        StringBuilder pattern = new StringBuilder();
+        for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
+            for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
+                pattern.append(getCellState(i, j));
+            }
+        }
+        return pattern.toString();
+    }
+
+    //--------------------------SETTERS AND GETTERS------------------------//
+    @Override
+    public int getSumOfAlive() {
+        int sum = 0;
+        for (int i = 0; i < blockArray.length; i++) {
+            byte[] blocks = blockArray[i];
+            for (int j = 0; j < blocks.length; j++) {
+                for (int bits = blocks[j]; bits != 0; bits &= bits - 1) {
+                    int bit = Integer.numberOfTrailingZeros(bits);
+                    sum += 2 * i + (bit >>> 1) - offset + 2 * j + (bit & 1) - offset;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the live cells, kept up to date with
+     * the cells that are born and die in <code>updateNeighbourBoard</code> and
+     * the cells that are set and cleared. The hash is only counted from every
+     * block the first time it is asked for.
+     *
+     * @return the hash of the cells
+     */
+    @Override
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+            for (int i = 0; i < blockArray.length; i++) {
+                byte[] blocks = blockArray[i];
+                for (int j = 0; j < blocks.length; j++) {
+                    addCells(i, j, blocks[j], blocks[j], offset);
+                }
+            }
+        }
+        return planeHash;
+    }
+
+    /**
+     * The <code>PlaneHash</code> is kept up to date in
+     * <code>updateNeighbourBoard</code>.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean hasIncrementalHash() {
+        return true;
+    }
+
+    @Override
+    public int getHeight() {
+        return numRows;
+    }
+
+    @Override
+    public int getWidth() {
+        return numColumns;
+    }
+
+    /**
+     * Creates a <code>String</code>-representation of the board, without
+     * newlines, in the same format as the <code>DynamicBoard</code>.
+     *
+     * @return the <code>String</code>-representation of the board
+     */
+    @Override
+    public String toString() {
+        StringBuilder sr = new StringBuilder();
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                sr.append(getCellState(row, col));
+            }
+        }
+        return sr.toString();
+    }
+}
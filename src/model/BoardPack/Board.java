@@ -5,6 +5,7 @@
  */
 package model.BoardPack;
 
+import java.io.Serializable;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import model.CanvasInfo;
@@ -19,12 +20,18 @@ import model.CanvasInfo;
  * Then the boardArray is run through the draw method to be placed on the canvas
  * of the FXML-file.
  *
+ * Every board has its own <code>rule</code> and its own count of
+ * <code>aliveCells</code>, so several boards can set their generations at the
+ * same time. Only the colours and the grid are shared by all boards.
+ *
  * @author T.Dahll, M.S.Olsen
  * @see model.BoardPack.Rule
  * @see model.BoardPack.DynamicBoard
  * @see model.BoardPack.StaticBoard
  */
-public abstract class Board {
+public abstract class Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     protected static Color cellColor = Color.BLACK;
     protected static Color gridColor = Color.BLACK;
@@ -32,10 +39,62 @@ public abstract class Board {
     protected static boolean grid = false;
     protected byte[][] neighBoard;
     protected int iterations = 0;
-    protected static int aliveCells = 0;
+    protected int aliveCells = 0;
+
+    /**
+     * The rule set used to set the generations of this board.
+     */
+    protected Rule rule = Rule.CONWAY;
     protected int numColumns, numRows;
     protected boolean optimaliser = false;
 
+    /**
+     * <code>true</code> if the cells of the board are stored as the complement
+     * of the generation, which is alive everywhere the stored cells are dead.
+     * Only the boards which set B0 rule sets with
+     * <code>nextGenerationRule</code> store the complement.
+     *
+     * @see Rule#complement(boolean, boolean)
+     */
+    protected boolean complement;
+
+    /**
+     * The <code>complement</code> rule sets of the <code>rule</code>, built
+     * the first time they are needed. Index 1 stores the next generation as
+     * the complement, index 2 reads the cells as the complement and index 3
+     * does both.
+     */
+    private transient Rule[] complementRules;
+    private transient Rule complementOf;
+
+    /**
+     * The <code>PlaneHash</code> of the cells of the board. The boards which
+     * keep it up to date with the births and deaths of every generation
+     * override <code>getPlaneHash</code>, the other boards count it again
+     * every time it is asked for.
+     *
+     * @see #getPlaneHash()
+     */
+    protected transient PlaneHash planeHash;
+
+    /**
+     * Set by the boards which find the cells that change in their generation
+     * pass: <code>true</code> if no cell was born or died in the last
+     * generation.
+     *
+     * @see #getStablePeriod()
+     */
+    protected transient boolean unchanged;
+
+    /**
+     * The generation, the hash, the weight, the sums of the rows and columns
+     * and the <code>complement</code> of the last two generations, used to
+     * find a board which alternates between two generations. The third array
+     * is the one the next generation is written to, so no array is allocated
+     * after the first three generations.
+     */
+    private transient long[][] stableHistory;
+
     //-------------------------Generation Logic-------------------------------//
     /**
      * Generation logic consists mainly of three parts(methods). Firstly the
@@ -52,6 +111,7 @@ public abstract class Board {
      * @see #countNeighbhours(int row, int col)
      * @see #neighBoard
      * @see Rule#rleRules(int cellState, int numOfNeighbhours)
+     * @see #rule
      */
     public void setNextGeneration() {
         beforeSetGeneration();
@@ -59,6 +119,21 @@ public abstract class Board {
         setNewGenValues();
     }
 
+    /**
+     * Advances the board <code>generations</code> generations. By default this
+     * is one <code>setNextGeneration</code> per generation, boards which can
+     * jump ahead several generations at once override it.
+     *
+     * @param generations the number of generations to advance
+     * @see #setNextGeneration()
+     * @see HashLifeBoard#advance(long generations)
+     */
+    public void advance(long generations) {
+        for (long i = 0; i < generations; i++) {
+            setNextGeneration();
+        }
+    }
+
     /**
      * Prepares the Board for the generation logic. This is done by: resetting
      * the <code>aliveCells</code>, creating an empty board to contain the
@@ -94,12 +169,15 @@ public abstract class Board {
 
     /**
      * Adds +1 to all cells in the neighboring cell of an alive cell. This in
-     * the end determines how many neighboring alive cell each cell has.
+     * the end determines how many neighboring alive cell each cell has. Only
+     * boards which count the neighbours cell by cell override it; by default
+     * it does nothing.
      * 
      * @param row index
      * @param col index
      */
-    public abstract void countNeighbhours(int row, int col);
+    protected void countNeighbhours(int row, int col) {
+    }
 
     /**
      * Gets the <code>byte[][]</code> containing the number of neighbors to all
@@ -115,9 +193,12 @@ public abstract class Board {
     /**
      * Creates a new blank <code>neighBoard</code> with the same height and 
      * width as the main board. This is later updated with the number of 
-     * neighbors to each cell.
+     * neighbors to each cell. Called by <code>beforeSetGeneration</code>;
+     * boards without a <code>neighBoard</code> use it to prepare their own
+     * buffers, and by default it does nothing.
      */
-    public abstract void createNeighBoard();
+    protected void createNeighBoard() {
+    }
 
     /**
      * Sets the value for the <code>optimaliser</code>.
@@ -129,6 +210,219 @@ public abstract class Board {
         this.optimaliser = optimaliser;
     }
 
+    /**
+     * Gets the <code>rule</code> of the board.
+     *
+     * @return the rule set used to set the generations
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Sets the <code>rule</code> used to set the next generations of the
+     * board. The <code>optimaliser</code> is turned off, since cells that were
+     * stable with the old rule set may change with the new one.
+     *
+     * @param rule the rule set to use
+     * @throws IllegalArgumentException if the rule set has B0 and the board
+     * can not set B0 rule sets, or if it has more than two states and the
+     * board only stores dead and alive cells
+     * @see #isB0Supported()
+     * @see #isStatesSupported()
+     */
+    public void setRule(Rule rule) {
+        if (rule.hasB0() && !isB0Supported()) {
+            throw new IllegalArgumentException(getClass().getSimpleName()
+                    + " can not set rule sets with B0, such as " + rule);
+        }
+        if (rule.getStates() > 2 && !isStatesSupported()) {
+            throw new IllegalArgumentException(getClass().getSimpleName()
+                    + " can not set rule sets of more than two states, such as " + rule);
+        }
+        this.rule = rule;
+        optimaliser = false;
+    }
+
+    /**
+     * Checks if the board can set the generations of a rule set with B0,
+     * where the plane around the cells is born. The boards which store the
+     * <code>complement</code> of such a generation, and the bounded boards,
+     * can; the other boards would keep the plane dead and give the wrong
+     * generations, so they refuse the rule set in <code>setRule</code>.
+     *
+     * @return <code>true</code> if rule sets with B0 can be set
+     */
+    public boolean isB0Supported() {
+        return true;
+    }
+
+    /**
+     * Checks if the board can set the generations of a rule set of more than
+     * two states, such as the Generations rule sets, where a cell which dies
+     * goes through the dying states before it is dead. The boards which store
+     * a cell in a bit, or as alive or not, would lose the dying states, so
+     * they refuse the rule set in <code>setRule</code>.
+     *
+     * @return <code>true</code> if rule sets of more than two states can be
+     * set
+     */
+    public boolean isStatesSupported() {
+        return true;
+    }
+
+    /**
+     * Gets the rule set which sets the next generation from the stored cells,
+     * and moves the board on to the next generation's <code>complement</code>.
+     * For a rule set without B0 this is the <code>rule</code> itself. With B0
+     * the plane around the cells is alive in the next generation if it is
+     * dead now, so the next generation is stored as its complement, and if it
+     * is alive now it stays alive with S8 and dies without. The stored plane
+     * stays dead either way, so the rule set which is returned never gives
+     * birth without neighbours. Called once per generation, before the cells
+     * are set, by the boards which store the complement.
+     *
+     * @return the rule set which sets the stored next generation
+     * @see Rule#complement(boolean, boolean)
+     */
+    protected Rule nextGenerationRule() {
+        if (rule.getStates() > 2 || (!complement && !rule.hasB0())) {
+            return rule;
+        }
+        boolean next = complement ? rule.hasS8() : rule.hasB0();
+        if (complementRules == null || complementOf != rule) {
+            complementRules = new Rule[4];
+            complementOf = rule;
+        }
+        int index = (complement ? 2 : 0) | (next ? 1 : 0);
+        if (complementRules[index] == null) {
+            complementRules[index] = rule.complement(complement, next);
+        }
+        complement = next;
+        return complementRules[index];
+    }
+
+    /**
+     * Checks if the cells of the board are stored as the complement of the
+     * generation.
+     *
+     * @return <code>true</code> if the plane around the stored cells is alive
+     * @see #complement
+     */
+    public boolean isComplement() {
+        return complement;
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the cells of the board, used to find
+     * the generations where the board repeats itself. By default the hash is
+     * counted from every cell of the board, with row 0 and column 0 of the
+     * board as the origin of the plane.
+     *
+     * @return the hash of the cells
+     * @see CycleDetector
+     */
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+        }
+        planeHash.clear();
+        for (int row = 0; row < getHeight(); row++) {
+            long rowKey = PlaneHash.rowKey(row);
+            for (int col = 0; col < getWidth(); col++) {
+                int cellState = getCellState(row, col) & 0xFF;
+                if (cellState != 0) {
+                    planeHash.add(row, col, rowKey * PlaneHash.columnKey(col), cellState);
+                }
+            }
+        }
+        return planeHash;
+    }
+
+    /**
+     * Checks if the board keeps its <code>PlaneHash</code> up to date with the
+     * cells that are born and die in every generation, so that
+     * <code>getPlaneHash</code> does not have to visit every cell. The hash
+     * counted by default can cost far more than a generation, so only the
+     * boards which return <code>true</code> are hashed after every
+     * generation.
+     *
+     * @return <code>true</code> if <code>getPlaneHash</code> is kept up to
+     * date by the generations
+     * @see #getPlaneHash()
+     */
+    public boolean hasIncrementalHash() {
+        return false;
+    }
+
+    /**
+     * Gets the period of the board if it has settled into still lifes, 1, or
+     * into still lifes and period 2 oscillators such as blinkers, 2. A board
+     * which sets <code>unchanged</code> in its generation pass is still
+     * without being hashed; otherwise the <code>PlaneHash</code> is compared
+     * with the hash of the generation before and the generation before that.
+     * Called once after every generation, since only the last two
+     * generations are kept.
+     *
+     * @return the period of the board, or 0 if it is still changing
+     * @see #unchanged
+     * @see #hasIncrementalHash()
+     */
+    public int getStablePeriod() {
+        if (stableHistory == null) {
+            stableHistory = new long[3][];
+        }
+        if (unchanged) {
+            return 1;
+        }
+        PlaneHash hash = getPlaneHash();
+        long[] now = stableHistory[2] == null ? new long[6] : stableHistory[2];
+        now[0] = iterations;
+        now[1] = hash.getHash();
+        now[2] = hash.getWeight();
+        now[3] = hash.getRowSum();
+        now[4] = hash.getColumnSum();
+        now[5] = complement ? 1 : 0;
+        int period = 0;
+        for (int j = 0; j < 2; j++) {
+            long[] before = stableHistory[j];
+            if (before == null || (iterations - before[0] != 1 && iterations - before[0] != 2)) {
+                continue;
+            }
+            boolean same = true;
+            for (int i = 1; i < now.length; i++) {
+                same &= before[i] == now[i];
+            }
+            if (same && (period == 0 || iterations - before[0] < period)) {
+                period = (int) (iterations - before[0]);
+            }
+        }
+        if (stableHistory[0] == null || stableHistory[0][0] != iterations) {
+            stableHistory[2] = stableHistory[1];
+            stableHistory[1] = stableHistory[0];
+            stableHistory[0] = now;
+        } else {
+            stableHistory[2] = now;
+        }
+        return period;
+    }
+
+    /**
+     * Moves every cell of the board <code>rows</code> rows down and
+     * <code>cols</code> columns to the right on the plane, which is where a
+     * spaceship is after whole periods. Only boards on an unbounded plane can
+     * move their cells; by default only a move of 0 rows and 0 columns is
+     * possible.
+     *
+     * @param rows the number of rows to move
+     * @param cols the number of columns to move
+     * @return <code>true</code> if the cells were moved
+     * @see CycleDetector#advance(Board, long)
+     */
+    public boolean translate(long rows, long cols) {
+        return rows == 0 && cols == 0;
+    }
+
     ;
     
      /**
@@ -211,7 +505,7 @@ public abstract class Board {
      *
      * @param aAliveCells the number of alive cells
      */
-    protected static void setAliveCells(int aAliveCells) {
+    protected void setAliveCells(int aAliveCells) {
         aliveCells = aAliveCells;
     }
 
@@ -382,66 +676,203 @@ public abstract class Board {
      */
     public abstract String getBoundingBoxPattern();
 
+    /**
+     * Gets the cell state of the cell at (<code>row</code>, <code>col</code>).
+     * Used when a board is converted into another <code>Board</code>
+     * sub-class, so that no sub-class needs to know how the others store
+     * their cells.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the cell state (0 or 1)
+     */
+    public abstract byte getCellState(int row, int col);
+
     //-------------------MOVE PATTERN LOGIC---------------------------------//
     /*
     01.05.17
-    As of now these methods are only implemented on the main controller and with 
-    the DynamicBoard sub-class.
+    As of now these methods are only implemented on the main controller.
+    The placement logic is shared by DynamicBoard and BitBoard, the
+    StaticBoard sub-class does not support it.
      */
+    /**
+     * The <code>byte[][]</code> representing the pattern to place onto the
+     * board.
+     */
+    protected byte[][] topBoard;
+
+    /**
+     * The amount of horizontal movement of the <code>topBoard</code>. Used in
+     * order to place the <code>topBoard</code> at the correct coordinates of
+     * the board.
+     *
+     * @see #addArrayToBoard(byte[][])
+     */
+    protected int xmove = 0;
+
+    /**
+     * The amount of vertical movement of the <code>topBoard</code>. Used in
+     * order to place the <code>topBoard</code> at the correct coordinates of
+     * the board.
+     *
+     * @see #addArrayToBoard(byte[][])
+     */
+    protected int ymove = 0;
+
+    /**
+     * A <code>boolean</code> to determine if there is a <code>topBoard</code>
+     * to place.
+     */
+    protected boolean topExist = false;
+
     /**
      * Determines if there exists a pattern/board to place onto the existing
      * <code>boardArray</code>.
      *
      * @return a boolean which tells if the <code>topBoard</code> exist
      */
-    public abstract boolean topExist();
+    public boolean topExist() {
+        return topExist;
+    }
 
     /**
      * Determines the movement of the topBoard along the X-axis.
      *
-     * @param i sets which direction and amount the board is set to move
+     * @param xmove sets which direction and amount the board is set to move
      */
-    public abstract void setXmove(int i);
+    public void setXmove(int xmove) {
+        this.xmove += xmove;
+    }
 
     /**
      * Determines the movement of the topBoard along the Y-axis.
      *
-     * @param i sets which direction and amount the board is set to move
+     * @param ymove sets which direction and amount the board is set to move
      */
-    public abstract void setYmove(int i);
+    public void setYmove(int ymove) {
+        this.ymove += ymove;
+    }
 
     /**
      * The <code>topBoard</code> is drawn in green and is drawn again for each
      * movement until it is placed onto the <code>boardArray</code>.
+     * Adjustments to the placement of the <code>topBoard</code> is calculated
+     * so that it is placed according to the existing board.
      *
      * @param gc <code>GraphicContext</code> of <code>canvas</code>
      * @param cInfo <code>canvasInfo</code> of <code>canvas</code>
      * @see #addArrayToBoard(byte[][])
      */
-    public abstract void drawTopBoard(GraphicsContext gc, CanvasInfo cInfo);
+    public void drawTopBoard(GraphicsContext gc, CanvasInfo cInfo) {
+        double placeColinGrid = 0;
+        double placeRowingrid = 0;
+        double cellSize = cInfo.getCellSize();
+
+        if (topBoard.length % 2 == 0) {
+            placeRowingrid -= cellSize / 2;
+        }
+
+        if (topBoard[0].length % 2 == 0) {
+            placeColinGrid -= cellSize / 2;
+        }
+
+        if (getHeight() % 2 == 0) {
+            placeRowingrid += cellSize / 2;
+        }
+
+        if (getWidth() % 2 == 0) {
+            placeColinGrid += cellSize / 2;
+        }
+
+        if (topBoard[0].length > topBoard.length) {
+            placeColinGrid += cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
+            placeRowingrid -= cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
+        }
+
+        if (topBoard[0].length < topBoard.length) {
+            placeColinGrid -= cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
+            placeRowingrid += cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
+        }
+        double placementX = (cInfo.getCanvasWidth() / 2) - ((cellSize * topBoard.length / 2))
+                + (xmove * cellSize) - placeColinGrid;
+        double placementY = (cInfo.getCanvasheight() / 2) - ((cellSize * topBoard[0].length / 2))
+                + (ymove * cellSize) - placeRowingrid;
+
+        gc.setFill(Color.GREEN);
+        for (int row = 0; row < topBoard.length; row++) {
+            for (int col = 0; col < topBoard[0].length; col++) {
+                if (topBoard[row][col] == 1) {
+                    gc.fillRect(col * cellSize + placementX, row * cellSize
+                            + placementY, cellSize, cellSize);
+                }
+            }
+        }
+    }
 
     /**
      * Rotates the board to be placed onto the <code>boardArray</code> around
-     * its center.
+     * its center. The rotation is performed by creating a temporary
+     * <code>byte[][]</code> of equal size to contain the rotated array.
+     *
+     * Source: http://stackoverflow.com/questions/42519/how-do-you-rotate-a-two-dimensional-array
      *
      * @param left boolean determines if the rotation is to the left,
      * <code>true</code> or to the right, <code>false</code> right
      */
-    public abstract void rotateTopBoard(boolean left);
+    public void rotateTopBoard(boolean left) {
+
+        int width = topBoard.length;
+        int height = topBoard[0].length;
+        byte[][] rotated = new byte[height][width];
+
+        for (int m = 0; m < height; ++m) {
+
+            for (int n = 0; n < width; ++n) {
+                if (left) {
+                    //rotate topBoard array left
+                    rotated[m][n] = topBoard[n][height - m - 1];
+                } else {
+                    //rotate topBoard array right
+                    rotated[m][n] = topBoard[width - n - 1][m];
+                }
+            }
+        }
+        this.topBoard = rotated;
+    }
 
     /**
      * Gets the current <code>topBoard</code>.
      *
      * @return the <code>topBoard</code> to be placed
      */
-    public abstract byte[][] getTopBoard();
+    public byte[][] getTopBoard() {
+        return topBoard;
+    }
 
     /**
-     * Adds another board on top of the existing <code>boardArray</code>.
+     * Sets the given <code>topBoard</code> over the board. The
+     * <code>topBoard</code> given as an argument is placed into a temporary
+     * <code>byte[][]</code> that is created without the zero-rows and
+     * zero-columns of the provided <code>topBoard</code>. The board is then
+     * expanded in size in order to fit the <code>topBoard</code> with method
+     * <code>autoFit</code>.
      *
      * @param topBoard <code>byte[][]</code>-array containing the new board
      */
-    public abstract void setTopBoard(byte[][] topBoard);
+    public void setTopBoard(byte[][] topBoard) {
+
+        byte[][] tempArray = new byte[topBoard.length - 2][topBoard[0].length - 2];
+
+        for (int i = 0; i < tempArray.length; i++) {
+            for (int j = 0; j < tempArray[0].length; j++) {
+                tempArray[i][j] = topBoard[i + 1][j + 1];
+            }
+        }
+
+        this.topBoard = tempArray;
+        autoFit(tempArray);
+        topExist = true;
+    }
 
     /**
      * Makes sure that the <code>boardArray</code> is expanded to fit the
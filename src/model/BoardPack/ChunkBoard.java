@@ -0,0 +1,860 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import javafx.scene.canvas.GraphicsContext;
+import model.CanvasInfo;
+
+/**
+ * ChunkBoard stores the plane as a map of chunks of <code>CHUNK_SIZE</code> by
+ * <code>CHUNK_SIZE</code> cells, keyed by the row and column of the chunk. A
+ * chunk is one <code>long</code> per row, cell (row, col) of a chunk is bit
+ * <code>col</code> of word <code>row</code>, the same packing as the
+ * <code>BitBoard</code>. Only chunks with live cells are stored: a chunk is
+ * created when a cell is born in it and thrown away when its last cell dies,
+ * so the memory used follows the live area of the pattern and not its
+ * bounding box. Guns and breeders can run for millions of generations.
+ *
+ * There are no hard limits on the size of the board or the number of live
+ * cells like in the <code>DynamicBoard</code>. Instead the board has a
+ * <code>memoryBudget</code>. A generation which would need more chunks than
+ * the budget allows is not set, and the board stays at the last generation
+ * with <code>isOverBudget</code> set, so a pattern is never cut off.
+ *
+ * The rows and columns of the board (numRows and numColumns) are a view of the
+ * plane that expands when a live cell reaches its edge, the same way as the
+ * <code>HashLifeBoard</code>.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see model.BoardPack.Board
+ * @see model.BoardPack.BitBoard
+ */
+public class ChunkBoard extends Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The height and width of a chunk in cells, one <code>long</code> per row.
+     */
+    public static final int CHUNK_SIZE = 64;
+
+    /**
+     * The number of rows or columns added to the view when a live cell reaches
+     * its edge.
+     */
+    private static final int EXPANSION = 20;
+
+    /**
+     * The approximate number of bytes a chunk uses: 528 bytes for the
+     * <code>long[]</code> and the entry and key of the map.
+     */
+    public static final int CHUNK_BYTES = 600;
+
+    /**
+     * The default memory budget, 256 MB or about 450 000 chunks.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * The chunks with live cells, keyed by <code>key(chunkRow,
+     * chunkCol)</code>.
+     */
+    private HashMap<Long, long[]> chunks = new HashMap<>();
+
+    /**
+     * The chunks of the next generation. Swapped with the <code>chunks</code>
+     * after each generation.
+     */
+    private transient HashMap<Long, long[]> nextChunks;
+
+    /**
+     * The empty chunks outside of the <code>chunks</code> where a cell can be
+     * born in the next generation.
+     */
+    private transient HashSet<Long> frontier;
+
+    /**
+     * Chunks which are no longer used, kept to be used again instead of
+     * allocating a new <code>long[]</code> for every chunk of every
+     * generation.
+     */
+    private transient ArrayDeque<long[]> spare;
+
+    /**
+     * The plane coordinates of row 0 and column 0 of the board.
+     */
+    private long viewRow, viewCol;
+
+    /**
+     * Variables used to adjust placement of the board along the X-axis and the
+     * Y-axis after the view has expanded at the left side or the top.
+     */
+    private int placeColVar, placeRowVar;
+
+    /**
+     * The number of bytes the chunks may use.
+     */
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+
+    /**
+     * Set when the last generation was not set because it needed more chunks
+     * than the <code>memoryBudget</code> allows.
+     */
+    private boolean overBudget;
+
+    /**
+     * Set in <code>updateNeighbourBoard</code> if a cell was born or died in
+     * the generation.
+     */
+    private transient boolean changed;
+
+    //--------------------------CONSTRUCTORS--------------------------------//
+    /**
+     * Creates an empty board of 20 rows and 20 columns.
+     */
+    public ChunkBoard() {
+        this(20, 20);
+    }
+
+    /**
+     * Constructor that takes the number of rows <code>row</code> and the number
+     * of columns <code>columns</code> as parameters. Initializes an empty board.
+     *
+     * @param row the number of rows in the board
+     * @param columns the number of columns in the board
+     */
+    public ChunkBoard(int row, int columns) {
+        this.numRows = row;
+        this.numColumns = columns;
+    }
+
+    /**
+     * Board constructor which copies a <code>byte[][]</code> of 0's and 1's,
+     * such as the array returned by <code>FileHandler.getRleArray()</code>.
+     *
+     * @param array the array to copy
+     */
+    public ChunkBoard(byte[][] array) {
+        this(array.length, array[0].length);
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (array[row][col] == 1) {
+                    setCell(row, col, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Board constructor which copies any other <code>Board</code> cell by cell,
+     * and its <code>rule</code>.
+     *
+     * @param board the board to copy
+     */
+    public ChunkBoard(Board board) {
+        this(board.getHeight(), board.getWidth());
+        setRule(board.getRule());
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (board.getCellState(row, col) == 1) {
+                    setCell(row, col, true);
+                }
+            }
+        }
+    }
+
+    //--------------------------CHUNK LOGIC---------------------------------//
+    /**
+     * Gets the key of the chunk at (<code>chunkRow</code>,
+     * <code>chunkCol</code>) in the <code>chunks</code>.
+     *
+     * @param chunkRow the row of the chunk
+     * @param chunkCol the column of the chunk
+     * @return the key of the chunk
+     */
+    static long key(int chunkRow, int chunkCol) {
+        return ((long) chunkRow << 32) | (chunkCol & 0xffffffffL);
+    }
+
+    private static int chunkRow(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int chunkCol(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Gets a chunk from the <code>spare</code> chunks if there is one. The
+     * cells of a spare chunk are not cleared.
+     */
+    private long[] newChunk() {
+        if (spare == null || spare.isEmpty()) {
+            return new long[CHUNK_SIZE];
+        }
+        return spare.pop();
+    }
+
+    /**
+     * Keeps a chunk which is no longer used as a <code>spare</code> chunk. No
+     * more spare chunks are kept than there are <code>chunks</code>, so the
+     * memory of a pattern that shrinks is freed.
+     */
+    private void freeChunk(long[] chunk) {
+        if (spare == null) {
+            spare = new ArrayDeque<>();
+        }
+        if (spare.size() <= chunks.size()) {
+            spare.push(chunk);
+        }
+    }
+
+    private static boolean isEmpty(long[] chunk) {
+        for (long word : chunk) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the cell at plane coordinates (<code>row</code>, <code>col</code>).
+     * The chunk of the cell is created if a cell is set alive in it, and
+     * removed if its last cell is set dead.
+     */
+    private void setCell(long row, long col, boolean state) {
+        Long key = key((int) Math.floorDiv(row, CHUNK_SIZE), (int) Math.floorDiv(col, CHUNK_SIZE));
+        //CHUNK_SIZE is a power of two, so the mask is the floorMod of the row
+        int r = (int) row & (CHUNK_SIZE - 1);
+        long bit = 1L << Math.floorMod(col, CHUNK_SIZE);
+        long[] chunk = chunks.get(key);
+        if (chunk == null) {
+            if (!state) {
+                return;
+            }
+            chunk = newChunk();
+            Arrays.fill(chunk, 0);
+            chunks.put(key, chunk);
+        }
+        if (state && (chunk[r] & bit) == 0) {
+            chunk[r] |= bit;
+            aliveCells++;
+            if (planeHash != null) {
+                planeHash.add(row, col, 1);
+            }
+        } else if (!state && (chunk[r] & bit) != 0) {
+            chunk[r] &= ~bit;
+            aliveCells--;
+            if (planeHash != null) {
+                planeHash.add(row, col, -1);
+            }
+            if (isEmpty(chunk)) {
+                chunks.remove(key);
+                freeChunk(chunk);
+            }
+        }
+    }
+
+    private byte getCell(long row, long col) {
+        long[] chunk = chunks.get(key((int) Math.floorDiv(row, CHUNK_SIZE),
+                (int) Math.floorDiv(col, CHUNK_SIZE)));
+        if (chunk == null) {
+            return 0;
+        }
+        return (byte) ((chunk[(int) row & (CHUNK_SIZE - 1)]
+                >>> Math.floorMod(col, CHUNK_SIZE)) & 1L);
+    }
+
+    @Override
+    public byte getCellState(int row, int col) {
+        return getCell(viewRow + row, viewCol + col);
+    }
+
+    //------------------GENERATION LOGIC--------------------------------------//
+    /*
+    Every chunk of the next generation is computed from the chunk and the eight
+    chunks around it, a missing chunk is dead. The rows are computed 64 cells
+    at a time with BitBoard.nextWord, the word to the west and the east of a
+    row are the same row of the chunk to the west and the east. A chunk which
+    is not stored can only get a live cell if a live cell of a stored chunk
+    touches it, so the chunks to compute are the stored chunks and the
+    frontier: the missing chunks next to a live cell on the edge of a stored
+    chunk. Birth with 0 neighbours is removed from the rule, since the missing
+    chunks are never computed.
+     */
+    /**
+     * Finds the chunks to compute and increments the <code>iterations</code>.
+     * If the chunks of the next generation would use more than the
+     * <code>memoryBudget</code>, the generation is not set and
+     * <code>overBudget</code> is set.
+     */
+    @Override
+    public void beforeSetGeneration() {
+        if (nextChunks == null) {
+            nextChunks = new HashMap<>();
+            frontier = new HashSet<>();
+        }
+        frontier.clear();
+        for (Map.Entry<Long, long[]> entry : chunks.entrySet()) {
+            addFrontier(entry.getKey(), entry.getValue());
+        }
+        overBudget = (long) (chunks.size() + frontier.size()) * CHUNK_BYTES > memoryBudget;
+        if (!overBudget) {
+            iterations++;
+        }
+    }
+
+    /**
+     * Adds the missing chunks next to the live cells on the edges of a chunk
+     * to the <code>frontier</code>.
+     */
+    private void addFrontier(long key, long[] chunk) {
+        long columns = 0;
+        for (long word : chunk) {
+            columns |= word;
+        }
+        long first = chunk[0];
+        long last = chunk[CHUNK_SIZE - 1];
+        long westBit = 1L;
+        long eastBit = 1L << (CHUNK_SIZE - 1);
+        int row = chunkRow(key);
+        int col = chunkCol(key);
+
+        addFrontier(row - 1, col, first != 0);
+        addFrontier(row + 1, col, last != 0);
+        addFrontier(row, col - 1, (columns & westBit) != 0);
+        addFrontier(row, col + 1, (columns & eastBit) != 0);
+        //A corner chunk only touches the corner cell.
+        addFrontier(row - 1, col - 1, (first & westBit) != 0);
+        addFrontier(row - 1, col + 1, (first & eastBit) != 0);
+        addFrontier(row + 1, col - 1, (last & westBit) != 0);
+        addFrontier(row + 1, col + 1, (last & eastBit) != 0);
+    }
+
+    private void addFrontier(int chunkRow, int chunkCol, boolean touches) {
+        if (touches) {
+            Long key = key(chunkRow, chunkCol);
+            if (!chunks.containsKey(key)) {
+                frontier.add(key);
+            }
+        }
+    }
+
+    /**
+     * Computes the next generation of every stored chunk and every chunk of
+     * the <code>frontier</code> into the <code>nextChunks</code>. Chunks where
+     * every cell is dead are not kept. Rule sets which are not totalistic are
+     * set with the table of every neighbourhood, where the empty
+     * neighbourhood gives no birth, in the same way as 0 neighbours.
+     */
+    @Override
+    public void updateNeighbourBoard() {
+        if (overBudget) {
+            return;
+        }
+        changed = false;
+        int birth = rule.getBirthMask() & ~1;
+        int survive = rule.getSurviveMask();
+        byte[] table = null;
+        if (!rule.isTotalistic()) {
+            table = rule.getNeighbourhoodTable();
+            table[0] = 0;
+        }
+        for (Long key : chunks.keySet()) {
+            nextChunk(key, birth, survive, table);
+        }
+        for (Long key : frontier) {
+            nextChunk(key, birth, survive, table);
+        }
+    }
+
+    /**
+     * Computes the next generation of a chunk. The bits which differ between
+     * the next and the current words are the cells that were born or died,
+     * they are added to the <code>PlaneHash</code>.
+     */
+    private void nextChunk(Long key, int birth, int survive, byte[] table) {
+        int row = chunkRow(key);
+        int col = chunkCol(key);
+        long[] mid = chunks.get(key);
+        long[] north = chunks.get(key(row - 1, col));
+        long[] south = chunks.get(key(row + 1, col));
+        long[] west = chunks.get(key(row, col - 1));
+        long[] east = chunks.get(key(row, col + 1));
+        long[] northWest = chunks.get(key(row - 1, col - 1));
+        long[] northEast = chunks.get(key(row - 1, col + 1));
+        long[] southWest = chunks.get(key(row + 1, col - 1));
+        long[] southEast = chunks.get(key(row + 1, col + 1));
+
+        long[] next = newChunk();
+        boolean alive = false;
+        for (int r = 0; r < CHUNK_SIZE; r++) {
+            long upW, up, upE, downW, down, downE;
+            if (r > 0) {
+                upW = word(west, r - 1);
+                up = word(mid, r - 1);
+                upE = word(east, r - 1);
+            } else {
+                upW = word(northWest, CHUNK_SIZE - 1);
+                up = word(north, CHUNK_SIZE - 1);
+                upE = word(northEast, CHUNK_SIZE - 1);
+            }
+            if (r < CHUNK_SIZE - 1) {
+                downW = word(west, r + 1);
+                down = word(mid, r + 1);
+                downE = word(east, r + 1);
+            } else {
+                downW = word(southWest, 0);
+                down = word(south, 0);
+                downE = word(southEast, 0);
+            }
+            long word = table == null
+                    ? BitBoard.nextWord(upW, up, upE, word(west, r), word(mid, r),
+                            word(east, r), downW, down, downE, birth, survive)
+                    : BitBoard.nextWord(upW, up, upE, word(west, r), word(mid, r),
+                            word(east, r), downW, down, downE, table);
+            next[r] = word;
+            alive |= word != 0;
+            long diff = word ^ word(mid, r);
+            if (diff != 0) {
+                changed = true;
+                if (planeHash != null) {
+                    addCells((long) row * CHUNK_SIZE + r, (long) col * CHUNK_SIZE, diff, word);
+                }
+            }
+        }
+        if (alive) {
+            nextChunks.put(key, next);
+        } else {
+            freeChunk(next);
+        }
+    }
+
+    private static long word(long[] chunk, int row) {
+        return chunk == null ? 0 : chunk[row];
+    }
+
+    /**
+     * Adds the cells of the set bits of <code>bits</code> to the
+     * <code>PlaneHash</code>, alive if the bit is set in <code>word</code> and
+     * taken away otherwise.
+     *
+     * @param row the row of the cells in plane coordinates
+     * @param col the column of bit 0 in plane coordinates
+     * @param bits the cells to add
+     * @param word the states of the cells
+     */
+    private void addCells(long row, long col, long bits, long word) {
+        long rowKey = PlaneHash.rowKey(row);
+        for (; bits != 0; bits &= bits - 1) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            planeHash.add(row, col + bit, rowKey * PlaneHash.columnKey(col + bit),
+                    (word >>> bit & 1L) != 0 ? 1 : -1);
+        }
+    }
+
+    /**
+     * Swaps the <code>nextChunks</code> with the <code>chunks</code>, counts the
+     * alive cells with <code>Long.bitCount</code> and expands the view if a
+     * live cell has reached its edge. The board is <code>unchanged</code> if
+     * no cell was born or died.
+     */
+    @Override
+    public void setNewGenValues() {
+        if (overBudget) {
+            unchanged = false;
+            return;
+        }
+        unchanged = !changed;
+        for (long[] chunk : chunks.values()) {
+            freeChunk(chunk);
+        }
+        chunks.clear();
+        HashMap<Long, long[]> swap = chunks;
+        chunks = nextChunks;
+        nextChunks = swap;
+
+        int alive = 0;
+        for (long[] chunk : chunks.values()) {
+            for (long word : chunk) {
+                alive += Long.bitCount(word);
+            }
+        }
+        aliveCells = alive;
+
+        long[] box = planeBoundingBox();
+        if (box[1] < box[0]) {
+            return;
+        }
+        if (box[0] <= viewRow) {
+            long add = viewRow - box[0] + EXPANSION;
+            viewRow -= add;
+            numRows = toInt(numRows + add);
+            placeRowVar = toInt(placeRowVar + add);
+        }
+        if (box[1] >= viewRow + numRows - 1) {
+            numRows = toInt(box[1] - viewRow + 1 + EXPANSION);
+        }
+        if (box[2] <= viewCol) {
+            long add = viewCol - box[2] + EXPANSION;
+            viewCol -= add;
+            numColumns = toInt(numColumns + add);
+            placeColVar = toInt(placeColVar + add);
+        }
+        if (box[3] >= viewCol + numColumns - 1) {
+            numColumns = toInt(box[3] - viewCol + 1 + EXPANSION);
+        }
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE / 2);
+    }
+
+    /**
+     * A <code>ChunkBoard</code> counts the chunks which are not allocated as
+     * dead, and never gives birth with 0 neighbours, so it can not set rule
+     * sets with B0.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isB0Supported() {
+        return false;
+    }
+
+    /**
+     * A <code>ChunkBoard</code> stores every cell in a single bit of a chunk,
+     * so it can not set rule sets of more than two states.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isStatesSupported() {
+        return false;
+    }
+
+    /**
+     * The plane is unbounded and the number of chunks is limited by the
+     * <code>memoryBudget</code>, so there is no size limit to test.
+     */
+    @Override
+    public void sizeTest() {
+    }
+
+    //--------------------------CELL LOGIC----------------------------------//
+    @Override
+    public void setCellValue(int row, int col, boolean erase, int maxSize) {
+        if (col < 0 || col >= numColumns || row < 0 || row >= numRows) {
+            if (erase || (Math.abs(row) + numRows >= maxSize
+                    && Math.abs(col) + numColumns >= maxSize)) {
+                return;
+            }
+            if (row >= numRows) {
+                numRows = row + 1;
+            }
+            if (row < 0) {
+                viewRow += row;
+                numRows -= row;
+                placeRowVar -= row;
+                row = 0;
+            }
+            if (col >= numColumns) {
+                numColumns = col + 1;
+            }
+            if (col < 0) {
+                viewCol += col;
+                numColumns -= col;
+                placeColVar -= col;
+                col = 0;
+            }
+        }
+        setCell(viewRow + row, viewCol + col, !erase);
+    }
+
+    @Override
+    public void autoFit(byte[][] array) {
+        numRows = Math.max(numRows, array.length);
+        numColumns = Math.max(numColumns, array[0].length);
+    }
+
+    @Override
+    public void addArrayToBoard(byte[][] array) {
+        if (numRows <= array.length) {
+            int add = array.length - numRows + 1;
+            viewRow -= add;
+            placeRowVar += add;
+            numRows += 2 * add;
+        }
+        if (numColumns <= array[0].length) {
+            int add = array[0].length - numColumns + 1;
+            viewCol -= add;
+            placeColVar += add;
+            numColumns += 2 * add;
+        }
+
+        int placementy = ymove + (numRows - array.length) / 2;
+        int placementx = xmove + (numColumns - array[0].length) / 2;
+        numRows = Math.max(numRows, placementy + array.length + 1);
+        numColumns = Math.max(numColumns, placementx + array[0].length + 1);
+        if (placementy < 0) {
+            viewRow += placementy;
+            numRows -= placementy;
+            placeRowVar -= placementy;
+            placementy = 0;
+        }
+        if (placementx < 0) {
+            viewCol += placementx;
+            numColumns -= placementx;
+            placeColVar -= placementx;
+            placementx = 0;
+        }
+
+        for (int z = 0; z < array.length; z++) {
+            for (int w = 0; w < array[0].length; w++) {
+                if (array[z][w] == 1) {
+                    setCell(viewRow + placementy + z, viewCol + placementx + w, true);
+                }
+            }
+        }
+
+        if (topExist()) {
+            topExist = false;
+            xmove = 0;
+            ymove = 0;
+        }
+    }
+
+    //--------------------------DRAW LOGIC------------------------------------//
+    /**
+     * Draws the live cells of the board. Chunks outside of the canvas are
+     * skipped, and only the set bits of each word are visited.
+     *
+     * @param gc the <code>GraphicsContext</code> used to draw
+     * @param cInfo the <code>CanvasInfo</code>-object containing information
+     * about the canvas
+     */
+    @Override
+    public void draw(GraphicsContext gc, CanvasInfo cInfo) {
+        gc.setFill(backGroundColor);
+        gc.fillRect(0, 0, cInfo.getCanvasWidth(), cInfo.getCanvasheight());
+
+        if (topExist) {
+            drawTopBoard(gc, cInfo);
+        }
+        double cellSize = cInfo.getCellSize();
+        cInfo.setPlacementX(placeColVar);
+        cInfo.setPlacementY(placeRowVar);
+        placeRowVar = 0;
+        placeColVar = 0;
+        double placementX = cInfo.getPlacementX();
+        double placementY = cInfo.getPlacementY();
+
+        if (grid) {
+            gc.setStroke(gridColor);
+            int firstRow = (int) Math.max(0, -placementY / cellSize);
+            int lastRow = (int) Math.min(numRows, (cInfo.getCanvasheight() - placementY) / cellSize + 1);
+            int firstCol = (int) Math.max(0, -placementX / cellSize);
+            int lastCol = (int) Math.min(numColumns, (cInfo.getCanvasWidth() - placementX) / cellSize + 1);
+            for (int x = firstRow; x < lastRow; x++) {
+                for (int y = firstCol; y < lastCol; y++) {
+                    gc.strokeRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize, cellSize);
+                }
+            }
+        }
+
+        gc.setFill(cellColor);
+        double size = cellSize * CHUNK_SIZE;
+        for (Map.Entry<Long, long[]> entry : chunks.entrySet()) {
+            long row = (long) chunkRow(entry.getKey()) * CHUNK_SIZE - viewRow;
+            long col = (long) chunkCol(entry.getKey()) * CHUNK_SIZE - viewCol;
+            double x = col * cellSize + placementX;
+            double y = row * cellSize + placementY;
+            if (x >= cInfo.getCanvasWidth() || y >= cInfo.getCanvasheight()
+                    || x + size <= 0 || y + size <= 0) {
+                continue;
+            }
+            long[] chunk = entry.getValue();
+            for (int r = 0; r < CHUNK_SIZE; r++) {
+                long bits = chunk[r];
+                while (bits != 0) {
+                    int c = Long.numberOfTrailingZeros(bits);
+                    gc.fillRect(x + c * cellSize, y + r * cellSize,
+                            Math.max(cellSize - 0.1, 1), Math.max(cellSize - 0.1, 1));
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    //-----------------------BOUNDING LOGIC----------------------------------//
+    /**
+     * Gets the bounding box of the live cells in plane coordinates.
+     *
+     * @return minrow maxrow mincolumn maxcolumn, minrow is larger than maxrow
+     * if the board is empty
+     */
+    private long[] planeBoundingBox() {
+        long[] box = {Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (Map.Entry<Long, long[]> entry : chunks.entrySet()) {
+            long row = (long) chunkRow(entry.getKey()) * CHUNK_SIZE;
+            long col = (long) chunkCol(entry.getKey()) * CHUNK_SIZE;
+            long[] chunk = entry.getValue();
+            long columns = 0;
+            for (int r = 0; r < CHUNK_SIZE; r++) {
+                if (chunk[r] != 0) {
+                    box[0] = Math.min(box[0], row + r);
+                    box[1] = Math.max(box[1], row + r);
+                    columns |= chunk[r];
+                }
+            }
+            if (columns != 0) {
+                box[2] = Math.min(box[2], col + Long.numberOfTrailingZeros(columns));
+                box[3] = Math.max(box[3], col + 63 - Long.numberOfLeadingZeros(columns));
+            }
+        }
+        return box;
+    }
+
+    /**
+     * Collects the outer rows and columns where there are live cells, relative
+     * to the view. boundingBox[4] // minrow maxrow mincolumn maxcolumn
+     *
+     * @return an array witch describes where the active rows and columns start
+     * and end.
+     */
+    @Override
+    public int[] getBoundingBox() {
+        long[] box = planeBoundingBox();
+        if (box[1] < box[0]) {
+            return new int[]{numRows, 0, numColumns, 0};
+        }
+        return new int[]{(int) (box[0] - viewRow), (int) (box[1] - viewRow),
+            (int) (box[2] - viewCol), (int) (box[3] - viewCol)};
+    }
+
+    @Override
+    public String getBoundingBoxPattern() {
+        int[] boundingBox = getBoundingBox();
+        StringBuilder pattern = new StringBuilder();
+        for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
+            for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
+                pattern.append(getCellState(i, j));
+            }
+        }
+        return pattern.toString();
+    }
+
+    //--------------------------SETTERS AND GETTERS------------------------//
+    @Override
+    public int getSumOfAlive() {
+        long sum = 0;
+        for (Map.Entry<Long, long[]> entry : chunks.entrySet()) {
+            long row = (long) chunkRow(entry.getKey()) * CHUNK_SIZE - viewRow;
+            long col = (long) chunkCol(entry.getKey()) * CHUNK_SIZE - viewCol;
+            long[] chunk = entry.getValue();
+            for (int r = 0; r < CHUNK_SIZE; r++) {
+                long bits = chunk[r];
+                while (bits != 0) {
+                    sum += row + r + col + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return (int) sum;
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the live cells, kept up to date with
+     * the cells that are born and die in <code>updateNeighbourBoard</code> and
+     * the cells that are set. The hash is only counted from every chunk the
+     * first time it is asked for.
+     *
+     * @return the hash of the cells
+     */
+    @Override
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+            for (Map.Entry<Long, long[]> entry : chunks.entrySet()) {
+                long row = (long) chunkRow(entry.getKey()) * CHUNK_SIZE;
+                long col = (long) chunkCol(entry.getKey()) * CHUNK_SIZE;
+                long[] chunk = entry.getValue();
+                for (int r = 0; r < CHUNK_SIZE; r++) {
+                    addCells(row + r, col, chunk[r], chunk[r]);
+                }
+            }
+        }
+        return planeHash;
+    }
+
+    /**
+     * The <code>PlaneHash</code> is kept up to date in
+     * <code>updateNeighbourBoard</code>.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean hasIncrementalHash() {
+        return true;
+    }
+
+    /**
+     * Sets the number of bytes the chunks may use. A generation which needs
+     * more chunks than this is not set.
+     *
+     * @param memoryBudget the memory budget in bytes
+     * @see #CHUNK_BYTES
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Gets the number of bytes the chunks may use.
+     *
+     * @return the memory budget in bytes
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Checks if the last generation was not set because it needed more chunks
+     * than the <code>memoryBudget</code> allows.
+     *
+     * @return <code>true</code> if the board is over its memory budget
+     */
+    public boolean isOverBudget() {
+        return overBudget;
+    }
+
+    /**
+     * Gets the number of chunks with live cells.
+     *
+     * @return the number of chunks
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    @Override
+    public int getHeight() {
+        return numRows;
+    }
+
+    @Override
+    public int getWidth() {
+        return numColumns;
+    }
+}
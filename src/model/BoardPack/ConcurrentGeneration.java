@@ -1,24 +1,130 @@
-/* 
+/*
  * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
- * School project, bachelor computer science, 1st year.  
+ * School project, bachelor computer science, 1st year.
  * Game of Life Application
  */
 package model.BoardPack;
 
-import static model.BoardPack.Board.aliveCells;
+import java.nio.ByteBuffer;
 
 /**
- * A class that contains concurrent version of methods used to set the next
- * generation. These methods are adapted in order to utilize concurrency by
- * dividing the main board and the board containing information about the
- * neighbors into partitions of the original board.
- * 
+ * A class that contains the methods used to set the next generation of a
+ * <code>DynamicBoard</code>. These methods are adapted in order to utilize
+ * concurrency by dividing the main board into partitions of whole rows of
+ * tiles, but are also used by the <code>DynamicBoard</code> itself on a single
+ * thread.
+ *
+ * The next generation is double buffered. The <code>boardArray</code> of the
+ * board is only read while the next generation is set. Every cell counts its
+ * own neighbours in the <code>boardArray</code> (gather) instead of adding to
+ * the neighbours of the cells around it (scatter), and the new cell states are
+ * written into the <code>nextArray</code>. No two partitions ever write the
+ * same element, so all partitions can run at the same time. When all
+ * partitions are done, the tiles that changed are copied from the
+ * <code>nextArray</code> into the <code>boardArray</code>.
+ *
+ * The <code>nextArray</code> and the tiles cover the whole
+ * <code>boardArray</code>, with the free space around the board, so they only
+ * have to be created again when the <code>boardArray</code> is allocated
+ * again. Only the cells of the board itself are set.
+ *
+ * Only the tiles that are active in the <code>TileMap</code> are set, the
+ * other tiles have not changed and have no changed neighbours, so they are
+ * stable. A B0 rule set is set with the <code>complement</code> rule sets of
+ * the board, which never give birth without neighbours, so the plane around
+ * the cells stays dead in the <code>boardArray</code> and the empty tiles are
+ * still skipped. The tiles which oscillate with a small period, with tiles
+ * around them which keep the same period, are replayed from the
+ * <code>FrozenTiles</code> instead of set.
+ *
  * @author M.S.Olsen, T.Dahll
+ * @see TileMap
  */
 public class ConcurrentGeneration {
 
     DynamicBoard board;
-    
+
+    /**
+     * The <code>boardArray</code> of the board in the last generation.
+     */
+    private byte[][] cells;
+
+    /**
+     * The cell states of the next generation, with the same dimensions as the
+     * <code>boardArray</code>. Only the cells of the active tiles are up to
+     * date.
+     */
+    private byte[][] nextArray;
+
+    private TileMap tiles;
+
+    /**
+     * The tiles which oscillate with a small period and are replayed instead
+     * of set.
+     */
+    private FrozenTiles frozen;
+
+    /**
+     * A row of dead cells, used as the row above the first row and the row
+     * below the last row of the <code>boardArray</code>.
+     */
+    private byte[] emptyRow;
+
+    /**
+     * The first row and column of the board in the <code>boardArray</code>,
+     * and the row and column after the board.
+     */
+    private int firstRow, lastRow, firstCol, lastCol;
+
+    /**
+     * The transitions of the <code>Rule</code> of the board, read at the start
+     * of the generation and used by every partition. Birth with 0 neighbours
+     * is removed, since the cells of the tiles that are not active never
+     * change.
+     */
+    private int transitions;
+
+    /**
+     * The <code>Rule</code> table of every neighbourhood if the rule set is
+     * not totalistic or has more than two states, otherwise
+     * <code>null</code>. Birth with 0 neighbours is removed in the same way as
+     * from the <code>transitions</code>.
+     */
+    private byte[] neighbourhoods;
+    private Rule neighbourhoodRule;
+
+    /**
+     * The number of cell states of the <code>Rule</code>, read at the start
+     * of the generation.
+     */
+    private int states;
+
+    /**
+     * The rows of the <code>boardArray</code>, the rows of the
+     * <code>nextArray</code> and the <code>emptyRow</code> wrapped for the
+     * <code>WordKernel</code>, and the kernel of the transitions.
+     */
+    private ByteBuffer[] cellRows, nextRows;
+    private ByteBuffer emptyBuffer;
+    private WordKernel kernel;
+
+    /**
+     * The births and deaths of each row of tiles, counted by the thread which
+     * copies the row of tiles and added to the <code>PlaneHash</code> of the
+     * board when every row of tiles is done.
+     */
+    private PlaneHash[] changes;
+
+    /**
+     * The plane row and column of index 0 of the <code>boardArray</code>.
+     */
+    private long planeRow, planeCol;
+
+    /**
+     * The <code>complement</code> of the board before the generation.
+     */
+    private boolean complementBefore;
+
     /**
      * A constructor that takes a <code>DynamicBoard</code> as an argument.
      *
@@ -29,81 +135,348 @@ public class ConcurrentGeneration {
     }
 
     /**
-     * synchronised version of <code>updateConcurrentNeighbourBoard</code>.
-     * Concurrent threads may access the same element in the
-     * <code>boardArray</code> when counting neighbours with the
-     * <code>countNeighbours</code>-method if the board is sufficiently small.
+     * Prepares the board for the next generation. The
+     * <code>boardArray</code> is expanded if necessary and the number of
+     * <code>iterations</code> is increased. If the <code>boardArray</code> has
+     * been allocated again, or the <code>optimaliser</code> of the board has
+     * been turned off because the board has been edited, every tile is made
+     * active. Otherwise only the tiles around the tiles that changed in the
+     * last generation are active, and the tiles just outside of the old sides
+     * of the board if the board has grown into the free space.
      *
-     * @param colWidth the width of the column
-     * @param colPlace the start index
-     * @see #countConcurrentNeighbhours(int, int)
+     * @see DynamicBoard#addRowsandColumns()
+     * @see TileMap#nextGeneration()
      */
-    public void updateConcurrentNeighbourBoard(int colWidth, int colPlace) {
-
-        for (int row = 0; row < board.getBoardArray().size(); row++) {
-            for (int col = colPlace; col < colPlace + colWidth; col++) {
-                if (board.getBoardArray().get(row).get(col) == 1) {
-
-                    countConcurrentNeighbhours(row, col);
-                }
+    public void beforeSetGeneration() {
+        board.addRowsandColumns();
+        board.iterations++;
+        complementBefore = board.isComplement();
+        Rule rule = board.nextGenerationRule();
+        //The complement rule sets of a B0 rule set take turns
+        boolean alternating = rule != neighbourhoodRule;
+        transitions = rule.getTransitions() & ~1;
+        states = rule.getStates();
+        if (rule != neighbourhoodRule) {
+            neighbourhoods = null;
+            if (!rule.isTotalistic() || states > 2) {
+                neighbourhoods = rule.getNeighbourhoodTable();
+                neighbourhoods[0] = 0;
             }
+            neighbourhoodRule = rule;
         }
-
+        if (kernel == null || kernel.getTransitions() != transitions) {
+            kernel = new WordKernel(transitions);
+        }
+        byte[][] boardArray = board.getCells();
+        if (boardArray != cells) {
+            int height = boardArray.length;
+            int width = height == 0 ? 0 : boardArray[0].length;
+            if (nextArray == null || nextArray.length != height
+                    || emptyRow.length != width) {
+                nextArray = new byte[height][width];
+                emptyRow = new byte[width];
+                tiles = new TileMap(height, width);
+                frozen = new FrozenTiles(tiles.getTileRows(), tiles.getTileColumns());
+                nextRows = wrap(nextArray);
+                emptyBuffer = WordKernel.wrap(emptyRow);
+            }
+            cells = boardArray;
+            cellRows = wrap(cells);
+            board.optimaliser = false;
+        }
+        int top = board.getRowOffset();
+        int bottom = top + board.getHeight();
+        int left = board.getColOffset();
+        int right = left + board.getWidth();
+        if (board.optimaliser) {
+            tiles.nextGeneration(alternating);
+            if (top < firstRow) {
+                tiles.activate(firstRow - 1, firstRow, left, right);
+            }
+            if (bottom > lastRow) {
+                tiles.activate(lastRow - 1, lastRow, left, right);
+            }
+            if (left < firstCol) {
+                tiles.activate(top, bottom, firstCol - 1, firstCol);
+            }
+            if (right > lastCol) {
+                tiles.activate(top, bottom, lastCol - 1, lastCol);
+            }
+        } else {
+            tiles.activateAll();
+            board.countPlaneHash();
+            frozen.count(cells, board.originRow - top, board.originCol - left);
+            board.optimaliser = true;
+        }
+        frozen.setBounds(top, bottom, left, right);
+        if (alternating) {
+            frozen.thaw();
+        }
+        if (board.planeHash == null) {
+            board.countPlaneHash();
+        }
+        if (changes == null || changes.length != tiles.getTileRows()) {
+            changes = new PlaneHash[tiles.getTileRows()];
+            for (int i = 0; i < changes.length; i++) {
+                changes[i] = new PlaneHash();
+            }
+        }
+        planeRow = board.originRow - top;
+        planeCol = board.originCol - left;
+        firstRow = top;
+        lastRow = bottom;
+        firstCol = left;
+        lastCol = right;
     }
 
     /**
-     * Sets the next generation in a selected partition. The partition is
-     * defined by the (base) <code>colPlace</code> and the (offset)
-     * <code>colWidth</code>. The new cell state is determined by the
-     * <code>Rule.rleRules</code> based on the previous cell state and the
-     * number of neighbors.
+     * Sets the next generation of the active tiles in a selected partition of
+     * rows of tiles, from <code>firstTileRow</code> to
+     * <code>lastTileRow</code>. The neighbours of a cell are counted from the
+     * row above, the row itself and the row below in the
+     * <code>boardArray</code>, keeping the sum of each column of three cells
+     * so that each cell is only read three times. The new cell state is
+     * looked up in the <code>Rule</code> transitions based on the previous cell
+     * state and the number of neighbors, and set in the
+     * <code>nextArray</code>. If the <code>WordKernel</code> is on, the rows of
+     * a tile are set eight cells at a time. If the rule set is not
+     * totalistic, the new cell state is looked up in the table of every 3x3
+     * neighbourhood instead. If the rule set has more than two states, only
+     * the cells of state 1 are put in the neighbourhoods, and the cells of the
+     * higher states move on to the next state whatever their neighbours are.
      *
-     * @param colPlace the starting index of the partition
-     * @param colWidth the offset to iterate over
+     * @param firstTileRow the first row of tiles of the partition
+     * @param lastTileRow the row of tiles after the partition
      */
-    public void setNextGenerationConcurrent(int colPlace, int colWidth) {
+    public void setNextGenerationConcurrent(int firstTileRow, int lastTileRow) {
+        for (int tileRow = firstTileRow; tileRow < lastTileRow; tileRow++) {
+            for (int tileCol = 0; tileCol < tiles.getTileColumns(); tileCol++) {
+                if (tiles.isActive(tileRow, tileCol)) {
+                    setNextGenerationTile(tileRow, tileCol);
+                }
+            }
+        }
+    }
+
+    private void setNextGenerationTile(int tileRow, int tileCol) {
+        if (frozen.isFrozen(tileRow, tileCol)) {
+            tiles.setAlive(tileRow, tileCol, frozen.getReplayAlive(tileRow, tileCol));
+            if (frozen.replay(tileRow, tileCol, nextArray)) {
+                tiles.setChanged(tileRow, tileCol);
+            }
+            return;
+        }
+        byte[][] currentArray = cells;
+        int height = currentArray.length;
+        int width = emptyRow.length;
+        int rowPlace = Math.max(firstRow, tileRow * TileMap.TILE_SIZE);
+        int rowEnd = Math.min(lastRow, tileRow * TileMap.TILE_SIZE + TileMap.TILE_SIZE);
+        int colPlace = Math.max(firstCol, tileCol * TileMap.TILE_SIZE);
+        int colEnd = Math.min(lastCol, tileCol * TileMap.TILE_SIZE + TileMap.TILE_SIZE);
+        int rule = transitions;
         int aliveCellsAppend = 0;
-        for (int i = 0; i < board.getBoardArray().size(); i++) {
-            for (int j = colPlace; j < colPlace + colWidth; j++) {
-                int cellState = board.getBoardArray().get(i).get(j);
-                int numNeighbours = board.getNeighBoard()[i][j];
-                if (numNeighbours != 0 || cellState != 0) {
-                    byte newVal = Rule.rleRules(cellState, numNeighbours);
-                    board.getBoardArray().get(i).set(j, newVal);
-
-                    if (newVal == 1) {
+        boolean changed = false;
+
+        if (states > 2) {
+            byte[] table = neighbourhoods;
+            for (int i = rowPlace; i < rowEnd; i++) {
+                byte[] up = i > 0 ? currentArray[i - 1] : emptyRow;
+                byte[] mid = currentArray[i];
+                byte[] down = i < height - 1 ? currentArray[i + 1] : emptyRow;
+                byte[] nextRow = nextArray[i];
+
+                int neighbourhood = colPlace > 0
+                        ? (live(up[colPlace - 1]) << 6 | live(mid[colPlace - 1]) << 3 | live(down[colPlace - 1])) << 1 : 0;
+                neighbourhood |= live(up[colPlace]) << 6 | live(mid[colPlace]) << 3 | live(down[colPlace]);
+                for (int j = colPlace; j < colEnd; j++) {
+                    neighbourhood = (neighbourhood << 1) & Rule.NEXT_COLUMNS;
+                    if (j < width - 1) {
+                        neighbourhood |= live(up[j + 1]) << 6 | live(mid[j + 1]) << 3 | live(down[j + 1]);
+                    }
+                    int cellState = mid[j] & 0xFF;
+                    int newState;
+                    if (cellState > 1) {
+                        newState = cellState + 1 < states ? cellState + 1 : 0;
+                    } else if (table[neighbourhood] == 1) {
+                        newState = 1;
+                    } else {
+                        newState = cellState == 1 ? 2 : 0;
+                    }
+                    nextRow[j] = (byte) newState;
+                    if (newState != cellState) {
+                        changed = true;
+                    }
+                    if (newState == 1) {
                         aliveCellsAppend++;
                     }
                 }
             }
+        } else if (neighbourhoods != null) {
+            byte[] table = neighbourhoods;
+            for (int i = rowPlace; i < rowEnd; i++) {
+                byte[] up = i > 0 ? currentArray[i - 1] : emptyRow;
+                byte[] mid = currentArray[i];
+                byte[] down = i < height - 1 ? currentArray[i + 1] : emptyRow;
+                byte[] nextRow = nextArray[i];
+
+                int neighbourhood = colPlace > 0
+                        ? (up[colPlace - 1] << 6 | mid[colPlace - 1] << 3 | down[colPlace - 1]) << 1 : 0;
+                neighbourhood |= up[colPlace] << 6 | mid[colPlace] << 3 | down[colPlace];
+                for (int j = colPlace; j < colEnd; j++) {
+                    neighbourhood = (neighbourhood << 1) & Rule.NEXT_COLUMNS;
+                    if (j < width - 1) {
+                        neighbourhood |= up[j + 1] << 6 | mid[j + 1] << 3 | down[j + 1];
+                    }
+                    byte newVal = table[neighbourhood];
+                    nextRow[j] = newVal;
+                    if (newVal != mid[j]) {
+                        changed = true;
+                    }
+                    aliveCellsAppend += newVal;
+                }
+            }
+        } else if (WordKernel.isEnabled()) {
+            for (int i = rowPlace; i < rowEnd; i++) {
+                byte[] up = i > 0 ? currentArray[i - 1] : emptyRow;
+                byte[] mid = currentArray[i];
+                byte[] down = i < height - 1 ? currentArray[i + 1] : emptyRow;
+                int left = colPlace > 0 ? up[colPlace - 1] + mid[colPlace - 1] + down[colPlace - 1] : 0;
+                int right = colEnd < width ? up[colEnd] + mid[colEnd] + down[colEnd] : 0;
+                long result = kernel.setNextCells(
+                        i > 0 ? cellRows[i - 1] : emptyBuffer, cellRows[i],
+                        i < height - 1 ? cellRows[i + 1] : emptyBuffer, nextRows[i],
+                        colPlace, colPlace, colPlace, colEnd - colPlace, left, right);
+                aliveCellsAppend += (int) result;
+                changed |= (result & WordKernel.CHANGED) != 0;
+            }
+        } else {
+            for (int i = rowPlace; i < rowEnd; i++) {
+                byte[] up = i > 0 ? currentArray[i - 1] : emptyRow;
+                byte[] mid = currentArray[i];
+                byte[] down = i < height - 1 ? currentArray[i + 1] : emptyRow;
+                byte[] nextRow = nextArray[i];
+
+                int left = colPlace > 0 ? up[colPlace - 1] + mid[colPlace - 1] + down[colPlace - 1] : 0;
+                int center = up[colPlace] + mid[colPlace] + down[colPlace];
+                for (int j = colPlace; j < colEnd; j++) {
+                    int right = j < width - 1 ? up[j + 1] + mid[j + 1] + down[j + 1] : 0;
+                    int cellState = mid[j];
+                    int numNeighbours = left + center + right - cellState;
+                    byte newVal = Rule.nextState(rule, cellState, numNeighbours);
+                    nextRow[j] = newVal;
+                    if (newVal != cellState) {
+                        changed = true;
+                    }
+                    aliveCellsAppend += newVal;
+                    left = center;
+                    center = right;
+                }
+            }
         }
-        synchronized (this) {
-            aliveCells += aliveCellsAppend;
+        tiles.setAlive(tileRow, tileCol, aliveCellsAppend);
+        if (changed) {
+            tiles.setChanged(tileRow, tileCol);
         }
     }
 
     /**
-     * Counts the neighbors of the provided cell. The <code>row</code> and
-     * <code>col</code> of the cell are provided as arguments and used in order
-     * to update the number of neighbors.
+     * Copies the cells of the board in the tiles that changed in a selected
+     * partition of rows of tiles from the <code>nextArray</code> into the
+     * <code>boardArray</code>, which then holds the next generation. The cells
+     * which are born or die are counted in the <code>changes</code> of their
+     * row of tiles on the way.
      *
-     * @param row the row-coordinate of the cell
-     * @param col the column-coordinate of the cell
+     * @param firstTileRow the first row of tiles of the partition
+     * @param lastTileRow the row of tiles after the partition
      */
-    public void countConcurrentNeighbhours(int row, int col) {
-        for (int r = -1; r < 2; r++) {
-            for (int c = -1; c < 2; c++) {
-                int rRow = r + row;
-                int cCol = c + col;
-
-                if (c != 0 && cCol != -1) {
-                    board.getNeighBoard()[rRow][cCol]++;
+    public void commitNextGeneration(int firstTileRow, int lastTileRow) {
+        for (int tileRow = firstTileRow; tileRow < lastTileRow; tileRow++) {
+            int rowPlace = Math.max(firstRow, tileRow * TileMap.TILE_SIZE);
+            int rowEnd = Math.min(lastRow, tileRow * TileMap.TILE_SIZE + TileMap.TILE_SIZE);
+            PlaneHash change = changes[tileRow];
+            change.clear();
+            for (int tileCol = 0; tileCol < tiles.getTileColumns(); tileCol++) {
+                if (!tiles.isChanged(tileRow, tileCol)) {
+                    continue;
                 }
-
-                if (r != 0 && c == 0) {
-                    board.getNeighBoard()[rRow][cCol]++;
+                int colPlace = Math.max(firstCol, tileCol * TileMap.TILE_SIZE);
+                int colWidth = Math.min(lastCol, tileCol * TileMap.TILE_SIZE + TileMap.TILE_SIZE) - colPlace;
+                long tileChange = 0;
+                for (int i = rowPlace; i < rowEnd; i++) {
+                    byte[] nextRow = nextArray[i];
+                    byte[] row = cells[i];
+                    long rowKey = 0;
+                    for (int j = colPlace; j < colPlace + colWidth; j++) {
+                        if (nextRow[j] != row[j]) {
+                            if (rowKey == 0) {
+                                rowKey = PlaneHash.rowKey(planeRow + i);
+                            }
+                            long key = rowKey * PlaneHash.columnKey(planeCol + j);
+                            int state = (nextRow[j] & 0xFF) - (row[j] & 0xFF);
+                            change.add(planeRow + i, planeCol + j, key, state);
+                            tileChange += state * key;
+                        }
+                    }
+                    System.arraycopy(nextRow, colPlace, row, colPlace, colWidth);
                 }
+                frozen.addChange(tileRow, tileCol, tileChange);
             }
         }
     }
+
+    /**
+     * Gets 1 for a live cell, the cells of state 2 and above are not alive.
+     */
+    private static int live(byte cellState) {
+        return cellState == 1 ? 1 : 0;
+    }
+
+    private static ByteBuffer[] wrap(byte[][] rows) {
+        ByteBuffer[] buffers = new ByteBuffer[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            buffers[i] = WordKernel.wrap(rows[i]);
+        }
+        return buffers;
+    }
+
+    /**
+     * Sets the number of alive cells of the board from the alive cells of
+     * every tile. If the cells are stored as the complement, the board is
+     * alive where the stored cells are dead. The births and deaths of every
+     * row of tiles are added to the <code>PlaneHash</code> of the board, and
+     * the board is <code>unchanged</code> if no tile changed and the cells are
+     * stored the same way as before. The <code>FrozenTiles</code> are moved on
+     * to the next generation.
+     */
+    public void afterSetGeneration() {
+        board.unchanged = !tiles.hasChanged() && board.isComplement() == complementBefore;
+        frozen.nextGeneration(cells, tiles);
+        for (PlaneHash change : changes) {
+            board.planeHash.add(change);
+        }
+        int alive = tiles.getAliveCells();
+        if (board.isComplement()) {
+            alive = board.getHeight() * board.getWidth() - alive;
+        }
+        board.setAliveCells(alive);
+    }
+
+    /**
+     * Gets the number of rows of tiles of the board. Only valid after
+     * <code>beforeSetGeneration</code>.
+     *
+     * @return the number of rows of tiles
+     */
+    public int getTileRows() {
+        return tiles.getTileRows();
+    }
+
+    /**
+     * Gets the number of tiles which are frozen and replayed instead of set.
+     *
+     * @return the number of frozen tiles
+     */
+    public int getFrozenTiles() {
+        return frozen == null ? 0 : frozen.getFrozenTiles();
+    }
 }
@@ -0,0 +1,254 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+/**
+ * Finds the generations where a board repeats itself, from the
+ * <code>PlaneHash</code> the board keeps of its live cells. The normalised
+ * key of every generation is stored with the generation it was seen in, so
+ * when a key comes back the board has either oscillated, if the cells are in
+ * the same place, or moved as a spaceship, if the centre of the cells has
+ * moved. The <code>period</code> is the number of generations between the
+ * two, and the displacement is how far the cells moved.
+ *
+ * A key is not taken as a cycle until every generation of a whole period has
+ * come back with the same period and displacement, so a single collision of
+ * two keys is not mistaken for a cycle. Only the last <code>HISTORY</code>
+ * generations are kept. The history is cleared when the rule set of the
+ * board changes or the generations start over, since the same cells do not
+ * give the same generations then.
+ *
+ * When a cycle has been found the board can be moved ahead without setting
+ * every generation: an oscillator is only set for the generations that are
+ * left over after the whole periods, and a spaceship is moved by the
+ * displacement of the whole periods, if the board can move its cells.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see PlaneHash
+ * @see Board#translate(long, long)
+ */
+public class CycleDetector {
+
+    /**
+     * The number of generations kept in the history.
+     */
+    public static final int HISTORY = 4096;
+
+    /**
+     * The key, the generation, the sum of the rows, the sum of the columns and
+     * the weight of the last <code>HISTORY</code> generations, in a ring where
+     * <code>next</code> is the slot of the next generation and the oldest
+     * generation when the ring is full.
+     */
+    private final long[] seenKeys = new long[HISTORY];
+    private final long[] seenGenerations = new long[HISTORY];
+    private final long[] seenRows = new long[HISTORY];
+    private final long[] seenCols = new long[HISTORY];
+    private final long[] seenWeights = new long[HISTORY];
+    private int next, count;
+
+    /**
+     * The slot in the ring of the generation each key was last seen in, plus
+     * one.
+     */
+    private final LongIntHashMap slots = new LongIntHashMap();
+
+    private Rule rule;
+    private long lastGeneration = -1;
+
+    private int candidate, matches;
+    private long candidateRows, candidateCols;
+    private int period;
+    private long rowDisplacement, colDisplacement;
+
+    /**
+     * Adds the current generation of the board to the history, and checks if
+     * it has been seen before. Called after every generation.
+     *
+     * @param board the board to check
+     * @return <code>true</code> if the board is in a cycle
+     */
+    public boolean update(Board board) {
+        long generation = board.getIterations();
+        if (board.getRule() != rule || generation <= lastGeneration) {
+            reset();
+            rule = board.getRule();
+        }
+        lastGeneration = generation;
+
+        PlaneHash hash = board.getPlaneHash();
+        long key = hash.key();
+        if (key == LongHashSet.EMPTY) {
+            //EMPTY can not be a key of the map, another key is as good
+            key++;
+        }
+        long rowSum = hash.getRowSum();
+        long colSum = hash.getColumnSum();
+        long weight = hash.getWeight();
+        int before = slots.get(key) - 1;
+        long beforeGeneration = before < 0 ? 0 : seenGenerations[before];
+        long beforeRows = before < 0 ? 0 : seenRows[before];
+        long beforeCols = before < 0 ? 0 : seenCols[before];
+        long beforeWeight = before < 0 ? 0 : seenWeights[before];
+
+        if (count == HISTORY) {
+            //The oldest generation is only forgotten if its key has not come back since
+            long oldest = seenKeys[next];
+            if (slots.get(oldest) == next + 1) {
+                slots.remove(oldest);
+            }
+        } else {
+            count++;
+        }
+        seenKeys[next] = key;
+        seenGenerations[next] = generation;
+        seenRows[next] = rowSum;
+        seenCols[next] = colSum;
+        seenWeights[next] = weight;
+        slots.put(key, next + 1);
+        next = (next + 1) % HISTORY;
+
+        //The cells of a cycle come back with the same weight, moved a whole
+        //number of rows and columns
+        if (before < 0 || beforeWeight != weight || beforeGeneration < generation - HISTORY
+                || (weight != 0 && ((rowSum - beforeRows) % weight != 0
+                || (colSum - beforeCols) % weight != 0))) {
+            matches = 0;
+            period = 0;
+            return false;
+        }
+        int newPeriod = (int) (generation - beforeGeneration);
+        long rows = weight == 0 ? 0 : (rowSum - beforeRows) / weight;
+        long cols = weight == 0 ? 0 : (colSum - beforeCols) / weight;
+        if (newPeriod == candidate && rows == candidateRows && cols == candidateCols) {
+            matches++;
+        } else {
+            candidate = newPeriod;
+            candidateRows = rows;
+            candidateCols = cols;
+            matches = 1;
+            period = 0;
+        }
+        if (matches >= candidate) {
+            period = candidate;
+            rowDisplacement = candidateRows;
+            colDisplacement = candidateCols;
+        }
+        return period > 0;
+    }
+
+    /**
+     * Moves the board <code>generations</code> generations ahead. If the board
+     * is in a cycle, the whole periods are skipped, otherwise every generation
+     * is set and checked for a cycle.
+     *
+     * @param board the board to move ahead
+     * @param generations the number of generations
+     * @return the number of generations that were set
+     * @throws IllegalArgumentException if the <code>iterations</code> of the
+     * board would pass <code>Integer.MAX_VALUE</code>
+     */
+    public long advance(Board board, long generations) {
+        if (generations > Integer.MAX_VALUE - board.getIterations()) {
+            throw new IllegalArgumentException("The board can not go past generation " + Integer.MAX_VALUE);
+        }
+        long set = 0;
+        while (generations > 0) {
+            if (period > 0 && generations >= period && board.getRule() == rule
+                    && board.getIterations() == lastGeneration) {
+                long periods = generations / period;
+                long rows = periods * rowDisplacement;
+                long cols = periods * colDisplacement;
+                if (board.translate(rows, cols)) {
+                    long skipped = periods * period;
+                    board.iterations += skipped;
+                    lastGeneration = board.getIterations();
+                    generations -= skipped;
+                    //The history moves ahead with the board
+                    for (int i = 0; i < count; i++) {
+                        seenGenerations[i] += skipped;
+                        seenRows[i] += rows * seenWeights[i];
+                        seenCols[i] += cols * seenWeights[i];
+                    }
+                    continue;
+                }
+            }
+            board.setNextGeneration();
+            update(board);
+            set++;
+            generations--;
+        }
+        return set;
+    }
+
+    /**
+     * Clears the history and the cycle.
+     */
+    public void reset() {
+        slots.clear();
+        next = 0;
+        count = 0;
+        lastGeneration = -1;
+        candidate = 0;
+        matches = 0;
+        period = 0;
+        rowDisplacement = 0;
+        colDisplacement = 0;
+    }
+
+    /**
+     * Checks if the board is in a cycle.
+     *
+     * @return <code>true</code> if a cycle has been found
+     */
+    public boolean isCycle() {
+        return period > 0;
+    }
+
+    /**
+     * Gets the period of the cycle, 1 for a still life.
+     *
+     * @return the period, or 0 if there is no cycle
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the number of rows the cells move down in one period.
+     *
+     * @return the rows moved, 0 for an oscillator
+     */
+    public long getRowDisplacement() {
+        return rowDisplacement;
+    }
+
+    /**
+     * Gets the number of columns the cells move right in one period.
+     *
+     * @return the columns moved, 0 for an oscillator
+     */
+    public long getColumnDisplacement() {
+        return colDisplacement;
+    }
+
+    /**
+     * Describes the cycle, for instance "Period 2" for a blinker or
+     * "Period 4 (1, 1)" for a glider moving down and to the right.
+     *
+     * @return the description, or an empty string if there is no cycle
+     */
+    @Override
+    public String toString() {
+        if (period == 0) {
+            return "";
+        }
+        if (rowDisplacement == 0 && colDisplacement == 0) {
+            return "Period " + period;
+        }
+        return "Period " + period + " (" + rowDisplacement + ", " + colDisplacement + ")";
+    }
+}
@@ -5,9 +5,9 @@
  */
 package model.BoardPack;
 
-import utilities.IndexPair;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import model.CanvasInfo;
@@ -20,15 +20,42 @@ import model.CanvasInfo;
  * DynamicBoard expands dynamically by adding rows and columns in the needed
  * direction.
  *
+ * The cells are stored in a <code>byte[][]</code> which is larger than the
+ * board, with free rows and columns on every side. Rows and columns are added
+ * by moving the origin of the board, <code>rowOffset</code> and
+ * <code>colOffset</code>, into the free space, so no cell is moved. Only when
+ * there is no free space left is the array allocated again, with twice the
+ * size, so adding rows and columns costs the area that is added on average.
+ *
+ * Every cell is one <code>byte</code> holding its state, 0 or 1, or any state
+ * of a Generations <code>Rule</code>, so the cells of the decay states take no
+ * more room than the live cells.
+ *
  * @author T.Dahll, M.S.Olsen
  * @see model.BoardPack.Board
  */
 public class DynamicBoard extends Board implements Serializable {
 
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The cells of the main board of the game, with free rows and columns
+     * around the board. The cell (row, col) of the board is
+     * <code>boardArray[rowOffset + row][colOffset + col]</code>, and every cell
+     * outside of the board is 0.
+     */
+    private byte[][] boardArray;
+
     /**
-     * The <code>ArrayList</code> containing the main board of the game.
+     * The index in the <code>boardArray</code> of the first row and the first
+     * column of the board.
      */
-    private ArrayList<ArrayList<Byte>> boardArray;
+    private int rowOffset, colOffset;
+
+    /**
+     * The number of rows and columns of the board.
+     */
+    private int height, width;
 
     /**
      * The <code>ArrayList</code> containing the pattern of the game.
@@ -69,22 +96,40 @@ public class DynamicBoard extends Board implements Serializable {
     public DynamicBoard(int row, int columns) {
         this.numRows = row;
         this.numColumns = columns;
-        boardArray = create2Darray(row, columns);
+        setCells(new byte[row][columns]);
     }
 
     /**
-     * Board constructor which accepts another <code>DynamicBoard</code> or a 
-     * <code>StaticBoard</code>as an argument. This clones the 
-     * <code>boardArray</code> belonging to the <code>DynamicBoard</code> used 
-     * as an argument. Or creates the <code>boardArray</code> from the 
-     * <code>StaticBoard</code> <code>byte [][]</code>.
+     * Board constructor which accepts another <code>Board</code> as an
+     * argument. This copies the cells of the <code>boardArray</code> belonging
+     * to the <code>DynamicBoard</code> used as an argument. Other sub-classes of
+     * <code>Board</code> are copied cell by cell with
+     * <code>getCellState</code>. The <code>rule</code> of the board is kept,
+     * and the cells are stored as the <code>complement</code> if they are in
+     * the board.
      *
      * @param board the board to copy
      */
     public DynamicBoard(Board board) {
         this.numRows = board.getHeight();
         this.numColumns = board.getWidth();
-        boardArray = (ArrayList<ArrayList<Byte>>) ((DynamicBoard) board).boardArray.clone();
+        this.rule = board.getRule();
+        this.complement = board.isComplement();
+        byte[][] cells = new byte[numRows][numColumns];
+        if (board instanceof DynamicBoard) {
+            DynamicBoard dynamic = (DynamicBoard) board;
+            for (int row = 0; row < numRows; row++) {
+                System.arraycopy(dynamic.boardArray[dynamic.rowOffset + row],
+                        dynamic.colOffset, cells[row], 0, numColumns);
+            }
+        } else {
+            for (int row = 0; row < numRows; row++) {
+                for (int col = 0; col < numColumns; col++) {
+                    cells[row][col] = (byte) (board.getCellState(row, col) ^ (complement ? 1 : 0));
+                }
+            }
+        }
+        setCells(cells);
     }
 
     //-----------------------BOUNDING LOCIC----------------------------------//
@@ -99,14 +144,14 @@ public class DynamicBoard extends Board implements Serializable {
     @Override
     @Deprecated
     public String getBoundingBoxPattern() {
-        if (boardArray.isEmpty()) {
+        if (height == 0) {
             return "";
         }
         int[] boundingBox = getBoundingBox();
         String boundingArray = "";
         for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
             for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
-                if (boardArray.get(i).get(j) == 1) {
+                if (getCellState(i, j) == 1) {
                     boundingArray = boundingArray + "1";
                 } else {
                     boundingArray = boundingArray + "0";
@@ -130,13 +175,14 @@ public class DynamicBoard extends Board implements Serializable {
     @Override
     public int[] getBoundingBox() {
         int[] boundingBox = new int[4]; // minrow maxrow mincolumn maxcolumn
-        boundingBox[0] = boardArray.size();
+        boundingBox[0] = height;
         boundingBox[1] = 0;
-        boundingBox[2] = boardArray.get(0).size();
+        boundingBox[2] = width;
         boundingBox[3] = 0;
-        for (int i = 0; i < boardArray.size(); i++) {
-            for (int j = 0; j < boardArray.get(0).size(); j++) {
-                if (boardArray.get(i).get(j) == 0) {
+        for (int i = 0; i < height; i++) {
+            byte[] row = boardArray[rowOffset + i];
+            for (int j = 0; j < width; j++) {
+                if (row[colOffset + j] == 0) {
                     continue;
                 }
                 if (i < boundingBox[0]) {
@@ -172,20 +218,21 @@ public class DynamicBoard extends Board implements Serializable {
      */
     public DynamicBoard(ArrayList<ArrayList<Byte>> array, int[] bounding) {
         if (bounding[1] - bounding[0] < 0) {
-            boardArray = array;
+            setCells(byteArrayFromArrayList(array));
             return;
         }
 
         numRows = bounding[1] - bounding[0] + 1;
         numColumns = bounding[3] - bounding[2] + 1;
-        boardArray = create2Darray(numRows + 4, numColumns + 4);
+        byte[][] cells = new byte[numRows + 4][numColumns + 4];
 
         //Bounding describes outer framework, where there are active 1s
         for (int x = bounding[0], i = 0; x <= bounding[1]; x++, i++) {
             for (int y = bounding[2], j = 0; y <= bounding[3]; y++, j++) {
-                boardArray.get(i + 2).set(j + 2, array.get(x).get(y));
+                cells[i + 2][j + 2] = array.get(x).get(y);
             }
         }
+        setCells(cells);
     }
 
     /**
@@ -207,7 +254,7 @@ public class DynamicBoard extends Board implements Serializable {
         //Bounding describes outer framework, where there are active 1s
         for (int x = bounding[0], i = 0; x <= bounding[1]; x++, i++) {
             for (int y = bounding[2], j = 0; y <= bounding[3]; y++, j++) {
-                boundArray.get(i).set(j, this.boardArray.get(x).get(y));
+                boundArray.get(i).set(j, getCellState(x, y));
             }
         }
         return boundArray;
@@ -234,30 +281,30 @@ public class DynamicBoard extends Board implements Serializable {
     @Override
     public void addArrayToBoard(byte[][] array) {
         optimaliser = false;
-        if (boardArray.size() <= array.length || boardArray.get(0).size() <= array[0].length) {
-            while (boardArray.size() <= array.length) {
+        if (height <= array.length || width <= array[0].length) {
+            while (height <= array.length) {
                 addRows(1, false);
                 addRows(1, true);
             }
-            while (boardArray.get(0).size() <= array[0].length) {
+            while (width <= array[0].length) {
                 addColumns(1, false);
                 addColumns(1, true);
             }
         }
 
-        int placementy = ymove + (boardArray.size() - array.length) / 2;
-        int placementx = xmove + (boardArray.get(0).size() - array[0].length) / 2;
+        int placementy = ymove + (height - array.length) / 2;
+        int placementx = xmove + (width - array[0].length) / 2;
 
-        if (placementy + array.length > boardArray.size()) {
-            addRows(placementy + array.length - boardArray.size() + 1, false);
+        if (placementy + array.length > height) {
+            addRows(placementy + array.length - height + 1, false);
         }
         if (placementy < 0) {
             addRows(Math.abs(placementy), true);
             placementy = 1;
         }
 
-        if (placementx + array[0].length > boardArray.get(0).size()) {
-            addColumns(placementx + array[0].length - boardArray.get(0).size() + 1, false);
+        if (placementx + array[0].length > width) {
+            addColumns(placementx + array[0].length - width + 1, false);
         }
         if (placementx < 0) {
             addColumns(Math.abs(placementx), true);
@@ -267,9 +314,11 @@ public class DynamicBoard extends Board implements Serializable {
         for (int y = placementy, z = 0; y < placementy + array.length; y++, z++) {
 
             for (int x = placementx, w = 0; x < placementx + array[0].length; x++, w++) {
-                //Adds 1's to the Board
-                if (array[z][w] == 1) {
-                    boardArray.get(y).set(x, array[z][w]);
+                //Adds the cells which are not dead to the Board, the states
+                //the rule does not have are left dead
+                int cellState = array[z][w] & 0xFF;
+                if (cellState != 0 && cellState < rule.getStates()) {
+                    boardArray[rowOffset + y][colOffset + x] = complement ? 0 : array[z][w];
                 }
             }
         }
@@ -283,66 +332,54 @@ public class DynamicBoard extends Board implements Serializable {
 
     //-------------------------EXPANDING LOGIC ----------------------------- //
     
-    // adRow and adCol are used by the indexPairs in the index ArrayList, to adjust 
-    //the indexses when the Board is expanded.
-    private int adRow;
-    private int adCol;
+    /**
+     * The number of rows or columns added when a live cell reaches the edge of
+     * the board.
+     */
+    private static final int EXPANSION = 20;
 
     /**
-     * Adds rows and columns to the board as it grows bigger. Creates a
-     * <code>num</code> number of rows, create them of the same length as the
-     * <code>boardList.get(0)</code> and places the rows either at index 0 (if
-     * <code>top</code> is true) or at the end of the <code>boardList</code> if
-     * <code>top</code> is false.
+     * Adds rows and columns to the board as it grows bigger. If a live cell is
+     * found in the first or last row, or in the first or last column,
+     * <code>EXPANSION</code> rows or columns are added at that side. All sides
+     * are added in one expansion of the <code>boardArray</code>.
      *
-     * @see #addRows(int, boolean) - adds <code>int</code> number of rows at the
-     * top of the <code>boardArray</code> if the <code>boolean</code> is true
-     * @see #addColumns(int, boolean) - adds <code>int</code> number of columns
-     * at the left side of the <code>boardArray</code> if the
-     * <code>boolean</code> is true
-     * @see #adRow - adjusts the index address for the rows according to how the
-     * indexes have been changed when rows have been added
-     * @see #adCol - adjusts the index address for the columns according to how
-     * the indexes have been changed when columns have been added
+     * @see #expand(int, int, int, int)
      */
     public void addRowsandColumns() {
-        
-        boolean top = true;
-
-        //Check if outer rows got 1, and add extra rows if so.
-        if (boardArray.get(0).contains((byte) 1)) {
-            addRows(20, top);
-            adRow += 20;
+        if (height == 0 || width == 0) {
+            return;
         }
-
-        if (boardArray.get(boardArray.size() - 1).contains((byte) 1)) {
-            top = false;
-            addRows(20, top);
+        int top = contains(rowOffset, colOffset, 1, width) ? EXPANSION : 0;
+        int bottom = contains(rowOffset + height - 1, colOffset, 1, width) ? EXPANSION : 0;
+        int left = contains(rowOffset, colOffset, height, 1) ? EXPANSION : 0;
+        int right = contains(rowOffset, colOffset + width - 1, height, 1) ? EXPANSION : 0;
+        if (top + bottom + left + right > 0) {
+            expand(top, bottom, left, right);
         }
+    }
 
-        //Check if outer colums contains a 1, add extra if so
-        boolean checkColL = true;
-        boolean checkColR = true;
-        boolean left = true;
-
-        for (int row = 0; row < boardArray.size() - 1; row++) {
-            if (boardArray.get(row).get(0) == 1 && checkColL) {
-                addColumns(20, left);
-                checkColL = false;
-                adCol += 20;
-            }
-            //TODO boardArray.get(row).get(boardArray.get(0).size() - adCol-1) == 1 && checkColR
-            if (boardArray.get(row).get(boardArray.get(0).size() - 1) == 1 && checkColR) {
-
-                left = false;
-                addColumns(20, left);
-                checkColR = false;
-            }
-
-            if (checkColL == false & checkColR == false) {
-                break;
+    /**
+     * Checks if there is a live cell in a rectangle of the
+     * <code>boardArray</code>.
+     *
+     * @param row the first row of the rectangle in the <code>boardArray</code>
+     * @param col the first column of the rectangle in the
+     * <code>boardArray</code>
+     * @param rows the number of rows of the rectangle
+     * @param cols the number of columns of the rectangle
+     * @return <code>true</code> if a cell in the rectangle is alive
+     */
+    private boolean contains(int row, int col, int rows, int cols) {
+        for (int i = row; i < row + rows; i++) {
+            byte[] cells = boardArray[i];
+            for (int j = col; j < col + cols; j++) {
+                if (cells[j] == 1) {
+                    return true;
+                }
             }
         }
+        return false;
     }
 
     /**
@@ -364,20 +401,10 @@ public class DynamicBoard extends Board implements Serializable {
      * @param left the side to add the columns
      */
     public void addColumns(int addColumns, boolean left) {
-        placeColVar = 0;
-        for (int adder = 0; adder < addColumns; adder++) {
-            if (left) {
-                placeColVar++;
-            };
-            for (int row = 0; row < boardArray.size(); row++) {
-                if (left) {
-
-                    boardArray.get(row).add(0, (byte) 0);
-
-                } else {
-                    boardArray.get(row).add((byte) 0);
-                }
-            }
+        if (left) {
+            expand(0, 0, addColumns, 0);
+        } else {
+            expand(0, 0, 0, addColumns);
         }
     }
 
@@ -400,19 +427,119 @@ public class DynamicBoard extends Board implements Serializable {
      * @param top the side to add the rows
      */
     public void addRows(int addRows, boolean top) {
-        placeRowVar = 0;
-        for (int j = 0; j < addRows; j++) {
-            ArrayList<Byte> newRow = new ArrayList<>();
-            for (Byte get : boardArray.get(0)) {
-                newRow.add((byte) 0);
+        if (top) {
+            expand(addRows, 0, 0, 0);
+        } else {
+            expand(0, addRows, 0, 0);
+        }
+    }
+
+    /**
+     * The plane row and the plane column of the first row and column of the
+     * board. Unlike the <code>placeRowVar</code> and the
+     * <code>placeColVar</code>, which start over every time the board is drawn,
+     * they only move with the rows and columns added or removed at the top
+     * and the left side, so every cell keeps its plane coordinates.
+     *
+     * @see PlaneHash
+     */
+    long originRow, originCol;
+
+    /**
+     * Adds rows and columns at the sides of the board. If there is enough free
+     * space around the board in the <code>boardArray</code>, only the
+     * <code>rowOffset</code> and the <code>colOffset</code> are moved, since
+     * the free cells are already 0. Otherwise the <code>boardArray</code> is
+     * allocated again with at least twice the number of rows or columns that
+     * ran out of space, and the board is copied to the middle of it. The rows
+     * and columns added at the top and the left side are added to the
+     * <code>placeRowVar</code> and the <code>placeColVar</code>, and taken
+     * from the <code>originRow</code> and the <code>originCol</code>.
+     *
+     * @param top the number of rows to add at the top
+     * @param bottom the number of rows to add at the bottom
+     * @param left the number of columns to add at the left side
+     * @param right the number of columns to add at the right side
+     */
+    void expand(int top, int bottom, int left, int right) {
+        int newHeight = height + top + bottom;
+        int newWidth = width + left + right;
+        int capRows = boardArray.length;
+        int capCols = capRows == 0 ? 0 : boardArray[0].length;
+        int newRowOffset = rowOffset - top;
+        int newColOffset = colOffset - left;
+
+        boolean rowsFit = newRowOffset >= 0 && newRowOffset + newHeight <= capRows;
+        boolean colsFit = newColOffset >= 0 && newColOffset + newWidth <= capCols;
+        if (!rowsFit || !colsFit) {
+            if (!rowsFit) {
+                capRows = Math.max(2 * capRows, newHeight);
+                newRowOffset = (capRows - newHeight) / 2;
             }
-            if (top) {
-                placeRowVar++;
-                boardArray.add(0, newRow);
-            } else {
-                boardArray.add(newRow);
+            if (!colsFit) {
+                capCols = Math.max(2 * capCols, newWidth);
+                newColOffset = (capCols - newWidth) / 2;
             }
+            byte[][] cells = new byte[capRows][capCols];
+            for (int row = 0; row < height; row++) {
+                System.arraycopy(boardArray[rowOffset + row], colOffset,
+                        cells[newRowOffset + top + row], newColOffset + left, width);
+            }
+            boardArray = cells;
         }
+        rowOffset = newRowOffset;
+        colOffset = newColOffset;
+        height = newHeight;
+        width = newWidth;
+        placeRowVar += top;
+        placeColVar += left;
+        originRow -= top;
+        originCol -= left;
+    }
+
+    /**
+     * Removes the empty rows and columns at the sides of the board which are
+     * more than twice <code>EXPANSION</code> away from the cells, down to
+     * <code>EXPANSION</code> rows or columns. Only the <code>rowOffset</code>
+     * and the <code>colOffset</code> are moved, the removed rows and columns
+     * are already 0 and become free space of the <code>boardArray</code>. Used
+     * when cells have been taken away from the sides of the board, so that
+     * the board does not keep the size it had when the cells were there.
+     *
+     * @see SpaceshipCollector
+     */
+    void shrink() {
+        int firstRow = height, lastRow = -1, firstCol = width, lastCol = -1;
+        for (int i = 0; i < height; i++) {
+            byte[] row = boardArray[rowOffset + i];
+            for (int j = 0; j < width; j++) {
+                if (row[colOffset + j] != 0) {
+                    firstRow = Math.min(firstRow, i);
+                    lastRow = i;
+                    firstCol = Math.min(firstCol, j);
+                    lastCol = Math.max(lastCol, j);
+                }
+            }
+        }
+        if (lastRow < 0) {
+            return;
+        }
+        int top = firstRow > 2 * EXPANSION ? firstRow - EXPANSION : 0;
+        int bottom = height - 1 - lastRow > 2 * EXPANSION ? height - 1 - lastRow - EXPANSION : 0;
+        int left = firstCol > 2 * EXPANSION ? firstCol - EXPANSION : 0;
+        int right = width - 1 - lastCol > 2 * EXPANSION ? width - 1 - lastCol - EXPANSION : 0;
+        if (top + bottom + left + right == 0) {
+            return;
+        }
+        rowOffset += top;
+        colOffset += left;
+        height -= top + bottom;
+        width -= left + right;
+        placeRowVar -= top;
+        placeColVar -= left;
+        originRow += top;
+        originCol += left;
+        optimaliser = false;
     }
 
     /**
@@ -428,11 +555,11 @@ public class DynamicBoard extends Board implements Serializable {
      */
     @Override
     public void autoFit(byte[][] array) {
-        if (boardArray.size() < array.length || boardArray.get(0).size() < array.length) {
-            while (boardArray.size() < array.length) {
+        if (height < array.length || width < array.length) {
+            while (height < array.length) {
                 addRows(5, false);
             }
-            while (boardArray.get(0).size() < array[0].length) {
+            while (width < array[0].length) {
                 addColumns(5, false);
             }
         }
@@ -440,206 +567,111 @@ public class DynamicBoard extends Board implements Serializable {
 
     //------------------GENERATION LOGIC--------------------------------------//
     /**
-     * In <code>DynamicBoard</code> and with only one thread active this process
-     * has been optimized. When there are less alive cells than dead. Here we
-     * have used an <code>ArrayList</code> of <code>indexPair</code>, which
-     * stores the placement of active cells, meaning alive cells and those with
-     * neighbors. Combined make up a list of the cells which are relevant in the
-     * logic, and therefore we avoid iterating through irrelevant cells. The
-     * effect of this can be seen on the turingmachine.rle where 4 threads give
-     * a speed of 15 and the optimized gives 24.
-     */
-    
-    /**
-     * The <code>ArrayList</code> used by the optimizing-function. This is used 
-     * in order to store information about "active" cells, that is, cells that 
-     * are alive and/or have neighbors.
+     * Sets the <code>rule</code> of the board. If the new rule set has fewer
+     * states, the cells of the states it does not have are set to 0, so that
+     * every cell holds a state of the rule set. A rule set of more than two
+     * states has no <code>complement</code>, so if the cells are stored as
+     * the complement the cells of the board are turned back first, and the
+     * plane around the board is dead again.
      *
-     * @see #optimaliser
-     * @see #updateNeighbourBoard()
-     * @see #countNeighbhours(int, int)
+     * @param rule the rule set to use
+     * @throws IllegalArgumentException if the rule set has B0 and more than
+     * two states, since the plane around the board can only be born through
+     * the complement
      */
-    private ArrayList<IndexPair> index;
+    @Override
+    public void setRule(Rule rule) {
+        int states = rule.getStates();
+        if (states > 2 && rule.hasB0()) {
+            throw new IllegalArgumentException(
+                    "DynamicBoard can not set rule sets with B0 of more than two states, such as " + rule);
+        }
+        if (states > 2 && complement) {
+            for (int i = 0; i < height; i++) {
+                byte[] row = boardArray[rowOffset + i];
+                for (int j = colOffset; j < colOffset + width; j++) {
+                    row[j] ^= 1;
+                }
+            }
+            complement = false;
+        }
+        if (states < this.rule.getStates()) {
+            for (byte[] row : boardArray) {
+                for (int j = 0; j < row.length; j++) {
+                    if ((row[j] & 0xFF) >= states) {
+                        row[j] = 0;
+                    }
+                }
+            }
+        }
+        super.setRule(rule);
+    }
 
     /**
-     * Operations to be performed before setting the next generation. Variables
-     * <code>aliveCells</code>, <code>adRow</code> and <code>adCol</code> is set
-     * to 0 before processing the next generation. Method
-     * <code>addRowsandColumns</code> is called in order to expand the
-     * <code>boardArray</code> if necessary and the board containing the number
-     * of neighbors is prepared for the next generation. The variable
-     * <code>iterations</code> is incremented by 1 to show the number of
-     * generations.
+     * In <code>DynamicBoard</code> the next generation is set by the
+     * <code>ConcurrentGeneration</code>, on a single thread, or on several
+     * threads by the <code>WorkHive</code>. Both keep track of which tiles of
+     * the board are active in a <code>TileMap</code>, so that the tiles where
+     * nothing has changed are skipped. The <code>optimaliser</code> is turned
+     * off whenever the board is edited, which makes every tile active for the
+     * next generation.
      *
-     * @see #aliveCells
-     * @see #adRow
-     * @see #adCol
-     * @see #addRowsandColumns()
-     * @see #createNeighBoard()
-     * @see #iterations
+     * @see ConcurrentGeneration
+     * @see TileMap
      */
-    @Override
-    public void beforeSetGeneration() {
-        aliveCells = 0;
-        adRow = 0;
-        adCol = 0;
-        addRowsandColumns();
-        createNeighBoard();
-        iterations++;
-    }
+    private transient ConcurrentGeneration generation;
 
     /**
-     * Iterates over the <code>boardArray</code> in order to update the
-     * <code>neighBoard</code>. If the <code>optimaliser</code> is set to
-     * <code>true</code>, a <code>tempPair</code> is created in order to contain
-     * information about the cells in <code>boardArray</code> which are alive
-     * (have value 1). The <code>index</code> is updated with the coordinates of
-     * the cells that are alive. The <code>aliveCells</code> is incremented by 1
-     * in order to display the number of alive cells.
+     * Gets the <code>ConcurrentGeneration</code> which sets the next
+     * generation of the board.
      *
-     * If the <code>optimaliser</code> has value <code>false</code>, the entire
-     * <code>boardArray</code> is iterated in order to detect the alive cells.
-     *
-     * Regardless of the <code>optimaliser</code>-value, the
-     * <code>countNeighbhours</code> method is called in order to count the
-     * number of neighbors of the cell at coordinates (row, column).
-     *
-     * @see #optimaliser
-     * @see #index
-     * @see #boardArray
-     * @see #aliveCells
-     * @see #countNeighbhours(int, int)
+     * @return the <code>ConcurrentGeneration</code> of the board
      */
-    @Override
-    public void updateNeighbourBoard() {
-        if (optimaliser) {
-            ArrayList<IndexPair> tempPair = new ArrayList<>(index);
-            index.clear();
-
-            for (int n = 0; n < tempPair.size(); n++) {
-                int row = tempPair.get(n).getRow() + adRow;
-                int col = tempPair.get(n).getCol() + adCol;
-
-                if (boardArray.get(row).get(col) == 1) {
-                    index.add(new IndexPair(row, col));
-                    countNeighbhours(row, col);
-                }
-            }
-        } else {
-            index = new ArrayList<>();
-
-            for (int row = 1; row < boardArray.size() - 1; row++) {
-                for (int col = 1; col < boardArray.get(0).size() - 1; col++) {
-                    if (boardArray.get(row).get(col) == 1) {
-                        index.add(new IndexPair(row, col));
-                        countNeighbhours(row, col);
-                    }
-                }
-            }
-
+    public ConcurrentGeneration getConcurrentGeneration() {
+        if (generation == null) {
+            generation = new ConcurrentGeneration(this);
         }
+        return generation;
     }
 
     /**
-     * Creates an empty <code>byte[][]</code> that is assigned to
-     * <code>neighBoard</code>. The <code>neighBoard</code> has the same
-     * dimensions as the <code>boardArray</code>.
+     * Operations to be performed before setting the next generation. The
+     * variable <code>aliveCells</code> is set to 0 before processing the next
+     * generation, and the <code>ConcurrentGeneration</code> expands the
+     * <code>boardArray</code> if necessary, increments the
+     * <code>iterations</code> and finds the active tiles.
      *
-     * @see #neighBoard
-     * @see #boardArray
+     * @see ConcurrentGeneration#beforeSetGeneration()
      */
     @Override
-    public void createNeighBoard() {
-        neighBoard = new byte[boardArray.size()][boardArray.get(0).size()];
+    public void beforeSetGeneration() {
+        aliveCells = 0;
+        getConcurrentGeneration().beforeSetGeneration();
     }
 
     /**
-     * Counts the number of neighbors for the cell at coordinate (row, column).
-     * The surrounding cells of the cell given by (row, column) are iterated in
-     * order to update the number of neighbors that are related to the the
-     * current cell with the corresponding cell in <code>neighBoard</code>. The
-     * cells that have a cell state of 0 and have neighbors are added to the
-     * <code>index</code> with their coordinates (row, column).
+     * Sets the next generation of all the active tiles into the
+     * <code>boardArray</code>.
      *
-     * @param row the row of the cell
-     * @param col the column of the cell
-     * @see #neighBoard
-     * @see #boardArray
-     * @see #index
+     * @see ConcurrentGeneration#setNextGenerationConcurrent(int, int)
      */
     @Override
-    public void countNeighbhours(int row, int col) {
-        for (int r = -1; r < 2; r++) {
-            for (int c = -1; c < 2; c++) {
-                int rRow = r + row;
-                int cCol = c + col;
-
-                if (c != 0) {
-                    neighBoard[rRow][cCol]++;
-                    if (neighBoard[rRow][cCol] == 1 && boardArray.get(rRow).get(cCol) == 0) {
-                        index.add(new IndexPair(rRow, cCol));
-                    }
-                }
-
-                if (r != 0 && c == 0) {
-                    neighBoard[rRow][cCol]++;
-                    if (neighBoard[rRow][cCol] == 1 && boardArray.get(rRow).get(cCol) == 0) {
-                        index.add(new IndexPair(rRow, cCol));
-                    }
-                }
-            }
-        }
+    public void updateNeighbourBoard() {
+        generation.setNextGenerationConcurrent(0, generation.getTileRows());
     }
 
     /**
-     * Sets the new value of the cells in the <code>boardArray</code>. If the
-     * <code>optimaliser</code> is equal to <code>true</code>, the method
-     * iterates through <code>index</code> and obtains the <code>row</code> and
-     * <code>column</code> from the <code>index</code>, the cell state from the
-     * <code>boardArray</code> and the number of neighbors from the
-     * <code>neighBoard</code>. The new cell state is determined by the static
-     * method in the Rule-class which calculates the new cell state-value. The
-     * new cell state-value is placed in the <code>boardArray</code>.
-     *
-     * If the <code>optimaliser</code> is equal to <code>false</code>, the
-     * method iterates over the <code>boardArray</code> and determines the new
-     * cell state-value at all the coordinates in the <code>boardArray</code>.
+     * Completes the next generation: the tiles that changed are copied into
+     * the double buffer of the <code>ConcurrentGeneration</code> and the
+     * <code>aliveCells</code> is set.
      *
-     * @see #optimaliser
-     * @see #index
-     * @see #boardArray
-     * @see #neighBoard
+     * @see ConcurrentGeneration#commitNextGeneration(int, int)
+     * @see ConcurrentGeneration#afterSetGeneration()
      */
     @Override
     public void setNewGenValues() {
-        if (optimaliser) {
-            for (int n = 0; n < index.size(); n++) {
-                int row = index.get(n).getRow();
-                int col = index.get(n).getCol();
-                int cellstate = boardArray.get(row).get(col);
-                int numNeighbours = neighBoard[row][col];
-                byte newVal = Rule.rleRules(cellstate, numNeighbours);
-                boardArray.get(row).set(col, newVal);
-
-                if (newVal == 1) {
-                    aliveCells++;
-                }
-            }
-        } else {
-            for (int i = 0; i < boardArray.size(); i++) {
-                for (int j = 0; j < boardArray.get(0).size(); j++) {
-                    int cellstate = boardArray.get(i).get(j);
-                    int numNeighbours = neighBoard[i][j];
-                    byte newVal = Rule.rleRules(cellstate, numNeighbours);
-                    boardArray.get(i).set(j, newVal);
-
-                    if (newVal == 1) {
-                        aliveCells++;
-                    }
-                }
-            }
-            optimaliser = true;
-        }
+        generation.commitNextGeneration(0, generation.getTileRows());
+        generation.afterSetGeneration();
     }
 
     //--------------------------DRAW and COORDINATES LOGIC--------------------//
@@ -659,8 +691,8 @@ public class DynamicBoard extends Board implements Serializable {
      */
     @Override
     public void draw(GraphicsContext gc, CanvasInfo cInfo) {
-        // Background
-        gc.setFill(backGroundColor);
+        // Background, which is alive if the cells are stored as the complement
+        gc.setFill(complement ? cellColor : backGroundColor);
         gc.fillRect(0, 0, cInfo.getCanvasWidth(), cInfo.getCanvasheight());
 
         if (topExist) {
@@ -678,11 +710,23 @@ public class DynamicBoard extends Board implements Serializable {
         //gridcolor
         gc.setStroke(gridColor);
         gc.setFill(cellColor);
+        Color[] stateColors = stateColors();
+        if (complement) {
+            stateColors[1] = backGroundColor;
+            gc.setFill(backGroundColor);
+        }
+        int fill = 1;
 
         //Places cells according to boardArray
-        for (int x = 0; x < boardArray.size(); x++) {
-            for (int y = 0; y < boardArray.get(0).size(); y++) {
-                if (boardArray.get(x).get(y) == 1) {
+        for (int x = 0; x < height; x++) {
+            byte[] row = boardArray[rowOffset + x];
+            for (int y = 0; y < width; y++) {
+                int cellState = row[colOffset + y] & 0xFF;
+                if (cellState != 0) {
+                    if (cellState != fill) {
+                        gc.setFill(stateColors[cellState]);
+                        fill = cellState;
+                    }
                     gc.fillRect(y * cellSize + placementX, x * cellSize
                             + placementY, cellSize -0.1, cellSize-0.1);
                     
@@ -696,90 +740,19 @@ public class DynamicBoard extends Board implements Serializable {
     }
 
     /**
-     * The amount of horizontal movement of a <code>byte[][]</code> to place
-     * onto the existing <code>boardArray</code>. Used in order to place a
-     * <code>byte[][]</code> at the correct coordinates of the
-     * <code>boardArray</code>.
-     *
-     * @see #addArrayToBoard(byte[][])
-     */
-    private int xmove = 0;
-
-    /**
-     * The amount of vertical movement of a <code>byte[][]</code> to place onto
-     * the existing <code>boardArray</code>. Used in order to place a
-     * <code>byte[][]</code> at the correct coordinates of the
-     * <code>boardArray</code>.
-     *
-     * @see #addArrayToBoard(byte[][])
-     */
-    private int ymove = 0;
-
-    /**
-     * A <code>boolean</code> to determine if there is a <code>topBoard</code>
-     * to place.
-     */
-    private boolean topExist = false;
-    
-   
-
-    /**
-     * Draws the <code>topBoard</code> on the canvas. The <code>topBoard</code>
-     * to place onto the <code>boardArray</code> is drawn temporarily over the
-     * <code>boardArray</code> before being added onto the
-     * <code>boardArray</code>. Adjustments to the placement of the
-     * <code>topBoard</code> is calculated so that it is placed according to the
-     * existing <code>boardArray</code>.
+     * Gets the colour of every cell state of the <code>rule</code>. State 1 is
+     * the <code>cellColor</code>, and the higher states of a Generations rule
+     * set fade towards the <code>backGroundColor</code>.
      *
-     * @param gc the <code>GraphicsContext</code> used to draw
-     * @param cInfo the <code>CanvasInfo</code>-object containing information
-     * about the canvas
+     * @return the colour of each cell state
      */
-    @Override
-    public void drawTopBoard(GraphicsContext gc, CanvasInfo cInfo) {
-        double placeColinGrid = 0;
-        double placeRowingrid = 0;
-        double cellSize = cInfo.getCellSize();
-
-        if (topBoard.length % 2 == 0) {
-            placeRowingrid -= cellSize / 2;
-        }
-
-        if (topBoard[0].length % 2 == 0) {
-            placeColinGrid -= cellSize / 2;
-        }
-
-        if (boardArray.size() % 2 == 0) {
-            placeRowingrid += cellSize / 2;
-        }
-
-        if (boardArray.get(0).size() % 2 == 0) {
-            placeColinGrid += cellSize / 2;
-        }
-
-        if (topBoard[0].length > topBoard.length) {
-            placeColinGrid += cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
-            placeRowingrid -= cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
-        }
-
-        if (topBoard[0].length < topBoard.length) {
-            placeColinGrid -= cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
-            placeRowingrid += cellSize * Math.abs(topBoard.length - topBoard[0].length) / 2;
-        }
-        double placementX = (cInfo.getCanvasWidth() / 2) - ((cellSize * topBoard.length / 2))
-                + (xmove * cellSize) - placeColinGrid;
-        double placementY = (cInfo.getCanvasheight() / 2) - ((cellSize * topBoard[0].length / 2))
-                + (ymove * cellSize) - placeRowingrid;
-
-        gc.setFill(Color.GREEN);
-        for (int row = 0; row < topBoard.length; row++) {
-            for (int col = 0; col < topBoard[0].length; col++) {
-                if (topBoard[row][col] == 1) {
-                    gc.fillRect(col * cellSize + placementX, row * cellSize
-                            + placementY, cellSize, cellSize);
-                }
-            }
+    private Color[] stateColors() {
+        int states = rule.getStates();
+        Color[] colors = new Color[states];
+        for (int state = 1; state < states; state++) {
+            colors[state] = cellColor.interpolate(backGroundColor, (state - 1) / (double) (states - 1));
         }
+        return colors;
     }
 
     /**
@@ -800,9 +773,9 @@ public class DynamicBoard extends Board implements Serializable {
 
         //Avoids drawing the outer arrays
         //Places cells acording to boardArray
-        for (int x = 1; x < boardArray.size() - 1; x++) {
-            for (int y = 1; y < boardArray.get(0).size() - 1; y++) {
-                if (boardArray.get(x).get(y) == 1) {
+        for (int x = 1; x < height - 1; x++) {
+            for (int y = 1; y < width - 1; y++) {
+                if (getCellState(x, y) == 1) {
                     gc.fillRect(y * cellSize, x * cellSize, cellSize, cellSize);
                     aliveCells += 1;
                 } else {
@@ -830,42 +803,42 @@ public class DynamicBoard extends Board implements Serializable {
     @Override
     public void setCellValue(int row, int col, boolean erase, int maxSize) {
         //Checks where row and col indexes are
-        if ((col < boardArray.get(0).size() && col > - 1)
-                && (row < boardArray.size() && row > - 1)) {
+        if ((col < width && col > - 1)
+                && (row < height && row > - 1)) {
             if (erase) {
-                boardArray.get(row).set(col, (byte) 0);
-            } else if (boardArray.get(row).get(col) == 0) {
+                boardArray[rowOffset + row][colOffset + col] = (byte) (complement ? 1 : 0);
+            } else if (getCellState(row, col) == 0) {
                 //Sets new cellState
-                boardArray.get(row).set(col, (byte) 1);
+                boardArray[rowOffset + row][colOffset + col] = (byte) (complement ? 0 : 1);
                 aliveCells++;
             }
 
         } else {
             //If the indexses are outside of the boardarray's width or height
-            if (Math.abs(row) + boardArray.size() < maxSize || Math.abs(col) + 
-                    boardArray.get(0).size() < maxSize) {
-                if (row >= boardArray.size()) {
+            if (Math.abs(row) + height < maxSize || Math.abs(col) + 
+                    width < maxSize) {
+                if (row >= height) {
                     //Heightens boardArray to fit the new index's placement.
-                    addRows(row - boardArray.size() + 1, false);
-                    row = boardArray.size() - 1;
+                    addRows(row - height + 1, false);
+                    row = height - 1;
                 }
                 if (row < 0) {
                     addRows(Math.abs(row), true);
                     row = 0;
                 }
 
-                if (col >= boardArray.get(0).size()) {
+                if (col >= width) {
                     //Widens boardArray to fit the new index's placement.
-                    addColumns(col - boardArray.get(0).size() + 1, false);
-                    col = boardArray.get(0).size() - 1;
+                    addColumns(col - width + 1, false);
+                    col = width - 1;
                 }
                 if (col < 0) {
                     addColumns(Math.abs(col), true);
                     col = 0;
                 }
-                if (boardArray.get(row).get(col) == 0) {
+                if (getCellState(row, col) == 0) {
                     //Sets new cellState
-                    boardArray.get(row).set(col, (byte) 1);
+                    boardArray[rowOffset + row][colOffset + col] = (byte) (complement ? 0 : 1);
                     aliveCells++;
                 }
             }
@@ -884,17 +857,10 @@ public class DynamicBoard extends Board implements Serializable {
     @Override
     public void sizeTest() {
         if (getWidth() >= 2000) {
-            for (int i = 0; i < boardArray.size(); i++) {
-                boardArray.get(i).set(0, (byte) 0);
-                boardArray.get(i).set(boardArray.get(0).size() - 1, (byte) 0);
-            }
+            optimaliser = false;
+            clearColumns();
             if (getHeight() >= 2000) {
-                ArrayList<Byte> newRow = new ArrayList<>();
-                for (Byte get : boardArray.get(0)) {
-                    newRow.add((byte) 0);
-                }
-                boardArray.set(0, newRow);
-                boardArray.set(boardArray.size() - 1, newRow);
+                clearRows();
             }
         }
     }
@@ -907,153 +873,163 @@ public class DynamicBoard extends Board implements Serializable {
      */
     public void aliveCellsTest() {
         if (aliveCells > 500000) {
-            for (int i = 0; i < boardArray.size(); i++) {
-                boardArray.get(i).set(0, (byte) 0);
-                boardArray.get(i).set(boardArray.get(0).size() - 1, (byte) 0);
-            }
+            optimaliser = false;
+            clearColumns();
+            clearRows();
+        }
+    }
 
-            ArrayList<Byte> newRow = new ArrayList<>();
-            for (Byte get : boardArray.get(0)) {
-                newRow.add((byte) 0);
-            }
-            boardArray.set(0, newRow);
-            boardArray.set(boardArray.size() - 1, newRow);
+    /**
+     * Sets the first and the last column of the board to 0.
+     */
+    private void clearColumns() {
+        for (int i = 0; i < height; i++) {
+            boardArray[rowOffset + i][colOffset] = 0;
+            boardArray[rowOffset + i][colOffset + width - 1] = 0;
         }
     }
 
-    //--------------------------MOVE AND DRAG-------------------------------//
     /**
-     * The <code>byte[][]</code> representing the pattern to place onto the
-     * <code>boardArray</code>.
+     * Sets the first and the last row of the board to 0.
      */
-    private byte[][] topBoard;
+    private void clearRows() {
+        Arrays.fill(boardArray[rowOffset], colOffset, colOffset + width, (byte) 0);
+        Arrays.fill(boardArray[rowOffset + height - 1], colOffset, colOffset + width, (byte) 0);
+    }
 
+    //--------------------------SETTERS AND GETTERS------------------------//
     /**
-     * Gets the current <code>topBoard</code>.
+     * Sets a new <code>boardArray</code> onto the existing
+     * <code>boardArray</code>. The new cells are the generation itself, so
+     * they are not stored as the <code>complement</code>.
      *
-     * @return the <code>topBoard</code>
+     * @param boardArray the boardArray to set
+     * @see #boardArray - the existing <code>boardArray</code>
      */
-    @Override
-    public byte[][] getTopBoard() {
-        return topBoard;
+    public void setBoardArray(ArrayList<ArrayList<Byte>> boardArray) {
+        setCells(byteArrayFromArrayList(boardArray));
+        complement = false;
     }
 
     /**
-     * Sets the given <code>topBoard</code> over the <code>boardArray</code>.
-     * The <code>topBoard</code> given as an argument is placed into a temporary
-     * <code>byte[][]</code> that is created without the zero-rows and
-     * zero-columns of the provided <code>topBoard</code>. The temporary
-     * <code>byte[][]</code> is then assigned to the <code>topBoard</code> and
-     * then the <code>boardArray</code> is expanded in size in order to fit the
-     * <code>topBoard</code> with method <code>autoFit</code>.
+     * Gets a copy of the board as an <code>ArrayList</code>. The
+     * <code>ArrayList</code> represents the board of the game, containing the
+     * cells. Changes to the copy do not change the board.
      *
-     * @param topBoard the <code>byte[][]</code> to set
+     * @return the cells of the <code>DynamicBoard</code>
      */
-    @Override
-    public void setTopBoard(byte[][] topBoard) {
-
-        byte[][] tempArray = new byte[topBoard.length - 2][topBoard[0].length - 2];
-
-        for (int i = 0; i < tempArray.length; i++) {
-            for (int j = 0; j < tempArray[0].length; j++) {
-                tempArray[i][j] = topBoard[i + 1][j + 1];
+    public ArrayList<ArrayList<Byte>> getBoardArray() {
+        ArrayList<ArrayList<Byte>> arrayList = new ArrayList<>(height);
+        for (int i = 0; i < height; i++) {
+            ArrayList<Byte> row = new ArrayList<>(width);
+            for (int j = 0; j < width; j++) {
+                row.add(getCellState(i, j));
             }
+            arrayList.add(row);
         }
-
-        this.topBoard = tempArray;
-        autoFit(tempArray);
-        topExist = true;
+        return arrayList;
     }
 
     /**
-     * Determines the placement of the <code>byte[][]</code>. The
-     * <code>xmove</code> determines the placement of the <code>byte[][]</code>
-     * to place onto the <code>boardArray</code> along the X-axis.
+     * Replaces the board with <code>cells</code>, which are used as the
+     * <code>boardArray</code> without free space around the board.
      *
-     * @param xmove the amount of movement along the X-axis
+     * @param cells the cells of the new board
      */
-    @Override
-    public void setXmove(int xmove) {
-        this.xmove += xmove;
+    private void setCells(byte[][] cells) {
+        boardArray = cells;
+        rowOffset = 0;
+        colOffset = 0;
+        height = cells.length;
+        width = height == 0 ? 0 : cells[0].length;
+        optimaliser = false;
     }
 
     /**
-     * Determines the placement of the <code>byte[][]</code>. The
-     * <code>ymove</code> determines the placement of the <code>byte[][]</code>
-     * to place onto the <code>boardArray</code> along the Y-axis.
+     * Gets the <code>PlaneHash</code> of the cells, kept up to date by the
+     * <code>ConcurrentGeneration</code> with the cells that changed. If the
+     * board has been edited since the last generation, the
+     * <code>optimaliser</code> is off and the hash is counted again.
      *
-     * @param ymove the amount of movement along the Y-axis
+     * @return the hash of the cells
+     * @see ConcurrentGeneration#commitNextGeneration(int, int)
      */
     @Override
-    public void setYmove(int ymove) {
-        this.ymove += ymove;
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null || !optimaliser) {
+            countPlaneHash();
+        }
+        planeHash.setComplement(complement);
+        return planeHash;
     }
 
     /**
-     * Gets the <code>topExist</code>. Returns <code>true</code> if there is a
-     * <code>topBoard</code> to place onto the <code>boardArray</code> and
-     * <code>false</code> otherwise.
+     * The <code>PlaneHash</code> is kept up to date by the
+     * <code>ConcurrentGeneration</code>.
      *
-     * @return <code>true</code> if <code>topBoard</code> exists and
-     * <code>false</code> if <code>topBoard</code> does not exist
+     * @return <code>true</code>
      */
     @Override
-    public boolean topExist() {
-        return topExist;
+    public boolean hasIncrementalHash() {
+        return true;
     }
 
     /**
-     * Rotates the <code>topBoard</code>. The direction of the rotation is based
-     * on the <code>boolean</code>, <code>left</code> and the rotation is
-     * performed by creating a temporary <code>byte[][]</code> of equal size to
-     * contain the rotated <code>byte[][]</code>.
-     *
-     * Source: http://stackoverflow.com/questions/42519/how-do-you-rotate-a-two-dimensional-array
-     *
-     * @param left the direction of the rotation, <code>true</code> if left
+     * Counts the <code>PlaneHash</code> from every cell of the board. A cell
+     * has the plane coordinates of its place on the board plus the
+     * <code>originRow</code> and the <code>originCol</code>, which stay the
+     * same when the board expands.
      */
-    @Override
-    public void rotateTopBoard(boolean left) {
-
-        int width = topBoard.length;
-        int height = topBoard[0].length;
-        byte[][] rotated = new byte[height][width];
-
-        for (int m = 0; m < height; ++m) {
-
-            for (int n = 0; n < width; ++n) {
-                if (left) {
-                    //rotate topBoard array left
-                    rotated[m][n] = topBoard[n][height - m - 1];
-                } else {
-                    //rotate topBoard array right
-                    rotated[m][n] = topBoard[width - n - 1][m];
+    void countPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+        }
+        planeHash.clear();
+        long firstRow = originRow;
+        long firstCol = originCol;
+        for (int i = 0; i < height; i++) {
+            byte[] row = boardArray[rowOffset + i];
+            long rowKey = PlaneHash.rowKey(firstRow + i);
+            for (int j = 0; j < width; j++) {
+                int cellState = row[colOffset + j] & 0xFF;
+                if (cellState != 0) {
+                    planeHash.add(firstRow + i, firstCol + j,
+                            rowKey * PlaneHash.columnKey(firstCol + j), cellState);
                 }
             }
         }
-        this.topBoard = rotated;
     }
 
-    //--------------------------SETTERS AND GETTERS------------------------//
     /**
-     * Sets a new <code>boardArray</code> onto the existing
+     * Gets the <code>boardArray</code> itself, with the free rows and columns
+     * around the board. Used by the <code>ConcurrentGeneration</code>.
+     *
+     * @return the <code>boardArray</code>
+     * @see #getRowOffset()
+     * @see #getColOffset()
+     */
+    byte[][] getCells() {
+        return boardArray;
+    }
+
+    /**
+     * Gets the index of the first row of the board in the
      * <code>boardArray</code>.
      *
-     * @param boardArray the boardArray to set
-     * @see #boardArray - the existing <code>boardArray</code>
+     * @return the <code>rowOffset</code>
      */
-    public void setBoardArray(ArrayList<ArrayList<Byte>> boardArray) {
-        this.boardArray = boardArray;
+    int getRowOffset() {
+        return rowOffset;
     }
 
     /**
-     * Gets the current <code>boardArray</code>. The <code>boardArray</code>
-     * represents the board of the game, containing the cells.
+     * Gets the index of the first column of the board in the
+     * <code>boardArray</code>.
      *
-     * @return the boardArray of the <code>DynamicBoard</code>
+     * @return the <code>colOffset</code>
      */
-    public ArrayList<ArrayList<Byte>> getBoardArray() {
-        return boardArray;
+    int getColOffset() {
+        return colOffset;
     }
 
     /**
@@ -1080,14 +1056,30 @@ public class DynamicBoard extends Board implements Serializable {
     /**
      * Sets a specific element of the <code>boardArray</code>. The element with
      * coordinates (<code>row</code>, <code>column</code>) is assigned the state
-     * , <code>state</code>.
+     * , <code>state</code>, stored as the <code>complement</code> if the cells
+     * are.
      *
      * @param state the state to assign to the element
      * @param row the row of the element
      * @param column the column of the element
      */
     public void setBoardArrayElement(byte state, int row, int column) {
-        boardArray.get(row).set(column, (byte) state);
+        boardArray[rowOffset + row][colOffset + column] = complement ? (byte) (state ^ 1) : state;
+        optimaliser = false;
+    }
+
+    /**
+     * Gets the state of a cell of the generation. If the cells are stored as
+     * the <code>complement</code>, the stored cell is turned back.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the state of the cell
+     */
+    @Override
+    public byte getCellState(int row, int col) {
+        byte cellState = boardArray[rowOffset + row][colOffset + col];
+        return complement ? (byte) (cellState ^ 1) : cellState;
     }
 
     /**
@@ -1099,7 +1091,7 @@ public class DynamicBoard extends Board implements Serializable {
     public void arrayRep(ArrayList<ArrayList<Byte>> array) {
         for (int i = 0; i < array.size(); i++) {
             for (int j = 0; j < array.get(0).size(); j++) {
-                System.out.print(boardArray.get(i).get(j) + " ");
+                System.out.print(array.get(i).get(j) + " ");
             }
         }
     }
@@ -1134,9 +1126,9 @@ public class DynamicBoard extends Board implements Serializable {
     @Override
     public String toString() {
         String sr = "";
-        for (int row = 0; row < boardArray.size(); row++) {
-            for (int column = 0; column < boardArray.get(0).size(); column++) {
-                if (boardArray.get(row).get(column) == 1) {
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                if (getCellState(row, column) == 1) {
                     sr = sr.concat("1");
                 } else {
                     sr = sr.concat("0");
@@ -1151,9 +1143,9 @@ public class DynamicBoard extends Board implements Serializable {
         int sum = 0;
         int sumDelta = 0;
 
-        for (int i = 0; i < boardArray.size(); i++) {
-            for (int j = 0; j < boardArray.get(0).size(); j++) {
-                if (boardArray.get(i).get(j) == 1) {
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (getCellState(i, j) == 1) {
                     sumDelta = i + j;
                     sum += sumDelta;
                 }
@@ -1174,27 +1166,25 @@ public class DynamicBoard extends Board implements Serializable {
     }
 
     /**
-     * Gets the height of the <code>boardArray</code>. The height of the
-     * <code>boardArray</code> is represented as the size of the
-     * <code>boardArray</code>.
+     * Gets the height of the board, the number of rows of the
+     * <code>boardArray</code> which are part of the board.
      *
-     * @return the height of the <code>boardArray</code>
+     * @return the height of the board
      */
     @Override
     public int getHeight() {
-        return boardArray.size();
+        return height;
     }
 
     /**
-     * Gets the width of the <code>boardArray</code>. The width of the
-     * <code>boardArray</code> is represented as the size of the row at index 0
-     * of the <code>boardArray</code>.
+     * Gets the width of the board, the number of columns of the
+     * <code>boardArray</code> which are part of the board.
      *
-     * @return the width of the <code>boardArray</code>
+     * @return the width of the board
      */
     @Override
     public int getWidth() {
-        return boardArray.get(0).size();
+        return width;
     }
 
     /**
@@ -1234,5 +1224,22 @@ public class DynamicBoard extends Board implements Serializable {
         }
         return arrayList;
     }
-    
+
+    /**
+     * Converts an <code>ArrayList</code> into a <code>byte[][]</code>.
+     *
+     * @param arrayList the <code>ArrayList</code> to convert
+     * @return the <code>byte[][]</code> with the same cells
+     */
+    private static byte[][] byteArrayFromArrayList(ArrayList<ArrayList<Byte>> arrayList) {
+        int columns = arrayList.isEmpty() ? 0 : arrayList.get(0).size();
+        byte[][] array = new byte[arrayList.size()][columns];
+        for (int i = 0; i < array.length; i++) {
+            for (int j = 0; j < columns; j++) {
+                array[i][j] = arrayList.get(i).get(j);
+            }
+        }
+        return array;
+    }
+
 }
@@ -0,0 +1,403 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the tiles of a <code>TileMap</code> which oscillate with a small
+ * period, so that their generations can be replayed instead of set again. A
+ * tile and the tiles around it each have a hash of their cells, kept up to
+ * date with the cells that change when the generation is committed, and the
+ * hashes of the last <code>MAX_PERIOD</code> generations are kept.
+ *
+ * The next generation of a tile only depends on the cells of the tile and
+ * the ring of cells around it, which are in the eight tiles around it. If
+ * the tile and the tiles around it all have the same cells as
+ * <code>period</code> generations before, the next generation of the tile is
+ * the same as <code>period</code> generations before as well. When this has
+ * held for a whole period the tile is <code>RECORDING</code>: it is still set
+ * as usual, and its cells are stored as the phases of the period. When every
+ * phase has been stored the tile is <code>FROZEN</code>, and the phases are
+ * replayed for as long as the tiles around it keep the period. A phase which
+ * is the same as the phase before is not copied at all, so the still lifes
+ * next to the oscillators are skipped as well.
+ *
+ * When a tile around a frozen tile breaks the period, for instance when a
+ * glider reaches it, the frozen tile is set as usual again from the next
+ * generation. Every tile is thawed when the board is edited, grows, or the
+ * rule set changes.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see TileMap
+ * @see ConcurrentGeneration
+ */
+public class FrozenTiles {
+
+    /**
+     * The longest period of a tile which is frozen.
+     */
+    public static final int MAX_PERIOD = 15;
+
+    /**
+     * The number of generations of hashes kept for every tile, a power of two
+     * above <code>MAX_PERIOD</code>.
+     */
+    private static final int HISTORY = 16;
+
+    private static final byte LIVE = 0, RECORDING = 1, FROZEN = 2;
+
+    /**
+     * Turns the freezing of tiles on or off for every board.
+     */
+    private static volatile boolean enabled = true;
+
+    private final int tileRows, tileColumns;
+
+    /**
+     * The hash of the cells of every tile, and the hashes of the last
+     * <code>HISTORY</code> generations, tile after tile.
+     */
+    private final long[] hashes;
+    private final long[] history;
+
+    private final byte[] state;
+    private final int[] period, streak, recorded;
+
+    /**
+     * The cells of every phase of a recording or frozen tile, phase after
+     * phase, the number of alive cells of every phase, and if a phase is
+     * different from the phase before.
+     */
+    private final byte[][] phases;
+    private final int[][] phaseAlive;
+    private final boolean[][] phaseChanged;
+
+    /**
+     * The number of generations committed, and the first generation whose
+     * hashes can be compared.
+     */
+    private long generation, since;
+
+    /**
+     * The first row and column of the board in the <code>boardArray</code>,
+     * and the row and column after the board, when the tiles were frozen.
+     */
+    private int firstRow, lastRow, firstCol, lastCol;
+
+    /**
+     * Creates a map where no tile is frozen.
+     *
+     * @param tileRows the number of rows of tiles
+     * @param tileColumns the number of columns of tiles
+     */
+    public FrozenTiles(int tileRows, int tileColumns) {
+        this.tileRows = tileRows;
+        this.tileColumns = tileColumns;
+        int tiles = tileRows * tileColumns;
+        hashes = new long[tiles];
+        history = new long[tiles * HISTORY];
+        state = new byte[tiles];
+        period = new int[tiles];
+        streak = new int[tiles];
+        recorded = new int[tiles];
+        phases = new byte[tiles][];
+        phaseAlive = new int[tiles][];
+        phaseChanged = new boolean[tiles][];
+    }
+
+    /**
+     * Checks if tiles are frozen.
+     *
+     * @return <code>true</code> if tiles are frozen
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the freezing of tiles on or off for every board.
+     *
+     * @param enabled <code>true</code> to replay the tiles which oscillate,
+     * <code>false</code> to set every active tile
+     */
+    public static void setEnabled(boolean enabled) {
+        FrozenTiles.enabled = enabled;
+    }
+
+    /**
+     * Counts the hash of every tile from the <code>cells</code> and thaws
+     * every tile. Used when the board has been edited, so the hashes of the
+     * generations before can not be compared any more.
+     *
+     * @param cells the <code>boardArray</code>
+     * @param planeRow the plane row of row 0 of the <code>boardArray</code>
+     * @param planeCol the plane column of column 0 of the
+     * <code>boardArray</code>
+     */
+    public void count(byte[][] cells, long planeRow, long planeCol) {
+        Arrays.fill(hashes, 0);
+        for (int i = 0; i < cells.length; i++) {
+            byte[] row = cells[i];
+            int tileRow = i / TileMap.TILE_SIZE;
+            long rowKey = PlaneHash.rowKey(planeRow + i);
+            for (int j = 0; j < row.length; j++) {
+                if (row[j] != 0) {
+                    hashes[tileRow * tileColumns + j / TileMap.TILE_SIZE]
+                            += (row[j] & 0xFF) * rowKey * PlaneHash.columnKey(planeCol + j);
+                }
+            }
+        }
+        since = generation;
+        int slot = (int) (generation & (HISTORY - 1));
+        for (int tile = 0; tile < hashes.length; tile++) {
+            history[tile * HISTORY + slot] = hashes[tile];
+        }
+        thaw();
+    }
+
+    /**
+     * Sets every tile as usual again.
+     */
+    public void thaw() {
+        Arrays.fill(state, LIVE);
+        Arrays.fill(streak, 0);
+        Arrays.fill(phases, null);
+    }
+
+    /**
+     * Sets the sides of the board. Every tile is thawed if the sides have
+     * moved, since the phases were stored inside of the old sides.
+     *
+     * @param firstRow the first row of the board in the
+     * <code>boardArray</code>
+     * @param lastRow the row after the board
+     * @param firstCol the first column of the board
+     * @param lastCol the column after the board
+     */
+    public void setBounds(int firstRow, int lastRow, int firstCol, int lastCol) {
+        if (firstRow != this.firstRow || lastRow != this.lastRow
+                || firstCol != this.firstCol || lastCol != this.lastCol) {
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.firstCol = firstCol;
+            this.lastCol = lastCol;
+            thaw();
+        }
+    }
+
+    /**
+     * Adds the change of the hash of a tile, the sum of the keys of the cells
+     * which changed times the change of their states. Each row of tiles is
+     * only changed by one thread.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     * @param change the change of the hash
+     */
+    public void addChange(int tileRow, int tileCol, long change) {
+        hashes[tileRow * tileColumns + tileCol] += change;
+    }
+
+    /**
+     * Checks if the next generation of a tile is replayed.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     * @return <code>true</code> if the tile is frozen
+     */
+    public boolean isFrozen(int tileRow, int tileCol) {
+        return state[tileRow * tileColumns + tileCol] == FROZEN;
+    }
+
+    /**
+     * Copies the next phase of a frozen tile into the <code>next</code> cells,
+     * unless it is the same as the phase of this generation.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     * @param next the cells of the next generation
+     * @return <code>true</code> if the tile changes in the next generation
+     */
+    public boolean replay(int tileRow, int tileCol, byte[][] next) {
+        int tile = tileRow * tileColumns + tileCol;
+        int phase = (int) ((generation + 1) % period[tile]);
+        if (!phaseChanged[tile][phase]) {
+            return false;
+        }
+        copy(tileRow, tileCol, phases[tile], phase, next, false);
+        return true;
+    }
+
+    /**
+     * Gets the number of alive cells of the next phase of a frozen tile.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     * @return the alive cells of the tile in the next generation
+     */
+    public int getReplayAlive(int tileRow, int tileCol) {
+        int tile = tileRow * tileColumns + tileCol;
+        return phaseAlive[tile][(int) ((generation + 1) % period[tile])];
+    }
+
+    /**
+     * Moves the map to the next generation once it has been committed. The
+     * hash of every tile is added to the history, the frozen and recording
+     * tiles whose neighbours broke the period are thawed, the phase of this
+     * generation is stored for the recording tiles, and the active tiles are
+     * checked for a period.
+     *
+     * @param cells the <code>boardArray</code>, holding the new generation
+     * @param tiles the map of active tiles of the generation
+     */
+    public void nextGeneration(byte[][] cells, TileMap tiles) {
+        generation++;
+        int slot = (int) (generation & (HISTORY - 1));
+        for (int tile = 0; tile < hashes.length; tile++) {
+            history[tile * HISTORY + slot] = hashes[tile];
+        }
+        if (!enabled) {
+            thaw();
+            return;
+        }
+        for (int tileRow = 0; tileRow < tileRows; tileRow++) {
+            for (int tileCol = 0; tileCol < tileColumns; tileCol++) {
+                int tile = tileRow * tileColumns + tileCol;
+                if (state[tile] != LIVE) {
+                    if (!periodic(tileRow, tileCol, period[tile])) {
+                        state[tile] = LIVE;
+                        streak[tile] = 0;
+                        phases[tile] = null;
+                    } else if (state[tile] == RECORDING) {
+                        record(tileRow, tileCol, cells);
+                    }
+                    continue;
+                }
+                if (!tiles.isActive(tileRow, tileCol)) {
+                    streak[tile] = 0;
+                    continue;
+                }
+                if (streak[tile] > 0 && periodic(tileRow, tileCol, period[tile])) {
+                    streak[tile]++;
+                } else {
+                    streak[tile] = 0;
+                    for (int p = 2; p <= MAX_PERIOD; p++) {
+                        if (periodic(tileRow, tileCol, p)) {
+                            period[tile] = p;
+                            streak[tile] = 1;
+                            break;
+                        }
+                    }
+                }
+                if (streak[tile] >= period[tile] && streak[tile] > 0) {
+                    state[tile] = RECORDING;
+                    recorded[tile] = 0;
+                    record(tileRow, tileCol, cells);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if a tile and the tiles around it have the same cells as
+     * <code>period</code> generations before.
+     */
+    private boolean periodic(int tileRow, int tileCol, int period) {
+        if (generation - period < since) {
+            return false;
+        }
+        int now = (int) (generation & (HISTORY - 1));
+        int before = (int) ((generation - period) & (HISTORY - 1));
+        for (int r = Math.max(0, tileRow - 1); r <= Math.min(tileRows - 1, tileRow + 1); r++) {
+            for (int c = Math.max(0, tileCol - 1); c <= Math.min(tileColumns - 1, tileCol + 1); c++) {
+                int tile = (r * tileColumns + c) * HISTORY;
+                if (history[tile + now] != history[tile + before]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stores the cells of a recording tile as the phase of this generation,
+     * and freezes the tile when every phase has been stored.
+     */
+    private void record(int tileRow, int tileCol, byte[][] cells) {
+        int tile = tileRow * tileColumns + tileCol;
+        int p = period[tile];
+        int area = TileMap.TILE_SIZE * TileMap.TILE_SIZE;
+        if (phases[tile] == null || phases[tile].length != p * area) {
+            phases[tile] = new byte[p * area];
+            phaseAlive[tile] = new int[p];
+            phaseChanged[tile] = new boolean[p];
+        }
+        int phase = (int) (generation % p);
+        phaseAlive[tile][phase] = copy(tileRow, tileCol, phases[tile], phase, cells, true);
+        if (++recorded[tile] < p) {
+            return;
+        }
+        byte[] stored = phases[tile];
+        for (int k = 0; k < p; k++) {
+            int previous = (k + p - 1) % p;
+            boolean changed = false;
+            for (int i = 0; i < area && !changed; i++) {
+                changed = stored[k * area + i] != stored[previous * area + i];
+            }
+            phaseChanged[tile][k] = changed;
+        }
+        state[tile] = FROZEN;
+    }
+
+    /**
+     * Copies the cells of a tile inside the sides of the board between a
+     * phase and the <code>boardArray</code>, either way.
+     *
+     * @return the number of live cells copied
+     */
+    private int copy(int tileRow, int tileCol, byte[] stored, int phase, byte[][] cells, boolean toPhase) {
+        int rowPlace = Math.max(firstRow, tileRow * TileMap.TILE_SIZE);
+        int rowEnd = Math.min(lastRow, tileRow * TileMap.TILE_SIZE + TileMap.TILE_SIZE);
+        int colPlace = Math.max(firstCol, tileCol * TileMap.TILE_SIZE);
+        int colEnd = Math.min(lastCol, tileCol * TileMap.TILE_SIZE + TileMap.TILE_SIZE);
+        int base = phase * TileMap.TILE_SIZE * TileMap.TILE_SIZE;
+        int alive = 0;
+        if (colEnd <= colPlace) {
+            return alive;
+        }
+        for (int i = rowPlace; i < rowEnd; i++) {
+            int offset = base + (i - tileRow * TileMap.TILE_SIZE) * TileMap.TILE_SIZE
+                    + colPlace - tileCol * TileMap.TILE_SIZE;
+            if (toPhase) {
+                System.arraycopy(cells[i], colPlace, stored, offset, colEnd - colPlace);
+                for (int j = 0; j < colEnd - colPlace; j++) {
+                    if (stored[offset + j] == 1) {
+                        alive++;
+                    }
+                }
+            } else {
+                System.arraycopy(stored, offset, cells[i], colPlace, colEnd - colPlace);
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * Gets the number of frozen tiles.
+     *
+     * @return the number of tiles which are replayed
+     */
+    public int getFrozenTiles() {
+        int frozen = 0;
+        for (byte tileState : state) {
+            if (tileState == FROZEN) {
+                frozen++;
+            }
+        }
+        return frozen;
+    }
+}
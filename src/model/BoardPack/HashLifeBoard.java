@@ -0,0 +1,988 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import javafx.scene.canvas.GraphicsContext;
+import model.CanvasInfo;
+
+/**
+ * HashLifeBoard stores the board as a quadtree of macro-cells. A macro-cell of
+ * level k is a square of 2^k by 2^k cells made of four macro-cells of level
+ * k-1, the cells themselves are the level 0 macro-cells. Equal macro-cells are
+ * only stored once (they are canonicalised through the <code>table</code>), so
+ * repeated and empty regions cost nothing, and the result of a macro-cell (its
+ * centre 2^(k-2) generations later) is memoized on the macro-cell the first
+ * time it is computed. This makes it possible to jump 2^k generations ahead
+ * in one call with <code>advance</code>.
+ *
+ * The plane is unbounded. The rows and columns of the board (numRows and
+ * numColumns) are a view of the plane that expands when a live cell reaches
+ * its edge, the same way the <code>DynamicBoard</code> expands.
+ *
+ * Source: Gosper, "Exploiting regularities in large cellular spaces", 1984.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see model.BoardPack.Board
+ */
+public class HashLifeBoard extends Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of rows or columns added to the view when a live cell reaches
+     * its edge.
+     */
+    private static final int EXPANSION = 20;
+
+    /**
+     * The number of macro-cells in the <code>table</code> before the macro-cells
+     * which are no longer part of the board are thrown away.
+     */
+    private static final int MAX_NODES = 1 << 21;
+
+    /**
+     * The keys of the row and the column 2^k cells from the top left corner,
+     * which move the hash of a macro-cell of level k to the corner of its
+     * parent.
+     *
+     * @see PlaneHash#rowKey(long)
+     */
+    private static final long[] ROW_STEPS = new long[64];
+    private static final long[] COLUMN_STEPS = new long[64];
+
+    static {
+        for (int k = 0; k < 64; k++) {
+            ROW_STEPS[k] = PlaneHash.rowKey(1L << k);
+            COLUMN_STEPS[k] = PlaneHash.columnKey(1L << k);
+        }
+    }
+
+    /**
+     * A macro-cell. Level 0 macro-cells are the cells, their children are
+     * <code>null</code>.
+     */
+    static final class Node implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final Node nw, ne, sw, se;
+        final int level;
+        final long population;
+        final int id;
+
+        /**
+         * The next macro-cell in the same bucket of the <code>table</code>.
+         */
+        transient Node chain;
+
+        /**
+         * The centre of the macro-cell 2^(level-2) generations later.
+         */
+        transient Node result;
+
+        /**
+         * The centre of the macro-cell 2^(stepKey-1) generations later.
+         */
+        transient Node step;
+        transient int stepKey;
+
+        /**
+         * The <code>PlaneHash</code> of the cells of the macro-cell, and the
+         * sums of their rows and columns, with the top left cell of the
+         * macro-cell at row 0 and column 0. Counted the first time they are
+         * needed.
+         */
+        transient long planeKey, rowSum, colSum;
+        transient boolean counted;
+
+        Node(int id, int population) {
+            this.id = id;
+            this.population = population;
+            this.level = 0;
+            this.nw = this.ne = this.sw = this.se = null;
+        }
+
+        Node(int id, Node nw, Node ne, Node sw, Node se) {
+            this.id = id;
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.level = nw.level + 1;
+            this.population = nw.population + ne.population + sw.population + se.population;
+        }
+
+        /**
+         * Counts the hash of the macro-cell from the hashes of its four
+         * children, moved to their corners. A macro-cell is the same wherever
+         * it is on the plane, so it is only counted once, and only the new
+         * macro-cells of a generation are counted.
+         */
+        void count() {
+            if (counted || population == 0) {
+                return;
+            }
+            if (level == 0) {
+                planeKey = population;
+            } else {
+                nw.count();
+                ne.count();
+                sw.count();
+                se.count();
+                long half = 1L << (level - 1);
+                long down = ROW_STEPS[level - 1];
+                long right = COLUMN_STEPS[level - 1];
+                planeKey = nw.planeKey + ne.planeKey * right + (sw.planeKey + se.planeKey * right) * down;
+                rowSum = nw.rowSum + ne.rowSum + sw.rowSum + se.rowSum
+                        + half * (sw.population + se.population);
+                colSum = nw.colSum + ne.colSum + sw.colSum + se.colSum
+                        + half * (ne.population + se.population);
+            }
+            counted = true;
+        }
+    }
+
+    private final Node dead = new Node(0, 0);
+    private final Node alive = new Node(1, 1);
+    private int nextId = 2;
+
+    /**
+     * The macro-cell containing every live cell of the board.
+     */
+    private Node root;
+
+    /**
+     * The plane coordinates of the top-left cell of the <code>root</code>.
+     */
+    private long originRow, originCol;
+
+    /**
+     * The plane coordinates of row 0 and column 0 of the board.
+     */
+    private long viewRow, viewCol;
+
+    /**
+     * Variables used to adjust placement of the board along the X-axis and the
+     * Y-axis after the view has expanded at the left side or the top.
+     */
+    private int placeColVar, placeRowVar;
+
+    /**
+     * The hash table of canonical macro-cells.
+     */
+    private transient Node[] table;
+    private transient int nodeCount;
+
+    /**
+     * The empty macro-cell of each level.
+     */
+    private transient Node[] emptyNodes;
+
+    /**
+     * The <code>Rule</code> the memoized results were computed with and its
+     * next state of every neighbourhood.
+     */
+    private transient Rule memoRule;
+    private transient byte[] neighbourhoods;
+
+    //--------------------------CONSTRUCTORS--------------------------------//
+    /**
+     * Creates an empty board of 20 rows and 20 columns.
+     */
+    public HashLifeBoard() {
+        this(20, 20);
+    }
+
+    /**
+     * Creates an empty board with a view of <code>row</code> rows and
+     * <code>columns</code> columns.
+     *
+     * @param row the number of rows in the view
+     * @param columns the number of columns in the view
+     */
+    public HashLifeBoard(int row, int columns) {
+        this.numRows = row;
+        this.numColumns = columns;
+        table = new Node[1024];
+        root = empty(3);
+    }
+
+    /**
+     * Board constructor which builds the quadtree from a <code>byte[][]</code>
+     * of 0's and 1's, such as the array returned by
+     * <code>FileHandler.getRleArray()</code>.
+     *
+     * @param array the array to build the board from
+     */
+    public HashLifeBoard(byte[][] array) {
+        this(array.length, array[0].length);
+        int level = 3;
+        while ((1 << level) < Math.max(numRows, numColumns)) {
+            level++;
+        }
+        root = build(array, 0, 0, level);
+        aliveCells = (int) root.population;
+    }
+
+    /**
+     * Board constructor which copies any other <code>Board</code> cell by cell,
+     * and its <code>rule</code>.
+     *
+     * @param board the board to copy
+     */
+    public HashLifeBoard(Board board) {
+        this(board.getHeight(), board.getWidth());
+        setRule(board.getRule());
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (board.getCellState(row, col) == 1) {
+                    setCell(row, col, true);
+                }
+            }
+        }
+    }
+
+    private Node build(byte[][] array, int row, int col, int level) {
+        if (row >= array.length || col >= array[0].length) {
+            return empty(level);
+        }
+        if (level == 0) {
+            return array[row][col] == 1 ? alive : dead;
+        }
+        int half = 1 << (level - 1);
+        return join(build(array, row, col, level - 1),
+                build(array, row, col + half, level - 1),
+                build(array, row + half, col, level - 1),
+                build(array, row + half, col + half, level - 1));
+    }
+
+    //--------------------------MACRO-CELL LOGIC----------------------------//
+    /**
+     * Gets the canonical macro-cell with the four given children. A new
+     * macro-cell is only created if no equal macro-cell is in the
+     * <code>table</code>.
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+        int index = hash(nw, ne, sw, se) & (table.length - 1);
+        for (Node node = table[index]; node != null; node = node.chain) {
+            if (node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) {
+                return node;
+            }
+        }
+        Node node = new Node(nextId++, nw, ne, sw, se);
+        node.chain = table[index];
+        table[index] = node;
+        if (++nodeCount > table.length - (table.length >>> 2)) {
+            resize();
+        }
+        return node;
+    }
+
+    private static int hash(Node nw, Node ne, Node sw, Node se) {
+        int h = nw.id;
+        h = h * 0x9E3779B1 + ne.id;
+        h = h * 0x9E3779B1 + sw.id;
+        h = h * 0x9E3779B1 + se.id;
+        return h ^ (h >>> 16);
+    }
+
+    private void resize() {
+        Node[] old = table;
+        table = new Node[old.length * 2];
+        for (Node bucket : old) {
+            Node node = bucket;
+            while (node != null) {
+                Node next = node.chain;
+                int index = hash(node.nw, node.ne, node.sw, node.se) & (table.length - 1);
+                node.chain = table[index];
+                table[index] = node;
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Gets the empty macro-cell of the given level.
+     */
+    private Node empty(int level) {
+        if (emptyNodes == null || emptyNodes.length <= level) {
+            Node[] nodes = new Node[Math.max(level + 1, 64)];
+            if (emptyNodes != null) {
+                System.arraycopy(emptyNodes, 0, nodes, 0, emptyNodes.length);
+            }
+            emptyNodes = nodes;
+        }
+        if (emptyNodes[level] == null) {
+            if (level == 0) {
+                emptyNodes[level] = dead;
+            } else {
+                Node e = empty(level - 1);
+                emptyNodes[level] = join(e, e, e, e);
+            }
+        }
+        return emptyNodes[level];
+    }
+
+    /**
+     * Gets the centre of a macro-cell, one level below it.
+     */
+    private Node center(Node node) {
+        return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    /**
+     * Computes the centre of the macro-cell <code>node</code> 2^j generations
+     * later. The macro-cell is split into nine overlapping sub-cells one level
+     * below it, which are either advanced (when <code>j</code> is the highest
+     * step the level allows) or just centred, and then put together four and
+     * four and advanced again. The result is memoized on the macro-cell.
+     *
+     * @param node the macro-cell, of level 2 or more
+     * @param j the power of two of the generations, at most level - 2
+     * @return the centre of the macro-cell, one level below it
+     */
+    private Node nextGen(Node node, int j) {
+        if (node.population == 0) {
+            return empty(node.level - 1);
+        }
+        boolean full = j == node.level - 2;
+        if (full && node.result != null) {
+            return node.result;
+        }
+        if (!full && node.stepKey == j + 1) {
+            return node.step;
+        }
+
+        Node result;
+        if (node.level == 2) {
+            result = baseStep(node);
+        } else {
+            Node n00 = node.nw;
+            Node n01 = join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw);
+            Node n02 = node.ne;
+            Node n10 = join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne);
+            Node n11 = center(node);
+            Node n12 = join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne);
+            Node n20 = node.sw;
+            Node n21 = join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw);
+            Node n22 = node.se;
+
+            int inner = full ? j - 1 : j;
+            Node r00 = full ? nextGen(n00, inner) : center(n00);
+            Node r01 = full ? nextGen(n01, inner) : center(n01);
+            Node r02 = full ? nextGen(n02, inner) : center(n02);
+            Node r10 = full ? nextGen(n10, inner) : center(n10);
+            Node r11 = full ? nextGen(n11, inner) : center(n11);
+            Node r12 = full ? nextGen(n12, inner) : center(n12);
+            Node r20 = full ? nextGen(n20, inner) : center(n20);
+            Node r21 = full ? nextGen(n21, inner) : center(n21);
+            Node r22 = full ? nextGen(n22, inner) : center(n22);
+
+            result = join(nextGen(join(r00, r01, r10, r11), inner),
+                    nextGen(join(r01, r02, r11, r12), inner),
+                    nextGen(join(r10, r11, r20, r21), inner),
+                    nextGen(join(r11, r12, r21, r22), inner));
+        }
+
+        if (full) {
+            node.result = result;
+        } else {
+            node.step = result;
+            node.stepKey = j + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the centre 2 by 2 cells of a level 2 macro-cell (4 by 4 cells)
+     * one generation later, using the current rule set.
+     */
+    private Node baseStep(Node node) {
+        int cells = 0;
+        for (int row = 0; row < 4; row++) {
+            for (int col = 0; col < 4; col++) {
+                Node quarter = row < 2 ? (col < 2 ? node.nw : node.ne) : (col < 2 ? node.sw : node.se);
+                Node cell = (row & 1) == 0 ? ((col & 1) == 0 ? quarter.nw : quarter.ne)
+                        : ((col & 1) == 0 ? quarter.sw : quarter.se);
+                if (cell.population != 0) {
+                    cells |= 1 << (row * 4 + col);
+                }
+            }
+        }
+        return join(nextCell(cells, 1, 1), nextCell(cells, 1, 2),
+                nextCell(cells, 2, 1), nextCell(cells, 2, 2));
+    }
+
+    private Node nextCell(int cells, int row, int col) {
+        int neighbourhood = 0;
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = col - 1; c <= col + 1; c++) {
+                neighbourhood = neighbourhood << 1 | ((cells >>> (r * 4 + c)) & 1);
+            }
+        }
+        return neighbourhoods[neighbourhood] != 0 ? alive : dead;
+    }
+
+    /**
+     * Wraps the <code>root</code> in a border of empty macro-cells, making it
+     * one level higher with the old <code>root</code> in the centre.
+     */
+    private void expandRoot() {
+        Node e = empty(root.level - 1);
+        long half = 1L << (root.level - 1);
+        root = join(join(e, e, e, root.nw), join(e, e, root.ne, e),
+                join(e, root.sw, e, e), join(root.se, e, e, e));
+        originRow -= half;
+        originCol -= half;
+    }
+
+    /**
+     * Advances the <code>root</code> 2^k generations. The <code>root</code> is
+     * first expanded until it is at least level k + 3 and every live cell is in
+     * its centre quarter, so that no cell can leave the centre half which is
+     * returned by <code>nextGen</code>.
+     *
+     * @param k the power of two of the generations
+     */
+    private void stepPow(int k) {
+        while (root.level < k + 3 || root.population != root.nw.se.se.population
+                + root.ne.sw.sw.population + root.sw.ne.ne.population + root.se.nw.nw.population) {
+            expandRoot();
+        }
+        long quarter = 1L << (root.level - 2);
+        root = nextGen(root, k);
+        originRow += quarter;
+        originCol += quarter;
+    }
+
+    /**
+     * Reads the <code>rule</code> of the board and throws away the memoized
+     * results if the rule set has changed since they were computed.
+     */
+    private void checkRule() {
+        if (rule.equals(memoRule)) {
+            return;
+        }
+        memoRule = rule;
+        neighbourhoods = rule.getTable();
+        for (Node bucket : table) {
+            for (Node node = bucket; node != null; node = node.chain) {
+                node.result = null;
+                node.step = null;
+                node.stepKey = 0;
+            }
+        }
+    }
+
+    /**
+     * Throws away the macro-cells which are no longer part of the board, when
+     * the <code>table</code> has grown beyond <code>MAX_NODES</code>.
+     */
+    private void collect() {
+        if (nodeCount <= MAX_NODES) {
+            return;
+        }
+        table = new Node[1024];
+        nodeCount = 0;
+        emptyNodes = null;
+        reinsert(root);
+    }
+
+    private void reinsert(Node node) {
+        if (node.level == 0) {
+            return;
+        }
+        int index = hash(node.nw, node.ne, node.sw, node.se) & (table.length - 1);
+        for (Node n = table[index]; n != null; n = n.chain) {
+            if (n == node) {
+                return;
+            }
+        }
+        reinsert(node.nw);
+        reinsert(node.ne);
+        reinsert(node.sw);
+        reinsert(node.se);
+        node.result = null;
+        node.step = null;
+        node.stepKey = 0;
+        index = hash(node.nw, node.ne, node.sw, node.se) & (table.length - 1);
+        node.chain = table[index];
+        table[index] = node;
+        if (++nodeCount > table.length - (table.length >>> 2)) {
+            resize();
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        table = new Node[1024];
+        reinsert(root);
+    }
+
+    //------------------GENERATION LOGIC--------------------------------------//
+    /**
+     * Advances the board <code>generations</code> generations. The number of
+     * generations is split into powers of two, and each power of two is a
+     * single <code>nextGen</code> on the <code>root</code>, so a million
+     * generations costs about twenty steps.
+     *
+     * @param generations the number of generations to advance
+     * @throws IllegalArgumentException if the board would go past generation
+     * <code>Integer.MAX_VALUE</code>
+     */
+    @Override
+    public void advance(long generations) {
+        if (generations > Integer.MAX_VALUE - iterations) {
+            throw new IllegalArgumentException("The board can not go past generation " + Integer.MAX_VALUE);
+        }
+        checkRule();
+        for (int k = 0; k < 63 && (generations >>> k) != 0; k++) {
+            if (((generations >>> k) & 1) != 0) {
+                collect();
+                stepPow(k);
+            }
+        }
+        iterations += generations;
+        setNewGenValues();
+    }
+
+    /**
+     * There is no <code>neighBoard</code> in the <code>HashLifeBoard</code>.
+     * Reads the <code>rule</code> and throws away unused macro-cells before the
+     * generation is computed.
+     */
+    @Override
+    protected void createNeighBoard() {
+        checkRule();
+        collect();
+    }
+
+    /**
+     * Advances the <code>root</code> one generation.
+     */
+    @Override
+    public void updateNeighbourBoard() {
+        stepPow(0);
+    }
+
+    /**
+     * Updates the <code>aliveCells</code> and expands the view if a live cell
+     * has reached its edge.
+     */
+    @Override
+    public void setNewGenValues() {
+        aliveCells = (int) Math.min(Integer.MAX_VALUE, root.population);
+        long[] box = planeBoundingBox();
+        if (box[1] < box[0]) {
+            return;
+        }
+        if (box[0] <= viewRow) {
+            long add = viewRow - box[0] + EXPANSION;
+            viewRow -= add;
+            numRows = toInt(numRows + add);
+            placeRowVar = toInt(placeRowVar + add);
+        }
+        if (box[1] >= viewRow + numRows - 1) {
+            numRows = toInt(box[1] - viewRow + 1 + EXPANSION);
+        }
+        if (box[2] <= viewCol) {
+            long add = viewCol - box[2] + EXPANSION;
+            viewCol -= add;
+            numColumns = toInt(numColumns + add);
+            placeColVar = toInt(placeColVar + add);
+        }
+        if (box[3] >= viewCol + numColumns - 1) {
+            numColumns = toInt(box[3] - viewCol + 1 + EXPANSION);
+        }
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE / 2);
+    }
+
+    /**
+     * The empty macro-cells of a <code>HashLifeBoard</code> are shared and
+     * stay empty, so it can not set rule sets with B0.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isB0Supported() {
+        return false;
+    }
+
+    /**
+     * The leaves of a <code>HashLifeBoard</code> are blocks of dead and alive
+     * cells, so it can not set rule sets of more than two states.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isStatesSupported() {
+        return false;
+    }
+
+    /**
+     * The plane is unbounded, so there is no size limit to test.
+     */
+    @Override
+    public void sizeTest() {
+    }
+
+    //--------------------------CELL LOGIC----------------------------------//
+    /**
+     * Sets the cell at plane coordinates (<code>row</code>, <code>col</code>).
+     * The <code>root</code> is expanded until it contains the cell, and the
+     * macro-cells on the path down to the cell are replaced.
+     */
+    private void setCell(long row, long col, boolean state) {
+        while (row < originRow || col < originCol
+                || row >= originRow + (1L << root.level) || col >= originCol + (1L << root.level)) {
+            expandRoot();
+        }
+        root = setCell(root, row - originRow, col - originCol, state);
+        aliveCells = (int) Math.min(Integer.MAX_VALUE, root.population);
+    }
+
+    private Node setCell(Node node, long row, long col, boolean state) {
+        if (node.level == 0) {
+            return state ? alive : dead;
+        }
+        long half = 1L << (node.level - 1);
+        if (row < half) {
+            if (col < half) {
+                return join(setCell(node.nw, row, col, state), node.ne, node.sw, node.se);
+            }
+            return join(node.nw, setCell(node.ne, row, col - half, state), node.sw, node.se);
+        }
+        if (col < half) {
+            return join(node.nw, node.ne, setCell(node.sw, row - half, col, state), node.se);
+        }
+        return join(node.nw, node.ne, node.sw, setCell(node.se, row - half, col - half, state));
+    }
+
+    private byte getCell(long row, long col) {
+        row -= originRow;
+        col -= originCol;
+        if (row < 0 || col < 0 || row >= (1L << root.level) || col >= (1L << root.level)) {
+            return 0;
+        }
+        Node node = root;
+        while (node.level > 0 && node.population != 0) {
+            long half = 1L << (node.level - 1);
+            if (row < half) {
+                node = col < half ? node.nw : node.ne;
+            } else {
+                node = col < half ? node.sw : node.se;
+                row -= half;
+            }
+            if (col >= half) {
+                col -= half;
+            }
+        }
+        return (byte) node.population;
+    }
+
+    @Override
+    public byte getCellState(int row, int col) {
+        return getCell(viewRow + row, viewCol + col);
+    }
+
+    @Override
+    public void setCellValue(int row, int col, boolean erase, int maxSize) {
+        if (col < 0 || col >= numColumns || row < 0 || row >= numRows) {
+            if (erase || (Math.abs(row) + numRows >= maxSize
+                    && Math.abs(col) + numColumns >= maxSize)) {
+                return;
+            }
+            if (row >= numRows) {
+                numRows = row + 1;
+            }
+            if (row < 0) {
+                viewRow += row;
+                numRows -= row;
+                placeRowVar -= row;
+                row = 0;
+            }
+            if (col >= numColumns) {
+                numColumns = col + 1;
+            }
+            if (col < 0) {
+                viewCol += col;
+                numColumns -= col;
+                placeColVar -= col;
+                col = 0;
+            }
+        }
+        setCell(viewRow + row, viewCol + col, !erase);
+    }
+
+    @Override
+    public void autoFit(byte[][] array) {
+        numRows = Math.max(numRows, array.length);
+        numColumns = Math.max(numColumns, array[0].length);
+    }
+
+    @Override
+    public void addArrayToBoard(byte[][] array) {
+        if (numRows <= array.length) {
+            int add = array.length - numRows + 1;
+            viewRow -= add;
+            placeRowVar += add;
+            numRows += 2 * add;
+        }
+        if (numColumns <= array[0].length) {
+            int add = array[0].length - numColumns + 1;
+            viewCol -= add;
+            placeColVar += add;
+            numColumns += 2 * add;
+        }
+
+        int placementy = ymove + (numRows - array.length) / 2;
+        int placementx = xmove + (numColumns - array[0].length) / 2;
+        numRows = Math.max(numRows, placementy + array.length + 1);
+        numColumns = Math.max(numColumns, placementx + array[0].length + 1);
+        if (placementy < 0) {
+            viewRow += placementy;
+            numRows -= placementy;
+            placeRowVar -= placementy;
+            placementy = 0;
+        }
+        if (placementx < 0) {
+            viewCol += placementx;
+            numColumns -= placementx;
+            placeColVar -= placementx;
+            placementx = 0;
+        }
+
+        for (int z = 0; z < array.length; z++) {
+            for (int w = 0; w < array[0].length; w++) {
+                if (array[z][w] == 1) {
+                    setCell(viewRow + placementy + z, viewCol + placementx + w, true);
+                }
+            }
+        }
+
+        if (topExist()) {
+            topExist = false;
+            xmove = 0;
+            ymove = 0;
+        }
+    }
+
+    //--------------------------DRAW LOGIC------------------------------------//
+    /**
+     * Draws the live cells of the board. Empty macro-cells and macro-cells
+     * outside of the canvas are skipped, and a macro-cell smaller than a pixel
+     * is drawn as a single pixel, so the cost of drawing depends on what is
+     * visible and not on the size of the pattern.
+     *
+     * @param gc the <code>GraphicsContext</code> used to draw
+     * @param cInfo the <code>CanvasInfo</code>-object containing information
+     * about the canvas
+     */
+    @Override
+    public void draw(GraphicsContext gc, CanvasInfo cInfo) {
+        gc.setFill(backGroundColor);
+        gc.fillRect(0, 0, cInfo.getCanvasWidth(), cInfo.getCanvasheight());
+
+        if (topExist) {
+            drawTopBoard(gc, cInfo);
+        }
+        double cellSize = cInfo.getCellSize();
+        cInfo.setPlacementX(placeColVar);
+        cInfo.setPlacementY(placeRowVar);
+        placeRowVar = 0;
+        placeColVar = 0;
+        double placementX = cInfo.getPlacementX();
+        double placementY = cInfo.getPlacementY();
+
+        if (grid) {
+            gc.setStroke(gridColor);
+            int firstRow = (int) Math.max(0, -placementY / cellSize);
+            int lastRow = (int) Math.min(numRows, (cInfo.getCanvasheight() - placementY) / cellSize + 1);
+            int firstCol = (int) Math.max(0, -placementX / cellSize);
+            int lastCol = (int) Math.min(numColumns, (cInfo.getCanvasWidth() - placementX) / cellSize + 1);
+            for (int x = firstRow; x < lastRow; x++) {
+                for (int y = firstCol; y < lastCol; y++) {
+                    gc.strokeRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize, cellSize);
+                }
+            }
+        }
+
+        gc.setFill(cellColor);
+        drawNode(gc, cInfo, root, originRow - viewRow, originCol - viewCol,
+                placementX, placementY);
+    }
+
+    private void drawNode(GraphicsContext gc, CanvasInfo cInfo, Node node,
+            long row, long col, double placementX, double placementY) {
+        if (node.population == 0) {
+            return;
+        }
+        double cellSize = cInfo.getCellSize();
+        double size = cellSize * (double) (1L << node.level);
+        double x = col * cellSize + placementX;
+        double y = row * cellSize + placementY;
+        if (x >= cInfo.getCanvasWidth() || y >= cInfo.getCanvasheight()
+                || x + size <= 0 || y + size <= 0) {
+            return;
+        }
+        if (node.level == 0) {
+            gc.fillRect(x, y, Math.max(cellSize - 0.1, 1), Math.max(cellSize - 0.1, 1));
+            return;
+        }
+        if (size <= 1) {
+            gc.fillRect(x, y, 1, 1);
+            return;
+        }
+        long half = 1L << (node.level - 1);
+        drawNode(gc, cInfo, node.nw, row, col, placementX, placementY);
+        drawNode(gc, cInfo, node.ne, row, col + half, placementX, placementY);
+        drawNode(gc, cInfo, node.sw, row + half, col, placementX, placementY);
+        drawNode(gc, cInfo, node.se, row + half, col + half, placementX, placementY);
+    }
+
+    //-----------------------BOUNDING LOGIC----------------------------------//
+    /**
+     * Gets the bounding box of the live cells in plane coordinates. A
+     * macro-cell is only visited if it is not empty and could extend the box.
+     *
+     * @return minrow maxrow mincolumn maxcolumn, minrow is larger than maxrow
+     * if the board is empty
+     */
+    private long[] planeBoundingBox() {
+        long[] box = {Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        boundingBox(root, originRow, originCol, box);
+        return box;
+    }
+
+    private void boundingBox(Node node, long row, long col, long[] box) {
+        if (node.population == 0) {
+            return;
+        }
+        long size = 1L << node.level;
+        if (box[0] <= row && row + size - 1 <= box[1]
+                && box[2] <= col && col + size - 1 <= box[3]) {
+            return;
+        }
+        if (node.level == 0) {
+            box[0] = Math.min(box[0], row);
+            box[1] = Math.max(box[1], row);
+            box[2] = Math.min(box[2], col);
+            box[3] = Math.max(box[3], col);
+            return;
+        }
+        long half = size >> 1;
+        boundingBox(node.nw, row, col, box);
+        boundingBox(node.ne, row, col + half, box);
+        boundingBox(node.sw, row + half, col, box);
+        boundingBox(node.se, row + half, col + half, box);
+    }
+
+    /**
+     * Collects the outer rows and columns where there are live cells, relative
+     * to the view. boundingBox[4] // minrow maxrow mincolumn maxcolumn
+     *
+     * @return an array witch describes where the active rows and columns start
+     * and end.
+     */
+    @Override
+    public int[] getBoundingBox() {
+        long[] box = planeBoundingBox();
+        if (box[1] < box[0]) {
+            return new int[]{numRows, 0, numColumns, 0};
+        }
+        return new int[]{(int) (box[0] - viewRow), (int) (box[1] - viewRow),
+            (int) (box[2] - viewCol), (int) (box[3] - viewCol)};
+    }
+
+    @Override
+    public String getBoundingBoxPattern() {
+        int[] boundingBox = getBoundingBox();
+        StringBuilder pattern = new StringBuilder();
+        for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
+            for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
+                pattern.append(getCellState(i, j));
+            }
+        }
+        return pattern.toString();
+    }
+
+    //--------------------------SETTERS AND GETTERS------------------------//
+    @Override
+    public int getSumOfAlive() {
+        return (int) sumOfAlive(root, originRow - viewRow, originCol - viewCol);
+    }
+
+    private long sumOfAlive(Node node, long row, long col) {
+        if (node.population == 0) {
+            return 0;
+        }
+        if (node.level == 0) {
+            return row + col;
+        }
+        long half = 1L << (node.level - 1);
+        return sumOfAlive(node.nw, row, col) + sumOfAlive(node.ne, row, col + half)
+                + sumOfAlive(node.sw, row + half, col) + sumOfAlive(node.se, row + half, col + half);
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the live cells from the hash of the
+     * <code>root</code>, moved to its place on the plane. Every macro-cell
+     * keeps the hash of its own cells, so only the macro-cells created since
+     * the last time are counted.
+     *
+     * @return the hash of the cells
+     * @see Node#count()
+     */
+    @Override
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+        }
+        root.count();
+        long population = root.population;
+        planeHash.set(root.planeKey * PlaneHash.rowKey(originRow) * PlaneHash.columnKey(originCol),
+                population, root.rowSum + originRow * population, root.colSum + originCol * population);
+        return planeHash;
+    }
+
+    /**
+     * The <code>PlaneHash</code> is kept by the macro-cells, and the
+     * macro-cells are shared between the generations.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean hasIncrementalHash() {
+        return true;
+    }
+
+    /**
+     * Gets the number of live cells. Unlike <code>getAliveCells</code> this is
+     * not limited to the range of an <code>int</code>.
+     *
+     * @return the population of the board
+     */
+    public long getPopulation() {
+        return root.population;
+    }
+
+    @Override
+    public int getHeight() {
+        return numRows;
+    }
+
+    @Override
+    public int getWidth() {
+        return numColumns;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A set of <code>long</code> values stored in an open-addressing hash table
+ * with linear probing. The values are kept in a <code>long[]</code>, so no
+ * <code>Long</code> is created when a value is added or looked up. The table
+ * is never more than half full.
+ *
+ * The value <code>EMPTY</code> marks a free slot and can not be added.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see SparseBoard
+ */
+public class LongHashSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The value of a free slot in the table.
+     */
+    public static final long EMPTY = Long.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+
+    /**
+     * Creates an empty set.
+     */
+    public LongHashSet() {
+        keys = new long[MIN_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Spreads the bits of a value over the index of the table.
+     *
+     * @param key the value
+     * @return the hash of the value
+     */
+    static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param key the value to add
+     * @return <code>true</code> if the value was not in the set
+     */
+    public boolean add(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a value is in the set.
+     *
+     * @param key the value
+     * @return <code>true</code> if the value is in the set
+     */
+    public boolean contains(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a value from the set. The values after it in the same run of
+     * slots are moved back, so no slot has to be marked as deleted.
+     *
+     * @param key the value to remove
+     * @return <code>true</code> if the value was in the set
+     */
+    public boolean remove(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = EMPTY;
+        size--;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            long moved = keys[j];
+            int home = hash(moved) & mask;
+            //Move the value back if its home slot is not between i and j.
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = moved;
+                keys[j] = EMPTY;
+                i = j;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every value. The table is made smaller if it is much larger than
+     * the number of values it held.
+     */
+    public void clear() {
+        int capacity = keys.length;
+        while (capacity > MIN_CAPACITY && size * 8 < capacity) {
+            capacity /= 2;
+        }
+        if (capacity != keys.length) {
+            keys = new long[capacity];
+        }
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] old = keys;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        int mask = capacity - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int i = hash(key) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of values in the set.
+     *
+     * @return the size of the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the table of the set, used to iterate the values without creating
+     * an <code>Iterator</code>. The free slots are <code>EMPTY</code>. The
+     * table must not be changed.
+     *
+     * @return the table of the set
+     */
+    public long[] getTable() {
+        return keys;
+    }
+}
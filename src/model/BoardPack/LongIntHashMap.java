@@ -0,0 +1,204 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.util.Arrays;
+
+/**
+ * A map from <code>long</code> keys to <code>int</code> values stored in an
+ * open-addressing hash table with linear probing, in the same way as the
+ * <code>LongHashSet</code>. Used to count the neighbours of the cells of a
+ * <code>SparseBoard</code>, where a key is only ever added to and the map is
+ * cleared for every generation, and to find the generations of the
+ * <code>CycleDetector</code> from their keys without boxing them.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see LongHashSet
+ * @see SparseBoard
+ * @see CycleDetector
+ */
+public class LongIntHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public LongIntHashMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new int[MIN_CAPACITY];
+        Arrays.fill(keys, LongHashSet.EMPTY);
+    }
+
+    /**
+     * Adds <code>delta</code> to the value of <code>key</code>. A key which is
+     * not in the map is added with the value 0 first.
+     *
+     * @param key the key
+     * @param delta the number to add to the value
+     */
+    public void add(long key, int delta) {
+        int mask = keys.length - 1;
+        int i = LongHashSet.hash(key) & mask;
+        while (keys[i] != LongHashSet.EMPTY) {
+            if (keys[i] == key) {
+                values[i] += delta;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = delta;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Sets the value of <code>key</code>, adding the key if it is not in the
+     * map.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(long key, int value) {
+        int mask = keys.length - 1;
+        int i = LongHashSet.hash(key) & mask;
+        while (keys[i] != LongHashSet.EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes a key from the map. The keys after it in the same run of slots
+     * are moved back with their values, in the same way as in
+     * <code>LongHashSet.remove</code>.
+     *
+     * @param key the key to remove
+     * @return <code>true</code> if the key was in the map
+     */
+    public boolean remove(long key) {
+        int mask = keys.length - 1;
+        int i = LongHashSet.hash(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == LongHashSet.EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = LongHashSet.EMPTY;
+        size--;
+        for (int j = (i + 1) & mask; keys[j] != LongHashSet.EMPTY; j = (j + 1) & mask) {
+            long moved = keys[j];
+            int home = LongHashSet.hash(moved) & mask;
+            //Move the key back if its home slot is not between i and j.
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = moved;
+                values[i] = values[j];
+                keys[j] = LongHashSet.EMPTY;
+                i = j;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key the key
+     * @return the value of the key, 0 if the key is not in the map
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        int i = LongHashSet.hash(key) & mask;
+        while (keys[i] != LongHashSet.EMPTY) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes every key. The table is made smaller if it is much larger than
+     * the number of keys it held.
+     */
+    public void clear() {
+        int capacity = keys.length;
+        while (capacity > MIN_CAPACITY && size * 8 < capacity) {
+            capacity /= 2;
+        }
+        if (capacity != keys.length) {
+            keys = new long[capacity];
+            values = new int[capacity];
+        }
+        Arrays.fill(keys, LongHashSet.EMPTY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, LongHashSet.EMPTY);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != LongHashSet.EMPTY) {
+                int i = LongHashSet.hash(oldKeys[j]) & mask;
+                while (keys[i] != LongHashSet.EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of keys in the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the keys of the table, the free slots are
+     * <code>LongHashSet.EMPTY</code>. The value of the key at index i is at
+     * index i of <code>getValues</code>. The table must not be changed.
+     *
+     * @return the keys of the table
+     */
+    public long[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Gets the values of the table.
+     *
+     * @return the values of the table
+     * @see #getKeys()
+     */
+    public int[] getValues() {
+        return values;
+    }
+}
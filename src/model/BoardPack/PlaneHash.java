@@ -0,0 +1,271 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+/**
+ * A 64-bit hash of the live cells of a board, kept up to date with the births
+ * and deaths of every generation. Every cell of the plane has a key, and the
+ * hash is the sum of the keys of the live cells times their cell states, so a
+ * cell which is born or dies is added to or taken from the hash in the same
+ * way as a Zobrist hash, in any order and on any thread.
+ *
+ * The key of the cell at (<code>row</code>, <code>col</code>) is
+ * <code>ROW_BASE^row * COLUMN_BASE^col</code>, with both bases odd, so that
+ * every key can be inverted modulo 2^64. Moving the cells <code>r</code> rows
+ * and <code>c</code> columns multiplies the hash by
+ * <code>ROW_BASE^r * COLUMN_BASE^c</code>. The sums of the rows and columns
+ * of the cells are kept as well, and the hash is normalised to the centre of
+ * the cells, which moves with the cells, so a spaceship has the same
+ * <code>key</code> in every generation of the same phase wherever it is.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see CycleDetector
+ * @see Board#getPlaneHash()
+ */
+public class PlaneHash {
+
+    private static final long ROW_BASE = 0x9E3779B97F4A7C15L;
+    private static final long COLUMN_BASE = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * Added to the <code>key</code> when the cells are stored as the
+     * complement of the generation.
+     */
+    private static final long COMPLEMENT = 0x165667B19E3779F9L;
+
+    /**
+     * The powers of the bases from 0 to <code>POWERS</code> - 1, and the
+     * powers of their inverses. Other powers are multiplied out.
+     */
+    private static final int POWERS = 4096;
+    private static final long[] ROW_POWERS = powers(ROW_BASE);
+    private static final long[] ROW_INVERSES = powers(inverse(ROW_BASE));
+    private static final long[] COLUMN_POWERS = powers(COLUMN_BASE);
+    private static final long[] COLUMN_INVERSES = powers(inverse(COLUMN_BASE));
+
+    private long hash;
+    private long weight;
+    private long rowSum, colSum;
+    private boolean complement;
+
+    private static long[] powers(long base) {
+        long[] powers = new long[POWERS];
+        powers[0] = 1;
+        for (int i = 1; i < POWERS; i++) {
+            powers[i] = powers[i - 1] * base;
+        }
+        return powers;
+    }
+
+    /**
+     * Inverts an odd number modulo 2^64 with Newton's method, each step
+     * doubles the number of correct bits.
+     */
+    private static long inverse(long odd) {
+        long inverse = odd;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    private static long power(long[] powers, long[] inverses, long base, long exponent) {
+        if (exponent >= 0 && exponent < POWERS) {
+            return powers[(int) exponent];
+        }
+        if (exponent < 0 && exponent > -POWERS) {
+            return inverses[(int) -exponent];
+        }
+        if (exponent < 0) {
+            base = inverse(base);
+            exponent = -exponent;
+        }
+        long result = 1;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the key of a row, multiplied with the key of a column to give the
+     * key of a cell.
+     *
+     * @param row the row in plane coordinates
+     * @return the key of the row
+     */
+    public static long rowKey(long row) {
+        return power(ROW_POWERS, ROW_INVERSES, ROW_BASE, row);
+    }
+
+    /**
+     * Gets the key of a column, multiplied with the key of a row to give the
+     * key of a cell.
+     *
+     * @param col the column in plane coordinates
+     * @return the key of the column
+     */
+    public static long columnKey(long col) {
+        return power(COLUMN_POWERS, COLUMN_INVERSES, COLUMN_BASE, col);
+    }
+
+    /**
+     * Adds a cell to the hash, or takes it away if <code>state</code> is
+     * negative. A cell which changes from one state to another is added with
+     * the difference of the states.
+     *
+     * @param row the row of the cell in plane coordinates
+     * @param col the column of the cell in plane coordinates
+     * @param state the cell state to add
+     */
+    public void add(long row, long col, int state) {
+        hash += state * rowKey(row) * columnKey(col);
+        weight += state;
+        rowSum += state * row;
+        colSum += state * col;
+    }
+
+    /**
+     * Adds a cell whose <code>rowKey</code> and <code>columnKey</code> have
+     * already been looked up, as when the cells of a row are added one after
+     * another.
+     *
+     * @param row the row of the cell in plane coordinates
+     * @param col the column of the cell in plane coordinates
+     * @param key the key of the cell
+     * @param state the cell state to add
+     */
+    public void add(long row, long col, long key, int state) {
+        hash += state * key;
+        weight += state;
+        rowSum += state * row;
+        colSum += state * col;
+    }
+
+    /**
+     * Adds the cells of another hash, such as the births and deaths counted
+     * by one thread.
+     *
+     * @param other the hash to add
+     */
+    public void add(PlaneHash other) {
+        hash += other.hash;
+        weight += other.weight;
+        rowSum += other.rowSum;
+        colSum += other.colSum;
+    }
+
+    /**
+     * Sets the hash to cells which have been counted elsewhere, such as the
+     * macro-cells of a <code>HashLifeBoard</code>, which keep the hash of
+     * their own cells.
+     *
+     * @param hash the hash of the cells
+     * @param weight the sum of the cell states
+     * @param rowSum the sum of the rows of the cells
+     * @param colSum the sum of the columns of the cells
+     */
+    void set(long hash, long weight, long rowSum, long colSum) {
+        this.hash = hash;
+        this.weight = weight;
+        this.rowSum = rowSum;
+        this.colSum = colSum;
+    }
+
+    /**
+     * Moves the cells of the hash.
+     *
+     * @param rows the number of rows to move down
+     * @param cols the number of columns to move right
+     */
+    public void translate(long rows, long cols) {
+        hash *= rowKey(rows) * columnKey(cols);
+        rowSum += rows * weight;
+        colSum += cols * weight;
+    }
+
+    /**
+     * Removes every cell from the hash.
+     */
+    public void clear() {
+        hash = 0;
+        weight = 0;
+        rowSum = 0;
+        colSum = 0;
+    }
+
+    /**
+     * Sets if the cells are stored as the complement of the generation, which
+     * gives another <code>key</code> for the same cells.
+     *
+     * @param complement <code>true</code> if the cells are stored as the
+     * complement
+     */
+    public void setComplement(boolean complement) {
+        this.complement = complement;
+    }
+
+    /**
+     * Gets the hash normalised to the centre of the cells, the same for the
+     * same cells wherever they are on the plane.
+     *
+     * @return the normalised hash
+     */
+    public long key() {
+        long key = weight == 0 ? 0 : hash * rowKey(-getCentreRow()) * columnKey(-getCentreColumn());
+        return complement ? key + COMPLEMENT : key;
+    }
+
+    /**
+     * Gets the hash of the cells where they are on the plane.
+     *
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the sum of the cell states of the cells, the number of live cells
+     * if the rule set has two states.
+     *
+     * @return the sum of the cell states
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the sum of the rows of the cells, each counted once per cell state.
+     *
+     * @return the sum of the rows
+     */
+    public long getRowSum() {
+        return rowSum;
+    }
+
+    /**
+     * Gets the sum of the columns of the cells, each counted once per cell
+     * state.
+     *
+     * @return the sum of the columns
+     */
+    public long getColumnSum() {
+        return colSum;
+    }
+
+    private long getCentreRow() {
+        return Math.floorDiv(rowSum, weight);
+    }
+
+    private long getCentreColumn() {
+        return Math.floorDiv(colSum, weight);
+    }
+}
@@ -0,0 +1,908 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import model.CanvasInfo;
+
+/**
+ * RangeBoard sets the generations of a Larger than Life
+ * <code>RangeRule</code>, where the neighbourhood of a cell reaches
+ * <code>range</code> cells away. Counting the neighbours one by one would
+ * read 121 cells per cell at range 5, so the live cells are first added up in
+ * a table of sums once per generation, and the neighbours of every cell are
+ * then counted with a fixed number of reads whatever the range is.
+ *
+ * For the Moore neighbourhood the table is a summed-area table, where every
+ * entry holds the number of live cells above and to the left of it, and the
+ * square around a cell is four reads. For the von Neumann neighbourhood the
+ * tables hold the live cells along the two diagonals up to each cell instead.
+ * The count of the diamond around a cell is moved one cell to the east by
+ * adding the two diagonal edges on the east side and taking away the two on
+ * the west side, eight reads, and only the first cell of each row is counted
+ * cell by cell.
+ *
+ * The tables are built before the generation, and the rows only read them, so
+ * partitions of rows can be set at the same time with
+ * <code>setNextGenerationRows</code>.
+ *
+ * The cells are kept at least <code>range</code> cells from the edges: the
+ * board expands in the needed direction when a live cell comes closer, and
+ * cells outside of the board are dead.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see model.BoardPack.RangeRule
+ * @see model.BoardPack.Board
+ */
+public class RangeBoard extends Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of rows or columns added beyond the range when a live cell
+     * comes within the range of the edge of the board.
+     */
+    private static final int EXPANSION = 20;
+
+    /**
+     * The cells of the board row by row, and the cells of the next
+     * generation. Swapped after each generation.
+     */
+    private byte[] cells, nextCells;
+
+    /**
+     * The tables of sums of the live cells. For the Moore neighbourhood
+     * <code>sums</code> is the summed-area table, for the von Neumann
+     * neighbourhood <code>sums</code> holds the diagonals from the north west
+     * and <code>antiSums</code> the diagonals from the north east. Both cover
+     * the board with a margin of the range around it, and one more row above.
+     */
+    private transient int[] sums, antiSums;
+
+    /**
+     * The number of alive cells of each row of the next generation.
+     */
+    private int[] rowAlive;
+
+    /**
+     * The number of cells of each row which change state in the next
+     * generation, and the changes themselves, which are added to the
+     * <code>PlaneHash</code> in <code>setNewGenValues</code>. Each row has its
+     * own <code>PlaneHash</code>, so the partitions of rows can be set at the
+     * same time.
+     */
+    private transient int[] rowChanged;
+    private transient PlaneHash[] rowChanges;
+
+    private RangeRule rangeRule = new RangeRule(Rule.CONWAY);
+
+    /**
+     * Variables used to adjust placement of the board along the X-axis and
+     * the Y-axis after columns or rows have been added at the left side or the
+     * top.
+     */
+    private int placeColVar, placeRowVar;
+
+    /**
+     * The plane coordinates of row 0 and column 0 of the board, used for the
+     * <code>PlaneHash</code>. They stay the same for every cell when rows or
+     * columns are added at the top or the left side.
+     *
+     * @see PlaneHash
+     */
+    private long originRow, originCol;
+
+    //--------------------------CONSTRUCTORS--------------------------------//
+    /**
+     * Creates an empty board of 20 rows and 20 columns.
+     */
+    public RangeBoard() {
+        this(20, 20);
+    }
+
+    /**
+     * Constructor that takes the number of rows <code>row</code> and the number
+     * of columns <code>columns</code> as parameters. Initializes an empty board.
+     *
+     * @param row the number of rows in the board
+     * @param columns the number of columns in the board
+     */
+    public RangeBoard(int row, int columns) {
+        this.numRows = row;
+        this.numColumns = columns;
+        cells = new byte[row * columns];
+    }
+
+    /**
+     * Board constructor which copies a <code>byte[][]</code> of cell states,
+     * such as the array returned by <code>FileHandler.getRleArray()</code>.
+     *
+     * @param array the array to copy
+     */
+    public RangeBoard(byte[][] array) {
+        this(array.length, array[0].length);
+        for (int row = 0; row < numRows; row++) {
+            System.arraycopy(array[row], 0, cells, row * numColumns, numColumns);
+        }
+    }
+
+    /**
+     * Board constructor which copies any other <code>Board</code> cell by cell,
+     * and its <code>rule</code> as a <code>RangeRule</code> of range 1.
+     *
+     * @param board the board to copy
+     */
+    public RangeBoard(Board board) {
+        this(board.getHeight(), board.getWidth());
+        setRule(board.getRule());
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                cells[row * numColumns + col] = board.getCellState(row, col);
+            }
+        }
+    }
+
+    //--------------------------RULE LOGIC----------------------------------//
+    /**
+     * Sets a <code>Rule</code> as the <code>RangeRule</code> of range 1 with
+     * the same birth and survival.
+     *
+     * @param rule the rule set to use
+     * @throws IllegalArgumentException if the rule set is not totalistic or
+     * gives birth without neighbours
+     * @see RangeRule#RangeRule(Rule)
+     */
+    @Override
+    public void setRule(Rule rule) {
+        setRangeRule(new RangeRule(rule));
+        super.setRule(rule);
+    }
+
+    /**
+     * Sets the <code>RangeRule</code> used to set the next generations of the
+     * board. Cells of states the rule set does not have are cleared.
+     *
+     * @param rangeRule the rule set to use
+     */
+    public void setRangeRule(RangeRule rangeRule) {
+        this.rangeRule = rangeRule;
+        optimaliser = false;
+        int states = rangeRule.getStates();
+        for (int i = 0; i < cells.length; i++) {
+            if ((cells[i] & 0xFF) >= states) {
+                setCell(i / numColumns, i % numColumns, 0);
+            }
+        }
+    }
+
+    /**
+     * Gets the <code>RangeRule</code> of the board.
+     *
+     * @return the rule set used to set the generations
+     */
+    public RangeRule getRangeRule() {
+        return rangeRule;
+    }
+
+    @Override
+    public byte getCellState(int row, int col) {
+        return cells[row * numColumns + col];
+    }
+
+    /**
+     * Sets the state of a cell, and adds the change to the
+     * <code>PlaneHash</code>.
+     */
+    private void setCell(int row, int col, int cellState) {
+        int index = row * numColumns + col;
+        int before = cells[index] & 0xFF;
+        if (before != cellState) {
+            cells[index] = (byte) cellState;
+            if (planeHash != null) {
+                planeHash.add(originRow + row, originCol + col, cellState - before);
+            }
+        }
+    }
+
+    //-------------------------EXPANDING LOGIC ----------------------------- //
+    /**
+     * Adds rows and columns to the board when a live cell is within the
+     * <code>range</code> of an edge, so that the next generation has room to
+     * grow. Only the rows and columns within the range of the edges are read.
+     */
+    public void addRowsandColumns() {
+        int range = rangeRule.getRange();
+        int top = 0;
+        int bottom = 0;
+        int left = 0;
+        int right = 0;
+        for (int row = 0; row < numRows; row++) {
+            int start = row * numColumns;
+            boolean edgeRow = row < range || row >= numRows - range;
+            int end = edgeRow ? numColumns : Math.min(range, numColumns);
+            for (int col = 0; col < numColumns; col++) {
+                if (col == end) {
+                    col = Math.max(end, numColumns - range);
+                    if (col >= numColumns) {
+                        break;
+                    }
+                }
+                if (cells[start + col] == 1) {
+                    top = Math.max(top, range - row);
+                    bottom = Math.max(bottom, row - (numRows - 1 - range));
+                    left = Math.max(left, range - col);
+                    right = Math.max(right, col - (numColumns - 1 - range));
+                }
+            }
+        }
+        if (top > 0 || bottom > 0 || left > 0 || right > 0) {
+            resize(top > 0 ? top + EXPANSION : 0, bottom > 0 ? bottom + EXPANSION : 0,
+                    left > 0 ? left + EXPANSION : 0, right > 0 ? right + EXPANSION : 0);
+        }
+    }
+
+    /**
+     * Adds <code>addRows</code> empty rows at the top (if <code>top</code> is
+     * true) or at the bottom of the board.
+     *
+     * @param addRows the number of rows to add
+     * @param top the side to add the rows
+     */
+    public void addRows(int addRows, boolean top) {
+        resize(top ? addRows : 0, top ? 0 : addRows, 0, 0);
+    }
+
+    /**
+     * Adds <code>addColumns</code> empty columns at the left side (if
+     * <code>left</code> is true) or at the right side of the board.
+     *
+     * @param addColumns the number of columns to add
+     * @param left the side to add the columns
+     */
+    public void addColumns(int addColumns, boolean left) {
+        resize(0, 0, left ? addColumns : 0, left ? 0 : addColumns);
+    }
+
+    /**
+     * Adds empty rows and columns at the sides of the board, and copies the
+     * old rows into the new cells at their new place.
+     *
+     * @param top the number of rows to add at the top
+     * @param bottom the number of rows to add at the bottom
+     * @param left the number of columns to add at the left side
+     * @param right the number of columns to add at the right side
+     */
+    private void resize(int top, int bottom, int left, int right) {
+        int columns = numColumns + left + right;
+        byte[] resized = new byte[(numRows + top + bottom) * columns];
+        for (int row = 0; row < numRows; row++) {
+            System.arraycopy(cells, row * numColumns, resized,
+                    (row + top) * columns + left, numColumns);
+        }
+        cells = resized;
+        numRows += top + bottom;
+        numColumns = columns;
+        placeRowVar += top;
+        placeColVar += left;
+        originRow -= top;
+        originCol -= left;
+    }
+
+    @Override
+    public void autoFit(byte[][] array) {
+        while (numRows < array.length) {
+            addRows(5, false);
+        }
+        while (numColumns < array[0].length) {
+            addColumns(5, false);
+        }
+    }
+
+    @Override
+    public void addArrayToBoard(byte[][] array) {
+        while (numRows <= array.length) {
+            addRows(1, false);
+            addRows(1, true);
+        }
+        while (numColumns <= array[0].length) {
+            addColumns(1, false);
+            addColumns(1, true);
+        }
+
+        int placementy = ymove + (numRows - array.length) / 2;
+        int placementx = xmove + (numColumns - array[0].length) / 2;
+
+        if (placementy + array.length > numRows) {
+            addRows(placementy + array.length - numRows + 1, false);
+        }
+        if (placementy < 0) {
+            addRows(Math.abs(placementy), true);
+            placementy = 1;
+        }
+
+        if (placementx + array[0].length > numColumns) {
+            addColumns(placementx + array[0].length - numColumns + 1, false);
+        }
+        if (placementx < 0) {
+            addColumns(Math.abs(placementx), true);
+            placementx = 1;
+        }
+
+        int states = rangeRule.getStates();
+        for (int y = placementy, z = 0; z < array.length; y++, z++) {
+            for (int x = placementx, w = 0; w < array[0].length; x++, w++) {
+                int cellState = array[z][w] & 0xFF;
+                if (cellState != 0 && cellState < states) {
+                    setCell(y, x, cellState);
+                }
+            }
+        }
+
+        if (topExist()) {
+            topExist = false;
+            xmove = 0;
+            ymove = 0;
+        }
+    }
+
+    //------------------GENERATION LOGIC--------------------------------------//
+    /**
+     * Expands the board if needed, builds the tables of sums of the live
+     * cells and increments the <code>iterations</code>.
+     *
+     * @see #addRowsandColumns()
+     * @see #createNeighBoard()
+     */
+    @Override
+    public void beforeSetGeneration() {
+        aliveCells = 0;
+        addRowsandColumns();
+        createNeighBoard();
+        iterations++;
+    }
+
+    /**
+     * Builds the tables of sums of the live cells for the current generation.
+     * The <code>RangeBoard</code> has no <code>neighBoard</code>, the arrays
+     * are only allocated again when the board or the range has changed size.
+     * The changes of the rows are only kept once the <code>PlaneHash</code>
+     * has been counted.
+     */
+    @Override
+    protected void createNeighBoard() {
+        int range = rangeRule.getRange();
+        int size = (numRows + 2 * range + 1) * (numColumns + 2 * range + 1);
+        if (nextCells == null || nextCells.length != cells.length || rowAlive.length != numRows) {
+            nextCells = new byte[cells.length];
+            rowAlive = new int[numRows];
+            rowChanged = new int[numRows];
+            rowChanges = null;
+        }
+        if (planeHash != null && rowChanges == null) {
+            rowChanges = new PlaneHash[numRows];
+            for (int row = 0; row < numRows; row++) {
+                rowChanges[row] = new PlaneHash();
+            }
+        }
+        if (sums == null || sums.length != size) {
+            sums = new int[size];
+        }
+        if (rangeRule.isVonNeumann()) {
+            if (antiSums == null || antiSums.length != size) {
+                antiSums = new int[size];
+            }
+            createDiagonals(range);
+        } else {
+            antiSums = null;
+            createSummedArea(range);
+        }
+    }
+
+    /**
+     * Builds the summed-area table. Row <code>i</code> and column
+     * <code>j</code> of the <code>sums</code> hold the live cells of the rows
+     * above row <code>i - range - 1</code> and the columns to the left of
+     * column <code>j - range - 1</code> of the board, so the square around a
+     * cell is inside of the table. The rows and columns above and to the left
+     * of the board are never written and stay 0.
+     *
+     * @param range the range of the neighbourhood
+     */
+    private void createSummedArea(int range) {
+        int sumWidth = numColumns + 2 * range + 1;
+        int[] sum = sums;
+        byte[] board = cells;
+        for (int row = 0; row < numRows; row++) {
+            int index = (row + range + 1) * sumWidth + range + 1;
+            int above = index - sumWidth;
+            int start = row * numColumns;
+            int run = 0;
+            for (int col = 0; col < numColumns; col++) {
+                run += board[start + col] == 1 ? 1 : 0;
+                sum[index + col] = sum[above + col] + run;
+            }
+            Arrays.fill(sum, index + numColumns, index - range - 1 + sumWidth,
+                    sum[index + numColumns - 1]);
+        }
+        int last = (numRows + range) * sumWidth;
+        for (int row = numRows + range + 1; row < numRows + 2 * range + 1; row++) {
+            System.arraycopy(sum, last, sum, row * sumWidth, sumWidth);
+        }
+    }
+
+    /**
+     * Builds the tables of the diagonals. Row <code>i</code> and column
+     * <code>j</code> of the <code>sums</code> hold the live cells on the
+     * diagonal from the north west up to row <code>i - range - 1</code> and
+     * column <code>j - range</code> of the board, and the
+     * <code>antiSums</code> the live cells on the diagonal from the north
+     * east. The rows above the board are never written and stay 0.
+     *
+     * @param range the range of the neighbourhood
+     */
+    private void createDiagonals(int range) {
+        int sumWidth = numColumns + 2 * range + 1;
+        int[] diagonal = sums;
+        int[] antiDiagonal = antiSums;
+        byte[] board = cells;
+        for (int row = 0; row < numRows + range; row++) {
+            int index = (row + range + 1) * sumWidth;
+            int last = index + sumWidth - 1;
+            //The cells of the board lie from first to end, outside of them the diagonals only go on
+            int first = index + range;
+            int end = row < numRows ? first + numColumns : first;
+            int start = row * numColumns - first;
+            diagonal[index] = 0;
+            antiDiagonal[last] = 0;
+            for (int i = index + 1; i < first; i++) {
+                diagonal[i] = diagonal[i - sumWidth - 1];
+                antiDiagonal[i - 1] = antiDiagonal[i - sumWidth];
+            }
+            antiDiagonal[first - 1] = antiDiagonal[first - sumWidth];
+            for (int i = first; i < end; i++) {
+                int live = board[start + i] == 1 ? 1 : 0;
+                diagonal[i] = live + diagonal[i - sumWidth - 1];
+                antiDiagonal[i] = live + antiDiagonal[i - sumWidth + 1];
+            }
+            for (int i = end; i < last; i++) {
+                diagonal[i] = diagonal[i - sumWidth - 1];
+                antiDiagonal[i] = antiDiagonal[i - sumWidth + 1];
+            }
+            diagonal[last] = diagonal[last - sumWidth - 1];
+        }
+    }
+
+    /**
+     * Sets the next generation of every cell into the
+     * <code>nextCells</code>.
+     *
+     * @see #setNextGenerationRows(int, int)
+     */
+    @Override
+    public void updateNeighbourBoard() {
+        setNextGenerationRows(0, numRows);
+    }
+
+    /**
+     * Sets the next generation of the cells in the rows from
+     * <code>firstRow</code> to <code>lastRow</code> into the
+     * <code>nextCells</code>, counting the neighbours from the tables of sums
+     * and looking the new cell state up in the table of the
+     * <code>RangeRule</code>.
+     *
+     * Only the rows of the partition are written, so partitions can be set at
+     * the same time between <code>beforeSetGeneration</code> and
+     * <code>setNewGenValues</code>.
+     *
+     * @param firstRow the first row of the partition
+     * @param lastRow the row after the partition
+     */
+    public void setNextGenerationRows(int firstRow, int lastRow) {
+        if (rangeRule.isVonNeumann()) {
+            setNextGenerationDiamonds(firstRow, lastRow);
+            return;
+        }
+        byte[] table = rangeRule.getTable();
+        int span = rangeRule.getNeighbourhoodSize() + 1;
+        int states = rangeRule.getStates();
+        int range = rangeRule.getRange();
+        int side = 2 * range + 1;
+        int sumWidth = numColumns + side;
+        int[] sum = sums;
+        byte[] board = cells;
+        byte[] next = nextCells;
+        PlaneHash[] changes = rowChanges;
+        for (int row = firstRow; row < lastRow; row++) {
+            int top = row * sumWidth;
+            int bottom = top + side * sumWidth;
+            int start = row * numColumns;
+            int alive = 0;
+            int changed = 0;
+            for (int col = 0; col < numColumns; col++) {
+                int count = sum[bottom + col + side] - sum[top + col + side]
+                        - sum[bottom + col] + sum[top + col];
+                int cellState = board[start + col] & 0xFF;
+                int newVal = cellState <= 1 ? table[cellState * span + count]
+                        : cellState + 1 < states ? cellState + 1 : 0;
+                next[start + col] = (byte) newVal;
+                alive += newVal == 1 ? 1 : 0;
+                if (newVal != cellState) {
+                    changed++;
+                }
+            }
+            rowAlive[row] = alive;
+            rowChanged[row] = changed;
+            if (changes != null) {
+                addChanges(changes[row], row, changed);
+            }
+        }
+    }
+
+    /**
+     * Sets the next generation of the rows from <code>firstRow</code> to
+     * <code>lastRow</code> for the von Neumann neighbourhood. The diamond of
+     * the first cell of a row is counted cell by cell, and then moved along the
+     * row with the diagonals.
+     *
+     * @param firstRow the first row of the partition
+     * @param lastRow the row after the partition
+     */
+    private void setNextGenerationDiamonds(int firstRow, int lastRow) {
+        byte[] table = rangeRule.getTable();
+        int span = rangeRule.getNeighbourhoodSize() + 1;
+        int states = rangeRule.getStates();
+        int range = rangeRule.getRange();
+        int sumWidth = numColumns + 2 * range + 1;
+        int[] diagonal = sums;
+        int[] antiDiagonal = antiSums;
+        byte[] board = cells;
+        byte[] next = nextCells;
+        PlaneHash[] changes = rowChanges;
+        for (int row = firstRow; row < lastRow; row++) {
+            //Row i of the board is row i + range + 1 of the tables
+            int above = (row + range) * sumWidth + range;
+            int mid = above + sumWidth;
+            int topEdge = row * sumWidth + range;
+            int bottomEdge = mid + range * sumWidth;
+            int start = row * numColumns;
+            int count = countDiamond(row, 0, range);
+            int alive = 0;
+            int changed = 0;
+            for (int col = 0; col < numColumns; col++) {
+                int cellState = board[start + col] & 0xFF;
+                int newVal = cellState <= 1 ? table[cellState * span + count]
+                        : cellState + 1 < states ? cellState + 1 : 0;
+                next[start + col] = (byte) newVal;
+                alive += newVal == 1 ? 1 : 0;
+                if (newVal != cellState) {
+                    changed++;
+                }
+                //Adds the east edges of the next diamond and takes away the west edges
+                count += diagonal[above + col + range] - diagonal[topEdge + col]
+                        + antiDiagonal[bottomEdge + col + 1] - antiDiagonal[above + col + range + 2]
+                        - antiDiagonal[mid + col - range] + antiDiagonal[topEdge + col + 1]
+                        - diagonal[bottomEdge + col] + diagonal[mid + col - range];
+            }
+            rowAlive[row] = alive;
+            rowChanged[row] = changed;
+            if (changes != null) {
+                addChanges(changes[row], row, changed);
+            }
+        }
+    }
+
+    /**
+     * Counts the cells of a row which change state in the next generation
+     * into the <code>PlaneHash</code> of the row. The row is only read again
+     * if there are changes, which are few once a pattern has settled.
+     *
+     * @param change the <code>PlaneHash</code> of the row
+     * @param row the row
+     * @param changed the number of cells of the row which change state
+     */
+    private void addChanges(PlaneHash change, int row, int changed) {
+        change.clear();
+        int start = row * numColumns;
+        long planeRow = originRow + row;
+        long rowKey = PlaneHash.rowKey(planeRow);
+        for (int col = 0; changed > 0; col++) {
+            int diff = (nextCells[start + col] & 0xFF) - (cells[start + col] & 0xFF);
+            if (diff != 0) {
+                long planeCol = originCol + col;
+                change.add(planeRow, planeCol, rowKey * PlaneHash.columnKey(planeCol), diff);
+                changed--;
+            }
+        }
+    }
+
+    /**
+     * Counts the live cells of the diamond around a cell one by one.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @param range the range of the diamond
+     * @return the number of live cells in the diamond, with the cell itself
+     */
+    private int countDiamond(int row, int col, int range) {
+        int count = 0;
+        for (int i = Math.max(0, row - range); i <= Math.min(numRows - 1, row + range); i++) {
+            int reach = range - Math.abs(i - row);
+            for (int j = Math.max(0, col - reach); j <= Math.min(numColumns - 1, col + reach); j++) {
+                count += cells[i * numColumns + j] == 1 ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Swaps the <code>nextCells</code> with the <code>cells</code> and sets
+     * the <code>aliveCells</code> from the alive cells of each row. The
+     * changes of the rows are added to the <code>PlaneHash</code>, and the
+     * board is <code>unchanged</code> if there are none.
+     */
+    @Override
+    public void setNewGenValues() {
+        byte[] swap = cells;
+        cells = nextCells;
+        nextCells = swap;
+        int alive = 0;
+        int changed = 0;
+        for (int row = 0; row < numRows; row++) {
+            alive += rowAlive[row];
+            changed += rowChanged[row];
+            if (planeHash != null && rowChanges != null && rowChanged[row] != 0) {
+                planeHash.add(rowChanges[row]);
+            }
+        }
+        aliveCells = alive;
+        unchanged = changed == 0;
+        if (rowChanges == null) {
+            //The hash was counted during the generation, without the changes of the rows
+            planeHash = null;
+        }
+    }
+
+    /**
+     * A <code>RangeRule</code> never gives birth without neighbours, so a
+     * <code>RangeBoard</code> can not set rule sets with B0.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isB0Supported() {
+        return false;
+    }
+
+    /**
+     * Checks if dimensions of the board exceeds 2000. If so the outer rows and
+     * columns are set to 0, the same way as in the <code>DynamicBoard</code>.
+     *
+     * @see DynamicBoard#sizeTest()
+     */
+    @Override
+    public void sizeTest() {
+        if (getWidth() >= 2000) {
+            for (int row = 0; row < numRows; row++) {
+                setCell(row, 0, 0);
+                setCell(row, numColumns - 1, 0);
+            }
+            if (getHeight() >= 2000) {
+                for (int col = 0; col < numColumns; col++) {
+                    setCell(0, col, 0);
+                    setCell(numRows - 1, col, 0);
+                }
+            }
+        }
+    }
+
+    //--------------------------DRAW LOGIC------------------------------------//
+    /**
+     * Draws the cells of the board. The higher states of a Generations rule
+     * set fade towards the <code>backGroundColor</code>, and the placement is
+     * adjusted for rows and columns added at the top and the left side, the
+     * same way as in the <code>DynamicBoard</code>.
+     *
+     * @param gc the <code>GraphicsContext</code> used to draw
+     * @param cInfo the <code>CanvasInfo</code>-object containing information
+     * about the canvas
+     */
+    @Override
+    public void draw(GraphicsContext gc, CanvasInfo cInfo) {
+        gc.setFill(backGroundColor);
+        gc.fillRect(0, 0, cInfo.getCanvasWidth(), cInfo.getCanvasheight());
+
+        if (topExist) {
+            drawTopBoard(gc, cInfo);
+        }
+        double cellSize = cInfo.getCellSize();
+        cInfo.setPlacementX(placeColVar);
+        cInfo.setPlacementY(placeRowVar);
+        placeRowVar = 0;
+        placeColVar = 0;
+        double placementX = cInfo.getPlacementX();
+        double placementY = cInfo.getPlacementY();
+
+        gc.setStroke(gridColor);
+        if (grid) {
+            for (int x = 0; x < numRows; x++) {
+                for (int y = 0; y < numColumns; y++) {
+                    gc.strokeRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize, cellSize);
+                }
+            }
+        }
+
+        int states = rangeRule.getStates();
+        Color[] stateColors = new Color[states];
+        for (int state = 1; state < states; state++) {
+            stateColors[state] = cellColor.interpolate(backGroundColor, (state - 1) / (double) (states - 1));
+        }
+        gc.setFill(cellColor);
+        int fill = 1;
+        for (int x = 0; x < numRows; x++) {
+            for (int y = 0; y < numColumns; y++) {
+                int cellState = cells[x * numColumns + y] & 0xFF;
+                if (cellState != 0) {
+                    if (cellState != fill) {
+                        gc.setFill(stateColors[cellState]);
+                        fill = cellState;
+                    }
+                    gc.fillRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize - 0.1, cellSize - 0.1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Alters the cell state of the cell at (<code>row</code>, <code>col</code>).
+     * If the cell is outside of the board, rows or columns are added at that
+     * side as long as the board stays smaller than <code>maxSize</code>.
+     *
+     * @param row the row of the current cell
+     * @param col the column of the current cell
+     * @param erase erases (1 into 0) if <code>true</code> or draws (0 into 1)
+     * if <code>false</code>
+     * @param maxSize when the Board will no longer expand on mouseclick.
+     */
+    @Override
+    public void setCellValue(int row, int col, boolean erase, int maxSize) {
+        if (col < numColumns && col > -1 && row < numRows && row > -1) {
+            if (erase) {
+                setCell(row, col, 0);
+            } else if (getCellState(row, col) != 1) {
+                setCell(row, col, 1);
+                aliveCells++;
+            }
+        } else if (!erase && (Math.abs(row) + numRows < maxSize
+                || Math.abs(col) + numColumns < maxSize)) {
+            int top = row < 0 ? -row : 0;
+            int bottom = row >= numRows ? row - numRows + 1 : 0;
+            int left = col < 0 ? -col : 0;
+            int right = col >= numColumns ? col - numColumns + 1 : 0;
+            resize(top, bottom, left, right);
+            setCell(row + top, col + left, 1);
+            aliveCells++;
+        }
+    }
+
+    //-----------------------BOUNDING LOGIC----------------------------------//
+    /**
+     * Collects the outer rows and columns where there are live cells.
+     * boundingBox[4] // minrow maxrow mincolumn maxcolumn
+     *
+     * @return an array witch describes where the active rows and columns start
+     * and end.
+     */
+    @Override
+    public int[] getBoundingBox() {
+        int[] boundingBox = {numRows, 0, numColumns, 0};
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (cells[row * numColumns + col] == 1) {
+                    boundingBox[0] = Math.min(boundingBox[0], row);
+                    boundingBox[1] = Math.max(boundingBox[1], row);
+                    boundingBox[2] = Math.min(boundingBox[2], col);
+                    boundingBox[3] = Math.max(boundingBox[3], col);
+                }
+            }
+        }
+        return boundingBox;
+    }
+
+    @Override
+    public String getBoundingBoxPattern() {
+        int[] boundingBox = getBoundingBox();
+        StringBuilder pattern = new StringBuilder();
+        for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
+            for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
+                pattern.append(getCellState(i, j));
+            }
+        }
+        return pattern.toString();
+    }
+
+    //--------------------------SETTERS AND GETTERS------------------------//
+    @Override
+    public int getSumOfAlive() {
+        int sum = 0;
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (cells[row * numColumns + col] == 1) {
+                    sum += row + col;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the cells, kept up to date with the
+     * cells that change state in every generation and the cells that are set.
+     * The hash is only counted from every cell the first time it is asked
+     * for.
+     *
+     * @return the hash of the cells
+     */
+    @Override
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+            for (int row = 0; row < numRows; row++) {
+                long rowKey = PlaneHash.rowKey(originRow + row);
+                for (int col = 0; col < numColumns; col++) {
+                    int cellState = cells[row * numColumns + col] & 0xFF;
+                    if (cellState != 0) {
+                        planeHash.add(originRow + row, originCol + col,
+                                rowKey * PlaneHash.columnKey(originCol + col), cellState);
+                    }
+                }
+            }
+        }
+        return planeHash;
+    }
+
+    /**
+     * The <code>PlaneHash</code> is kept up to date in
+     * <code>setNewGenValues</code>.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean hasIncrementalHash() {
+        return true;
+    }
+
+    @Override
+    public int getHeight() {
+        return numRows;
+    }
+
+    @Override
+    public int getWidth() {
+        return numColumns;
+    }
+
+    /**
+     * Creates a <code>String</code>-representation of the board, without
+     * newlines, in the same format as the <code>DynamicBoard</code>.
+     *
+     * @return the <code>String</code>-representation of the board
+     */
+    @Override
+    public String toString() {
+        StringBuilder sr = new StringBuilder();
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                sr.append(getCellState(row, col));
+            }
+        }
+        return sr.toString();
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An immutable Larger than Life rule set, such as Bosco's rule
+ * R5,C0,M1,S34..58,B34..45,NM. The neighbours of a cell are every cell within
+ * the <code>range</code> of it, in a square of (2R + 1)x(2R + 1) cells for
+ * the Moore neighbourhood or in a diamond for the von Neumann neighbourhood,
+ * where the rows and columns together are no more than R cells away. If
+ * <code>middle</code> is set the cell itself is counted as well.
+ *
+ * The birth and survival rules are lists of the numbers of neighbours, each
+ * a single number or a range from min to max, so "34..58" or "2..3,5". The
+ * rules are compiled into the <code>table</code> of the new cell state for
+ * every cell state and number of live cells in the neighbourhood, always
+ * counting the cell itself, which is what the <code>RangeBoard</code> counts.
+ *
+ * A rule set of more than two <code>states</code> moves on in the same way
+ * as a Generations <code>Rule</code>: a live cell which does not survive
+ * moves on to state 2, and every state above 1 moves on to the next state
+ * each generation until the last state moves on to 0.
+ *
+ * @author M.S.Olsen, T.Dahll
+ * @see RangeBoard
+ * @see Rule
+ */
+public final class RangeRule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The largest range of a rule set, the same as in Golly.
+     */
+    public static final int MAX_RANGE = 500;
+
+    private final int range;
+    private final int states;
+    private final boolean middle;
+    private final boolean vonNeumann;
+
+    /**
+     * The birth and survival rules as given, used by
+     * <code>getRuleString</code>.
+     */
+    private final String birth, survival;
+
+    /**
+     * The new cell state of a dead cell with <code>count</code> live cells in
+     * its neighbourhood at index <code>count</code>, and of a live cell at
+     * index <code>getNeighbourhoodSize() + 1 + count</code>. The count always
+     * includes the cell itself.
+     */
+    private final byte[] table;
+
+    /**
+     * Creates a rule set of the given <code>range</code>, number of
+     * <code>states</code> and neighbourhood, from the survival rule
+     * <code>sValue</code> and the birth rule <code>bValue</code>.
+     *
+     * @param range the range of the neighbourhood, from 1 to
+     * <code>MAX_RANGE</code>
+     * @param states the number of cell states, 0 or 2 to
+     * <code>Rule.MAX_STATES</code>, 0 means 2 as in Golly
+     * @param middle <code>true</code> if the cell itself is counted
+     * @param sValue the numbers of neighbours a live cell survives with
+     * @param bValue the numbers of neighbours a dead cell is born with
+     * @param vonNeumann <code>true</code> for the von Neumann neighbourhood,
+     * <code>false</code> for the Moore neighbourhood
+     * @throws IllegalArgumentException if a number is out of range, or if a
+     * dead cell is born without neighbours
+     */
+    public RangeRule(int range, int states, boolean middle, String sValue,
+            String bValue, boolean vonNeumann) {
+        if (range < 1 || range > MAX_RANGE) {
+            throw new IllegalArgumentException("A range rule has a range of 1 to " + MAX_RANGE + ", not " + range);
+        }
+        if (states == 0) {
+            states = 2;
+        }
+        if (states < 2 || states > Rule.MAX_STATES) {
+            throw new IllegalArgumentException("A range rule has 2 to " + Rule.MAX_STATES + " states, not " + states);
+        }
+        this.range = range;
+        this.states = states;
+        this.middle = middle;
+        this.vonNeumann = vonNeumann;
+        this.survival = sValue;
+        this.birth = bValue;
+
+        int size = getNeighbourhoodSize();
+        boolean[] born = counts(bValue, size);
+        boolean[] survives = counts(sValue, size);
+        if (born[0]) {
+            throw new IllegalArgumentException("A range rule can not give birth without neighbours");
+        }
+        byte dying = (byte) (states > 2 ? 2 : 0);
+        table = new byte[2 * (size + 1)];
+        for (int count = 0; count <= size; count++) {
+            table[count] = (byte) (born[count] ? 1 : 0);
+            //A live cell counts itself, which is taken away unless it is in the rule
+            int neighbours = middle ? count : count - 1;
+            boolean alive = neighbours >= 0 && survives[neighbours];
+            table[size + 1 + count] = alive ? 1 : dying;
+        }
+    }
+
+    /**
+     * Creates the rule set of range 1 with the same birth and survival as a
+     * totalistic <code>Rule</code>, which counts the eight cells around the
+     * cell in the Moore neighbourhood.
+     *
+     * @param rule the rule set
+     * @throws IllegalArgumentException if the rule set is not totalistic or
+     * gives birth without neighbours
+     */
+    public RangeRule(Rule rule) {
+        this(1, rule.getStates(), false, counts(rule.getSurviveArray()),
+                counts(rule.getBirthArray()), false);
+        if (!rule.isTotalistic()) {
+            throw new IllegalArgumentException("Only totalistic rules have a range rule, not " + rule);
+        }
+    }
+
+    private static String counts(int[] counts) {
+        StringBuilder value = new StringBuilder();
+        for (int count : counts) {
+            value.append(value.length() > 0 ? "," : "").append(count);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Reads a list of numbers of neighbours, single numbers or ranges such as
+     * "2..3", separated by commas.
+     *
+     * @param value the list
+     * @param size the largest number of neighbours
+     * @return <code>true</code> at the index of each number in the list
+     */
+    private static boolean[] counts(String value, int size) {
+        boolean[] counts = new boolean[size + 1];
+        for (String part : value.split(",")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            String[] ends = part.split("\\.\\.", 2);
+            int min;
+            int max;
+            try {
+                min = Integer.parseInt(ends[0]);
+                max = ends.length > 1 ? Integer.parseInt(ends[1]) : min;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a number of neighbours: " + part);
+            }
+            if (min < 0 || max > size || min > max) {
+                throw new IllegalArgumentException("The neighbourhood has 0 to " + size + " neighbours, not " + part);
+            }
+            Arrays.fill(counts, min, max + 1, true);
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the number of cells in the neighbourhood of a cell, with the cell
+     * itself.
+     *
+     * @return (2R + 1)^2 for the Moore neighbourhood, 2R(R + 1) + 1 for the
+     * von Neumann neighbourhood
+     */
+    public int getNeighbourhoodSize() {
+        return vonNeumann ? 2 * range * (range + 1) + 1 : (2 * range + 1) * (2 * range + 1);
+    }
+
+    /**
+     * Gets the new cell state of a cell of state 0 or 1.
+     *
+     * @param cellState the state of the cell, 0 or 1
+     * @param count the number of live cells in the neighbourhood, with the
+     * cell itself
+     * @return the new cell state
+     */
+    public byte nextState(int cellState, int count) {
+        return table[cellState * (getNeighbourhoodSize() + 1) + count];
+    }
+
+    /**
+     * Gets the <code>table</code> itself, for the <code>RangeBoard</code>
+     * which reads it in every generation. The table must not be changed.
+     *
+     * @return the new cell state of every cell state and count
+     */
+    byte[] getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the range of the neighbourhood.
+     *
+     * @return the range
+     */
+    public int getRange() {
+        return range;
+    }
+
+    /**
+     * Gets the number of cell <code>states</code> of the rule set.
+     *
+     * @return the number of states, 2 unless it is a Generations rule set
+     */
+    public int getStates() {
+        return states;
+    }
+
+    /**
+     * Checks if the cell itself is counted as a neighbour.
+     *
+     * @return <code>true</code> if the middle is counted
+     */
+    public boolean isMiddle() {
+        return middle;
+    }
+
+    /**
+     * Checks if the neighbourhood is a von Neumann diamond.
+     *
+     * @return <code>true</code> for the von Neumann neighbourhood,
+     * <code>false</code> for the Moore neighbourhood
+     */
+    public boolean isVonNeumann() {
+        return vonNeumann;
+    }
+
+    /**
+     * Returns the rule set on the form of Golly, for instance
+     * "R5,C0,M1,S34..58,B34..45,NM".
+     *
+     * @return the ruleString representing the rule set
+     */
+    public String getRuleString() {
+        return "R" + range + ",C" + (states == 2 ? 0 : states) + ",M" + (middle ? 1 : 0)
+                + ",S" + survival + ",B" + birth + ",N" + (vonNeumann ? "N" : "M");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RangeRule && ((RangeRule) other).range == range
+                && ((RangeRule) other).states == states
+                && ((RangeRule) other).vonNeumann == vonNeumann
+                && Arrays.equals(((RangeRule) other).table, table);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * range + states) + (vonNeumann ? 1 : 0)) + Arrays.hashCode(table);
+    }
+
+    @Override
+    public String toString() {
+        return getRuleString();
+    }
+
+}
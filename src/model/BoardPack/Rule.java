@@ -5,75 +5,312 @@
  */
 package model.BoardPack;
 
+import java.io.Serializable;
+import java.util.Arrays;
+
 /**
- * Processing of operations related to the current rule set. The class extracts
- * the values which should be used for the birth rule and the survival rule,
- * assigns the numeric value(s) for the birth rule to the <code>int[]</code>
- * <code>birthArray</code> and the numeric value(s) for the survival rule to the
- * <code>int[]</code> <code>surviveArray</code>. The <code>birthArray</code> and
- * the <code>surviveArray</code> is further used to determine the new cell state
- * for a cell by using the number of neighbors and the current cell state.
- * 
+ * An immutable rule set. The birth rule and the survival rule are compiled
+ * into the <code>transitions</code>, a table with one bit for every cell state
+ * and number of neighbours, which is used to determine the new cell state for
+ * a cell by using the number of neighbors and the current cell state.
+ *
+ * The rules may also be isotropic non-totalistic, written in Hensel notation
+ * such as B2n3/S23-q, where the letters after a number of neighbours select
+ * which shapes of that many neighbours are included, or with a '-' which are
+ * left out. These rules are compiled into the <code>table</code> of every
+ * 3x3 <code>neighbourhood</code>, and only totalistic rules can be read from
+ * the <code>transitions</code>.
+ *
+ * A rule set of the Generations family, such as Brian's Brain B2/S/C3, has
+ * more than two cell <code>states</code>. Only the cells of state 1 are alive
+ * and counted as neighbours. A live cell which does not survive moves on to
+ * state 2 instead of dying, and every state above 1 moves on to the next
+ * state each generation, until the last state moves on to 0. The birth and
+ * survival rules are the same as for two states.
+ *
+ * A rule set with B0, where a dead cell without neighbours is born, turns
+ * the whole empty plane alive. The boards set such a rule set with the
+ * <code>complement</code> rule sets instead, which store every other
+ * generation, or every generation after the first if the rule set also has
+ * S8, as its complement, so the plane stays dead in the stored cells.
+ *
+ * Every <code>Board</code> has its own <code>Rule</code>, so boards with
+ * different rule sets can be simulated at the same time, on different
+ * threads. A <code>Rule</code> can not be changed; a new rule set is set on a
+ * board with <code>Board.setRule</code>.
+ *
  * @author M.S.Olsen, T.Dahll
+ * @see Board#setRule(Rule)
  */
-public class Rule {
+public final class Rule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of bits used for each cell state in the
+     * <code>transitions</code>, one for each number of neighbours from 0 to 8.
+     */
+    public static final int STATE_BITS = 9;
+
+    /**
+     * The number of neighbourhoods of the <code>table</code>. A neighbourhood
+     * holds the 3x3 cells around a cell, row by row from the north west, one
+     * bit for each: NW is bit 8, N bit 7, NE bit 6, W bit 5, the cell itself
+     * bit 4, E bit 3, SW bit 2, S bit 1 and SE bit 0. The three bits of a row
+     * are W, the middle and E, so the neighbourhood of the next cell to the
+     * east is <code>((neighbourhood &lt;&lt; 1) &amp; NEXT_COLUMNS)</code> with
+     * the new column of three cells added at bits 6, 3 and 0.
+     */
+    public static final int NEIGHBOURHOODS = 512;
+
+    /**
+     * The bits of a <code>neighbourhood</code> which are kept when it is moved
+     * one cell to the east.
+     */
+    public static final int NEXT_COLUMNS = 0x1B6;
+
+    private static final int CENTRE = 1 << 4;
+
+    /**
+     * The largest number of cell <code>states</code>, so that every state
+     * fits in the <code>byte</code> of a cell.
+     */
+    public static final int MAX_STATES = 256;
+
+    /**
+     * The letters of Hensel notation for 1 to 4 neighbours, and one
+     * neighbourhood of each letter. The neighbourhoods of a letter are this
+     * neighbourhood rotated and reflected, the letters of 5 to 7 neighbours
+     * are the cells around the neighbourhoods of 3 to 1 neighbours.
+     */
+    private static final String[] LETTERS = {
+        "", "ce", "ceaikn", "ceaiknjqry", "ceaiknjqrytwz"};
+    private static final int[][] SHAPES = {
+        {},
+        {256, 128},
+        {320, 160, 384, 40, 264, 68},
+        {324, 168, 416, 448, 140, 352, 224, 196, 296, 268},
+        {325, 170, 480, 360, 396, 452, 172, 204, 424, 332, 300, 228, 108}};
+
+    /**
+     * Conway's rules, B3/S23. The default rule set of every board.
+     */
+    public static final Rule CONWAY = new Rule("3", "23");
+
+    /**
+     * The rule set compiled into a transition table of 18 bits. Bit
+     * <code>n</code> is set if a dead cell with <code>n</code> neighbours is
+     * born, and bit <code>STATE_BITS + n</code> is set if a live cell with
+     * <code>n</code> neighbours survives.
+     */
+    private final int transitions;
 
     /**
-     * The <code>int[]</code> representation of the "birth"-rules. Contains the
-     * number of cells that is required for a cell with cell state = 0 to become
-     * a cell with cell state = 1. The default value is the 3 (Conway's rules).
+     * The new cell state of every <code>neighbourhood</code>. Bit
+     * <code>n</code> of the <code>transitions</code> is set if any
+     * neighbourhood of <code>n</code> neighbours gives birth, and bit
+     * <code>STATE_BITS + n</code> if any gives survival.
      */
-    private static int[] birthArray = {3};
+    private final byte[] table = new byte[NEIGHBOURHOODS];
 
     /**
-     * The <code>int[]</code> representation of the "survive"-rules. Contains
-     * the number of cells that is required for a cell with cell state = 1 to
-     * become a cell with cell state = 1. The default value is the 2 and 3
-     * (Conway's rules).
+     * <code>true</code> if the new cell state only depends on the number of
+     * neighbours, which is the case for every rule without letters.
      */
-    private static int[] surviveArray = {2, 3};
+    private final boolean totalistic;
 
     /**
-     * The <code>String</code>-representation of the rule set.
+     * The number of cell states, 2 for the rule sets of live and dead cells
+     * only.
      */
-    private static String ruleString = "B3/S23";
+    private final int states;
+
+    /**
+     * Creates a rule set of two cell states from the birth rule
+     * <code>bValue</code> and the survival rule <code>sValue</code>.
+     *
+     * @param bValue the birth rule (the number of neighbors needed for a 0 to 1
+     * transition)
+     * @param sValue the survival rule (the number of neighbors needed for 1 to
+     * 1 transition)
+     * @see #Rule(String, String, int)
+     */
+    public Rule(String bValue, String sValue) {
+        this(bValue, sValue, 2);
+    }
 
     /**
-     * Returns the current <code>ruleString</code>.
+     * Creates a rule set from the birth rule <code>bValue</code> and the
+     * survival rule <code>sValue</code>, with <code>states</code> cell
+     * states. Digits outside of [0, 8] can never match a number of neighbours
+     * and are ignored. A digit may be followed by the Hensel letters of the
+     * shapes to include, or by a '-' and the letters of the shapes to leave
+     * out, letters which do not belong to the digit select no shapes.
      *
-     * @return the ruleString representing the rule set of the current board
+     * @param bValue the birth rule (the number of neighbors needed for a 0 to 1
+     * transition)
+     * @param sValue the survival rule (the number of neighbors needed for 1 to
+     * 1 transition)
+     * @param states the number of cell states, from 2 to
+     * <code>MAX_STATES</code>
+     * @throws IllegalArgumentException if the number of states is out of range
      */
-    public static String getRuleString() {
-        return ruleString;
+    public Rule(String bValue, String sValue, int states) {
+        if (states < 2 || states > MAX_STATES) {
+            throw new IllegalArgumentException("A rule set has 2 to " + MAX_STATES + " states, not " + states);
+        }
+        this.states = states;
+        addNeighbourhoods(bValue, 0);
+        addNeighbourhoods(sValue, CENTRE);
+        transitions = transitions(table);
+        totalistic = totalistic(table, transitions);
     }
 
     /**
-     * Convert a <code>String</code> to an <code>int[]</code> for later use in
-     * <code>rleRules</code>.
+     * Creates a rule set of two cell states from the <code>table</code> of
+     * every neighbourhood.
      *
-     * @param rule is the rulestring, which represents the rule set
-     * @return the <code>int[][]</code>-representation of the birth rule or the
-     * survival rule
+     * @param table the new cell state of every neighbourhood
      */
-    @Deprecated
-    public static int[] toIntArray(String rule) {
-        int[] intArray = new int[String.valueOf(rule).length()];
+    private Rule(byte[] table) {
+        this.states = 2;
+        System.arraycopy(table, 0, this.table, 0, NEIGHBOURHOODS);
+        transitions = transitions(table);
+        totalistic = totalistic(table, transitions);
+    }
 
-        for (int i = 0; i < rule.length(); i++) {
-            intArray[i] = Character.digit(rule.charAt(i), 10);
+    /**
+     * Compiles the <code>transitions</code> of a <code>table</code>.
+     */
+    private static int transitions(byte[] table) {
+        int mask = 0;
+        for (int neighbourhood = 0; neighbourhood < NEIGHBOURHOODS; neighbourhood++) {
+            if (table[neighbourhood] == 1) {
+                int cellState = (neighbourhood & CENTRE) != 0 ? 1 : 0;
+                mask |= 1 << (cellState * STATE_BITS + neighbours(neighbourhood));
+            }
         }
+        return mask;
+    }
 
-        int[] ruleArray = intArray;
+    /**
+     * Checks if a <code>table</code> gives the same cell states as its
+     * <code>transitions</code>.
+     */
+    private static boolean totalistic(byte[] table, int transitions) {
+        boolean same = true;
+        for (int neighbourhood = 0; neighbourhood < NEIGHBOURHOODS; neighbourhood++) {
+            int cellState = (neighbourhood & CENTRE) != 0 ? 1 : 0;
+            same &= table[neighbourhood] == nextState(transitions, cellState, neighbours(neighbourhood));
+        }
+        return same;
+    }
+
+    /**
+     * Sets the neighbourhoods of a birth or survival rule in the
+     * <code>table</code>.
+     *
+     * @param value the rule, digits with optional Hensel letters
+     * @param centre the bit of the cell itself, 0 for birth
+     */
+    private void addNeighbourhoods(String value, int centre) {
+        for (int i = 0; i < value.length(); i++) {
+            int count = Character.digit(value.charAt(i), 10);
+            if (count < 0 || count >= STATE_BITS) {
+                continue;
+            }
+            boolean exclude = i + 1 < value.length() && value.charAt(i + 1) == '-';
+            int end = exclude ? i + 2 : i + 1;
+            while (end < value.length() && Character.isLetter(value.charAt(end))) {
+                end++;
+            }
+            String letters = value.substring(exclude ? i + 2 : i + 1, end).toLowerCase();
+            for (int neighbourhood = 0; neighbourhood < NEIGHBOURHOODS; neighbourhood++) {
+                if ((neighbourhood & CENTRE) != centre || neighbours(neighbourhood) != count) {
+                    continue;
+                }
+                boolean inLetters = letters.indexOf(letter(neighbourhood)) >= 0;
+                if (letters.isEmpty() || inLetters != exclude) {
+                    table[neighbourhood] = 1;
+                }
+            }
+            i = end - 1;
+        }
+    }
 
-        return ruleArray;
+    /**
+     * Counts the neighbours of a <code>neighbourhood</code>.
+     */
+    private static int neighbours(int neighbourhood) {
+        return Integer.bitCount(neighbourhood & ~CENTRE);
+    }
+
+    /**
+     * Finds the Hensel letter of the shape of the neighbours of a
+     * <code>neighbourhood</code>, by comparing it rotated and reflected with
+     * the <code>SHAPES</code>.
+     *
+     * @param neighbourhood the neighbourhood
+     * @return the letter of the shape, or 0 for 0 and 8 neighbours
+     */
+    private static char letter(int neighbourhood) {
+        int cells = neighbourhood & ~CENTRE;
+        int count = Integer.bitCount(cells);
+        boolean complement = count > 4;
+        if (complement) {
+            cells = ~cells & 0x1FF & ~CENTRE;
+            count = 8 - count;
+        }
+        for (int turn = 0; turn < 8; turn++) {
+            for (int i = 0; i < SHAPES[count].length; i++) {
+                if (SHAPES[count][i] == cells) {
+                    return LETTERS[count].charAt(i);
+                }
+            }
+            cells = turn == 3 ? reflect(cells) : rotate(cells);
+        }
+        return 0;
+    }
+
+    /**
+     * Turns the cells of a neighbourhood a quarter turn clockwise.
+     */
+    private static int rotate(int cells) {
+        int turned = 0;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                if ((cells & bit(row, col)) != 0) {
+                    turned |= bit(col, 2 - row);
+                }
+            }
+        }
+        return turned;
+    }
+
+    /**
+     * Mirrors the cells of a neighbourhood from west to east.
+     */
+    private static int reflect(int cells) {
+        int mirrored = 0;
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                if ((cells & bit(row, col)) != 0) {
+                    mirrored |= bit(row, 2 - col);
+                }
+            }
+        }
+        return mirrored;
+    }
+
+    private static int bit(int row, int col) {
+        return 1 << (8 - (row * 3 + col));
     }
 
     /**
      * Tests the cell with its <code>cellState</code> with the corresponding
      * number of neighbors, <code>numNeighbours</code>. The return value is
-     * either 0 or 1, determined by the four variables <code>cellState</code>,
-     * <code>numNeighbours</code>, <code>birthArray</code> and
-     * <code>surviveArray</code>.
+     * either 0 or 1, determined by the <code>cellState</code>, the
+     * <code>numNeighbours</code> and the <code>transitions</code>.
      *
      * Example of usage: B36/S23 (B for birth and S for survival). If a dead
      * cell(0) has 3 or 6 neighbors: turns alive (0 becomes 1). If not 3 or 6:
@@ -85,99 +322,255 @@ public class Rule {
      * @param cellState the state of the current cell (0 or 1)
      * @param numNeighbours the number of neighbors of the current cell [0, 8]
      * @return return the new cell state (0 or 1)
+     * @see #nextState(int, int, int)
      */
-     public static byte rleRules(int cellState, int numNeighbours){
-		
-        int returnState = 0;
-        int numB = 0;
-	int numS = 0;
-        
-        if(cellState == 0)
-        {
-             for(int i = 0; i < birthArray.length; i++)
-                { 
-                    
-                    numB = birthArray[i];
-                    if(numNeighbours == numB)
-                    { 
-                        returnState = 1;
-                        break;
-                    }
-                }
-        } else if(cellState == 1)
-        {
-            
-            for(int i = 0; i < surviveArray.length; i++)
-            { 
-
-                numS = surviveArray[i];
-                if (numNeighbours == numS) {
-                    returnState = 1;
-                    break;
-                }
-            }
-            if (numNeighbours != numS) {
-                returnState = 0;
+    public byte rleRules(int cellState, int numNeighbours) {
+        return nextState(transitions, cellState, numNeighbours);
+    }
 
-            }
-        }
-        return (byte) returnState;
+    /**
+     * Looks up the new cell state in a transition table read with
+     * <code>getTransitions</code>. Boards which test many cells keep the table
+     * in a local variable and use this method.
+     *
+     * @param transitions the transition table
+     * @param cellState the state of the current cell (0 or 1)
+     * @param numNeighbours the number of neighbors of the current cell [0, 8]
+     * @return the new cell state (0 or 1)
+     */
+    public static byte nextState(int transitions, int cellState, int numNeighbours) {
+        return (byte) ((transitions >>> (cellState * STATE_BITS + numNeighbours)) & 1);
     }
 
     /**
-     * Setting a new <code>ruleString</code>. The String represents a rule set
-     * on the form "Bx/Sx" or "s/b" which is used to extract the variables
-     * representing the rules.
+     * Looks up the new cell state of a <code>neighbourhood</code>.
      *
-     * @param aRuleString the ruleString to set
+     * @param neighbourhood the 3x3 cells around the cell, with the cell
+     * @return the new cell state (0 or 1)
+     * @see #NEIGHBOURHOODS
      */
-    public static void setRuleString(String aRuleString) {
-        ruleString = aRuleString;
+    public byte nextState(int neighbourhood) {
+        return table[neighbourhood];
     }
 
     /**
-     * Sets the birth variable and the survive variable from their respective
-     * Strings, <code>bValue</code> and <code>sValue</code> respectively. This
-     * method places the integer values of parameters into the respective
-     * <code>int[]</code> for further usage.
+     * Gets a copy of the <code>table</code> of every neighbourhood.
      *
-     * @param bValue the birth rule (the number of neighbors needed for a 0 to 1
-     * transition)
-     * @param sValue the survival rule (the number of neighbors needed for 1 to
-     * 1 transition)
+     * @return the new cell state of every neighbourhood
+     * @see #NEIGHBOURHOODS
      */
-    public static void setRules(String bValue, String sValue) {
-        birthArray = new int[bValue.length()];
-        surviveArray = new int[sValue.length()];
+    public byte[] getNeighbourhoodTable() {
+        return table.clone();
+    }
 
-        for (int i = 0; i < birthArray.length; i++) {
-            birthArray[i] = Character.digit(bValue.charAt(i), 10);
-        }
+    /**
+     * Gets the <code>table</code> itself, for the boards of this package which
+     * read it in every generation. The table must not be changed.
+     *
+     * @return the new cell state of every neighbourhood
+     */
+    byte[] getTable() {
+        return table;
+    }
 
-        for (int j = 0; j < surviveArray.length; j++) {
-            surviveArray[j] = Character.digit(sValue.charAt(j), 10);
+    /**
+     * Checks if the new cell state only depends on the number of neighbours,
+     * so that the <code>transitions</code> hold the whole rule set.
+     *
+     * @return <code>true</code> if the rule set is totalistic
+     */
+    public boolean isTotalistic() {
+        return totalistic;
+    }
+
+    /**
+     * Checks if a dead cell without neighbours is born, B0.
+     *
+     * @return <code>true</code> if the rule set has B0
+     */
+    public boolean hasB0() {
+        return table[0] == 1;
+    }
+
+    /**
+     * Checks if a live cell with eight neighbours survives, S8.
+     *
+     * @return <code>true</code> if the rule set has S8
+     */
+    public boolean hasS8() {
+        return table[NEIGHBOURHOODS - 1] == 1;
+    }
+
+    /**
+     * Gets the rule set which sets the next generation when the cells are
+     * stored as the complement of the generation, or the next generation is
+     * stored as its complement, or both. A stored cell and its neighbours are
+     * turned into the cells of the generation, and the new cell state is
+     * turned into the stored cell. Only rule sets of two states have a
+     * complement.
+     *
+     * @param fromComplement <code>true</code> if the cells are stored as the
+     * complement
+     * @param toComplement <code>true</code> if the next generation is stored
+     * as the complement
+     * @return the rule set which sets the stored next generation from the
+     * stored cells
+     * @throws IllegalStateException if the rule set has more than two states
+     */
+    public Rule complement(boolean fromComplement, boolean toComplement) {
+        if (states > 2) {
+            throw new IllegalStateException("Only rule sets of two states have a complement, not " + this);
+        }
+        byte[] complement = new byte[NEIGHBOURHOODS];
+        int flip = fromComplement ? NEIGHBOURHOODS - 1 : 0;
+        int invert = toComplement ? 1 : 0;
+        for (int neighbourhood = 0; neighbourhood < NEIGHBOURHOODS; neighbourhood++) {
+            complement[neighbourhood] = (byte) (table[neighbourhood ^ flip] ^ invert);
         }
+        return new Rule(complement);
+    }
+
+    /**
+     * Gets the number of cell <code>states</code> of the rule set. Only the
+     * <code>DynamicBoard</code> sets the states above 1, the other boards set
+     * the birth and survival rules with two states.
+     *
+     * @return the number of states, 2 unless it is a Generations rule set
+     */
+    public int getStates() {
+        return states;
+    }
+
+    /**
+     * Gets the <code>transitions</code> of the rule set. The transitions only
+     * hold the whole rule set if it is totalistic.
+     *
+     * @return the transition table
+     * @see #transitions
+     * @see #isTotalistic()
+     */
+    public int getTransitions() {
+        return transitions;
+    }
+
+    /**
+     * Gets the birth rule as a bit mask, bit <code>n</code> is set if a dead
+     * cell with <code>n</code> neighbours is born.
+     *
+     * @return the birth mask
+     */
+    public int getBirthMask() {
+        return transitions & ((1 << STATE_BITS) - 1);
+    }
 
+    /**
+     * Gets the survival rule as a bit mask, bit <code>n</code> is set if a
+     * live cell with <code>n</code> neighbours survives.
+     *
+     * @return the survival mask
+     */
+    public int getSurviveMask() {
+        return transitions >>> STATE_BITS;
     }
 
     /**
-     * Gets the <code>birthArray</code>. The <code>birthArray</code> is assigned
-     * values in method <code>setRules</code>.
+     * Gets the birth rules as an <code>int[]</code> of the numbers of
+     * neighbours giving birth to a dead cell.
      *
-     * @return birthArray the <code>int[]</code> containing the birth rules
+     * @return the <code>int[]</code> containing the birth rules
      */
-    public static int[] getBirthArray() {
-        return birthArray;
+    public int[] getBirthArray() {
+        return toArray(getBirthMask());
     }
 
     /**
-     * Gets the <code>surviveArray</code>. The <code>surviveArray</code> is
-     * assigned values in method <code>setRules</code>.
+     * Gets the survival rules as an <code>int[]</code> of the numbers of
+     * neighbours keeping a live cell alive.
      *
-     * @return birthArray the <code>int[]</code> containing the survival rules
+     * @return the <code>int[]</code> containing the survival rules
      */
-    public static int[] getSurviveArray() {
-        return surviveArray;
+    public int[] getSurviveArray() {
+        return toArray(getSurviveMask());
+    }
+
+    private static int[] toArray(int mask) {
+        int[] counts = new int[Integer.bitCount(mask)];
+        for (int i = 0, count = 0; count < STATE_BITS; count++) {
+            if ((mask & (1 << count)) != 0) {
+                counts[i++] = count;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the rule set on the form "Bx/Sx", for instance "B3/S23", with
+     * Hensel letters if the rule set is not totalistic, for instance
+     * "B2n3/S23-q", and the number of states if there are more than two, for
+     * instance "B2/S/C3".
+     *
+     * @return the ruleString representing the rule set
+     */
+    public String getRuleString() {
+        StringBuilder ruleString = new StringBuilder("B");
+        appendCounts(ruleString, 0);
+        ruleString.append("/S");
+        appendCounts(ruleString, CENTRE);
+        if (states > 2) {
+            ruleString.append("/C").append(states);
+        }
+        return ruleString.toString();
+    }
+
+    /**
+     * Appends each number of neighbours of a birth or survival rule, followed
+     * by the letters of the shapes which are included or by a '-' and the
+     * letters of the shapes which are left out, whichever is shorter.
+     */
+    private void appendCounts(StringBuilder ruleString, int centre) {
+        for (int count = 0; count < STATE_BITS; count++) {
+            StringBuilder in = new StringBuilder();
+            StringBuilder out = new StringBuilder();
+            String letters = LETTERS[Math.min(count, 8 - count)];
+            for (int i = 0; i < letters.length(); i++) {
+                boolean found = false;
+                for (int neighbourhood = 0; neighbourhood < NEIGHBOURHOODS; neighbourhood++) {
+                    if ((neighbourhood & CENTRE) == centre && neighbours(neighbourhood) == count
+                            && table[neighbourhood] == 1 && letter(neighbourhood) == letters.charAt(i)) {
+                        found = true;
+                        break;
+                    }
+                }
+                (found ? in : out).append(letters.charAt(i));
+            }
+            if (letters.isEmpty()) {
+                int state = centre != 0 ? 1 : 0;
+                if (nextState(transitions, state, count) == 1) {
+                    ruleString.append(count);
+                }
+            } else if (out.length() == 0) {
+                ruleString.append(count);
+            } else if (in.length() > 0) {
+                ruleString.append(count);
+                ruleString.append(in.length() <= out.length() + 1 ? in : "-" + out);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Rule && ((Rule) other).states == states
+                && Arrays.equals(((Rule) other).table, table);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * transitions + states;
+    }
+
+    @Override
+    public String toString() {
+        return getRuleString();
     }
 
 }
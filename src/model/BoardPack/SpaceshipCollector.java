@@ -0,0 +1,441 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Takes the standard spaceships which escape from the rest of the cells away
+ * from a <code>DynamicBoard</code>, and keeps a log of them. A gun keeps
+ * sending gliders away, and every glider makes the board grow, so the board
+ * and the time of each generation grow for as long as the gun runs. When the
+ * gliders are taken away the board stays the size of the gun.
+ *
+ * The spaceships are found in a strip along the sides of the board. A group
+ * of cells with no other cell within <code>ISOLATION</code> cells is looked up
+ * among every phase of the <code>SHIPS</code> in every direction, and a
+ * spaceship is escaping if every other cell of the board is behind it: for
+ * each way it moves, up, down, left or right, no other cell may be level with
+ * it or ahead of it. Such a spaceship never meets the cells it moves away
+ * from, unless a faster spaceship catches up with it from behind.
+ *
+ * The phases and directions of the spaceships are found by setting the
+ * generations of the <code>SHIPS</code> with the rule set of the board, so
+ * only the spaceships which move in the rule set are looked for. Rule sets
+ * with B0 or more than two cell states have no spaceships to look for.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see DynamicBoard#shrink()
+ */
+public class SpaceshipCollector {
+
+    /**
+     * The spaceships looked for, by name and one phase. The directions and
+     * the other phases are found from the generations of the phase.
+     */
+    private static final String[][] SHIPS = {
+        {"Glider", ".O.", "..O", "OOO"},
+        {"Lightweight spaceship", ".O..O", "O....", "O...O", "OOOO."},
+        {"Middleweight spaceship", "...O..", ".O...O", "O.....", "O....O", "OOOOO."},
+        {"Heavyweight spaceship", "...OO..", ".O....O", "O......", "O.....O", "OOOOOO."}};
+
+    /**
+     * The longest period of a spaceship which is looked for.
+     */
+    private static final int MAX_PERIOD = 4;
+
+    /**
+     * The largest number of cells and the largest number of rows or columns
+     * of a group of cells which is looked up.
+     */
+    private static final int MAX_CELLS = 24;
+    private static final int MAX_SIZE = 8;
+
+    /**
+     * The number of empty cells between a spaceship and every other cell.
+     * Cells closer than that are in the same group.
+     */
+    private static final int ISOLATION = 2;
+
+    /**
+     * The width of the strip along each side of the board where spaceships
+     * are looked for. The board adds 20 rows or columns when a cell reaches
+     * a side, so an escaping spaceship is found soon after it does.
+     */
+    private static final int STRIP = 28;
+
+    /**
+     * The number of escaped spaceships kept in the log.
+     */
+    public static final int LOG = 1000;
+
+    /**
+     * A spaceship which has been taken away from the board.
+     */
+    public static class Escape {
+
+        private final String ship;
+        private final String direction;
+        private final int generation;
+
+        Escape(String ship, String direction, int generation) {
+            this.ship = ship;
+            this.direction = direction;
+            this.generation = generation;
+        }
+
+        /**
+         * Gets the name of the spaceship, such as "Glider".
+         *
+         * @return the name of the spaceship
+         */
+        public String getShip() {
+            return ship;
+        }
+
+        /**
+         * Gets the compass direction the spaceship moved in, north is up,
+         * such as "NW" or "E".
+         *
+         * @return the direction of the spaceship
+         */
+        public String getDirection() {
+            return direction;
+        }
+
+        /**
+         * Gets the generation the spaceship was taken away in.
+         *
+         * @return the generation
+         */
+        public int getGeneration() {
+            return generation;
+        }
+
+        @Override
+        public String toString() {
+            return ship + " " + direction + " at generation " + generation;
+        }
+    }
+
+    /**
+     * A phase of a spaceship in one direction, with the sign of the move of
+     * the spaceship in rows and columns.
+     */
+    private static class Ship {
+
+        final String name;
+        final int rowMove, colMove;
+
+        Ship(String name, int rowMove, int colMove) {
+            this.name = name;
+            this.rowMove = rowMove;
+            this.colMove = colMove;
+        }
+    }
+
+    private Rule rule;
+
+    /**
+     * Every phase of every spaceship in every direction, by the
+     * <code>shape</code> of its cells.
+     */
+    private HashMap<String, Ship> ships = new HashMap<>();
+
+    private final LongHashSet visited = new LongHashSet();
+    private final ArrayDeque<Escape> log = new ArrayDeque<>();
+    private long count;
+
+    /**
+     * Takes the escaping spaceships away from the board and adds them to the
+     * log. Called after every generation. The board is shrunk if spaceships
+     * were taken away, and is set again from every cell in the next
+     * generation.
+     *
+     * @param board the board to take the spaceships from
+     * @return the number of spaceships taken away
+     */
+    public int collect(DynamicBoard board) {
+        if (board.getRule() != rule) {
+            rule = board.getRule();
+            ships = catalogue(rule);
+        }
+        if (ships.isEmpty() || board.isComplement()) {
+            return 0;
+        }
+        byte[][] cells = board.getCells();
+        int top = board.getRowOffset();
+        int bottom = top + board.getHeight();
+        int left = board.getColOffset();
+        int right = left + board.getWidth();
+        int innerTop = Math.min(bottom, top + STRIP);
+        int innerBottom = Math.max(innerTop, bottom - STRIP);
+        int innerLeft = Math.min(right, left + STRIP);
+        int innerRight = Math.max(innerLeft, right - STRIP);
+        int[] bounds = {top, bottom, left, right};
+
+        visited.clear();
+        int removed = 0;
+        removed += scan(board, cells, bounds, top, innerTop, left, right);
+        removed += scan(board, cells, bounds, innerBottom, bottom, left, right);
+        removed += scan(board, cells, bounds, innerTop, innerBottom, left, innerLeft);
+        removed += scan(board, cells, bounds, innerTop, innerBottom, innerRight, right);
+        if (removed > 0) {
+            board.unchanged = false;
+            board.shrink();
+            board.setOptimaliser(false);
+        }
+        return removed;
+    }
+
+    /**
+     * Looks for escaping spaceships in a rectangle of the
+     * <code>boardArray</code>.
+     *
+     * @return the number of spaceships taken away
+     */
+    private int scan(DynamicBoard board, byte[][] cells, int[] bounds,
+            int firstRow, int lastRow, int firstCol, int lastCol) {
+        int removed = 0;
+        for (int i = firstRow; i < lastRow; i++) {
+            byte[] row = cells[i];
+            for (int j = firstCol; j < lastCol; j++) {
+                if (row[j] != 0 && !visited.contains(key(i, j))) {
+                    removed += inspect(board, cells, bounds, i, j);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Finds the group of cells of a live cell, every cell within
+     * <code>ISOLATION</code> cells of a cell of the group, and takes it away if
+     * it is an escaping spaceship.
+     *
+     * @return 1 if the group was taken away, otherwise 0
+     */
+    private int inspect(DynamicBoard board, byte[][] cells, int[] bounds, int row, int col) {
+        List<int[]> group = new ArrayList<>();
+        group.add(new int[]{row, col});
+        visited.add(key(row, col));
+        int top = row, bottom = row, left = col, right = col;
+        for (int k = 0; k < group.size(); k++) {
+            int[] cell = group.get(k);
+            for (int i = Math.max(bounds[0], cell[0] - ISOLATION);
+                    i <= Math.min(bounds[1] - 1, cell[0] + ISOLATION); i++) {
+                for (int j = Math.max(bounds[2], cell[1] - ISOLATION);
+                        j <= Math.min(bounds[3] - 1, cell[1] + ISOLATION); j++) {
+                    if (cells[i][j] != 0 && visited.add(key(i, j))) {
+                        group.add(new int[]{i, j});
+                        top = Math.min(top, i);
+                        bottom = Math.max(bottom, i);
+                        left = Math.min(left, j);
+                        right = Math.max(right, j);
+                    }
+                }
+            }
+            if (group.size() > MAX_CELLS || bottom - top >= MAX_SIZE || right - left >= MAX_SIZE) {
+                return 0;
+            }
+        }
+
+        Ship ship = ships.get(shape(cells, top, bottom + 1, left, right + 1));
+        if (ship == null || !escaping(cells, bounds, ship, group.size(), top, bottom, left, right)) {
+            return 0;
+        }
+        for (int[] cell : group) {
+            cells[cell[0]][cell[1]] = 0;
+        }
+        board.aliveCells -= group.size();
+        count++;
+        log.addLast(new Escape(ship.name, direction(ship), board.getIterations()));
+        if (log.size() > LOG) {
+            log.removeFirst();
+        }
+        return 1;
+    }
+
+    /**
+     * Checks if every cell of the board outside of the spaceship is behind
+     * it, by counting the cells which are level with the spaceship or ahead
+     * of it, where only the cells of the spaceship itself may be.
+     */
+    private boolean escaping(byte[][] cells, int[] bounds, Ship ship, int shipCells,
+            int top, int bottom, int left, int right) {
+        int firstRow = ship.rowMove > 0 ? top - ISOLATION : bounds[0];
+        int lastRow = ship.rowMove < 0 ? bottom + ISOLATION + 1 : bounds[1];
+        int firstCol = ship.colMove > 0 ? left - ISOLATION : bounds[2];
+        int lastCol = ship.colMove < 0 ? right + ISOLATION + 1 : bounds[3];
+        int alive = 0;
+        for (int i = Math.max(bounds[0], firstRow); i < Math.min(bounds[1], lastRow); i++) {
+            byte[] row = cells[i];
+            for (int j = Math.max(bounds[2], firstCol); j < Math.min(bounds[3], lastCol); j++) {
+                if (row[j] != 0 && ++alive > shipCells) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+
+    /**
+     * Describes the live cells of a rectangle, row after row, so that the
+     * same cells give the same shape wherever they are.
+     */
+    private static String shape(byte[][] cells, int firstRow, int lastRow, int firstCol, int lastCol) {
+        StringBuilder shape = new StringBuilder();
+        shape.append(lastRow - firstRow).append('x').append(lastCol - firstCol).append(':');
+        for (int i = firstRow; i < lastRow; i++) {
+            for (int j = firstCol; j < lastCol; j++) {
+                shape.append(cells[i][j] != 0 ? 'O' : '.');
+            }
+        }
+        return shape.toString();
+    }
+
+    private static String direction(Ship ship) {
+        String direction = ship.rowMove < 0 ? "N" : ship.rowMove > 0 ? "S" : "";
+        return direction + (ship.colMove < 0 ? "W" : ship.colMove > 0 ? "E" : "");
+    }
+
+    /**
+     * Finds every phase of every spaceship in every direction which moves in
+     * the rule set. Each of the <code>SHIPS</code> is rotated and reflected,
+     * and its generations are set until it comes back moved within
+     * <code>MAX_PERIOD</code> generations.
+     *
+     * @param rule the rule set
+     * @return the spaceships by the shape of their cells
+     */
+    private static HashMap<String, Ship> catalogue(Rule rule) {
+        HashMap<String, Ship> catalogue = new HashMap<>();
+        if (rule.getStates() != 2 || rule.hasB0()) {
+            return catalogue;
+        }
+        int pad = MAX_PERIOD + 2;
+        for (String[] ship : SHIPS) {
+            int height = ship.length - 1;
+            int width = ship[1].length();
+            for (int symmetry = 0; symmetry < 8; symmetry++) {
+                boolean turned = (symmetry & 1) != 0;
+                int size = Math.max(height, width) + 2 * pad;
+                byte[][] cells = new byte[size][size];
+                for (int r = 0; r < height; r++) {
+                    for (int c = 0; c < width; c++) {
+                        if (ship[r + 1].charAt(c) == 'O') {
+                            int row = (symmetry & 2) != 0 ? height - 1 - r : r;
+                            int col = (symmetry & 4) != 0 ? width - 1 - c : c;
+                            cells[pad + (turned ? col : row)][pad + (turned ? row : col)] = 1;
+                        }
+                    }
+                }
+                int[] first = extent(cells);
+                List<String> phases = new ArrayList<>();
+                phases.add(shape(cells, first[0], first[1], first[2], first[3]));
+                for (int generation = 1; generation <= MAX_PERIOD; generation++) {
+                    cells = step(cells, rule);
+                    int[] extent = extent(cells);
+                    if (extent[0] == extent[1]) {
+                        break;
+                    }
+                    String shape = shape(cells, extent[0], extent[1], extent[2], extent[3]);
+                    if (shape.equals(phases.get(0))) {
+                        int rowMove = Integer.signum(extent[0] - first[0]);
+                        int colMove = Integer.signum(extent[2] - first[2]);
+                        if (rowMove != 0 || colMove != 0) {
+                            for (String phase : phases) {
+                                catalogue.put(phase, new Ship(ship[0], rowMove, colMove));
+                            }
+                        }
+                        break;
+                    }
+                    phases.add(shape);
+                }
+            }
+        }
+        return catalogue;
+    }
+
+    /**
+     * Sets the next generation of a small grid of cells, with dead cells
+     * outside of the grid.
+     */
+    private static byte[][] step(byte[][] cells, Rule rule) {
+        int size = cells.length;
+        byte[][] next = new byte[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int neighbourhood = 0;
+                for (int i = r - 1; i <= r + 1; i++) {
+                    for (int j = c - 1; j <= c + 1; j++) {
+                        boolean alive = i >= 0 && j >= 0 && i < size && j < size && cells[i][j] != 0;
+                        neighbourhood = (neighbourhood << 1) | (alive ? 1 : 0);
+                    }
+                }
+                next[r][c] = rule.nextState(neighbourhood);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Finds the first row, the row after the last row, the first column and
+     * the column after the last column with a live cell.
+     */
+    private static int[] extent(byte[][] cells) {
+        int[] extent = {cells.length, 0, cells.length, 0};
+        for (int r = 0; r < cells.length; r++) {
+            for (int c = 0; c < cells.length; c++) {
+                if (cells[r][c] != 0) {
+                    extent[0] = Math.min(extent[0], r);
+                    extent[1] = r + 1;
+                    extent[2] = Math.min(extent[2], c);
+                    extent[3] = Math.max(extent[3], c + 1);
+                }
+            }
+        }
+        if (extent[1] == 0) {
+            extent[0] = 0;
+        }
+        return extent;
+    }
+
+    /**
+     * Clears the log and the count of spaceships.
+     */
+    public void reset() {
+        log.clear();
+        count = 0;
+    }
+
+    /**
+     * Gets the number of spaceships taken away since the last
+     * <code>reset</code>.
+     *
+     * @return the number of spaceships
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the last <code>LOG</code> spaceships taken away, the first one
+     * first.
+     *
+     * @return a copy of the log
+     */
+    public List<Escape> getLog() {
+        return new ArrayList<>(log);
+    }
+}
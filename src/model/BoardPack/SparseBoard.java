@@ -0,0 +1,633 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.io.Serializable;
+import javafx.scene.canvas.GraphicsContext;
+import model.CanvasInfo;
+
+/**
+ * SparseBoard stores only the live cells of the plane, as packed 64-bit
+ * coordinates in a <code>LongHashSet</code>: the row in the upper 32 bits and
+ * the column in the lower 32 bits. The memory and the time of a generation
+ * follow the number of live cells, not the area of the board, which makes
+ * this the engine for a few patterns far apart, such as spaceships flying away
+ * from each other, where even the chunks of the <code>ChunkBoard</code> are
+ * mostly empty.
+ *
+ * The rows and columns of the board (numRows and numColumns) are a view of the
+ * plane that expands when a live cell reaches its edge, the same way as the
+ * <code>HashLifeBoard</code>.
+ *
+ * A B0 rule set is set with the <code>complement</code> rule sets of the
+ * board, so the live cells of every other generation are stored as the
+ * cells which are dead, and the plane around them stays empty in the
+ * <code>cells</code>.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see model.BoardPack.Board
+ * @see LongHashSet
+ */
+public class SparseBoard extends Board implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of rows or columns added to the view when a live cell reaches
+     * its edge.
+     */
+    private static final int EXPANSION = 20;
+
+    /**
+     * The live cells of the board.
+     */
+    private LongHashSet cells = new LongHashSet();
+
+    /**
+     * The live cells of the next generation. Swapped with the
+     * <code>cells</code> after each generation.
+     */
+    private transient LongHashSet nextCells;
+
+    /**
+     * The neighbourhood of every live cell and every cell next to a live cell.
+     */
+    private transient LongIntHashMap counts;
+
+    /**
+     * The rule set which sets the next generation, the <code>rule</code> or
+     * one of its <code>complement</code> rule sets.
+     */
+    private transient Rule generationRule;
+
+    /**
+     * The <code>complement</code> of the board before the generation.
+     */
+    private transient boolean complementBefore;
+
+    /**
+     * The plane coordinates of row 0 and column 0 of the board.
+     */
+    private long viewRow, viewCol;
+
+    /**
+     * Variables used to adjust placement of the board along the X-axis and the
+     * Y-axis after the view has expanded at the left side or the top.
+     */
+    private int placeColVar, placeRowVar;
+
+    //--------------------------CONSTRUCTORS--------------------------------//
+    /**
+     * Creates an empty board of 20 rows and 20 columns.
+     */
+    public SparseBoard() {
+        this(20, 20);
+    }
+
+    /**
+     * Constructor that takes the number of rows <code>row</code> and the number
+     * of columns <code>columns</code> as parameters. Initializes an empty board.
+     *
+     * @param row the number of rows in the board
+     * @param columns the number of columns in the board
+     */
+    public SparseBoard(int row, int columns) {
+        this.numRows = row;
+        this.numColumns = columns;
+    }
+
+    /**
+     * Board constructor which copies a <code>byte[][]</code> of 0's and 1's,
+     * such as the array returned by <code>FileHandler.getRleArray()</code>.
+     *
+     * @param array the array to copy
+     */
+    public SparseBoard(byte[][] array) {
+        this(array.length, array[0].length);
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                if (array[row][col] == 1) {
+                    setCell(row, col, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Board constructor which copies any other <code>Board</code> cell by cell,
+     * and its <code>rule</code>.
+     *
+     * @param board the board to copy
+     */
+    public SparseBoard(Board board) {
+        this(board.getHeight(), board.getWidth());
+        setRule(board.getRule());
+        complement = board.isComplement();
+        for (int row = 0; row < numRows; row++) {
+            for (int col = 0; col < numColumns; col++) {
+                boolean alive = board.getCellState(row, col) == 1;
+                if (alive != complement) {
+                    setCell(row, col, alive);
+                }
+            }
+        }
+    }
+
+    //--------------------------CELL LOGIC----------------------------------//
+    /**
+     * Packs the plane coordinates of a cell into a <code>long</code>.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the packed coordinates
+     */
+    static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static int row(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int col(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Sets the state of the cell at plane coordinates (<code>row</code>,
+     * <code>col</code>), stored as the <code>complement</code> if the cells
+     * are.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @param state <code>true</code> if the cell is alive
+     */
+    private void setCell(long row, long col, boolean state) {
+        long key = key((int) row, (int) col);
+        if (state != complement) {
+            if (cells.add(key) && planeHash != null) {
+                planeHash.add(row, col, 1);
+            }
+        } else {
+            if (cells.remove(key) && planeHash != null) {
+                planeHash.add(row, col, -1);
+            }
+        }
+        countAlive();
+    }
+
+    /**
+     * Sets the <code>aliveCells</code>, the live cells of the view if the
+     * cells are stored as the <code>complement</code>.
+     */
+    private void countAlive() {
+        aliveCells = complement ? numRows * numColumns - cells.size() : cells.size();
+    }
+
+    @Override
+    public byte getCellState(int row, int col) {
+        boolean stored = cells.contains(key((int) (viewRow + row), (int) (viewCol + col)));
+        return (byte) (stored != complement ? 1 : 0);
+    }
+
+    //------------------GENERATION LOGIC--------------------------------------//
+    /*
+    Every live cell sets its own bit in its neighbourhood and in the
+    neighbourhood of each of its eight neighbours in the counts (scatter), the
+    bits are laid out as in the neighbourhood of the Rule. No two live cells set the same
+    bit of a neighbourhood, so adding the bits is the same as setting them.
+    The cells of the next generation are then found among the cells in the
+    counts only, a cell which is not next to a live cell has an empty
+    neighbourhood and is dead. A B0 rule set is set with the complement rule
+    sets, which never give birth without neighbours, so the stored plane
+    stays empty.
+     */
+    /**
+     * Clears the <code>counts</code>, gets the <code>generationRule</code>
+     * and increments the <code>iterations</code>.
+     */
+    @Override
+    public void beforeSetGeneration() {
+        if (counts == null) {
+            counts = new LongIntHashMap();
+            nextCells = new LongHashSet();
+        }
+        counts.clear();
+        complementBefore = complement;
+        generationRule = nextGenerationRule();
+        iterations++;
+    }
+
+    /**
+     * Sets the neighbourhood of every live cell and every cell next to a live
+     * cell in the <code>counts</code>.
+     */
+    @Override
+    public void updateNeighbourBoard() {
+        long[] table = cells.getTable();
+        for (long key : table) {
+            if (key != LongHashSet.EMPTY) {
+                countNeighbhours(row(key), col(key));
+            }
+        }
+    }
+
+    /**
+     * Sets the bit of the live cell at plane coordinates (<code>row</code>,
+     * <code>col</code>) in its own neighbourhood and in the neighbourhoods of
+     * its eight neighbours.
+     *
+     * @param row the row of the live cell
+     * @param col the column of the live cell
+     */
+    @Override
+    protected void countNeighbhours(int row, int col) {
+        counts.add(key(row - 1, col - 1), 1);
+        counts.add(key(row - 1, col), 1 << 1);
+        counts.add(key(row - 1, col + 1), 1 << 2);
+        counts.add(key(row, col - 1), 1 << 3);
+        counts.add(key(row, col), 1 << 4);
+        counts.add(key(row, col + 1), 1 << 5);
+        counts.add(key(row + 1, col - 1), 1 << 6);
+        counts.add(key(row + 1, col), 1 << 7);
+        counts.add(key(row + 1, col + 1), 1 << 8);
+    }
+
+    /**
+     * Sets the cells of the next generation from the neighbourhoods in the
+     * <code>counts</code> with the <code>Rule</code>, swaps the
+     * <code>nextCells</code> with the <code>cells</code> and expands the view if a live cell has reached
+     * its edge. Every live cell sets its own bit in its neighbourhood, so the
+     * cells which are born or die are found in the same pass and added to the
+     * <code>PlaneHash</code>, and the board is <code>unchanged</code> if there
+     * are none.
+     */
+    @Override
+    public void setNewGenValues() {
+        byte[] table = generationRule.getTable();
+        PlaneHash hash = planeHash;
+        int changes = 0;
+        nextCells.clear();
+        long[] keys = counts.getKeys();
+        int[] values = counts.getValues();
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            if (key == LongHashSet.EMPTY) {
+                continue;
+            }
+            int neighbourhood = values[i];
+            int alive = table[neighbourhood];
+            if (alive == 1) {
+                nextCells.add(key);
+            }
+            int before = (neighbourhood & 1 << 4) != 0 ? 1 : 0;
+            if (alive != before) {
+                changes++;
+                if (hash != null) {
+                    hash.add(row(key), col(key), alive - before);
+                }
+            }
+        }
+        unchanged = changes == 0 && complement == complementBefore;
+        LongHashSet swap = cells;
+        cells = nextCells;
+        nextCells = swap;
+
+        long[] box = planeBoundingBox();
+        if (box[1] < box[0]) {
+            countAlive();
+            return;
+        }
+        if (box[0] <= viewRow) {
+            long add = viewRow - box[0] + EXPANSION;
+            viewRow -= add;
+            numRows = toInt(numRows + add);
+            placeRowVar = toInt(placeRowVar + add);
+        }
+        if (box[1] >= viewRow + numRows - 1) {
+            numRows = toInt(box[1] - viewRow + 1 + EXPANSION);
+        }
+        if (box[2] <= viewCol) {
+            long add = viewCol - box[2] + EXPANSION;
+            viewCol -= add;
+            numColumns = toInt(numColumns + add);
+            placeColVar = toInt(placeColVar + add);
+        }
+        if (box[3] >= viewCol + numColumns - 1) {
+            numColumns = toInt(box[3] - viewCol + 1 + EXPANSION);
+        }
+        countAlive();
+    }
+
+    /**
+     * Moves every live cell <code>rows</code> rows down and <code>cols</code>
+     * columns to the right on the plane, and the view with them, so that the
+     * board looks the same. The cells can not be moved outside of the
+     * coordinates of an <code>int</code>.
+     *
+     * @param rows the number of rows to move
+     * @param cols the number of columns to move
+     * @return <code>true</code> if the cells were moved
+     */
+    @Override
+    public boolean translate(long rows, long cols) {
+        if (rows == 0 && cols == 0) {
+            return true;
+        }
+        long[] box = planeBoundingBox();
+        if (box[1] >= box[0] && (box[0] + rows < Integer.MIN_VALUE / 2
+                || box[1] + rows > Integer.MAX_VALUE / 2
+                || box[2] + cols < Integer.MIN_VALUE / 2
+                || box[3] + cols > Integer.MAX_VALUE / 2)) {
+            return false;
+        }
+        if (nextCells == null) {
+            nextCells = new LongHashSet();
+        }
+        nextCells.clear();
+        for (long key : cells.getTable()) {
+            if (key != LongHashSet.EMPTY) {
+                nextCells.add(key((int) (row(key) + rows), (int) (col(key) + cols)));
+            }
+        }
+        LongHashSet swap = cells;
+        cells = nextCells;
+        nextCells = swap;
+        viewRow += rows;
+        viewCol += cols;
+        if (planeHash != null) {
+            planeHash.translate(rows, cols);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the live cells, kept up to date with
+     * the cells which are born or die. It is counted from the
+     * <code>cells</code> the first time it is needed.
+     *
+     * @return the hash of the cells
+     */
+    @Override
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+            for (long key : cells.getTable()) {
+                if (key != LongHashSet.EMPTY) {
+                    planeHash.add(row(key), col(key), 1);
+                }
+            }
+        }
+        planeHash.setComplement(complement);
+        return planeHash;
+    }
+
+    /**
+     * The <code>PlaneHash</code> is kept up to date in
+     * <code>setNewGenValues</code>.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean hasIncrementalHash() {
+        return true;
+    }
+
+    /**
+     * A <code>SparseBoard</code> only stores which cells are alive, so it can
+     * not set rule sets of more than two states.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isStatesSupported() {
+        return false;
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE / 2);
+    }
+
+    /**
+     * The plane is unbounded, so there is no size limit to test.
+     */
+    @Override
+    public void sizeTest() {
+    }
+
+    //--------------------------EDIT LOGIC----------------------------------//
+    @Override
+    public void setCellValue(int row, int col, boolean erase, int maxSize) {
+        if (col < 0 || col >= numColumns || row < 0 || row >= numRows) {
+            if (erase || (Math.abs(row) + numRows >= maxSize
+                    && Math.abs(col) + numColumns >= maxSize)) {
+                return;
+            }
+            if (row >= numRows) {
+                numRows = row + 1;
+            }
+            if (row < 0) {
+                viewRow += row;
+                numRows -= row;
+                placeRowVar -= row;
+                row = 0;
+            }
+            if (col >= numColumns) {
+                numColumns = col + 1;
+            }
+            if (col < 0) {
+                viewCol += col;
+                numColumns -= col;
+                placeColVar -= col;
+                col = 0;
+            }
+        }
+        setCell(viewRow + row, viewCol + col, !erase);
+    }
+
+    @Override
+    public void autoFit(byte[][] array) {
+        numRows = Math.max(numRows, array.length);
+        numColumns = Math.max(numColumns, array[0].length);
+    }
+
+    @Override
+    public void addArrayToBoard(byte[][] array) {
+        if (numRows <= array.length) {
+            int add = array.length - numRows + 1;
+            viewRow -= add;
+            placeRowVar += add;
+            numRows += 2 * add;
+        }
+        if (numColumns <= array[0].length) {
+            int add = array[0].length - numColumns + 1;
+            viewCol -= add;
+            placeColVar += add;
+            numColumns += 2 * add;
+        }
+
+        int placementy = ymove + (numRows - array.length) / 2;
+        int placementx = xmove + (numColumns - array[0].length) / 2;
+        numRows = Math.max(numRows, placementy + array.length + 1);
+        numColumns = Math.max(numColumns, placementx + array[0].length + 1);
+        if (placementy < 0) {
+            viewRow += placementy;
+            numRows -= placementy;
+            placeRowVar -= placementy;
+            placementy = 0;
+        }
+        if (placementx < 0) {
+            viewCol += placementx;
+            numColumns -= placementx;
+            placeColVar -= placementx;
+            placementx = 0;
+        }
+
+        for (int z = 0; z < array.length; z++) {
+            for (int w = 0; w < array[0].length; w++) {
+                if (array[z][w] == 1) {
+                    setCell(viewRow + placementy + z, viewCol + placementx + w, true);
+                }
+            }
+        }
+
+        if (topExist()) {
+            topExist = false;
+            xmove = 0;
+            ymove = 0;
+        }
+    }
+
+    //--------------------------DRAW LOGIC------------------------------------//
+    /**
+     * Draws the live cells of the board which are inside of the canvas.
+     *
+     * @param gc the <code>GraphicsContext</code> used to draw
+     * @param cInfo the <code>CanvasInfo</code>-object containing information
+     * about the canvas
+     */
+    @Override
+    public void draw(GraphicsContext gc, CanvasInfo cInfo) {
+        //The plane is alive if the cells are stored as the complement
+        gc.setFill(complement ? cellColor : backGroundColor);
+        gc.fillRect(0, 0, cInfo.getCanvasWidth(), cInfo.getCanvasheight());
+
+        if (topExist) {
+            drawTopBoard(gc, cInfo);
+        }
+        double cellSize = cInfo.getCellSize();
+        cInfo.setPlacementX(placeColVar);
+        cInfo.setPlacementY(placeRowVar);
+        placeRowVar = 0;
+        placeColVar = 0;
+        double placementX = cInfo.getPlacementX();
+        double placementY = cInfo.getPlacementY();
+
+        if (grid) {
+            gc.setStroke(gridColor);
+            int firstRow = (int) Math.max(0, -placementY / cellSize);
+            int lastRow = (int) Math.min(numRows, (cInfo.getCanvasheight() - placementY) / cellSize + 1);
+            int firstCol = (int) Math.max(0, -placementX / cellSize);
+            int lastCol = (int) Math.min(numColumns, (cInfo.getCanvasWidth() - placementX) / cellSize + 1);
+            for (int x = firstRow; x < lastRow; x++) {
+                for (int y = firstCol; y < lastCol; y++) {
+                    gc.strokeRect(y * cellSize + placementX, x * cellSize
+                            + placementY, cellSize, cellSize);
+                }
+            }
+        }
+
+        gc.setFill(complement ? backGroundColor : cellColor);
+        for (long key : cells.getTable()) {
+            if (key == LongHashSet.EMPTY) {
+                continue;
+            }
+            double x = (col(key) - viewCol) * cellSize + placementX;
+            double y = (row(key) - viewRow) * cellSize + placementY;
+            if (x < cInfo.getCanvasWidth() && y < cInfo.getCanvasheight()
+                    && x + cellSize > 0 && y + cellSize > 0) {
+                gc.fillRect(x, y, Math.max(cellSize - 0.1, 1), Math.max(cellSize - 0.1, 1));
+            }
+        }
+    }
+
+    //-----------------------BOUNDING LOGIC----------------------------------//
+    /**
+     * Gets the bounding box of the live cells in plane coordinates.
+     *
+     * @return minrow maxrow mincolumn maxcolumn, minrow is larger than maxrow
+     * if the board is empty
+     */
+    private long[] planeBoundingBox() {
+        long[] box = {Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long key : cells.getTable()) {
+            if (key != LongHashSet.EMPTY) {
+                box[0] = Math.min(box[0], row(key));
+                box[1] = Math.max(box[1], row(key));
+                box[2] = Math.min(box[2], col(key));
+                box[3] = Math.max(box[3], col(key));
+            }
+        }
+        return box;
+    }
+
+    /**
+     * Collects the outer rows and columns where there are live cells, relative
+     * to the view. boundingBox[4] // minrow maxrow mincolumn maxcolumn
+     *
+     * @return an array witch describes where the active rows and columns start
+     * and end.
+     */
+    @Override
+    public int[] getBoundingBox() {
+        long[] box = planeBoundingBox();
+        if (box[1] < box[0]) {
+            return new int[]{numRows, 0, numColumns, 0};
+        }
+        return new int[]{(int) (box[0] - viewRow), (int) (box[1] - viewRow),
+            (int) (box[2] - viewCol), (int) (box[3] - viewCol)};
+    }
+
+    @Override
+    public String getBoundingBoxPattern() {
+        int[] boundingBox = getBoundingBox();
+        StringBuilder pattern = new StringBuilder();
+        for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
+            for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
+                pattern.append(getCellState(i, j));
+            }
+        }
+        return pattern.toString();
+    }
+
+    //--------------------------SETTERS AND GETTERS------------------------//
+    @Override
+    public int getSumOfAlive() {
+        long sum = 0;
+        for (long key : cells.getTable()) {
+            if (key != LongHashSet.EMPTY) {
+                sum += row(key) - viewRow + col(key) - viewCol;
+            }
+        }
+        if (complement) {
+            //Every stored cell is inside of the view, so the rest are alive
+            long rows = numRows;
+            long columns = numColumns;
+            sum = rows * columns * (rows - 1) / 2 + rows * columns * (columns - 1) / 2 - sum;
+        }
+        return (int) sum;
+    }
+
+    @Override
+    public int getHeight() {
+        return numRows;
+    }
+
+    @Override
+    public int getWidth() {
+        return numColumns;
+    }
+}
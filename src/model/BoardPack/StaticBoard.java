@@ -5,7 +5,9 @@
  */
 package model.BoardPack;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import javafx.scene.canvas.GraphicsContext;
 import model.CanvasInfo;
 
@@ -14,14 +16,64 @@ import model.CanvasInfo;
  * <code>boardArray</code> variable. That means it is not meant to expand the
  * board. Now it is only still used in the Gif.java to create .gif files.
  *
+ * The <code>boardArray</code> is stored as one flat <code>byte[]</code>, row
+ * after row, so cell (row, col) is element <code>row * width + col</code>. The
+ * outer rows and columns are a halo of dead cells: they are read as
+ * neighbours but never set, so the cells inside need no bounds checks. The
+ * next generation is gathered into the <code>nextArray</code>, which is then
+ * swapped with the <code>boardArray</code>.
+ *
+ * In <code>torus</code> mode the board wraps around: before each generation
+ * the halo is filled with the rows and columns at the opposite edges, so the
+ * cells inside the halo form a torus of a fixed size. The generation is set
+ * the same way in both modes, and can be divided into partitions of rows
+ * which are set at the same time.
+ *
  * @version 1.0
  * @author T.Dahll, M.Olsen
  */
 public class StaticBoard extends Board {
 
+    private static final long serialVersionUID = 1L;
+
     private final int zeroRow = 2;
     private final int zeroColumn = 2;
-    private byte[][] boardArray;
+
+    /**
+     * The cells of the board, row after row, including the halo.
+     */
+    private byte[] boardArray;
+
+    /**
+     * The cells of the next generation. Swapped with the
+     * <code>boardArray</code> after each generation.
+     */
+    private byte[] nextArray;
+
+    /**
+     * The number of rows and columns of the <code>boardArray</code>, including
+     * the halo.
+     */
+    private int height, width;
+
+    /**
+     * The number of alive cells in each row of the next generation, so that
+     * partitions of rows can be set at the same time.
+     */
+    private int[] rowAlive;
+
+    /**
+     * Wraps the board around its edges if <code>true</code>, otherwise the
+     * cells outside of the board are dead.
+     */
+    private boolean torus;
+
+    /**
+     * The <code>boardArray</code> and the <code>nextArray</code> wrapped for
+     * the <code>WordKernel</code>, and the kernel of the <code>Rule</code>.
+     */
+    private transient ByteBuffer boardBuffer, nextBuffer;
+    private transient WordKernel kernel;
     private static byte[][] patternArray;
 
     //-------------------------CONSTRUCTORS-----------------------------------//
@@ -47,13 +99,7 @@ public class StaticBoard extends Board {
     public StaticBoard(int row, int columns) {
         this.numRows = row;
         this.numColumns = columns;
-        boardArray = new byte[numRows + zeroRow][numColumns + zeroColumn];
-
-        for (int x = 1; x < boardArray.length - 1; x++) {
-            for (int y = 1; y < boardArray[0].length - 1; y++) {
-                boardArray[x][y] = 0;
-            }
-        }
+        setSize(numRows + zeroRow, numColumns + zeroColumn);
     }
 
     /**
@@ -75,14 +121,7 @@ public class StaticBoard extends Board {
     public StaticBoard(byte[][] board) {
         this.numRows = board.length;
         this.numColumns = board[0].length;
-
-        boardArray = new byte[numRows][numColumns];
-
-        for (int x = 0; x < boardArray.length; x++) {
-            for (int y = 0; y < boardArray[0].length; y++) {
-                boardArray[x][y] = board[x][y];
-            }
-        }
+        setBoardArray(board);
     }
 
 //----------------------------------BOUNDING LOGIC -----------------------//
@@ -94,22 +133,21 @@ public class StaticBoard extends Board {
     @Override
     public String getBoundingBoxPattern() {
 
-        byte[][] board = this.getBoardArray();
-        if (this.boardArray.length == 0) {
+        if (height == 0) {
             return "";
         }
         int[] boundingBox = getBoundingBox();
-        String str = "";
+        StringBuilder str = new StringBuilder();
         for (int i = boundingBox[0]; i <= boundingBox[1]; i++) {
             for (int j = boundingBox[2]; j <= boundingBox[3]; j++) {
-                if (board[i][j] == 1) {
-                    str = str + "1";
+                if (boardArray[i * width + j] == 1) {
+                    str.append('1');
                 } else {
-                    str = str + "0";
+                    str.append('0');
                 }
             }
         }
-        return str;
+        return str.toString();
     }
 
     /**
@@ -123,15 +161,14 @@ public class StaticBoard extends Board {
      */
     @Override
     public int[] getBoundingBox() {
-        byte[][] board = this.getBoardArray();
         int[] boundingBox = new int[4]; // minrow maxrow mincolumn maxcolumn
-        boundingBox[0] = board.length;
+        boundingBox[0] = height;
         boundingBox[1] = 0;
-        boundingBox[2] = board[0].length;
+        boundingBox[2] = width;
         boundingBox[3] = 0;
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board[i].length; j++) {
-                if (board[i][j] == 0) {
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (boardArray[i * width + j] == 0) {
                     continue;
                 }
                 if (i < boundingBox[0]) {
@@ -164,20 +201,18 @@ public class StaticBoard extends Board {
     public StaticBoard(byte[][] array, int[] bounding) {
 
         if (bounding[1] - bounding[0] < 0) {
-            boardArray = array;
+            setBoardArray(array);
             return;
         }
 
         numRows = bounding[1] - bounding[0] + 1;
         numColumns = bounding[3] - bounding[2] + 1;
 
-        boardArray = new byte[numRows + 4][numColumns + 4];
+        setSize(numRows + 4, numColumns + 4);
 
         //Bounding describes outer framework of the array, where there are active 1's
         for (int x = bounding[0], i = 0; x <= bounding[1]; x++, i++) {
-            for (int y = bounding[2], j = 0; y <= bounding[3]; y++, j++) {
-                boardArray[i + 2][j + 2] = array[x][y];
-            }
+            System.arraycopy(array[x], bounding[2], boardArray, (i + 2) * width + 2, numColumns);
         }
     }
 
@@ -193,14 +228,14 @@ public class StaticBoard extends Board {
     @Override
     public void draw(GraphicsContext gc, CanvasInfo cInfo) {
         double cellSize = cInfo.getCellSize();
-        cInfo.centerPlacement(boardArray[0].length, boardArray.length);
+        cInfo.centerPlacement(width, height);
         double placementX = cInfo.getPlacementX();
         double placementY = cInfo.getPlacementY();
         //Background
         gc.setFill(backGroundColor);
 
-        gc.fillRect(placementX + cellSize, placementY + cellSize, cellSize * (getBoardArray()[0].length - 2),
-                cellSize * (getBoardArray().length - 2));
+        gc.fillRect(placementX + cellSize, placementY + cellSize, cellSize * (width - 2),
+                cellSize * (height - 2));
 
         //gridcolor
         gc.setStroke(gridColor);
@@ -208,9 +243,9 @@ public class StaticBoard extends Board {
 
         //Avoids drawing the outer arrays
         //Places cells acording to boardArray
-        for (int x = 1; x < boardArray.length - 1; x++) {
-            for (int y = 1; y < boardArray[0].length - 1; y++) {
-                if (getBoardArray()[x][y] == 1) {
+        for (int x = 1; x < height - 1; x++) {
+            for (int y = 1; y < width - 1; y++) {
+                if (boardArray[x * width + y] == 1) {
                     gc.fillRect(y * cellSize + placementX, x * cellSize
                             + placementY, cellSize, cellSize);
                     aliveCells += 1;
@@ -238,9 +273,9 @@ public class StaticBoard extends Board {
 
         //Avoids drawing the outer arrays
         //Places cells acording to boardArray
-        for (int x = 1; x < boardArray.length - 1; x++) {
-            for (int y = 1; y < boardArray[0].length - 1; y++) {
-                if (boardArray[x][y] == 1) {
+        for (int x = 1; x < height - 1; x++) {
+            for (int y = 1; y < width - 1; y++) {
+                if (boardArray[x * width + y] == 1) {
                     gc.fillRect(y * cellSize, x * cellSize,
                             cellSize, cellSize);
                     aliveCells += 1;
@@ -255,69 +290,190 @@ public class StaticBoard extends Board {
     
     @Override
     public void setCellValue(int cellX, int cellY, boolean erase, int Maxsize) {
-        if ((cellY < boardArray[0].length && cellY > -1)
-                && (cellX < boardArray.length && cellX > -1)) {
+        if ((cellY < width && cellY > -1)
+                && (cellX < height && cellX > -1)) {
 
             if (erase) {
-                boardArray[cellX][cellY] = 0;
+                boardArray[cellX * width + cellY] = 0;
             } else {
-                boardArray[cellX][cellY] = 1;
+                boardArray[cellX * width + cellY] = 1;
 
             }
         }
     }
 
 //---------------------------------GENERATION LOGIC --------------------------//
+    /**
+     * Sets the next generation of every cell inside the halo into the
+     * <code>nextArray</code>.
+     *
+     * @see #setNextGenerationRows(int, int)
+     */
     @Override
-    public void setNewGenValues() {
-        for (int i = 0; i < boardArray.length; i++) {
-            for (int j = 0; j < boardArray[0].length; j++) {
-                int cellstate = boardArray[i][j];
-                int numNeighbours = neighBoard[i][j];
-                byte newVal = Rule.rleRules(cellstate, numNeighbours);
-                boardArray[i][j] = (byte) newVal;
+    public void updateNeighbourBoard() {
+        setNextGenerationRows(0, height);
+    }
+
+    /**
+     * Sets the next generation of the cells inside the halo in the rows from
+     * <code>firstRow</code> to <code>lastRow</code> into the
+     * <code>nextArray</code>. Every cell gathers its own neighbours from the
+     * row above, the row itself and the row below, keeping the sum of each
+     * column of three cells so that each cell is only read three times. The
+     * new cell state is looked up in the <code>Rule</code> transitions with a
+     * shift, so the loop has no branches on the cell states. If the
+     * <code>WordKernel</code> is on, the rows are set eight cells at a time.
+     * Rule sets which are not totalistic are set by
+     * <code>setNextGenerationNeighbourhoods</code>.
+     *
+     * Only the rows of the partition are written, so partitions can be set at
+     * the same time between <code>beforeSetGeneration</code> and
+     * <code>setNewGenValues</code>.
+     *
+     * @param firstRow the first row of the partition
+     * @param lastRow the row after the partition
+     */
+    public void setNextGenerationRows(int firstRow, int lastRow) {
+        int transitions = rule.getTransitions();
+        byte[] cells = boardArray;
+        byte[] next = nextArray;
+        int rowEnd = Math.min(height - 1, lastRow);
+        if (!rule.isTotalistic()) {
+            setNextGenerationNeighbourhoods(Math.max(1, firstRow), rowEnd);
+            return;
+        }
+        if (WordKernel.isEnabled()) {
+            for (int x = Math.max(1, firstRow); x < rowEnd && width > 2; x++) {
+                int up = (x - 1) * width;
+                int mid = x * width;
+                int down = (x + 1) * width;
+                int last = width - 1;
+                long result = kernel.setNextCells(boardBuffer, boardBuffer,
+                        boardBuffer, nextBuffer, up + 1, mid + 1, down + 1, width - 2,
+                        cells[up] + cells[mid] + cells[down],
+                        cells[up + last] + cells[mid + last] + cells[down + last]);
+                rowAlive[x] = (int) result;
+            }
+            return;
+        }
+        for (int x = Math.max(1, firstRow); x < rowEnd && width > 2; x++) {
+            int up = (x - 1) * width;
+            int mid = x * width;
+            int down = (x + 1) * width;
+            int left = cells[up] + cells[mid] + cells[down];
+            int center = cells[up + 1] + cells[mid + 1] + cells[down + 1];
+            int alive = 0;
+            for (int y = 1; y < width - 1; y++) {
+                int right = cells[up + y + 1] + cells[mid + y + 1] + cells[down + y + 1];
+                int cellState = cells[mid + y];
+                int newVal = (transitions >>> (cellState * Rule.STATE_BITS
+                        + left + center + right - cellState)) & 1;
+                next[mid + y] = (byte) newVal;
+                alive += newVal;
+                left = center;
+                center = right;
             }
+            rowAlive[x] = alive;
         }
     }
 
-    @Override
-    public void createNeighBoard() {
-        neighBoard = new byte[boardArray.length][boardArray[0].length];
+    /**
+     * Sets the next generation of the rows from <code>firstRow</code> to
+     * <code>rowEnd</code> with the <code>Rule</code> table of every 3x3
+     * neighbourhood. The neighbourhood is moved along the row one column of
+     * three cells at a time, so each cell is read three times, the same as
+     * when the neighbours are counted.
+     *
+     * @param firstRow the first row
+     * @param rowEnd the row after the last row
+     * @see Rule#NEIGHBOURHOODS
+     */
+    private void setNextGenerationNeighbourhoods(int firstRow, int rowEnd) {
+        byte[] table = rule.getTable();
+        byte[] cells = boardArray;
+        byte[] next = nextArray;
+        for (int x = firstRow; x < rowEnd && width > 2; x++) {
+            int up = (x - 1) * width;
+            int mid = x * width;
+            int down = (x + 1) * width;
+            int neighbourhood = (cells[up] << 6 | cells[mid] << 3 | cells[down]) << 1
+                    | cells[up + 1] << 6 | cells[mid + 1] << 3 | cells[down + 1];
+            int alive = 0;
+            for (int y = 1; y < width - 1; y++) {
+                neighbourhood = ((neighbourhood << 1) & Rule.NEXT_COLUMNS)
+                        | cells[up + y + 1] << 6 | cells[mid + y + 1] << 3 | cells[down + y + 1];
+                byte newVal = table[neighbourhood];
+                next[mid + y] = newVal;
+                alive += newVal;
+            }
+            rowAlive[x] = alive;
+        }
     }
 
+    /**
+     * Swaps the <code>nextArray</code> with the <code>boardArray</code> and
+     * sets the <code>aliveCells</code> from the alive cells of each row.
+     */
     @Override
-    public void countNeighbhours(int row, int col) {
-        for (byte r = -1; r < 2; r++) {
-            for (byte c = -1; c < 2; c++) {
-                int rRow = r + row;
-                int cCol = c + col;
-                if (c != 0) {
-                    neighBoard[rRow][cCol]++;
-                }
-                if (r != 0 && c == 0) {
-                    neighBoard[rRow][cCol]++;
-                }
-            }
+    public void setNewGenValues() {
+        byte[] swap = boardArray;
+        boardArray = nextArray;
+        nextArray = swap;
+        ByteBuffer swapBuffer = boardBuffer;
+        boardBuffer = nextBuffer;
+        nextBuffer = swapBuffer;
+        int alive = 0;
+        for (int cells : rowAlive) {
+            alive += cells;
         }
+        aliveCells = alive;
     }
 
+    /**
+     * Prepares the <code>nextArray</code> for the next generation. The
+     * <code>StaticBoard</code> has no <code>neighBoard</code>, the
+     * <code>nextArray</code> is only allocated again when the
+     * <code>boardArray</code> has changed size, and the buffers and the kernel
+     * of the <code>WordKernel</code> when the arrays or the <code>Rule</code>
+     * have changed. The halo of the
+     * <code>boardArray</code> is then filled from the opposite edges in
+     * <code>torus</code> mode, and cleared otherwise, so cells which have been
+     * set in the halo are dead.
+     */
     @Override
-    public void updateNeighbourBoard() {
-        for (int x = 1; x < boardArray.length - 1; x++) {
-            for (int y = 1; y < boardArray[0].length - 1; y++) {
-
-                if (boardArray[x][y] == 1) {
-                    for (int m = -1; m < 2; m++) {
-                        for (int n = -1; n < 2; n++) {
-                            neighBoard[x + m][y + n]++;
-                        }
-                    }
-
-                    neighBoard[x][y]--;
-                }
+    protected void createNeighBoard() {
+        if (nextArray == null || nextArray.length != boardArray.length) {
+            nextArray = new byte[boardArray.length];
+            rowAlive = new int[height];
+        }
+        if (boardBuffer == null || boardBuffer.array() != boardArray
+                || nextBuffer.array() != nextArray) {
+            boardBuffer = WordKernel.wrap(boardArray);
+            nextBuffer = WordKernel.wrap(nextArray);
+        }
+        if (kernel == null || kernel.getTransitions() != rule.getTransitions()) {
+            kernel = new WordKernel(rule.getTransitions());
+        }
+        if (height < 3 || width < 3) {
+            return;
+        }
+        int last = (height - 1) * width;
+        if (torus) {
+            for (int x = 1; x < height - 1; x++) {
+                boardArray[x * width] = boardArray[x * width + width - 2];
+                boardArray[x * width + width - 1] = boardArray[x * width + 1];
+            }
+            //The rows are copied with their halo, which fills the corners.
+            System.arraycopy(boardArray, last - width, boardArray, 0, width);
+            System.arraycopy(boardArray, width, boardArray, last, width);
+        } else {
+            Arrays.fill(boardArray, 0, width, (byte) 0);
+            Arrays.fill(boardArray, last, last + width, (byte) 0);
+            for (int x = 1; x < height - 1; x++) {
+                boardArray[x * width] = 0;
+                boardArray[x * width + width - 1] = 0;
             }
         }
-
     }
 
 //---------------------------------GENERAL LOGIC ------------------------------//
@@ -347,15 +503,15 @@ public class StaticBoard extends Board {
 
     @Override
     public void addArrayToBoard(byte[][] board) {
-        int placementy = (boardArray.length - board.length) / 2;
-        int placementx = (boardArray[0].length - board[0].length) / 2;
+        int placementy = (height - board.length) / 2;
+        int placementx = (width - board[0].length) / 2;
 
         int z = 0;
         int w = 0;
         for (int y = placementy; y < placementy + board.length; y++, z++) {
             w = 0;
             for (int x = placementx; x < placementx + board[0].length; x++, w++) {
-                boardArray[y][x] = board[z][w];
+                boardArray[y * width + x] = board[z][w];
             }
         }
     }
@@ -384,10 +540,10 @@ public class StaticBoard extends Board {
     public String toString() {
         String a = "";
 
-        for (int i = 1; i < boardArray.length - 1; i++) {
-            for (int j = 1; j < boardArray[0].length - 1; j++) {
+        for (int i = 1; i < height - 1; i++) {
+            for (int j = 1; j < width - 1; j++) {
 
-                a += boardArray[i][j];
+                a += boardArray[i * width + j];
 
             }
 
@@ -402,10 +558,10 @@ public class StaticBoard extends Board {
         int sumOfAlive = 0;
         int x = 0;
 
-        for (int i = 0; i < boardArray.length; i++) {
-            for (int j = 0; j < boardArray[0].length; j++) {
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
 
-                if (boardArray[i][j] == 1) {
+                if (boardArray[i * width + j] == 1) {
                     x = i + j;
                     sumOfAlive += x;
                 }
@@ -422,11 +578,9 @@ public class StaticBoard extends Board {
     @Deprecated
     public int getAC_label() {
         aliveCells = 0;
-        for (int x = 0; x < boardArray.length; x++) {
-            for (int y = 0; y < boardArray[0].length; y++) {
-                if (boardArray[x][y] == 1) {
-                    aliveCells++;
-                }
+        for (byte cell : boardArray) {
+            if (cell == 1) {
+                aliveCells++;
             }
         }
         return aliveCells;
@@ -434,22 +588,43 @@ public class StaticBoard extends Board {
 
 //---------------------------------SETTERS AND GETTERS --------------------------//
     /**
-     * Sets the provided <code>boardArray</code> to the
-     * <code>StaticBoard</code>.
+     * Copies the provided <code>boardArray</code> into the
+     * <code>StaticBoard</code>. The outer rows and columns of the array are
+     * the halo of the board.
      *
      * @param boardArray the <code>boardArray</code> to set
      */
     public void setBoardArray(byte[][] boardArray) {
-        this.boardArray = boardArray;
+        setSize(boardArray.length, boardArray.length == 0 ? 0 : boardArray[0].length);
+        for (int i = 0; i < height; i++) {
+            System.arraycopy(boardArray[i], 0, this.boardArray, i * width, width);
+        }
     }
 
     /**
-     * Gets the current <code>boardArray</code>.
+     * Gets a copy of the current <code>boardArray</code>, including the halo.
      *
      * @return the current <code>boardArray</code>
      */
     public byte[][] getBoardArray() {
-        return boardArray;
+        byte[][] array = new byte[height][width];
+        for (int i = 0; i < height; i++) {
+            System.arraycopy(boardArray, i * width, array[i], 0, width);
+        }
+        return array;
+    }
+
+    /**
+     * Replaces the <code>boardArray</code> with an empty array of
+     * <code>height</code> rows and <code>width</code> columns.
+     *
+     * @param height the number of rows including the halo
+     * @param width the number of columns including the halo
+     */
+    private void setSize(int height, int width) {
+        this.height = height;
+        this.width = width;
+        boardArray = new byte[height * width];
     }
 
     /**
@@ -479,7 +654,69 @@ public class StaticBoard extends Board {
      * @param column the column of the element
      */
     public void setBoardArrayElement(byte state, int row, int column) {
-        boardArray[row][column] = state;
+        boardArray[row * width + column] = state;
+    }
+
+    @Override
+    public byte getCellState(int row, int col) {
+        return boardArray[row * width + col];
+    }
+
+    /**
+     * Gets the <code>PlaneHash</code> of the cells inside the halo, counted
+     * from the <code>boardArray</code>. The halo is left out, since it holds
+     * copies of the cells at the opposite edges of a torus.
+     *
+     * @return the hash of the cells
+     */
+    @Override
+    public PlaneHash getPlaneHash() {
+        if (planeHash == null) {
+            planeHash = new PlaneHash();
+        }
+        planeHash.clear();
+        for (int row = 1; row < height - 1; row++) {
+            long rowKey = PlaneHash.rowKey(row);
+            for (int col = 1; col < width - 1; col++) {
+                int cellState = boardArray[row * width + col];
+                if (cellState != 0) {
+                    planeHash.add(row, col, rowKey * PlaneHash.columnKey(col), cellState);
+                }
+            }
+        }
+        return planeHash;
+    }
+
+    /**
+     * A <code>StaticBoard</code> looks the next cell states up in the
+     * transitions of dead and alive cells, so it can not set rule sets of
+     * more than two states.
+     *
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isStatesSupported() {
+        return false;
+    }
+
+    /**
+     * Sets the topology of the board. A torus wraps around its edges, the
+     * rows and columns inside the halo are the cells of the torus.
+     *
+     * @param torus <code>true</code> for a torus, <code>false</code> for a
+     * bounded board
+     */
+    public void setTorus(boolean torus) {
+        this.torus = torus;
+    }
+
+    /**
+     * Checks if the board wraps around its edges.
+     *
+     * @return <code>true</code> if the board is a torus
+     */
+    public boolean isTorus() {
+        return torus;
     }
 
     /**
@@ -489,7 +726,7 @@ public class StaticBoard extends Board {
      */
     @Override
     public int getHeight() {
-        return boardArray.length + 2;
+        return height + 2;
     }
 
     /**
@@ -499,7 +736,7 @@ public class StaticBoard extends Board {
      */
     @Override
     public int getWidth() {
-        return boardArray[0].length + 2;
+        return width + 2;
     }
 
     //------------UNIMPLEMENTED STATICBOARD METHODS--------------------------//
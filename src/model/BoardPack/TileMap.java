@@ -0,0 +1,224 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.util.Arrays;
+
+/**
+ * A map of the activity of a board divided into square tiles of
+ * <code>TILE_SIZE</code> by <code>TILE_SIZE</code> cells. A tile is
+ * <code>changed</code> if one of its cells changed state in the last
+ * generation, and <code>active</code> if it or one of the eight tiles around it
+ * changed. A cell only changes state if a cell in its neighbourhood changed in
+ * the generation before, so the tiles that are not active are stable and can
+ * be skipped when the next generation is set.
+ *
+ * When the rule set alternates between two rule sets from one generation to
+ * the next, as the <code>complement</code> rule sets of a B0 rule set do, a
+ * tile which did not change under one rule set may still change under the
+ * other. The tiles are then active if a tile around them changed in either
+ * of the last two generations, which were set with both rule sets.
+ *
+ * The number of alive cells is kept for each tile, so the alive cells of the
+ * stable tiles do not have to be counted again.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see ConcurrentGeneration
+ */
+public class TileMap {
+
+    /**
+     * The height and width of a tile in cells.
+     */
+    public static final int TILE_SIZE = 64;
+
+    private final int tileRows, tileColumns;
+    private final boolean[] active;
+    private boolean[] changed;
+
+    /**
+     * The tiles that changed in the generation before the last.
+     */
+    private boolean[] changedBefore;
+    private final int[] alive;
+
+    /**
+     * Creates the map for a board of the given height and width. Every tile is
+     * active.
+     *
+     * @param height the number of rows of the board
+     * @param width the number of columns of the board
+     */
+    public TileMap(int height, int width) {
+        tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        tileColumns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        changed = new boolean[tileRows * tileColumns];
+        changedBefore = new boolean[tileRows * tileColumns];
+        active = new boolean[tileRows * tileColumns];
+        alive = new int[tileRows * tileColumns];
+        activateAll();
+    }
+
+    /**
+     * Makes every tile active, for instance after the board has been edited.
+     * Every tile also counts as changed in the generation before, so that
+     * every tile stays active in the next generation if the rule sets
+     * alternate.
+     */
+    public void activateAll() {
+        Arrays.fill(active, true);
+        Arrays.fill(changed, false);
+        Arrays.fill(changedBefore, true);
+    }
+
+    /**
+     * Makes the tiles active which hold a cell in the given rows and columns.
+     * The rows and columns outside of the map are ignored.
+     *
+     * @param firstRow the first row of cells
+     * @param lastRow the last row of cells
+     * @param firstCol the first column of cells
+     * @param lastCol the last column of cells
+     */
+    public void activate(int firstRow, int lastRow, int firstCol, int lastCol) {
+        int rowEnd = Math.min(tileRows - 1, lastRow / TILE_SIZE);
+        int colEnd = Math.min(tileColumns - 1, lastCol / TILE_SIZE);
+        for (int r = Math.max(0, firstRow) / TILE_SIZE; r <= rowEnd; r++) {
+            for (int c = Math.max(0, firstCol) / TILE_SIZE; c <= colEnd; c++) {
+                active[r * tileColumns + c] = true;
+            }
+        }
+    }
+
+    /**
+     * Moves the map to the next generation. The tiles that changed in the last
+     * generation and the tiles around them become active, and no tile has
+     * changed yet in the new generation.
+     *
+     * @see #nextGeneration(boolean)
+     */
+    public void nextGeneration() {
+        nextGeneration(false);
+    }
+
+    /**
+     * Moves the map to the next generation. The tiles that changed in the last
+     * generation, or in either of the last two generations if the rule sets
+     * alternate, and the tiles around them become active, and no tile has
+     * changed yet in the new generation.
+     *
+     * @param alternating <code>true</code> if the next generation is set with
+     * another rule set than the last generation
+     */
+    public void nextGeneration(boolean alternating) {
+        Arrays.fill(active, false);
+        for (int row = 0; row < tileRows; row++) {
+            for (int col = 0; col < tileColumns; col++) {
+                int tile = row * tileColumns + col;
+                if (!changed[tile] && !(alternating && changedBefore[tile])) {
+                    continue;
+                }
+                for (int r = Math.max(0, row - 1); r <= Math.min(tileRows - 1, row + 1); r++) {
+                    for (int c = Math.max(0, col - 1); c <= Math.min(tileColumns - 1, col + 1); c++) {
+                        active[r * tileColumns + c] = true;
+                    }
+                }
+            }
+        }
+        boolean[] swap = changedBefore;
+        changedBefore = changed;
+        changed = swap;
+        Arrays.fill(changed, false);
+    }
+
+    /**
+     * Checks if the tile must be set in this generation.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     * @return <code>true</code> if the tile is active
+     */
+    public boolean isActive(int tileRow, int tileCol) {
+        return active[tileRow * tileColumns + tileCol];
+    }
+
+    /**
+     * Checks if a cell of the tile changed state in this generation.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     * @return <code>true</code> if the tile has changed
+     */
+    public boolean isChanged(int tileRow, int tileCol) {
+        return changed[tileRow * tileColumns + tileCol];
+    }
+
+    /**
+     * Checks if a cell of any tile changed state in this generation.
+     *
+     * @return <code>true</code> if a tile has changed
+     */
+    public boolean hasChanged() {
+        for (boolean tile : changed) {
+            if (tile) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks that a cell of the tile changed state in this generation.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     */
+    public void setChanged(int tileRow, int tileCol) {
+        changed[tileRow * tileColumns + tileCol] = true;
+    }
+
+    /**
+     * Sets the number of alive cells in the tile.
+     *
+     * @param tileRow the row of the tile
+     * @param tileCol the column of the tile
+     * @param aliveCells the number of alive cells in the tile
+     */
+    public void setAlive(int tileRow, int tileCol, int aliveCells) {
+        alive[tileRow * tileColumns + tileCol] = aliveCells;
+    }
+
+    /**
+     * Gets the number of alive cells in all the tiles.
+     *
+     * @return the number of alive cells on the board
+     */
+    public int getAliveCells() {
+        int sum = 0;
+        for (int cells : alive) {
+            sum += cells;
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the number of rows of tiles.
+     *
+     * @return the number of rows of tiles
+     */
+    public int getTileRows() {
+        return tileRows;
+    }
+
+    /**
+     * Gets the number of columns of tiles.
+     *
+     * @return the number of columns of tiles
+     */
+    public int getTileColumns() {
+        return tileColumns;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Sets the next generation of a row of cells eight cells at a time. The cells
+ * of the boards are bytes of 0 or 1, so eight cells are read into one
+ * <code>long</code>, where each byte is a lane holding one cell. The column
+ * sums of three rows are added as <code>long</code> values, the sums of the
+ * columns to the left and to the right are shifted into the lanes, and every
+ * lane then holds the cell plus its neighbours, a number from 0 to 9, without
+ * any carry between the lanes.
+ *
+ * The <code>Rule</code> is applied to two lanes at a time. The state of each
+ * cell is put above its sum, which gives five bits per cell, and the bits of
+ * two cells index a table of 1024 entries that holds the next state of both
+ * cells, already laid out as two lanes. Eight cells take four lookups whatever
+ * the rule is.
+ *
+ * The cells are read with the <code>getLong</code> of a little endian
+ * <code>ByteBuffer</code> which wraps the array, so the first cell is the
+ * lowest lane. The cells at the end of a row which do not fill a
+ * <code>long</code> are set one at a time in the same way as the boards do.
+ *
+ * @author T.Dahll, M.S.Olsen
+ * @see StaticBoard
+ * @see ConcurrentGeneration
+ */
+public final class WordKernel {
+
+    /**
+     * Set in the result of <code>setNextCells</code> if any cell changed.
+     */
+    static final long CHANGED = 1L << 32;
+
+    private static final long EVEN_LANES = 0x00FF00FF00FF00FFL;
+    private static final long ODD_LANES = 0xFF00FF00FF00FF00L;
+    private static final int PAIR_MASK = 0x3FF;
+
+    /**
+     * Turns the kernel on or off for every board. The boards fall back on
+     * their own kernel, which sets one cell at a time, when it is off.
+     */
+    private static volatile boolean enabled = true;
+
+    private final int transitions;
+
+    /**
+     * The next state of two cells, indexed by the sum and the state of the
+     * first cell in the five lowest bits and of the second cell in the five
+     * bits above. The sum counts the cell itself.
+     */
+    private final char[] pairs = new char[PAIR_MASK + 1];
+
+    /**
+     * Creates a kernel for the transitions of a <code>Rule</code>.
+     *
+     * @param transitions the transitions of the rule
+     * @see Rule#getTransitions()
+     */
+    WordKernel(int transitions) {
+        this.transitions = transitions;
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = (char) (nextState(i & 0x1F) | nextState(i >>> 5) << 8);
+        }
+    }
+
+    private int nextState(int cell) {
+        int cellState = cell >>> 4;
+        int numNeighbours = (cell & 0xF) - cellState;
+        if (numNeighbours < 0 || numNeighbours > 8) {
+            return 0;
+        }
+        return Rule.nextState(transitions, cellState, numNeighbours);
+    }
+
+    /**
+     * Wraps an array of cells in a <code>ByteBuffer</code> that reads the
+     * first cell into the lowest lane.
+     *
+     * @param cells the cells to wrap
+     * @return the buffer of the cells
+     */
+    static ByteBuffer wrap(byte[] cells) {
+        return ByteBuffer.wrap(cells).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Checks if the boards use the kernel.
+     *
+     * @return <code>true</code> if the kernel is on
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the kernel on or off for every board.
+     *
+     * @param enabled <code>true</code> to set eight cells at a time,
+     * <code>false</code> to set one cell at a time
+     */
+    public static void setEnabled(boolean enabled) {
+        WordKernel.enabled = enabled;
+    }
+
+    /**
+     * Gets the transitions of the rule of the kernel.
+     *
+     * @return the transitions of the rule
+     */
+    int getTransitions() {
+        return transitions;
+    }
+
+    /**
+     * Sets the next generation of <code>count</code> cells in a row. The row
+     * above, the row and the row below start at <code>up</code>,
+     * <code>mid</code> and <code>down</code> in their buffers, which may be
+     * the same buffer, and the next generation is written into
+     * <code>next</code> from <code>mid</code>. The sums of the columns just
+     * to the left and just to the right of the cells are given, so the rows
+     * are never read outside of the cells.
+     *
+     * @param upRow the buffer of the row above
+     * @param midRow the buffer of the row
+     * @param downRow the buffer of the row below
+     * @param next the buffer of the next generation
+     * @param up the first cell of the row above
+     * @param mid the first cell of the row
+     * @param down the first cell of the row below
+     * @param count the number of cells to set
+     * @param leftSum the sum of the column to the left of the cells
+     * @param rightSum the sum of the column to the right of the cells
+     * @return the number of alive cells in the next generation, plus
+     * <code>CHANGED</code> if any cell changed
+     */
+    long setNextCells(ByteBuffer upRow, ByteBuffer midRow, ByteBuffer downRow,
+            ByteBuffer next, int up, int mid, int down, int count,
+            int leftSum, int rightSum) {
+        long left = leftSum;
+        long diff = 0;
+        int alive = 0;
+        int y = 0;
+        for (; y + 8 <= count; y += 8) {
+            long cells = midRow.getLong(mid + y);
+            long sums = upRow.getLong(up + y) + cells + downRow.getLong(down + y);
+            long right = y + 8 < count
+                    ? upRow.get(up + y + 8) + midRow.get(mid + y + 8) + downRow.get(down + y + 8)
+                    : rightSum;
+            long total = sums + ((sums << 8) | left) + ((sums >>> 8) | (right << 56));
+            left = sums >>> 56;
+
+            //Moves every odd lane down next to the even lane below it.
+            long index = total | (cells << 4);
+            index = (index & EVEN_LANES) | ((index & ODD_LANES) >>> 3);
+            long nextCells = pairs[(int) index & PAIR_MASK]
+                    | (long) pairs[(int) (index >>> 16) & PAIR_MASK] << 16
+                    | (long) pairs[(int) (index >>> 32) & PAIR_MASK] << 32
+                    | (long) pairs[(int) (index >>> 48) & PAIR_MASK] << 48;
+            next.putLong(mid + y, nextCells);
+            alive += Long.bitCount(nextCells);
+            diff |= nextCells ^ cells;
+        }
+        int center = y < count ? upRow.get(up + y) + midRow.get(mid + y) + downRow.get(down + y) : 0;
+        int leftCol = (int) left;
+        for (; y < count; y++) {
+            int right = y + 1 < count
+                    ? upRow.get(up + y + 1) + midRow.get(mid + y + 1) + downRow.get(down + y + 1)
+                    : rightSum;
+            int cellState = midRow.get(mid + y);
+            int newVal = (transitions >>> (cellState * Rule.STATE_BITS
+                    + leftCol + center + right - cellState)) & 1;
+            next.put(mid + y, (byte) newVal);
+            alive += newVal;
+            diff |= newVal ^ cellState;
+            leftCol = center;
+            center = right;
+        }
+        return diff != 0 ? alive | CHANGED : alive;
+    }
+}
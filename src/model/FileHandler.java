@@ -5,6 +5,7 @@
  */
 package model;
 
+import model.BoardPack.RangeRule;
 import model.BoardPack.Rule;
 import java.io.BufferedReader;
 import java.io.File;
@@ -28,7 +29,8 @@ import java.util.regex.Pattern;
  * and processed further from that point. The elements related to information
  * about the RLE-file are extracted with the <code>extractBoardInfo</code>
  * method, the rule set of the RLE-file is decoded in the
- * <code>parseRuleString</code> method and the pattern of the RLE-file is
+ * <code>parseRuleString</code> method, or in the <code>parseRangeRule</code>
+ * method for a Larger than Life rule set, and the pattern of the RLE-file is
  * processed in the <code>fillBoardArray</code>-method where the pattern is
  * stored in the <code>byte[][]</code>, <code>rleArray</code> for further usage.
  *
@@ -60,11 +62,31 @@ public class FileHandler {
      */
     private String ruleSet = "";
 
+    /**
+     * The rule set of the RLE-file, parsed from the <code>ruleSet</code>.
+     * Conway's rules until a RLE-file has been read, and for a RLE-file of a
+     * Larger than Life rule set.
+     */
+    private Rule rule = Rule.CONWAY;
+
+    /**
+     * The Larger than Life rule set of the RLE-file, parsed from the
+     * <code>ruleSet</code> when it is on the form "R5,C0,M1,S34..58,B34..45,NM".
+     * <code>null</code> for every other rule set.
+     */
+    private RangeRule rangeRule;
+
     /**
      * The <code>ArrayList</code> containing board information.
      */
     private final List<String> headerList = new ArrayList();
 
+    /**
+     * A list of numbers of neighbours of a Larger than Life rule set, single
+     * numbers or ranges such as "34..58", separated by commas.
+     */
+    private static final String RANGE_COUNTS = "(?:\\d+(?:\\.\\.\\d+)?(?:,\\d+(?:\\.\\.\\d+)?)*)?";
+
     /**
      * The <code>Matcher</code> used to extract information.
      */
@@ -159,20 +181,26 @@ public class FileHandler {
         //PRE-01052017
         //matcher = Pattern.compile("[R|r]ulestring|[R|r]ule\\s*[=|:]\\s*(\\w*\\s*"
         //        + "\\d*[\\s|\\/]\\w*\\s*\\d*)+[\\n|,|\\s]").matcher(rleString);
-        matcher = Pattern.compile("(?i)(?:[Rr]ulestring|[Rr]ule|[Rr]ules|[Rr]ule\\s*set)\\s*[=:]\\s*(\\w*\\s*"
-                + "\\d*[\\s\\/]\\w*\\s*\\d*)?[\\n|,|\\s]").matcher(rleString);
-
-        if (matcher.find() && matcher.group(1) != null) {
+        Matcher rangeMatcher = Pattern.compile("(?i)(?:rulestring|rule|rules|rule\\s*set)\\s*[=:]\\s*"
+                + "(R\\d+,C\\d+,M[01],S" + RANGE_COUNTS + ",B" + RANGE_COUNTS + "(?:,N[MN])?)").matcher(rleString);
+        matcher = Pattern.compile("(?i)(?:[Rr]ulestring|[Rr]ule|[Rr]ules|[Rr]ule\\s*set)\\s*[=:]\\s*([\\w-]*\\s*"
+                + "\\d*[\\s\\/][\\w-]*\\s*\\d*(?:\\/[\\w-]*)?)?[\\n|,|\\s]").matcher(rleString);
+
+        rangeRule = null;
+        if (rangeMatcher.find()) {
+            ruleSet = rangeMatcher.group(1);
+            rangeRule = parseRangeRule(ruleSet);
+            rule = Rule.CONWAY;
+        } else if (matcher.find() && matcher.group(1) != null) {
             ruleSet = matcher.group(1);
-            Rule.setRuleString(ruleSet);
-            parseRuleString(matcher.group(1).replaceAll("\\s", ""));
+            rule = parseRuleString(matcher.group(1).replaceAll("\\s", ""));
         } else {
             throw new PatternFormatException("Cannot find rule/rulestring in RLE-file");
         }
 
         //BoardSetup
         String boardRLESetup = "";
-        matcher = Pattern.compile("([.]|[\\n*][$A-Za-z0-9\\n*]*)[!]").matcher(rleString);
+        matcher = Pattern.compile("([.]|[\\n*][$A-Za-z0-9.\\n*]*)[!]").matcher(rleString);
         if (matcher.find()) {
             boardRLESetup = matcher.group(1);
         } else {
@@ -254,42 +282,89 @@ public class FileHandler {
      * required neighbor cells to change state from 0 to 1]/S[number of required
      * neighbor cells to maintain state 1 if state already is 1]" or on the
      * form: "[number of required neighbor cells to maintain state 1]/[number of
-     * required neighbor cells for a cell to change state from 0 to 1]". The
-     * method also sets the rule set through the static method in the Rule
-     * class, Rule.setRules.
+     * required neighbor cells for a cell to change state from 0 to 1]". In
+     * the first form each number may be followed by Hensel letters, such as
+     * "B2n3/S23-q", for isotropic non-totalistic rule sets. A Generations
+     * rule set adds the number of cell states as a third part, "B2/S/C3" in
+     * the first form or "/2/3" in the second form. The
+     * method returns the rule set as a <code>Rule</code>, which is set on a
+     * board with <code>Board.setRule</code>.
      *
      * @param ruleStringTemp - the rulestring retrieved from the RLE-file
+     * @return the rule set of the rulestring
      * @see #decryptRLEFile(java.util.List)
      */
-    public static void parseRuleString(String ruleStringTemp) {
+    public static Rule parseRuleString(String ruleStringTemp) {
         //Assumes that rulestrings without letters are on the form survival/birth
         //Finding letters in rulestring
         matcher = Pattern.compile("[B|S|b|s]").matcher(ruleStringTemp);
         String bValue = "";
         String sValue = "";
+        int states = 2;
 
         if (matcher.find()) {
-            matcher = Pattern.compile("[B|b]([0-8]*)").matcher(ruleStringTemp);
+            matcher = Pattern.compile("[B|b]((?:[0-8]-?[cekainyqjrtwz]*)*)").matcher(ruleStringTemp);
             if (matcher.find()) {
                 bValue = matcher.group(1);
             }
 
-            matcher = Pattern.compile("[S|s]([0-8]*)").matcher(ruleStringTemp);
+            matcher = Pattern.compile("[S|s]((?:[0-8]-?[cekainyqjrtwz]*)*)").matcher(ruleStringTemp);
             if (matcher.find()) {
                 sValue = matcher.group(1);
             }
 
+            matcher = Pattern.compile("[\\/][C|c](\\d{1,3})").matcher(ruleStringTemp);
+            if (matcher.find()) {
+                states = Integer.parseInt(matcher.group(1));
+            }
+
         } else {
 
-            matcher = Pattern.compile("(\\d*)[\\/](\\d*)").matcher(ruleStringTemp);
+            matcher = Pattern.compile("(\\d*)[\\/](\\d*)(?:[\\/](\\d{1,3}))?").matcher(ruleStringTemp);
 
             if (matcher.find()) {
                 sValue = matcher.group(1);
                 bValue = matcher.group(2);
+                if (matcher.group(3) != null) {
+                    states = Integer.parseInt(matcher.group(3));
+                }
             }
         }
-        //Sets the rules for current RLE-file 
-        Rule.setRules(bValue, sValue);
+        //Keeps the number of states within the states of a Rule
+        states = Math.min(Math.max(states, 2), Rule.MAX_STATES);
+        //The rules for current RLE-file
+        return new Rule(bValue, sValue, states);
+    }
+
+    /**
+     * Processing of a Larger than Life rulestring on the form of Golly,
+     * "R[range],C[states],M[1 if the cell counts itself],S[survival],B[birth],N[M
+     * or N]", such as "R5,C0,M1,S34..58,B34..45,NM". The survival and birth
+     * are numbers of neighbours or ranges of them, such as "34..58", separated
+     * by commas. The neighbourhood is Moore (NM) unless it is von Neumann
+     * (NN). The method returns the rule set as a <code>RangeRule</code>, which
+     * is set on a <code>RangeBoard</code> with <code>setRangeRule</code>.
+     *
+     * @param ruleStringTemp - the rulestring retrieved from the RLE-file
+     * @return the rule set of the rulestring
+     * @throws PatternFormatException if the rulestring is not a Larger than
+     * Life rule set
+     * @see model.BoardPack.RangeBoard#setRangeRule(RangeRule)
+     */
+    public static RangeRule parseRangeRule(String ruleStringTemp) throws PatternFormatException {
+        matcher = Pattern.compile("(?i)R(\\d+),C(\\d+),M([01]),S(" + RANGE_COUNTS + "),B(" + RANGE_COUNTS
+                + ")(?:,N([MN]))?")
+                .matcher(ruleStringTemp.replaceAll("\\s", ""));
+        if (!matcher.matches()) {
+            throw new PatternFormatException("Cannot read the range rule " + ruleStringTemp);
+        }
+        try {
+            return new RangeRule(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                    matcher.group(3).equals("1"), matcher.group(4), matcher.group(5),
+                    "N".equalsIgnoreCase(matcher.group(6)));
+        } catch (IllegalArgumentException e) {
+            throw new PatternFormatException("Cannot read the range rule " + ruleStringTemp + ": " + e.getMessage());
+        }
     }
 
     /**
@@ -320,6 +395,25 @@ public class FileHandler {
         return ruleSet;
     }
 
+    /**
+     * Gets the <code>rule</code> parsed from the RLE-file.
+     *
+     * @return the rule set of the RLE-file
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Gets the <code>rangeRule</code> parsed from the RLE-file.
+     *
+     * @return the Larger than Life rule set of the RLE-file, or
+     * <code>null</code> if the RLE-file has another rule set
+     */
+    public RangeRule getRangeRule() {
+        return rangeRule;
+    }
+
     /**
      * Gets the <code>String</code>-representation of the
      * <code>headerList</code>.
@@ -515,13 +609,15 @@ public class FileHandler {
      * number of rows and columns for the pattern to be correctly represented
      * (bounding rows and bounding columns). The parser follows the
      * recommendations from LifeWiki and treats b as 0 (dead) and o (and every
-     * letter except from b and B) as 1 (alive). The binary representation of
-     * the board is stored in <code>rleArray</code>.
+     * letter except from b and B) as 1 (alive). If the <code>rule</code> has
+     * more than two states, the letters are read as the states of a
+     * multi-state RLE-file instead. The cell states of the board are stored in
+     * <code>rleArray</code>.
      *
      * Source for the RLE-recommendations: http://conwaylife.com/wiki/RLE
      *
      * @param RLEArray - the rows from the RLE-file with letters b and o
-     * indicating if cells have state 0 or 1
+     * indicating if cells have state 0 or 1, or the letters of other states
      * @param patternColumns - number of columns required to successfully create
      * pattern from RLE-file
      * @param patternRows - number of rows required to successfully create
@@ -538,7 +634,7 @@ public class FileHandler {
         int columnCounter = 1;
 
         Pattern value = Pattern.compile("([1-9]*[A-Za-z]{1})");
-        Pattern value_sep = Pattern.compile("\\s*([1-9]+[0-9]*)*([A-Za-z]{1})\\s*");
+        Pattern value_sep = Pattern.compile("\\s*([1-9]+[0-9]*)*([p-y]?[A-X]|[A-Za-z.])\\s*");
         //Pattern value_sep = Pattern.compile("([1-9]+[0-9]*[$])*([1-9]+[0-9]*)*([A-Za-z]{1})");
 
         //Pattern to check for trailing digit in String array
@@ -559,43 +655,15 @@ public class FileHandler {
                 }
 
                 for (int j = 0; j < liste.size(); j += 2) {
-
-                    if (liste.get(j) == null) {
-                        if (liste.get(j + 1).matches("[^B|^b]")) {
-                            if (columnCounter <= patternColumns) {
-                                rleArray[rowCounter][columnCounter] = 1;
-                                columnCounter++;
-                            } else {
-                                throw new PatternFormatException("Cannot fill board from RLE-file, board not complying with bounding columns");
-                            }
-                        } else if (liste.get(j + 1).matches("[Bb]")) {
-                            if (columnCounter <= patternColumns) {
-                                rleArray[rowCounter][columnCounter] = 0;
-                                columnCounter++;
-                            } else {
-                                throw new PatternFormatException("Cannot fill board from RLE-file, board not complying with bounding columns");
-                            }
-                        }
-
-                    } else if (liste.get(j) != null) {
-                        if (liste.get(j + 1).matches("[^B|^b]")) {
-                            for (int k = 0; k < Integer.parseInt(liste.get(j)); k++) {
-                                if (columnCounter <= patternColumns) {
-                                    rleArray[rowCounter][columnCounter] = 1;
-                                    columnCounter++;
-                                } else {
-                                    throw new PatternFormatException("Cannot fill board from RLE-file, board not complying with bounding columns");
-                                }
-                            }
-                        } else if (liste.get(j + 1).matches("[Bb]")) {
-                            for (int k = 0; k < Integer.parseInt(liste.get(j)); k++) {
-                                if (columnCounter <= patternColumns) {
-                                    rleArray[rowCounter][columnCounter] = 0;
-                                    columnCounter++;
-                                } else {
-                                    throw new PatternFormatException("Cannot fill board from RLE-file, board not complying with bounding columns");
-                                }
-                            }
+                    byte state = cellState(liste.get(j + 1));
+                    int times = liste.get(j) == null ? 1 : Integer.parseInt(liste.get(j));
+
+                    for (int k = 0; k < times; k++) {
+                        if (columnCounter <= patternColumns) {
+                            rleArray[rowCounter][columnCounter] = state;
+                            columnCounter++;
+                        } else {
+                            throw new PatternFormatException("Cannot fill board from RLE-file, board not complying with bounding columns");
                         }
                     }
                 }
@@ -611,4 +679,41 @@ public class FileHandler {
         }
     }
 
+    /**
+     * Gets the cell state of a letter of the pattern. With two states, b, B
+     * and '.' are dead and every other letter is alive. With more states, '.'
+     * and b are dead and o is alive, and the letters A to X are the states 1
+     * to 24. One of the letters p to y in front of A to X adds 24 to 240 to
+     * the state.
+     *
+     * @param letter the letter of the cells, with its prefix if there is one
+     * @return the state of the cells
+     * @throws PatternFormatException if the letter is not a state of the
+     * <code>rule</code>, or of the <code>rangeRule</code> if there is one
+     */
+    private byte cellState(String letter) throws PatternFormatException {
+        char last = letter.charAt(letter.length() - 1);
+        int states = rangeRule != null ? rangeRule.getStates() : rule.getStates();
+        if (states == 2) {
+            return (byte) (last == 'b' || last == 'B' || last == '.' ? 0 : 1);
+        }
+        int state;
+        if (last == '.' || last == 'b') {
+            state = 0;
+        } else if (last == 'o') {
+            state = 1;
+        } else if (last >= 'A' && last <= 'X') {
+            state = last - 'A' + 1;
+            if (letter.length() > 1) {
+                state += 24 * (letter.charAt(0) - 'p' + 1);
+            }
+        } else {
+            throw new PatternFormatException("Cannot fill board from RLE-file, " + letter + " is not a cell state");
+        }
+        if (state >= states) {
+            throw new PatternFormatException("Cannot fill board from RLE-file, the rule has no cell state " + letter);
+        }
+        return (byte) state;
+    }
+
 }
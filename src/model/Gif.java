@@ -9,6 +9,7 @@ import java.awt.Color;
 import java.io.IOException;
 import javafx.scene.control.Alert;
 import lieng.GIFWriter;
+import model.BoardPack.Rule;
 import model.BoardPack.StaticBoard;
 
 /**
@@ -102,7 +103,9 @@ public class Gif {
         }
         createGif(board.getBoardArray(), writer);
         //Centers the board araound alive elements.
+        Rule rule = board.getRule();
         board = new StaticBoard(board.getBoardArray(), board.getBoundingBox());
+        board.setRule(rule);
         board.setNextGeneration();
         counter--;
         boardToGif(board, counter);
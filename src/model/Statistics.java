@@ -19,6 +19,7 @@ import java.util.Optional;
 import java.util.Set;
 import javafx.scene.control.TextInputDialog;
 import model.BoardPack.Board;
+import model.BoardPack.CycleDetector;
 
 /**
  * This class contains the logic which use to create statistic data to present the development
@@ -34,6 +35,11 @@ public class Statistics {
     private int[] similarityData;
     public static int dupInterval = 0;
 
+    /**
+     * Finds the exact period of the board while the statistics are counted.
+     */
+    private final CycleDetector cycle = new CycleDetector();
+
     /**
      * A method to calculate number of alive cells(row0), evolution in alive
      * cells(row1) and similarity measure(row2).
@@ -52,6 +58,7 @@ public class Statistics {
         int ft1 = 0, ft2 = 0, dt = 0, gt = 0;
         double alfa = 0.5, beta = 3.0, gamma = 0.25, compare = 0, simiMeasure = 0;
         geoFactor = new double[statData[0].length];
+        cycle.reset();
 
         for (int j = 0; j < statData[0].length; j++) {
 
@@ -60,6 +67,7 @@ public class Statistics {
             ft1 = statData[0][j];
 
             board.setNextGeneration();
+            cycle.update(board);
             ft2 = board.getAliveCells();
 
             //Store evolutions in cells in row 1
@@ -111,6 +119,8 @@ public class Statistics {
 
     /**
      * Method for finding duplicate numbers in <code>similarity</code> data.
+     * If the board was found to repeat itself while the statistics were
+     * counted, the exact period of the <code>cycle</code> is used instead.
      *
      * @param similarity the array that store similarity data.
      * @see #indexOfDuplicateNumber(int)
@@ -118,6 +128,10 @@ public class Statistics {
     public void duplicateNumber(int[] similarity) {
 
         this.similarityData = similarity;
+        if (cycle.isCycle()) {
+            dupInterval = cycle.getPeriod();
+            return;
+        }
         Set<Integer> totalNumbers = new HashSet<>();
         Set<Integer> duplicateNumbers = new LinkedHashSet<>();
 
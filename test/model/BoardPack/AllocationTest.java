@@ -0,0 +1,93 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import static org.junit.Assert.assertTrue;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Checks that a board which has stopped changing size allocates nothing
+ * while it sets its generations. The bytes are counted for the calling
+ * thread by the <code>ThreadMXBean</code> of the JVM, after the board has been
+ * warmed up so that every buffer has been created.
+ *
+ * @author T.Dahll, M.S.Olsen
+ */
+public class AllocationTest {
+
+    private static final int SIZE = 400;
+    private static final int WARM_UP = 50;
+    private static final int GENERATIONS = 100;
+
+    /**
+     * The largest number of bytes a generation may allocate on average. A
+     * few bytes are left for the JVM itself, such as the measurement.
+     */
+    private static final long MAX_BYTES = 16;
+
+    /**
+     * Creates a field of blinkers, every fourth row and column, which keeps
+     * the board the same size and changes every generation.
+     */
+    private static byte[][] blinkers() {
+        byte[][] cells = new byte[SIZE][SIZE];
+        for (int row = 2; row < SIZE - 2; row += 4) {
+            for (int col = 1; col < SIZE - 3; col += 4) {
+                cells[row][col] = 1;
+                cells[row][col + 1] = 1;
+                cells[row][col + 2] = 1;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Counts the bytes allocated by the calling thread per generation, after
+     * <code>WARM_UP</code> generations.
+     */
+    private static long allocatedPerGeneration(Board board) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocation.isThreadAllocatedMemorySupported());
+        allocation.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP; i++) {
+            board.setNextGeneration();
+        }
+        long before = allocation.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < GENERATIONS; i++) {
+            board.setNextGeneration();
+        }
+        return (allocation.getThreadAllocatedBytes(thread) - before) / GENERATIONS;
+    }
+
+    @Test
+    public void dynamicBoardAllocatesNothing() {
+        DynamicBoard board = new DynamicBoard(SIZE, SIZE);
+        board.addArrayToBoard(blinkers());
+        long bytes = allocatedPerGeneration(board);
+        assertTrue("DynamicBoard allocated " + bytes + " bytes per generation", bytes <= MAX_BYTES);
+    }
+
+    @Test
+    public void staticBoardAllocatesNothing() {
+        StaticBoard board = new StaticBoard(blinkers());
+        long bytes = allocatedPerGeneration(board);
+        assertTrue("StaticBoard allocated " + bytes + " bytes per generation", bytes <= MAX_BYTES);
+    }
+
+    @Test
+    public void bitBoardAllocatesNothing() {
+        BitBoard board = new BitBoard(blinkers());
+        long bytes = allocatedPerGeneration(board);
+        assertTrue("BitBoard allocated " + bytes + " bytes per generation", bytes <= MAX_BYTES);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Runs gliders and blinkers through the <code>CycleDetector</code> one
+ * generation at a time. The period and displacement it reports are compared
+ * with the known ones, and a board moved on by <code>advance</code> with a
+ * board which has set every generation.
+ *
+ * @author T.Dahll, M.S.Olsen
+ */
+public class CycleDetectorTest {
+
+    /**
+     * A glider moving down and to the right.
+     */
+    private static final String[] GLIDER = {
+        ".O.",
+        "..O",
+        "OOO"
+    };
+
+    /**
+     * A glider moving up and to the left.
+     */
+    private static final String[] GLIDER_UP_LEFT = {
+        "OOO",
+        "O..",
+        ".O."
+    };
+
+    /**
+     * Two blinkers, out of phase.
+     */
+    private static final String[] BLINKERS = {
+        "OOO....",
+        ".......",
+        ".......",
+        "......O",
+        "......O",
+        "......O"
+    };
+
+    private static DynamicBoard board(String... rows) {
+        DynamicBoard board = new DynamicBoard(20, 20);
+        board.addArrayToBoard(Patterns.cells(rows));
+        return board;
+    }
+
+    /**
+     * Sets <code>generations</code> generations of the board and updates the
+     * detector after each of them.
+     */
+    private static void run(CycleDetector cycle, Board board, int generations) {
+        cycle.update(board);
+        for (int i = 0; i < generations; i++) {
+            board.setNextGeneration();
+            cycle.update(board);
+        }
+    }
+
+    @Test
+    public void gliderHasPeriodFourMovingDownRight() {
+        CycleDetector cycle = new CycleDetector();
+        run(cycle, board(GLIDER), 12);
+
+        assertEquals(4, cycle.getPeriod());
+        assertEquals(1, cycle.getRowDisplacement());
+        assertEquals(1, cycle.getColumnDisplacement());
+        assertEquals("Period 4 (1, 1)", cycle.toString());
+    }
+
+    @Test
+    public void blinkerFieldHasPeriodTwo() {
+        CycleDetector cycle = new CycleDetector();
+        run(cycle, board(BLINKERS), 6);
+
+        assertEquals(2, cycle.getPeriod());
+        assertEquals("Period 2", cycle.toString());
+    }
+
+    /**
+     * Drawing the board moves the cells of the view back to its top left
+     * corner, which must not move the cells on the plane.
+     */
+    @Test
+    public void gliderKeepsItsDisplacementWhenTheBoardIsDrawn() {
+        CycleDetector cycle = new CycleDetector();
+        DynamicBoard board = board(GLIDER_UP_LEFT);
+        cycle.update(board);
+        for (int i = 0; i < 12; i++) {
+            board.setNextGeneration();
+            board.placeRowVar = 0;
+            board.placeColVar = 0;
+            cycle.update(board);
+        }
+
+        assertEquals("Period 4 (-1, -1)", cycle.toString());
+    }
+
+    @Test
+    public void advanceSkipsWholePeriodsOfAnOscillator() {
+        CycleDetector cycle = new CycleDetector();
+        DynamicBoard board = board(BLINKERS);
+        run(cycle, board, 6);
+        DynamicBoard reference = board(BLINKERS);
+        for (int i = 0; i < 1007; i++) {
+            reference.setNextGeneration();
+        }
+
+        long set = cycle.advance(board, 1001);
+
+        assertTrue("Generations set one by one: " + set, set < 2);
+        assertEquals(1007, board.getIterations());
+        assertEquals(reference.getPlaneHash().key(), board.getPlaneHash().key());
+    }
+
+    /**
+     * A <code>SparseBoard</code> can move its cells on the plane, so the
+     * periods of a spaceship are skipped as well.
+     */
+    @Test
+    public void advanceSkipsWholePeriodsOfASpaceship() {
+        CycleDetector cycle = new CycleDetector();
+        SparseBoard board = new SparseBoard(20, 20);
+        board.addArrayToBoard(Patterns.cells(GLIDER));
+        run(cycle, board, 12);
+        SparseBoard reference = new SparseBoard(20, 20);
+        reference.addArrayToBoard(Patterns.cells(GLIDER));
+        for (int i = 0; i < 1012; i++) {
+            reference.setNextGeneration();
+        }
+
+        long set = cycle.advance(board, 1000);
+
+        assertTrue("Generations set one by one: " + set, set < 4);
+        assertEquals(1012, board.getIterations());
+        assertEquals(reference.getPlaneHash().key(), board.getPlaneHash().key());
+        assertEquals(reference.getPlaneHash().getRowSum(), board.getPlaneHash().getRowSum());
+        assertEquals(reference.getPlaneHash().getColumnSum(), board.getPlaneHash().getColumnSum());
+    }
+
+    /**
+     * Once the history is full every generation takes the place of the
+     * oldest one, which must not forget the keys that have come back since.
+     */
+    @Test
+    public void gliderKeepsItsPeriodWhenTheHistoryIsFull() {
+        CycleDetector cycle = new CycleDetector();
+        SparseBoard board = new SparseBoard(20, 20);
+        board.addArrayToBoard(Patterns.cells(GLIDER));
+        run(cycle, board, CycleDetector.HISTORY + 100);
+
+        assertEquals("Period 4 (1, 1)", cycle.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void advanceRejectsGenerationsPastMaxValue() {
+        new CycleDetector().advance(board(GLIDER), Integer.MAX_VALUE + 1L);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Checks that replaying the frozen tiles of a <code>DynamicBoard</code> gives
+ * the same generations as setting every active tile. Gliders fly through a
+ * field of blinkers and blocks, so tiles are frozen and thawed again.
+ *
+ * @author T.Dahll, M.S.Olsen
+ */
+public class FrozenTilesTest {
+
+    private static final int SIZE = 300;
+    private static final int GENERATIONS = 1000;
+
+    /**
+     * Creates a field of blinkers and blocks, a random soup below it, and
+     * gliders heading up and to the left into the field.
+     */
+    private static byte[][] field(long seed) {
+        Random random = new Random(seed);
+        byte[][] cells = new byte[SIZE][SIZE];
+        for (int row = 10; row < 200; row += 8) {
+            for (int col = 10; col < 290; col += 8) {
+                if (random.nextBoolean()) {
+                    cells[row][col] = cells[row][col + 1] = cells[row][col + 2] = 1;
+                } else {
+                    cells[row][col] = cells[row][col + 1] = 1;
+                    cells[row + 1][col] = cells[row + 1][col + 1] = 1;
+                }
+            }
+        }
+        for (int row = 230; row < 290; row++) {
+            for (int col = 100; col < 200; col++) {
+                cells[row][col] = (byte) (random.nextInt(3) == 0 ? 1 : 0);
+            }
+        }
+        for (int k = 0; k < 4; k++) {
+            int row = 205 + k * 5;
+            int col = 240 + k * 12;
+            cells[row][col] = cells[row][col + 1] = cells[row][col + 2] = 1;
+            cells[row + 1][col] = 1;
+            cells[row + 2][col + 1] = 1;
+        }
+        return cells;
+    }
+
+    private static DynamicBoard board(byte[][] cells) {
+        DynamicBoard board = new DynamicBoard(40, 40);
+        board.addArrayToBoard(cells);
+        return board;
+    }
+
+    /**
+     * Sets the generations of a board with frozen tiles and of a board
+     * without, and compares them.
+     */
+    private static void compare(long seed) {
+        byte[][] cells = field(seed);
+        DynamicBoard frozen = board(cells);
+        DynamicBoard reference = board(cells);
+        boolean enabled = FrozenTiles.isEnabled();
+        int mostFrozen = 0;
+        try {
+            for (int generation = 1; generation <= GENERATIONS; generation++) {
+                FrozenTiles.setEnabled(true);
+                frozen.setNextGeneration();
+                FrozenTiles.setEnabled(false);
+                reference.setNextGeneration();
+                mostFrozen = Math.max(mostFrozen, frozen.getConcurrentGeneration().getFrozenTiles());
+
+                assertEquals("Generation " + generation, reference.getAliveCells(), frozen.getAliveCells());
+                if (generation % 25 == 0) {
+                    PlaneHash expected = reference.getPlaneHash();
+                    long key = expected.key();
+                    long rowSum = expected.getRowSum();
+                    long columnSum = expected.getColumnSum();
+                    PlaneHash actual = frozen.getPlaneHash();
+                    assertEquals("Generation " + generation, key, actual.key());
+                    assertEquals("Generation " + generation, rowSum, actual.getRowSum());
+                    assertEquals("Generation " + generation, columnSum, actual.getColumnSum());
+                }
+            }
+        } finally {
+            FrozenTiles.setEnabled(enabled);
+        }
+        assertTrue("No tile was frozen", mostFrozen > 0);
+    }
+
+    @Test
+    public void frozenRunMatchesUnfrozenRun() {
+        compare(1);
+    }
+
+    @Test
+    public void frozenRunMatchesUnfrozenRunOfAnotherField() {
+        compare(2);
+    }
+}
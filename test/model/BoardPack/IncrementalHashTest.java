@@ -0,0 +1,94 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Checks that the boards which keep their <code>PlaneHash</code> up to date
+ * with the generations give the same hash as a <code>DynamicBoard</code> of
+ * the same cells, while a random soup grows in every direction and the board
+ * is edited.
+ *
+ * @author T.Dahll, M.S.Olsen
+ */
+public class IncrementalHashTest {
+
+    private static final int SIZE = 40;
+    private static final int GENERATIONS = 150;
+
+    private static byte[][] soup(long seed) {
+        Random random = new Random(seed);
+        byte[][] cells = new byte[SIZE][SIZE];
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                cells[row][col] = (byte) (random.nextInt(3) == 0 ? 1 : 0);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Sets the generations of the board and of a <code>DynamicBoard</code> of
+     * the same soup and compares their hashes, which are normalised to the
+     * centre of the cells and so do not depend on where the boards have put
+     * them on the plane. A cell is drawn outside of the top left corner of
+     * both boards half way.
+     */
+    private static void compare(Board board) {
+        assertTrue(board.hasIncrementalHash());
+        byte[][] cells = soup(1);
+        DynamicBoard reference = new DynamicBoard(SIZE, SIZE);
+        reference.addArrayToBoard(cells);
+        board.addArrayToBoard(cells);
+        String name = board.getClass().getSimpleName();
+        for (int generation = 1; generation <= GENERATIONS; generation++) {
+            if (generation == GENERATIONS / 2) {
+                int[] box = reference.getBoundingBox();
+                int[] other = board.getBoundingBox();
+                reference.setCellValue(box[0] - 3, box[2] - 3, false, 10000);
+                board.setCellValue(other[0] - 3, other[2] - 3, false, 10000);
+            }
+            reference.setNextGeneration();
+            board.setNextGeneration();
+
+            PlaneHash expected = reference.getPlaneHash();
+            long key = expected.key();
+            long weight = expected.getWeight();
+            PlaneHash actual = board.getPlaneHash();
+            assertEquals(name + " generation " + generation, weight, actual.getWeight());
+            assertEquals(name + " generation " + generation, key, actual.key());
+        }
+    }
+
+    @Test
+    public void bitBoardHashMatches() {
+        compare(new BitBoard(SIZE, SIZE));
+    }
+
+    @Test
+    public void chunkBoardHashMatches() {
+        compare(new ChunkBoard(SIZE, SIZE));
+    }
+
+    @Test
+    public void blockBoardHashMatches() {
+        compare(new BlockBoard(SIZE, SIZE));
+    }
+
+    @Test
+    public void rangeBoardHashMatches() {
+        compare(new RangeBoard(SIZE, SIZE));
+    }
+
+    @Test
+    public void hashLifeBoardHashMatches() {
+        compare(new HashLifeBoard(SIZE, SIZE));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+/**
+ * Small patterns for the tests, written as plain text with one string for
+ * each row. An 'O' is an alive cell and any other character a dead one, as
+ * in the plaintext files of LifeWiki.
+ *
+ * @author T.Dahll, M.S.Olsen
+ */
+final class Patterns {
+
+    private Patterns() {
+    }
+
+    /**
+     * Gets the cells of a pattern. Rows shorter than the first are padded
+     * with dead cells.
+     *
+     * @param rows the rows of the pattern, from the top
+     * @return the cells of the pattern, 1 for alive and 0 for dead
+     */
+    static byte[][] cells(String... rows) {
+        byte[][] cells = new byte[rows.length][rows[0].length()];
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                if (rows[row].charAt(col) == 'O') {
+                    cells[row][col] = 1;
+                }
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * A Gosper glider gun fills an unbounded board with gliders unless the
+ * <code>SpaceshipCollector</code> takes them away. The gun is run with the
+ * collector, which must keep the board small and log only gliders, and a
+ * still life next to an oscillator must be left where it is.
+ *
+ * @author T.Dahll, M.S.Olsen
+ */
+public class SpaceshipCollectorTest {
+
+    /**
+     * The Gosper glider gun, which sends a glider down and to the right every
+     * 30 generations.
+     */
+    private static final String[] GOSPER_GUN = {
+        "........................O...........",
+        "......................O.O...........",
+        "............OO......OO............OO",
+        "...........O...O....OO............OO",
+        "OO........O.....O...OO..............",
+        "OO........O...O.OO....O.O...........",
+        "..........O.....O.......O...........",
+        "...........O...O....................",
+        "............OO......................"
+    };
+
+    private static final int GENERATIONS = 3000;
+
+    /**
+     * The largest height or width of the board of the gun. The gun itself is
+     * 9 by 36 cells, the rest is the room a glider gets before it is taken.
+     */
+    private static final int MAX_SIZE = 80;
+
+    private static DynamicBoard board(String... rows) {
+        DynamicBoard board = new DynamicBoard(10, 10);
+        board.addArrayToBoard(Patterns.cells(rows));
+        return board;
+    }
+
+    @Test
+    public void gunBoardStaysBounded() {
+        DynamicBoard board = board(GOSPER_GUN);
+        SpaceshipCollector collector = new SpaceshipCollector();
+        for (int generation = 1; generation <= GENERATIONS; generation++) {
+            board.setNextGeneration();
+            collector.collect(board);
+            assertTrue("Height " + board.getHeight() + " at generation " + generation,
+                    board.getHeight() < MAX_SIZE);
+            assertTrue("Width " + board.getWidth() + " at generation " + generation,
+                    board.getWidth() < MAX_SIZE);
+        }
+
+        //One glider every 30 generations, less the ones still on the board
+        assertTrue("Collected " + collector.getCount(),
+                collector.getCount() >= GENERATIONS / 30 - 3);
+        for (SpaceshipCollector.Escape escape : collector.getLog()) {
+            assertEquals("Glider", escape.getShip());
+            assertEquals("SE", escape.getDirection());
+        }
+    }
+
+    @Test
+    public void oscillatorsAreNotCollected() {
+        DynamicBoard board = board(
+                "OO.......",
+                "OO.......",
+                ".........",
+                "......OOO");
+        SpaceshipCollector collector = new SpaceshipCollector();
+        for (int generation = 0; generation < 200; generation++) {
+            board.setNextGeneration();
+            collector.collect(board);
+        }
+
+        assertEquals(0, collector.getCount());
+        assertEquals(7, board.getAliveCells());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * University College of Oslo and Akershus, spring 2017. M.S.Olsen, N.Nanthawisit & T.A.Dahll.
+ * School project, bachelor computer science, 1st year.
+ * Game of Life Application
+ */
+package model.BoardPack;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Checks that <code>getStablePeriod</code> finds boards which have settled
+ * into still lifes and blinkers on the boards which keep an
+ * <code>unchanged</code> flag, and on the <code>StaticBoard</code> which
+ * compares hashes.
+ *
+ * @author T.Dahll, M.S.Olsen
+ */
+public class StablePeriodTest {
+
+    private static final byte[][] BLOCK = {{1, 1}, {1, 1}};
+
+    /**
+     * A block and a blinker, far enough apart to leave each other alone.
+     */
+    private static final byte[][] BLOCK_AND_BLINKER = {
+        {1, 1, 0, 0, 0, 0, 0},
+        {1, 1, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 1, 1, 1}
+    };
+
+    private static final byte[][] GLIDER = {{0, 1, 0}, {0, 0, 1}, {1, 1, 1}};
+
+    /**
+     * Creates the boards which are checked, with the pattern added.
+     */
+    private static Board[] boards(byte[][] pattern) {
+        Board[] boards = {new DynamicBoard(60, 60), new SparseBoard(60, 60),
+            new StaticBoard(60, 60)};
+        for (Board board : boards) {
+            board.addArrayToBoard(pattern);
+        }
+        return boards;
+    }
+
+    /**
+     * Sets <code>generations</code> generations of the board and gets the
+     * stable period after each of them, as the controller does.
+     *
+     * @return the stable period after the last generation
+     */
+    private static int stablePeriod(Board board, int generations) {
+        int period = 0;
+        for (int i = 0; i < generations; i++) {
+            board.setNextGeneration();
+            period = board.getStablePeriod();
+        }
+        return period;
+    }
+
+    @Test
+    public void blockHasPeriodOne() {
+        for (Board board : boards(BLOCK)) {
+            assertEquals(board.getClass().getSimpleName(), 1, stablePeriod(board, 3));
+        }
+    }
+
+    @Test
+    public void blockAndBlinkerHavePeriodTwo() {
+        for (Board board : boards(BLOCK_AND_BLINKER)) {
+            assertEquals(board.getClass().getSimpleName(), 2, stablePeriod(board, 4));
+        }
+    }
+
+    @Test
+    public void gliderIsNeverStable() {
+        for (Board board : boards(GLIDER)) {
+            for (int i = 0; i < 40; i++) {
+                assertEquals(board.getClass().getSimpleName(), 0, stablePeriod(board, 1));
+            }
+        }
+    }
+}